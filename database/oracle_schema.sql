@@ -43,14 +43,6 @@ CREATE SEQUENCE SEQ_DAILY_STAT
     NOCYCLE
     CACHE 20;
 
--- 통계 캐시 시퀀스
-CREATE SEQUENCE SEQ_STATISTICS_CACHE
-    START WITH 1
-    INCREMENT BY 1
-    NOMAXVALUE
-    NOCYCLE
-    CACHE 20;
-
 -- 2. 테이블 생성
 -- 테스트 결과 테이블
 CREATE TABLE TEST_RESULTS (
@@ -123,15 +115,16 @@ CREATE TABLE DAILY_STATS (
     CONSTRAINT UK_DAILY_STATS UNIQUE (STAT_DATE, MBTI_TYPE)
 );
 
--- 통계 캐시 테이블
+-- 통계 캐시 테이블 (StatisticsCache 엔티티, src/main/resources/sql/statistics_cache.sql과 같은 구조)
 CREATE TABLE STATISTICS_CACHE (
-    CACHE_ID NUMBER(19) PRIMARY KEY,
-    CACHE_KEY VARCHAR2(100) NOT NULL UNIQUE,
-    CACHE_VALUE CLOB,
-    CACHE_TYPE VARCHAR2(50) NOT NULL,
+    STAT_ID NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    STAT_TYPE VARCHAR2(50) NOT NULL,
+    STAT_KEY VARCHAR2(100),
+    STAT_VALUE NUMBER(19),
+    STAT_DATA CLOB,
+    CALCULATED_AT TIMESTAMP DEFAULT SYSTIMESTAMP,
     EXPIRES_AT TIMESTAMP,
-    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    CONSTRAINT UK_STATISTICS_CACHE UNIQUE (STAT_TYPE, STAT_KEY)
 );
 
 -- 3. 인덱스 생성
@@ -163,8 +156,7 @@ CREATE INDEX IDX_VIEW_LOGS_SESSION ON VIEW_LOGS(SESSION_ID);
 CREATE INDEX IDX_DAILY_STATS_DATE ON DAILY_STATS(STAT_DATE);
 CREATE INDEX IDX_DAILY_STATS_MBTI ON DAILY_STATS(MBTI_TYPE);
 
--- 통계 캐시 인덱스
-CREATE INDEX IDX_STATISTICS_CACHE_TYPE ON STATISTICS_CACHE(CACHE_TYPE);
+-- 통계 캐시 인덱스 (STAT_TYPE 조회는 UK_STATISTICS_CACHE 인덱스 사용)
 CREATE INDEX IDX_STATISTICS_CACHE_EXPIRES ON STATISTICS_CACHE(EXPIRES_AT);
 
 -- 4. 트리거 생성
@@ -195,15 +187,6 @@ BEGIN
 END;
 /
 
--- 통계 캐시 업데이트 트리거
-CREATE OR REPLACE TRIGGER TRG_STATISTICS_CACHE_UPDATE
-    BEFORE UPDATE ON STATISTICS_CACHE
-    FOR EACH ROW
-BEGIN
-    :NEW.UPDATED_AT := CURRENT_TIMESTAMP;
-END;
-/
-
 -- 5. 초기 데이터 삽입
 -- MBTI 타입별 초기 통계 데이터
 INSERT INTO DAILY_STATS (STAT_ID, STAT_DATE, MBTI_TYPE, TOTAL_TESTS, TOTAL_VIEWS, TOTAL_SHARES, TOTAL_COMMENTS, UNIQUE_VISITORS)
@@ -231,16 +214,6 @@ FROM (
     SELECT 'ESFP' FROM DUAL
 );
 
--- 통계 캐시 초기 데이터
-INSERT INTO STATISTICS_CACHE (CACHE_ID, CACHE_KEY, CACHE_VALUE, CACHE_TYPE, EXPIRES_AT)
-VALUES (SEQ_STATISTICS_CACHE.NEXTVAL, 'mbti_distribution', '{}', 'JSON', SYSDATE + 1);
-
-INSERT INTO STATISTICS_CACHE (CACHE_ID, CACHE_KEY, CACHE_VALUE, CACHE_TYPE, EXPIRES_AT)
-VALUES (SEQ_STATISTICS_CACHE.NEXTVAL, 'daily_stats', '{}', 'JSON', SYSDATE + 1/24);
-
-INSERT INTO STATISTICS_CACHE (CACHE_ID, CACHE_KEY, CACHE_VALUE, CACHE_TYPE, EXPIRES_AT)
-VALUES (SEQ_STATISTICS_CACHE.NEXTVAL, 'popular_comments', '[]', 'JSON', SYSDATE + 1/6);
-
 -- 6. 프로시저 생성
 -- 일별 통계 업데이트 프로시저
 CREATE OR REPLACE PROCEDURE UPDATE_DAILY_STATS(
@@ -396,9 +369,10 @@ COMMENT ON COLUMN VIEW_LOGS.PAGE_TYPE IS '페이지 타입 (test, result, dashbo
 COMMENT ON COLUMN VIEW_LOGS.REFERRER IS '리퍼러 URL';
 COMMENT ON COLUMN VIEW_LOGS.SESSION_ID IS '세션 ID';
 
-COMMENT ON COLUMN STATISTICS_CACHE.CACHE_KEY IS '캐시 키';
-COMMENT ON COLUMN STATISTICS_CACHE.CACHE_VALUE IS '캐시 값 (JSON)';
-COMMENT ON COLUMN STATISTICS_CACHE.CACHE_TYPE IS '캐시 타입';
+COMMENT ON COLUMN STATISTICS_CACHE.STAT_TYPE IS '통계 타입';
+COMMENT ON COLUMN STATISTICS_CACHE.STAT_KEY IS '통계 키 (날짜, MBTI 타입 등)';
+COMMENT ON COLUMN STATISTICS_CACHE.STAT_VALUE IS '통계 값';
+COMMENT ON COLUMN STATISTICS_CACHE.STAT_DATA IS '통계 데이터 (JSON, 직렬화한 스케치 등)';
 COMMENT ON COLUMN STATISTICS_CACHE.EXPIRES_AT IS '만료 시간';
 
 -- 스키마 생성 완료 메시지
@@ -0,0 +1,39 @@
+package com.example.mbtitest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * AI 분석 요청 입장 제어 설정
+ * - 클라이언트별 토큰 버킷 + 동시 처리 수 제한 + 공정 대기열
+ */
+@Data
+@ConfigurationProperties(prefix = "ai.admission")
+public class AdmissionProperties {
+
+    /** 입장 제어 사용 여부 */
+    private boolean enabled = true;
+
+    /** 클라이언트별 버킷 크기 (연속으로 보낼 수 있는 요청 수) */
+    private int bucketCapacity = 5;
+
+    /** 토큰 1개가 다시 채워지는 시간 */
+    private Duration refillPeriod = Duration.ofSeconds(20);
+
+    /** 토큰 버킷을 기억할 최대 클라이언트 수 */
+    private long maxClients = 10_000;
+
+    /** 동시에 처리할 AI 분석 요청 수 */
+    private int maxConcurrent = 32;
+
+    /** 대기열 전체 크기 */
+    private int queueCapacity = 100;
+
+    /** 클라이언트 1명이 대기열에 둘 수 있는 요청 수 */
+    private int perClientQueueLimit = 2;
+
+    /** 대기열 최대 대기 시간 (넘기면 429) */
+    private Duration maxWait = Duration.ofSeconds(10);
+}
@@ -0,0 +1,37 @@
+package com.example.mbtitest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 분석 이벤트(방문 / 공유 / 댓글 좋아요) 로컬 저널 설정
+ * - 사용하면 이벤트를 메모리 맵 파일에 먼저 기록하고, 적재 작업이 모아서 DB에 반영
+ */
+@Data
+@ConfigurationProperties(prefix = "analytics.journal")
+public class AnalyticsJournalProperties {
+
+    /** 저널 사용 여부 (사용하지 않으면 메모리 대기열/집계가 직접 DB에 반영) */
+    private boolean enabled = false;
+
+    /** 세그먼트/체크포인트 파일을 둘 디렉터리 */
+    private Path directory = Path.of("data", "analytics-journal");
+
+    /** 세그먼트 파일 1개에 담을 레코드 수 (레코드 512바이트) */
+    private int recordsPerSegment = 65_536;
+
+    /** 레코드마다 디스크 동기화 (OS 장애까지 보호, 대신 기록 지연 증가) */
+    private boolean forceOnAppend = false;
+
+    /** DB 적재 주기 */
+    private Duration loadInterval = Duration.ofSeconds(1);
+
+    /** 한 번에 적재할 최대 레코드 수 */
+    private int loadBatchSize = 1_000;
+
+    /** 같은 배치가 이 횟수만큼 실패하면 레코드 단위로 적재하고, 그래도 실패하는 레코드는 건너뜀 */
+    private int maxBatchAttempts = 3;
+}
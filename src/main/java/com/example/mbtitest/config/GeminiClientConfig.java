@@ -0,0 +1,101 @@
+package com.example.mbtitest.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Gemini API 호출용 HTTP 클라이언트 설정
+ * - 요청마다 RestTemplate을 만들지 않고 커넥션 풀을 공유
+ * - 모델 응답 대기는 가상 스레드에서 처리 (Tomcat 스레드 점유 방지)
+ * - 결과를 먼저 저장한 뒤 진행하는 분석은 작업자 풀 대기열에서 순서대로 처리
+ */
+@Configuration
+@EnableConfigurationProperties({GeminiProperties.class, AdmissionProperties.class})
+public class GeminiClientConfig {
+
+    /**
+     * Gemini API 커넥션 풀 (최대 연결 수, 연결 / 읽기 타임아웃)
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager geminiConnectionManager(GeminiProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.getMaxConnections())
+            .setMaxConnPerRoute(properties.getMaxConnections())
+            .setDefaultConnectionConfig(connectionConfig(properties))
+            .build();
+    }
+
+    /**
+     * 커넥션 풀 메트릭 (httpcomponents.httpclient.pool.*, httpclient=gemini)
+     */
+    @Bean
+    public MeterBinder geminiConnectionPoolMetrics(PoolingHttpClientConnectionManager geminiConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(geminiConnectionManager, "gemini");
+    }
+
+    static ConnectionConfig connectionConfig(GeminiProperties properties) {
+        return ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+            .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient geminiHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                GeminiProperties properties) {
+        TimeValue keepAlive = TimeValue.ofMilliseconds(properties.getKeepAlive().toMillis());
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy((response, context) -> keepAlive)
+            .evictExpiredConnections()
+            .evictIdleConnections(keepAlive)
+            // 503/429 응답에 대한 자동 재시도로 할당량이 두 번 소모되지 않도록 비활성화
+            .disableAutomaticRetries()
+            .build();
+    }
+
+    @Bean
+    public RestClient geminiRestClient(RestClient.Builder builder, CloseableHttpClient geminiHttpClient) {
+        return builder
+            .requestFactory(new HttpComponentsClientHttpRequestFactory(geminiHttpClient))
+            .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService geminiExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * 백그라운드 AI 분석 작업자 풀
+     * - 작업자 수를 동시 호출 제한과 맞춰 슬롯 대기 실패 없이 대기열에서 기다리도록 함
+     */
+    @Bean
+    public ThreadPoolTaskExecutor analysisWorkerExecutor(GeminiProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrentCalls());
+        executor.setMaxPoolSize(properties.getMaxConcurrentCalls());
+        executor.setQueueCapacity(properties.getWorkerQueueCapacity());
+        executor.setThreadNamePrefix("ai-analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.mbtitest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gemini API 클라이언트 설정
+ * - 커넥션 풀, 타임아웃, 동시 호출 수 제한
+ */
+@Data
+@ConfigurationProperties(prefix = "google.gemini.client")
+public class GeminiProperties {
+
+    /** 모델 API 기본 주소 (로컬 스텁 서버로 바꿔 테스트 가능) */
+    private String baseUrl = "https://generativelanguage.googleapis.com/v1beta/models/";
+
+    /** 호출할 모델 이름 */
+    private String model = "gemini-2.5-flash";
+
+    /** TCP 연결 타임아웃 */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /** 응답 대기(소켓 읽기) 타임아웃 */
+    private Duration readTimeout = Duration.ofSeconds(60);
+
+    /** 요청 1건의 전체 마감 시간 (대기열 + 연결 + 응답 본문 수신) */
+    private Duration totalTimeout = Duration.ofSeconds(90);
+
+    /** 커넥션 풀 최대 연결 수 */
+    private int maxConnections = 32;
+
+    /** 유휴 연결 유지 시간 (keep-alive) */
+    private Duration keepAlive = Duration.ofMinutes(2);
+
+    /** 동시에 진행할 수 있는 모델 호출 수 */
+    private int maxConcurrentCalls = 16;
+
+    /** 동시 호출 슬롯을 기다리는 최대 시간 */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    /** 백그라운드 분석 작업 대기열 크기 (작업자 수는 maxConcurrentCalls) */
+    private int workerQueueCapacity = 500;
+
+    /** 서킷 브레이커 - 실패율을 계산할 최근 호출 수 */
+    private int circuitWindowSize = 20;
+
+    /** 서킷 브레이커 - 실패율 계산에 필요한 최소 호출 수 */
+    private int circuitMinimumCalls = 10;
+
+    /** 서킷 브레이커 - 차단을 시작할 실패율 (%) */
+    private int circuitFailureRateThreshold = 50;
+
+    /** 서킷 브레이커 - 차단 유지 시간 (이후 시험 호출 허용) */
+    private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+    /** 서킷 브레이커 - 반개방 상태에서 허용할 시험 호출 수 */
+    private int circuitHalfOpenCalls = 1;
+}
@@ -0,0 +1,22 @@
+package com.example.mbtitest.config;
+
+import com.example.mbtitest.service.GeminiStubServer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * 로컬 부하 테스트용 Gemini 스텁 서버 (gemini-stub 프로필에서만 활성화)
+ * - application-gemini-stub.properties에서 base-url을 스텁 서버로 변경
+ */
+@Configuration
+@Profile("gemini-stub")
+@EnableConfigurationProperties(GeminiStubProperties.class)
+public class GeminiStubConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public GeminiStubServer geminiStubServer(GeminiStubProperties properties) {
+        return new GeminiStubServer(properties);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.mbtitest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gemini 스텁 서버 설정 (gemini-stub 프로필)
+ * - 응답 지연 분포, 오류 비율, 응답 크기를 조절해 실제 할당량 없이 부하 테스트
+ */
+@Data
+@ConfigurationProperties(prefix = "gemini.stub")
+public class GeminiStubProperties {
+
+    /** 지연 분포 종류 */
+    public enum LatencyDistribution {
+        FIXED, UNIFORM, LOG_NORMAL
+    }
+
+    /** 스텁 서버 포트 (0이면 임의 포트) */
+    private int port = 18089;
+
+    /** 지연 분포 */
+    private LatencyDistribution latencyDistribution = LatencyDistribution.LOG_NORMAL;
+
+    /** FIXED 지연 / LOG_NORMAL 중앙값 */
+    private Duration latencyMedian = Duration.ofSeconds(2);
+
+    /** UNIFORM 최소 지연 */
+    private Duration latencyMin = Duration.ofMillis(500);
+
+    /** UNIFORM 최대 지연 / 모든 분포의 상한 */
+    private Duration latencyMax = Duration.ofSeconds(30);
+
+    /** LOG_NORMAL 표준편차 (로그 스케일) */
+    private double latencySigma = 0.5;
+
+    /** 오류 응답 비율 (0.0 ~ 1.0) */
+    private double errorRate = 0.0;
+
+    /** 오류 응답 HTTP 상태 코드 */
+    private int errorStatus = 503;
+
+    /** 생성할 분석 텍스트 길이 (문자 수) */
+    private int payloadChars = 4000;
+
+    /** 스트리밍 응답을 나눌 조각 수 */
+    private int streamChunks = 20;
+
+    /** 고정 응답 텍스트 (지정하면 payloadChars 대신 사용) */
+    private String responseText;
+
+    /** 난수 시드 (지정하면 지연/오류 발생 순서가 재현됨) */
+    private Long seed;
+}
@@ -0,0 +1,39 @@
+package com.example.mbtitest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 오래된 로그 정리(보관 기간) 설정
+ * - 방문 로그 / 공유 로그 / 삭제된 댓글을 보관 기간이 지나면 일정 건수씩 나눠 삭제
+ */
+@Data
+@ConfigurationProperties(prefix = "retention")
+public class RetentionProperties {
+
+    /** 정리 작업 사용 여부 */
+    private boolean enabled = false;
+
+    /** 방문 로그 보관 기간 (통계는 롤업 / 스케치에 남으므로 원본만 삭제) */
+    private Duration viewLogs = Duration.ofDays(90);
+
+    /** 공유 로그 보관 기간 */
+    private Duration shareLogs = Duration.ofDays(365);
+
+    /** 삭제(IS_DELETED = 'Y')된 댓글 보관 기간 (삭제 시각 UPDATED_AT 기준) */
+    private Duration deletedComments = Duration.ofDays(30);
+
+    /** 한 번에(한 트랜잭션으로) 삭제할 최대 건수 */
+    private int chunkSize = 2_000;
+
+    /** 청크 사이 쉬는 시간 (리두 / 잠금 부담을 나눔) */
+    private Duration chunkPause = Duration.ofMillis(100);
+
+    /** 1회 실행 최대 시간 (넘기면 남은 행은 다음 실행에서 삭제) */
+    private Duration maxRunTime = Duration.ofMinutes(30);
+
+    /** 구간 파티션 테이블이면 보관 기간이 지난 파티션을 통째로 삭제 (Oracle 인터벌 파티셔닝) */
+    private boolean dropPartitions = false;
+}
@@ -0,0 +1,14 @@
+package com.example.mbtitest.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업 활성화 (보류된 AI 분석 재시도, 오래된 로그 정리 등) + 백그라운드 저장 설정
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ViewLogProperties.class, AnalyticsJournalProperties.class, RetentionProperties.class})
+public class SchedulingConfig {
+}
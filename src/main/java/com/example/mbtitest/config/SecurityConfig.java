@@ -1,6 +1,8 @@
 package com.example.mbtitest.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,6 +10,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
@@ -28,6 +31,12 @@ public class SecurityConfig {
             // 커스텀 세션 인증 필터 추가
             .addFilterBefore(sessionAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(authz -> authz
+                // 운영 엔드포인트 - health만 공개, metrics 등은 로컬 접속만 허용
+                // (관리 포트는 127.0.0.1에만 열리고, 같은 포트로 설정해도 외부에서는 읽을 수 없음)
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint())
+                    .access(new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')"))
+                
                 // 정적 리소스는 모두 허용
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
                 
@@ -64,7 +73,10 @@ public class SecurityConfig {
                 .authenticationEntryPoint((request, response, authException) -> {
                     // 인증이 필요한 페이지에 접근했을 때
                     String requestURI = request.getRequestURI();
-                    if (requestURI.startsWith("/api/")) {
+                    if (requestURI.startsWith("/actuator/")) {
+                        // 운영 엔드포인트는 로그인으로 열 수 없으므로 거부
+                        response.setStatus(403);
+                    } else if (requestURI.startsWith("/api/")) {
                         // API 요청인 경우 JSON 응답
                         response.setStatus(401);
                         response.setContentType("application/json;charset=UTF-8");
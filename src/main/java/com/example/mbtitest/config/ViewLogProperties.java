@@ -0,0 +1,48 @@
+package com.example.mbtitest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 페이지 방문 로그 비동기 저장 설정
+ * - 요청 스레드는 대기열에 넣기만 하고, 작업 스레드가 모아서 배치 insert
+ */
+@Data
+@ConfigurationProperties(prefix = "view-log.pipeline")
+public class ViewLogProperties {
+
+    /** 대기열 크기 */
+    private int queueCapacity = 10_000;
+
+    /** 한 번에 저장할 최대 건수 */
+    private int batchSize = 100;
+
+    /** 배치를 채우려고 기다리는 최대 시간 */
+    private Duration maxLinger = Duration.ofMillis(200);
+
+    /** 대기열이 찼을 때 처리 방식 */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /** BLOCK: 자리가 날 때까지 기다리는 최대 시간 (넘기면 버림) */
+    private Duration blockTimeout = Duration.ofMillis(50);
+
+    /** SAMPLE: 샘플링을 시작하는 대기열 사용률 (0 ~ 1) */
+    private double sampleThreshold = 0.5;
+
+    /** SAMPLE: 샘플링 중에는 N건 중 1건만 저장 */
+    private int sampleRate = 10;
+
+    /** 종료 시 남은 로그 저장을 기다리는 최대 시간 */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public enum OverflowPolicy {
+        /** 바로 버림 */
+        DROP,
+        /** blockTimeout까지 기다린 뒤 버림 */
+        BLOCK,
+        /** 대기열이 sampleThreshold 이상 차면 일부만 받고, 가득 차면 버림 */
+        SAMPLE
+    }
+}
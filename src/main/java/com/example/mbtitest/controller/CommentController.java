@@ -1,7 +1,11 @@
 package com.example.mbtitest.controller;
 
 import com.example.mbtitest.entity.Comment;
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.service.ClientIdentity;
+import com.example.mbtitest.service.CommentLikeAggregator;
 import com.example.mbtitest.service.CommentService;
+import com.example.mbtitest.service.MbtiTypeCounts;
 import com.example.mbtitest.service.ViewLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +26,7 @@ public class CommentController {
     
     private final CommentService commentService;
     private final ViewLogService viewLogService;
+    private final CommentLikeAggregator commentLikeAggregator;
     
     /**
      * 커뮤니티 페이지 (댓글 모음)
@@ -39,10 +44,11 @@ public class CommentController {
             
             // 댓글 데이터 조회
             List<Comment> comments;
-            if (mbtiType != null && !mbtiType.isEmpty()) {
-                comments = commentService.getCommentsByMbtiType(mbtiType);
-                model.addAttribute("selectedMbti", mbtiType.toUpperCase());
-                model.addAttribute("pageTitle", mbtiType.toUpperCase() + " 커뮤니티");
+            MbtiType selectedType = MbtiType.parse(mbtiType);
+            if (selectedType != null) {
+                comments = commentService.getCommentsByMbtiType(selectedType.name());
+                model.addAttribute("selectedMbti", selectedType.name());
+                model.addAttribute("pageTitle", selectedType.name() + " 커뮤니티");
             } else {
                 comments = commentService.getRecentComments(50);
                 model.addAttribute("pageTitle", "MBTI 커뮤니티");
@@ -55,26 +61,20 @@ public class CommentController {
             model.addAttribute("popularComments", popularComments);
             
             // MBTI 타입별 댓글 통계
-            Map<String, Long> commentStats = commentService.getCommentStatsByMbtiType();
-            model.addAttribute("commentStats", commentStats);
+            MbtiTypeCounts commentCounts = commentService.getCommentCountsByMbtiType();
+            model.addAttribute("commentStats", commentCounts.toMap());
             
-            // 전체 댓글 수 계산
-            long totalComments = commentStats.values().stream().mapToLong(Long::longValue).sum();
-            model.addAttribute("totalComments", totalComments);
+            // 전체 댓글 수
+            model.addAttribute("totalComments", commentCounts.total());
             
-            // 가장 활발한 MBTI 타입 계산
-            String mostActiveMbti = commentStats.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("ENFP");
-            model.addAttribute("mostActiveMbti", mostActiveMbti);
+            // 가장 활발한 MBTI 타입
+            MbtiType mostActiveMbti = commentCounts.mostCommon();
+            model.addAttribute("mostActiveMbti", mostActiveMbti != null ? mostActiveMbti.name() : MbtiType.ENFP.name());
             
             // MBTI 타입 목록 (필터링용)
-            String[] mbtiTypes = {"ENFP", "ENFJ", "ENTP", "ENTJ", "ESFP", "ESFJ", "ESTP", "ESTJ",
-                                 "INFP", "INFJ", "INTP", "INTJ", "ISFP", "ISFJ", "ISTP", "ISTJ"};
-            model.addAttribute("mbtiTypes", mbtiTypes);
+            model.addAttribute("mbtiTypes", MbtiType.names());
             
-            log.info("커뮤니티 페이지 접근 - MBTI: {}, IP: {}", mbtiType, getClientIp(request));
+            log.info("커뮤니티 페이지 접근 - MBTI: {}, IP: {}", mbtiType, ClientIdentity.resolveIp(request));
             return "community/index";
             
         } catch (Exception e) {
@@ -242,14 +242,23 @@ public class CommentController {
      */
     @PostMapping("/api/{commentId}/like")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> likeComment(@PathVariable Long commentId) {
+    public ResponseEntity<Map<String, Object>> likeComment(@PathVariable Long commentId,
+                                                         HttpServletRequest httpRequest) {
         try {
-            Comment comment = commentService.likeComment(commentId);
+            // DB 반영은 주기적으로 모아서 (같은 클라이언트의 반복 좋아요는 무시)
+            CommentLikeAggregator.LikeResult result =
+                commentLikeAggregator.like(commentId, ClientIdentity.resolveClientKey(httpRequest));
+            
+            if (!result.accepted()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "이미 좋아요를 누른 댓글입니다.",
+                        "likesCount", result.likesCount()));
+            }
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "좋아요가 추가되었습니다.",
-                "likesCount", comment.getLikesCount()
+                "likesCount", result.likesCount()
             ));
             
         } catch (RuntimeException e) {
@@ -343,18 +352,4 @@ public class CommentController {
                 .body(Map.of("error", -1L));
         }
     }
-    
-    /**
-     * 클라이언트 IP 추출
-     */
-    private String getClientIp(HttpServletRequest request) {
-        String clientIp = request.getHeader("X-Forwarded-For");
-        if (clientIp == null || clientIp.isEmpty() || "unknown".equalsIgnoreCase(clientIp)) {
-            clientIp = request.getHeader("X-Real-IP");
-        }
-        if (clientIp == null || clientIp.isEmpty() || "unknown".equalsIgnoreCase(clientIp)) {
-            clientIp = request.getRemoteAddr();
-        }
-        return clientIp;
-    }
 }
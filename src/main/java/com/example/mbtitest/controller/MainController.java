@@ -1,36 +1,59 @@
 package com.example.mbtitest.controller;
 
+import com.example.mbtitest.entity.MbtiType;
 import com.example.mbtitest.entity.TestResult;
+import com.example.mbtitest.repository.TestResultSummary;
 import com.example.mbtitest.service.TestResultService;
 import com.example.mbtitest.service.ViewLogService;
-import com.example.mbtitest.service.StatisticsService;
 import com.example.mbtitest.service.CommentService;
+import com.example.mbtitest.service.AdmissionRejectedException;
+import com.example.mbtitest.service.AiAdmissionQueue;
+import com.example.mbtitest.service.AiAnalysisService;
+import com.example.mbtitest.service.ClientIdentity;
+import com.example.mbtitest.service.DashboardSnapshot;
+import com.example.mbtitest.service.DashboardSnapshots;
+import com.example.mbtitest.service.GeminiClient;
+import com.example.mbtitest.service.QuestionCatalog;
+import com.example.mbtitest.service.ResultCounterBuffer;
 import com.example.mbtitest.entity.Comment;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.*;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class MainController {
     
+    /** AI 분석 스트리밍 응답 최대 유지 시간 */
+    private static final long STREAM_TIMEOUT_MS = 120_000L;
+    
     private final TestResultService testResultService;
     private final ViewLogService viewLogService;
-    private final StatisticsService statisticsService;
+    private final DashboardSnapshots dashboardSnapshots;
     private final CommentService commentService;
+    private final GeminiClient geminiClient;
+    private final AiAnalysisService aiAnalysisService;
+    private final QuestionCatalog questionCatalog;
+    private final AiAdmissionQueue aiAdmissionQueue;
+    private final ResultCounterBuffer resultCounterBuffer;
     private final Environment environment;
     
     /**
@@ -53,21 +76,13 @@ public class MainController {
                 log.warn("메인 페이지 방문 로그 기록 실패: {}", logError.getMessage());
             }
             
-            // 통계 초기화 (오늘 날짜 레코드가 없으면 생성)
-            try {
-                statisticsService.initializeTodayStats();
-            } catch (Exception statsError) {
-                log.warn("통계 초기화 실패: {}", statsError.getMessage());
-            }
-            
-            // 간단한 통계 정보 추가 (안전한 방식으로)
+            // 간단한 통계 정보 추가 (메모리 스냅샷, 아직 준비 전이면 기본값)
             Map<String, Object> quickStats = new HashMap<>();
-            
-            try {
-                quickStats.put("totalTests", statisticsService.getDashboardStats().getOrDefault("totalTests", 1000L));
-                quickStats.put("mostPopularMbti", statisticsService.getMostPopularMbtiType());
-            } catch (Exception e) {
-                log.warn("통계 조회 실패, 기본값 사용: {}", e.getMessage());
+            DashboardSnapshot snapshot = dashboardSnapshots.current();
+            if (snapshot.ready()) {
+                quickStats.put("totalTests", snapshot.count("totalTests"));
+                quickStats.put("mostPopularMbti", snapshot.get("mostPopularMbti"));
+            } else {
                 quickStats.put("totalTests", 1000L);
                 quickStats.put("mostPopularMbti", "ENFP");
             }
@@ -94,6 +109,7 @@ public class MainController {
             viewLogService.recordTestPageView(request);
             
             model.addAttribute("pageTitle", "MBTI 성격 테스트 시작");
+            model.addAttribute("questionCatalogVersion", questionCatalog.getVersion());
             
             return "test";
         } catch (Exception e) {
@@ -116,28 +132,31 @@ public class MainController {
             }
             
             TestResult testResult = testResultOpt.get();
+            String mbtiType = testResult.getMbtiType().name();
             
-            // 페이지 방문 로그 기록
-            viewLogService.recordResultPageView(testResult.getMbtiType(), request);
+            // 페이지 방문 로그 기록 + 조회수 증가 (DB 반영은 주기적으로 모아서)
+            viewLogService.recordResultPageView(mbtiType, request);
+            resultCounterBuffer.recordView(resultId);
             
             // 모델에 데이터 추가
             model.addAttribute("testResult", testResult);
-            model.addAttribute("mbtiType", testResult.getMbtiType());
+            model.addAttribute("mbtiType", mbtiType);
             model.addAttribute("aiAnalysis", testResult.getAiAnalysis());
-            model.addAttribute("categoryScores", testResultService.parseCategoryScores(testResult.getCategoryScores()));
+            model.addAttribute("analysisStatus", testResult.getAnalysisStatus());
+            model.addAttribute("categoryScores", testResultService.getCategoryScores(testResult));
             model.addAttribute("resultId", resultId);
-            model.addAttribute("pageTitle", testResult.getMbtiType() + " - MBTI 테스트 결과");
+            model.addAttribute("pageTitle", mbtiType + " - MBTI 테스트 결과");
             
             // 해당 결과의 댓글들 조회
             List<Comment> comments = commentService.getCommentsByResultId(resultId);
             model.addAttribute("comments", comments);
             
             // 같은 MBTI 타입의 다른 댓글들
-            List<Comment> sameTypeComments = commentService.getCommentsByMbtiType(testResult.getMbtiType());
+            List<Comment> sameTypeComments = commentService.getCommentsByMbtiType(mbtiType);
             model.addAttribute("sameTypeComments", sameTypeComments.subList(0, Math.min(5, sameTypeComments.size())));
             
             // MBTI 타입 정보 추가
-            model.addAttribute("mbtiInfo", getMbtiTypeInfo(testResult.getMbtiType()));
+            model.addAttribute("mbtiInfo", getMbtiTypeInfo(mbtiType));
             
             return "result";
         } catch (NumberFormatException e) {
@@ -197,13 +216,13 @@ public class MainController {
     @GetMapping("/mbti/{mbtiType}")
     public String mbtiTypePage(@PathVariable String mbtiType, HttpServletRequest request, Model model) {
         try {
-            String upperMbtiType = mbtiType.toUpperCase();
-            
             // MBTI 타입 유효성 검증
-            if (!isValidMbtiType(upperMbtiType)) {
+            MbtiType type = MbtiType.parse(mbtiType);
+            if (type == null) {
                 model.addAttribute("errorMessage", "올바르지 않은 MBTI 타입입니다.");
                 return "error/400";
             }
+            String upperMbtiType = type.name();
             
             // 페이지 방문 로그 기록
             viewLogService.recordMbtiPageView(upperMbtiType, request);
@@ -214,8 +233,7 @@ public class MainController {
             model.addAttribute("pageTitle", upperMbtiType + " 성격 유형 상세");
             
             // 해당 타입의 최근 테스트 결과들
-            List<TestResult> recentResults = testResultService.getRecentTestResultsByMbti(upperMbtiType);
-            model.addAttribute("recentResults", recentResults.subList(0, Math.min(5, recentResults.size())));
+            model.addAttribute("recentResults", testResultService.getRecentTestResultsByMbti(type, 5));
             
             // 해당 타입의 댓글들
             List<Comment> typeComments = commentService.getCommentsByMbtiType(upperMbtiType);
@@ -236,99 +254,243 @@ public class MainController {
     
     /**
      * AI 분석 요청 처리 (서버에서 직접 API 호출 + DB 저장)
-     * 클라이언트는 답변만 전송, API 키는 서버에서만 사용
+     * 클라이언트는 질문 id와 답변만 전송, 프롬프트 조립과 API 키는 서버에서만 사용
+     * 결과를 PENDING 상태로 바로 저장해 resultId를 반환하고, 분석 완료는 /api/results/{id}/status로 확인
+     * 저장에 필요한 값이 없으면 모델 응답을 기다려 바로 반환 (요청 스레드는 비동기로 반환)
+     * 클라이언트별 입장 제어를 통과한 요청만 분석하고, 거절되면 429 + Retry-After
      */
     @PostMapping("/api/analyze")
     @ResponseBody
-    public Map<String, Object> analyzePersonality(@RequestBody Map<String, Object> requestData,
-                                                 HttpServletRequest request) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> analyzePersonality(@RequestBody Map<String, Object> requestData,
+                                                                                    HttpServletRequest request) {
+        // 비동기 처리 중에는 요청 객체를 사용할 수 없으므로 미리 추출
+        AiAnalysisService.AnalysisRequest analysisRequest;
         try {
-            // 클라이언트에서 받은 데이터
-            String prompt = (String) requestData.get("prompt");
-            String mbtiType = (String) requestData.get("mbtiType");
-            Integer testDuration = (Integer) requestData.get("testDuration");
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> categoryScores = (Map<String, Object>) requestData.get("categoryScores");
-            @SuppressWarnings("unchecked")
-            List<Integer> answers = (List<Integer>) requestData.get("answers");
-            
-            // Gemini API 호출을 위한 요청 데이터 구성
-            Map<String, Object> geminiRequest = new HashMap<>();
-            
-            List<Map<String, Object>> contents = new ArrayList<>();
-            Map<String, Object> content = new HashMap<>();
-            List<Map<String, Object>> parts = new ArrayList<>();
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", prompt);
-            parts.add(part);
-            content.put("parts", parts);
-            contents.add(content);
-            geminiRequest.put("contents", contents);
-            
-            Map<String, Object> generationConfig = new HashMap<>();
-            generationConfig.put("temperature", 0.7);
-            generationConfig.put("topK", 40);
-            generationConfig.put("topP", 0.95);
-            generationConfig.put("maxOutputTokens", 8000);
-            geminiRequest.put("generationConfig", generationConfig);
-            
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(geminiRequest, headers);
-            
-            // Gemini API 호출
-            RestTemplate restTemplate = new RestTemplate();
-            String geminiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + getAiKey();
-            
-            ResponseEntity<Map> response = restTemplate.exchange(
-                geminiUrl,
-                HttpMethod.POST,
-                entity,
-                Map.class
-            );
-            
-            // AI 분석 결과 추출
-            String aiAnalysis = extractAiAnalysisFromResponse(response.getBody());
-            
-            // DB에 결과 저장
-            TestResult savedResult = null;
-            if (mbtiType != null && categoryScores != null && answers != null) {
+            analysisRequest = toAnalysisRequest(requestData, request);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.ok(result));
+        }
+        
+        return aiAdmissionQueue.admit(ClientIdentity.resolveClientKey(request), admissionPriority(request))
+            .thenCompose(permit -> {
+                CompletableFuture<Map<String, Object>> analysis;
                 try {
-                    // UUID 생성
-                    String userUuid = UUID.randomUUID().toString();
-                    
-                    savedResult = testResultService.saveTestResult(
-                        userUuid, categoryScores, answers, aiAnalysis, testDuration, request);
-                } catch (Exception e) {
-                    log.error("DB 저장 실패", e);
-                    // DB 저장 실패해도 AI 분석 결과는 반환
+                    analysis = startAnalysis(analysisRequest);
+                } catch (RuntimeException e) {
+                    permit.release();
+                    throw e;
+                }
+                return analysis.whenComplete((result, e) -> permit.release());
+            })
+            .thenApply(ResponseEntity::ok)
+            .exceptionally(e -> {
+                if (unwrap(e) instanceof AdmissionRejectedException rejected) {
+                    return tooManyRequests(rejected);
                 }
+                log.error("AI 분석 요청 처리 중 오류 발생", e);
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", false);
+                result.put("error", rootMessage(e));
+                return ResponseEntity.ok(result);
+            });
+    }
+    
+    /**
+     * 입장 후 분석 실행
+     */
+    private CompletableFuture<Map<String, Object>> startAnalysis(AiAnalysisService.AnalysisRequest analysisRequest) {
+        String mbtiType = analysisRequest.mbtiType();
+        Map<String, Object> categoryScores = analysisRequest.categoryScores();
+        List<Integer> answers = analysisRequest.answers();
+        
+        // 결과를 저장할 수 있으면 먼저 저장하고 분석은 백그라운드에서 진행
+        // (지연 허용 시간을 넘기면 유형별 기본 분석으로 먼저 응답)
+        if (mbtiType != null && categoryScores != null && answers != null) {
+            CompletableFuture<AiAnalysisService.Submission> submission;
+            try {
+                submission = aiAnalysisService.submitAnalysis(analysisRequest);
+            } catch (Exception e) {
+                log.error("AI 분석 요청 처리 중 오류 발생", e);
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", false);
+                result.put("error", rootMessage(e));
+                return CompletableFuture.completedFuture(result);
             }
             
-            // 성공 응답 반환
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("data", response.getBody());
-            result.put("aiAnalysis", aiAnalysis);
-            result.put("mbtiType", mbtiType);
-            
-            if (savedResult != null) {
-                result.put("resultId", savedResult.getResultId());
-                result.put("resultUrl", "/result/" + savedResult.getResultId());
+            return submission
+                .thenApply(submitted -> {
+                    TestResult savedResult = submitted.savedResult();
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("success", true);
+                    result.put("mbtiType", mbtiType);
+                    result.put("resultId", savedResult.getResultId());
+                    result.put("resultUrl", "/result/" + savedResult.getResultId());
+                    result.put("statusUrl", "/api/results/" + savedResult.getResultId() + "/status");
+                    result.put("analysisStatus", submitted.analysisStatus());
+                    result.put("fallback", submitted.fallback());
+                    if (submitted.aiAnalysis() != null) {
+                        result.put("aiAnalysis", submitted.aiAnalysis());
+                        result.put("data", GeminiClient.toResponseBody(submitted.aiAnalysis()));
+                    }
+                    if (submitted.fallback()) {
+                        result.put("message", "AI 분석이 지연되어 기본 분석을 먼저 보여드립니다. 맞춤 분석은 결과 페이지에서 확인할 수 있습니다.");
+                    } else if (TestResult.ANALYSIS_DEFERRED.equals(submitted.analysisStatus())) {
+                        result.put("message", "AI 분석이 잠시 지연되고 있습니다. 준비되면 결과 페이지에서 확인할 수 있습니다.");
+                    }
+                    return result;
+                })
+                .exceptionally(e -> {
+                    log.error("AI 분석 요청 처리 중 오류 발생", e);
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("success", false);
+                    result.put("error", rootMessage(e));
+                    return result;
+                });
+        }
+        
+        return aiAnalysisService.analyze(analysisRequest)
+            .thenApply(outcome -> {
+                // 성공 응답 반환
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", true);
+                result.put("data", outcome.responseBody());
+                result.put("aiAnalysis", outcome.aiAnalysis());
+                result.put("mbtiType", mbtiType);
+                result.put("cached", outcome.cached());
+                
+                TestResult savedResult = outcome.savedResult();
+                if (savedResult != null) {
+                    result.put("resultId", savedResult.getResultId());
+                    result.put("resultUrl", "/result/" + savedResult.getResultId());
+                }
+                
+                return result;
+            })
+            .exceptionally(e -> {
+                log.error("AI 분석 중 오류 발생", e);
+                // 에러 응답 반환
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", false);
+                result.put("error", rootMessage(e));
+                return result;
+            });
+    }
+    
+    /**
+     * AI 분석 스트리밍 (SSE)
+     * - saved: 저장된 결과 ID / chunk: 생성된 텍스트 조각 / done: 완료 / error: 오류
+     * - 클라이언트 연결이 끊겨도 분석은 끝까지 진행해 결과를 저장
+     */
+    @PostMapping(value = "/api/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> analyzePersonalityStream(@RequestBody Map<String, Object> requestData,
+                                                               HttpServletRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        
+        AiAnalysisService.AnalysisRequest analysisRequest;
+        try {
+            analysisRequest = toAnalysisRequest(requestData, request);
+        } catch (IllegalArgumentException e) {
+            sendEvent(emitter, "error", Map.of("error", e.getMessage()));
+            emitter.complete();
+            return ResponseEntity.ok(emitter);
+        }
+        String mbtiType = analysisRequest.mbtiType();
+        
+        // 스트림을 열기 전에 입장 대기 (가상 스레드라 대기 중에도 플랫폼 스레드를 점유하지 않음)
+        AiAdmissionQueue.Permit permit;
+        try {
+            permit = aiAdmissionQueue.admit(ClientIdentity.resolveClientKey(request), admissionPriority(request)).join();
+        } catch (CompletionException e) {
+            if (unwrap(e) instanceof AdmissionRejectedException rejected) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                    .build();
             }
-            
-            return result;
-            
+            throw e;
+        }
+        
+        AtomicReference<TestResult> savedRef = new AtomicReference<>();
+        
+        CompletableFuture<String> analysis;
+        try {
+            analysis = aiAnalysisService.analyzeStream(analysisRequest, new AiAnalysisService.StreamListener() {
+                @Override
+                public void onSaved(TestResult savedResult) {
+                    savedRef.set(savedResult);
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("mbtiType", mbtiType);
+                    if (savedResult != null) {
+                        data.put("resultId", savedResult.getResultId());
+                        data.put("resultUrl", "/result/" + savedResult.getResultId());
+                    }
+                    sendEvent(emitter, "saved", data);
+                }
+                
+                @Override
+                public void onChunk(String text) {
+                    sendEvent(emitter, "chunk", Map.of("text", text));
+                }
+            });
         } catch (Exception e) {
-            log.error("AI 분석 중 오류 발생", e);
-            // 에러 응답 반환
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-            return result;
+            analysis = CompletableFuture.failedFuture(e);
+        }
+        
+        analysis.whenComplete((aiAnalysis, e) -> {
+            permit.release();
+            if (e != null) {
+                log.error("AI 분석 스트리밍 중 오류 발생", e);
+                sendEvent(emitter, "error", Map.of("error", rootMessage(e)));
+            } else {
+                Map<String, Object> data = new HashMap<>();
+                TestResult savedResult = savedRef.get();
+                if (savedResult != null) {
+                    data.put("resultId", savedResult.getResultId());
+                }
+                sendEvent(emitter, "done", data);
+            }
+            emitter.complete();
+        });
+        
+        return ResponseEntity.ok(emitter);
+    }
+    
+    /**
+     * 분석 요청 데이터 구성
+     * - 클라이언트는 질문 id와 답변만 보내고, 프롬프트는 서버의 질문 목록 템플릿으로 조립
+     */
+    private AiAnalysisService.AnalysisRequest toAnalysisRequest(Map<String, Object> requestData,
+                                                                HttpServletRequest request) {
+        String catalogVersion = (String) requestData.get("catalogVersion");
+        if (catalogVersion != null && !catalogVersion.equals(questionCatalog.getVersion())) {
+            throw new IllegalArgumentException("질문 목록이 변경되었습니다. 페이지를 새로고침한 뒤 다시 시도해주세요.");
+        }
+        
+        @SuppressWarnings("unchecked")
+        Map<String, Object> categoryScores = (Map<String, Object>) requestData.get("categoryScores");
+        @SuppressWarnings("unchecked")
+        List<Integer> answers = (List<Integer>) requestData.get("answers");
+        
+        return new AiAnalysisService.AnalysisRequest(
+            questionCatalog.buildPrompt(answers),
+            (String) requestData.get("mbtiType"),
+            (Integer) requestData.get("testDuration"),
+            categoryScores,
+            answers,
+            ClientIdentity.resolveIp(request),
+            request.getHeader("User-Agent"));
+    }
+    
+    /**
+     * SSE 이벤트 전송 (클라이언트 연결이 끊긴 경우 무시)
+     */
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            log.debug("SSE 전송 실패 (클라이언트 연결 종료): {}", e.getMessage());
         }
     }
     
@@ -337,11 +499,11 @@ public class MainController {
      */
     @GetMapping("/api/history")
     @ResponseBody
-    public ResponseEntity<List<TestResult>> getUserHistory(HttpServletRequest request) {
+    public ResponseEntity<List<TestResultSummary>> getUserHistory(HttpServletRequest request) {
         try {
             // TODO: 실제 환경에서는 세션에서 userUuid를 가져와야 함
             // 현재는 빈 리스트로 처리 (사용자 인증 시스템이 없으므로)
-            List<TestResult> history = new ArrayList<>();
+            List<TestResultSummary> history = new ArrayList<>();
             return ResponseEntity.ok(history);
         } catch (Exception e) {
             log.error("사용자 이력 조회 중 오류", e);
@@ -374,15 +536,15 @@ public class MainController {
             // 기본 통계 데이터 (DB 연결이 안 되어도 작동하도록)
             Map<String, Object> stats = new HashMap<>();
             
-            try {
-                // 실제 통계 조회 시도
-                stats.put("totalTests", testResultService.getMbtiTypeStatistics().values().stream()
-                    .mapToLong(Long::longValue).sum());
-                stats.put("totalShares", 0L); // 임시값
-                stats.put("mostPopularMbti", statisticsService.getMostPopularMbtiType());
-                stats.put("mbtiStats", testResultService.getMbtiTypeStatistics());
-            } catch (Exception dbError) {
-                log.warn("DB 연결 오류로 인해 기본값 사용: {}", dbError.getMessage());
+            DashboardSnapshot snapshot = dashboardSnapshots.current();
+            if (snapshot.ready()) {
+                // 메모리 스냅샷 통계
+                stats.put("totalTests", snapshot.count("totalTests"));
+                stats.put("totalShares", snapshot.count("totalShares"));
+                stats.put("mostPopularMbti", snapshot.get("mostPopularMbti"));
+                stats.put("mbtiStats", snapshot.get("mbtiStats"));
+            } else {
+                log.warn("통계 스냅샷 준비 전이라 기본값 사용");
                 // DB 연결 실패 시 기본값
                 stats.put("totalTests", 1500L);
                 stats.put("totalShares", 850L);
@@ -445,52 +607,25 @@ public class MainController {
      */
     @PostMapping("/api/test")
     @ResponseBody
-    public Map<String, Object> testAPI() {
-        try {
-            // 간단한 테스트 프롬프트
-            Map<String, Object> geminiRequest = new HashMap<>();
-            
-            List<Map<String, Object>> contents = new ArrayList<>();
-            Map<String, Object> content = new HashMap<>();
-            List<Map<String, Object>> parts = new ArrayList<>();
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", "한 단어로만 답해주세요: OK");
-            parts.add(part);
-            content.put("parts", parts);
-            contents.add(content);
-            geminiRequest.put("contents", contents);
-            
-            Map<String, Object> generationConfig = new HashMap<>();
-            generationConfig.put("temperature", 0.1);
-            generationConfig.put("maxOutputTokens", 1000);
-            geminiRequest.put("generationConfig", generationConfig);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(geminiRequest, headers);
-            
-            RestTemplate restTemplate = new RestTemplate();
-            String geminiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + getAiKey();
-            
-            ResponseEntity<Map> response = restTemplate.exchange(
-                geminiUrl,
-                HttpMethod.POST,
-                entity,
-                Map.class
-            );
-            
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("data", response.getBody());
-            return result;
-            
-        } catch (Exception e) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-            return result;
-        }
+    public CompletableFuture<Map<String, Object>> testAPI() {
+        // 간단한 테스트 프롬프트
+        Map<String, Object> generationConfig = new HashMap<>();
+        generationConfig.put("temperature", 0.1);
+        generationConfig.put("maxOutputTokens", 1000);
+        
+        return geminiClient.generateContent("한 단어로만 답해주세요: OK", generationConfig)
+            .thenApply(responseBody -> {
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", true);
+                result.put("data", responseBody);
+                return result;
+            })
+            .exceptionally(e -> {
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", false);
+                result.put("error", rootMessage(e));
+                return result;
+            });
     }
     
     /**
@@ -577,37 +712,42 @@ public class MainController {
     }
     
     /**
-     * AI 응답에서 분석 텍스트 추출
+     * 비동기 처리 예외에서 실제 원인 메시지 추출
      */
-    private String extractAiAnalysisFromResponse(Map<String, Object> responseBody) {
-        try {
-            if (responseBody == null) return null;
-            
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) responseBody.get("candidates");
-            
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> firstCandidate = candidates.get(0);
-                
-                @SuppressWarnings("unchecked")
-                Map<String, Object> content = (Map<String, Object>) firstCandidate.get("content");
-                
-                if (content != null) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                    
-                    if (parts != null && !parts.isEmpty()) {
-                        Map<String, Object> firstPart = parts.get(0);
-                        return (String) firstPart.get("text");
-                    }
-                }
-            }
-            
-            return null;
-        } catch (Exception e) {
-            log.error("AI 응답 파싱 오류", e);
-            return null;
+    private String rootMessage(Throwable e) {
+        Throwable cause = unwrap(e);
+        if (cause instanceof TimeoutException) {
+            return "AI 응답 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.";
+        }
+        return cause.getMessage();
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        return cause;
+    }
+    
+    /**
+     * 입장 대기열 우선순위 (로그인 사용자 우선)
+     */
+    private AiAdmissionQueue.Priority admissionPriority(HttpServletRequest request) {
+        return ClientIdentity.isAuthenticated(request) ? AiAdmissionQueue.Priority.HIGH : AiAdmissionQueue.Priority.NORMAL;
+    }
+    
+    /**
+     * 입장 거절 응답 (429 + Retry-After)
+     */
+    private ResponseEntity<Map<String, Object>> tooManyRequests(AdmissionRejectedException rejected) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", false);
+        result.put("error", rejected.getMessage());
+        result.put("retryAfter", rejected.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+            .body(result);
     }
     
     /**
@@ -722,13 +862,4 @@ public class MainController {
         
         return info;
     }
-    
-    /**
-     * MBTI 타입 유효성 검증
-     */
-    private boolean isValidMbtiType(String mbtiType) {
-        String[] validTypes = {"ENFP", "ENFJ", "ENTP", "ENTJ", "ESFP", "ESFJ", "ESTP", "ESTJ",
-                              "INFP", "INFJ", "INTP", "INTJ", "ISFP", "ISFJ", "ISTP", "ISTJ"};
-        return Arrays.asList(validTypes).contains(mbtiType);
-    }
 }
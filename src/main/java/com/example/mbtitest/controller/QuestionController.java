@@ -0,0 +1,50 @@
+package com.example.mbtitest.controller;
+
+import com.example.mbtitest.service.QuestionCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 질문 목록 API
+ * - /api/questions: 현재 버전 (ETag로 재검증)
+ * - /api/questions/{version}: 버전 고정 URL (내용이 바뀌지 않으므로 장기 캐시)
+ */
+@RestController
+@RequestMapping("/api/questions")
+@RequiredArgsConstructor
+public class QuestionController {
+
+    private final QuestionCatalog questionCatalog;
+
+    @GetMapping
+    public ResponseEntity<byte[]> getQuestions(WebRequest webRequest) {
+        if (webRequest.checkNotModified(questionCatalog.getEtag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(questionCatalog.getEtag())
+            .body(questionCatalog.getPublicJson());
+    }
+
+    @GetMapping("/{version}")
+    public ResponseEntity<byte[]> getQuestionsByVersion(@PathVariable String version) {
+        if (!questionCatalog.getVersion().equals(version)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+            .eTag(questionCatalog.getEtag())
+            .body(questionCatalog.getPublicJson());
+    }
+}
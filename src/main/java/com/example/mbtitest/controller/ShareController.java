@@ -1,6 +1,8 @@
 package com.example.mbtitest.controller;
 
 import com.example.mbtitest.entity.ShareLog;
+import com.example.mbtitest.service.ClientIdentity;
+import com.example.mbtitest.service.ResultCounterBuffer;
 import com.example.mbtitest.service.ShareService;
 import com.example.mbtitest.service.TestResultService;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
 import java.util.Map;
 
 @Controller
@@ -21,6 +24,7 @@ public class ShareController {
     
     private final ShareService shareService;
     private final TestResultService testResultService;
+    private final ResultCounterBuffer resultCounterBuffer;
     
     @Value("${server.domain:http://localhost:10000}")
     private String baseUrl;
@@ -60,19 +64,23 @@ public class ShareController {
             }
             
             // 스팸 방지 체크
-            String userIp = getClientIp(httpRequest);
+            String userIp = ClientIdentity.resolveIp(httpRequest);
             if (!shareService.canShare(userIp, resultId)) {
                 return ResponseEntity.badRequest()
                     .body(Map.of("success", false, "message", "잠시 후 다시 공유해주세요."));
             }
             
             ShareLog shareLog = shareService.recordShare(resultId, platform, httpRequest);
+            resultCounterBuffer.recordShare(resultId);
             
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", "공유가 기록되었습니다.",
-                "shareId", shareLog.getShareId()
-            ));
+            // 분석 이벤트 저널 사용 시 아직 저장 전이라 ID가 없음
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "공유가 기록되었습니다.");
+            if (shareLog.getShareId() != null) {
+                response.put("shareId", shareLog.getShareId());
+            }
+            return ResponseEntity.ok(response);
             
         } catch (RuntimeException e) {
             log.warn("공유 로그 기록 실패: {}", e.getMessage());
@@ -291,18 +299,4 @@ public class ShareController {
                 .body(Map.of("error", "인기 공유 결과 조회 중 오류가 발생했습니다."));
         }
     }
-    
-    /**
-     * 클라이언트 IP 추출
-     */
-    private String getClientIp(HttpServletRequest request) {
-        String clientIp = request.getHeader("X-Forwarded-For");
-        if (clientIp == null || clientIp.isEmpty() || "unknown".equalsIgnoreCase(clientIp)) {
-            clientIp = request.getHeader("X-Real-IP");
-        }
-        if (clientIp == null || clientIp.isEmpty() || "unknown".equalsIgnoreCase(clientIp)) {
-            clientIp = request.getRemoteAddr();
-        }
-        return clientIp;
-    }
 }
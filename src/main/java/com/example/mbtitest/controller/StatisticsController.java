@@ -1,17 +1,24 @@
 package com.example.mbtitest.controller;
 
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.service.ClientIdentity;
+import com.example.mbtitest.service.DashboardSnapshot;
+import com.example.mbtitest.service.DashboardSnapshots;
 import com.example.mbtitest.service.StatisticsService;
+import com.example.mbtitest.service.TrafficHeavyHitters;
 import com.example.mbtitest.service.ViewLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 @Controller
 @RequiredArgsConstructor
@@ -21,6 +28,7 @@ public class StatisticsController {
     
     private final StatisticsService statisticsService;
     private final ViewLogService viewLogService;
+    private final DashboardSnapshots dashboardSnapshots;
     
     /**
      * 통계 대시보드 페이지
@@ -40,8 +48,17 @@ public class StatisticsController {
             Map<String, Object> mbtiStats = new HashMap<>();
             
             try {
-                dashboardStats = statisticsService.getDashboardStats();
-                mbtiStats = statisticsService.getMbtiTypeStatistics();
+                // 메모리 스냅샷 (아직 DB에서 읽지 못했으면 기본값)
+                DashboardSnapshot snapshot = dashboardSnapshots.current();
+                if (!snapshot.ready()) {
+                    throw new IllegalStateException("대시보드 스냅샷을 준비 중입니다.");
+                }
+                dashboardStats.putAll(snapshot.stats());
+                if (snapshot.get("mbtiStats") instanceof Map<?, ?> snapshotMbtiStats) {
+                    for (Map.Entry<?, ?> entry : snapshotMbtiStats.entrySet()) {
+                        mbtiStats.put(String.valueOf(entry.getKey()), entry.getValue());
+                    }
+                }
             } catch (Exception e) {
                 log.warn("통계 데이터 조회 실패, 기본값 사용: {}", e.getMessage());
                 // 기본값 설정
@@ -62,7 +79,7 @@ public class StatisticsController {
             model.addAttribute("mbtiStats", mbtiStats);
             model.addAttribute("pageTitle", "MBTI 테스트 통계 대시보드");
             
-            log.info("통계 페이지 접근 - IP: {}", getClientIp(request));
+            log.info("통계 페이지 접근 - IP: {}", ClientIdentity.resolveIp(request));
             return "statistics/dashboard";  // statistics/dashboard.html 템플릿 사용
             
         } catch (Exception e) {
@@ -74,13 +91,17 @@ public class StatisticsController {
     
     /**
      * 대시보드 통계 API
+     * - 메모리 스냅샷을 반환 (SQL 없음), 스냅샷 버전을 ETag로 보내고 If-None-Match가 같으면 304
      */
     @GetMapping("/api/dashboard")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getDashboardStats() {
+    public ResponseEntity<Map<String, Object>> getDashboardStats(WebRequest webRequest) {
         try {
-            Map<String, Object> stats = statisticsService.getDashboardStats();
-            return ResponseEntity.ok(stats);
+            DashboardSnapshot snapshot = dashboardSnapshots.current();
+            if (webRequest.checkNotModified(snapshot.etag())) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(snapshot.etag()).body(withVersion(snapshot));
         } catch (Exception e) {
             log.error("대시보드 통계 API 오류", e);
             return ResponseEntity.internalServerError()
@@ -167,12 +188,21 @@ public class StatisticsController {
     
     /**
      * 유입 경로 분석 API
+     * - window: hour, day, week, all (기본값 all)
      */
     @GetMapping("/api/traffic-sources")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getTrafficSources() {
+    public ResponseEntity<Map<String, Object>> getTrafficSources(@RequestParam(defaultValue = "all") String window) {
+        TrafficHeavyHitters.Window trafficWindow;
         try {
-            Map<String, Object> trafficSources = viewLogService.getTrafficSources();
+            trafficWindow = TrafficHeavyHitters.Window.valueOf(window.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "window는 hour, day, week, all 중 하나여야 합니다."));
+        }
+        
+        try {
+            Map<String, Object> trafficSources = viewLogService.getTrafficSources(trafficWindow);
             return ResponseEntity.ok(trafficSources);
         } catch (Exception e) {
             log.error("유입 경로 분석 API 오류", e);
@@ -204,11 +234,8 @@ public class StatisticsController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> refreshStatistics() {
         try {
-            // 오늘 통계 초기화
-            statisticsService.initializeTodayStats();
-            
-            // 최신 통계 반환
-            Map<String, Object> stats = statisticsService.getDashboardStats();
+            // 오늘 통계 초기화 후 스냅샷을 DB에서 다시 만들어 반환
+            Map<String, Object> stats = withVersion(dashboardSnapshots.rebuild());
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "통계가 성공적으로 새로고침되었습니다.",
@@ -236,10 +263,10 @@ public class StatisticsController {
                 return "error/403";
             }
             // 페이지 방문 로그 기록 (관리자 페이지)
-            viewLogService.recordPageView(null, null, request);
+            viewLogService.recordPageView(ViewLog.Page.ADMIN, null, null, request);
             
             // 전체 통계 데이터
-            Map<String, Object> dashboardStats = statisticsService.getDashboardStats();
+            Map<String, Object> dashboardStats = dashboardSnapshots.current().stats();
             model.addAttribute("dashboardStats", dashboardStats);
             
             // 방문 통계
@@ -252,7 +279,7 @@ public class StatisticsController {
             
             model.addAttribute("pageTitle", "관리자 통계 대시보드");
             
-            log.info("관리자 통계 페이지 접근 - IP: {}", getClientIp(request));
+            log.info("관리자 통계 페이지 접근 - IP: {}", ClientIdentity.resolveIp(request));
             return "statistics/admin";
             
         } catch (Exception e) {
@@ -261,18 +288,15 @@ public class StatisticsController {
             return "error/error";
         }
     }
-    
+
     /**
-     * 클라이언트 IP 추출
+     * 스냅샷 통계 + 버전 정보
      */
-    private String getClientIp(HttpServletRequest request) {
-        String clientIp = request.getHeader("X-Forwarded-For");
-        if (clientIp == null || clientIp.isEmpty() || "unknown".equalsIgnoreCase(clientIp)) {
-            clientIp = request.getHeader("X-Real-IP");
-        }
-        if (clientIp == null || clientIp.isEmpty() || "unknown".equalsIgnoreCase(clientIp)) {
-            clientIp = request.getRemoteAddr();
-        }
-        return clientIp;
+    private Map<String, Object> withVersion(DashboardSnapshot snapshot) {
+        Map<String, Object> stats = new LinkedHashMap<>(snapshot.stats());
+        stats.put("version", snapshot.version());
+        stats.put("builtAt", snapshot.builtAt());
+        stats.put("updatedAt", snapshot.updatedAt());
+        return stats;
     }
 }
@@ -1,6 +1,11 @@
 package com.example.mbtitest.controller;
 
+import com.example.mbtitest.entity.MbtiType;
 import com.example.mbtitest.entity.TestResult;
+import com.example.mbtitest.repository.AnalysisStatusView;
+import com.example.mbtitest.repository.TestResultSummary;
+import com.example.mbtitest.service.ResultCounterBuffer;
+import com.example.mbtitest.service.ResultFeed;
 import com.example.mbtitest.service.TestResultService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +31,7 @@ import java.util.Optional;
 public class TestResultController {
 
     private final TestResultService testResultService;
+    private final ResultCounterBuffer resultCounterBuffer;
 
     /**
      * 테스트 결과 저장
@@ -109,6 +115,46 @@ public class TestResultController {
         }
     }
 
+    /**
+     * AI 분석 진행 상태 조회 (결과 페이지/테스트 화면에서 폴링)
+     */
+    @GetMapping("/{resultId}/status")
+    public ResponseEntity<Map<String, Object>> getAnalysisStatus(@PathVariable Long resultId) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            // 폴링마다 CLOB을 읽지 않도록 상태 컬럼만 조회하고, 분석 텍스트는 완료된 경우에만 조회
+            Optional<AnalysisStatusView> statusOpt = testResultService.getAnalysisStatus(resultId);
+            
+            if (statusOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            AnalysisStatusView status = statusOpt.get();
+            
+            if (!status.isPublic()) {
+                response.put("success", false);
+                response.put("error", "비공개 결과입니다.");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+            }
+
+            response.put("success", true);
+            response.put("resultId", status.resultId());
+            response.put("analysisStatus", status.analysisStatus());
+            if (TestResult.ANALYSIS_DONE.equals(status.analysisStatus())) {
+                response.put("aiAnalysis", testResultService.getAiAnalysis(resultId).orElse(null));
+            }
+            
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("AI 분석 상태 조회 API 오류: {}", resultId, e);
+            response.put("success", false);
+            response.put("error", "상태 조회 중 오류가 발생했습니다.");
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     /**
      * 사용자별 테스트 히스토리
      */
@@ -117,11 +163,11 @@ public class TestResultController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<TestResult> results = testResultService.getUserTestHistory(userUuid);
+            List<TestResultSummary> results = testResultService.getUserTestHistory(userUuid);
             
             response.put("success", true);
             response.put("results", results.stream()
-                .map(this::buildResultResponse)
+                .map(this::buildSummaryResponse)
                 .toList());
             response.put("totalCount", results.size());
             
@@ -136,29 +182,26 @@ public class TestResultController {
     }
 
     /**
-     * 공개된 결과 목록 (페이징)
+     * 공개된 결과 목록 (최신순, 커서 기반 페이지네이션)
+     * - cursor: 이전 응답의 nextCursor (없으면 첫 페이지)
+     * - includeTotal: true면 전체 개수도 조회 (기본은 COUNT 생략)
      */
     @GetMapping("/public")
     public ResponseEntity<Map<String, Object>> getPublicResults(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Page<TestResult> results = testResultService.getPublicResults(page, size);
-            
-            response.put("success", true);
-            response.put("results", results.getContent().stream()
-                .map(this::buildResultResponse)
-                .toList());
-            response.put("totalElements", results.getTotalElements());
-            response.put("totalPages", results.getTotalPages());
-            response.put("currentPage", page);
-            response.put("size", size);
-            
-            return ResponseEntity.ok(response);
+            ResultFeed feed = testResultService.getPublicResults(cursor, size, includeTotal);
+            return ResponseEntity.ok(buildFeedResponse(feed));
 
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             log.error("공개 결과 조회 API 오류", e);
             response.put("success", false);
@@ -168,28 +211,26 @@ public class TestResultController {
     }
 
     /**
-     * 인기 결과 목록
+     * 인기 결과 목록 (조회수순, 커서 기반 페이지네이션)
+     * - cursor: 이전 응답의 nextCursor (없으면 첫 페이지)
+     * - includeTotal: true면 전체 개수도 조회 (기본은 COUNT 생략)
      */
     @GetMapping("/popular")
     public ResponseEntity<Map<String, Object>> getPopularResults(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Page<TestResult> results = testResultService.getPopularResults(page, size);
-            
-            response.put("success", true);
-            response.put("results", results.getContent().stream()
-                .map(this::buildResultResponse)
-                .toList());
-            response.put("totalElements", results.getTotalElements());
-            response.put("totalPages", results.getTotalPages());
-            response.put("currentPage", page);
-            
-            return ResponseEntity.ok(response);
+            ResultFeed feed = testResultService.getPopularResults(cursor, size, includeTotal);
+            return ResponseEntity.ok(buildFeedResponse(feed));
 
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             log.error("인기 결과 조회 API 오류", e);
             response.put("success", false);
@@ -211,18 +252,19 @@ public class TestResultController {
         
         try {
             // MBTI 타입 검증
-            if (!isValidMbtiType(mbtiType)) {
+            MbtiType type = MbtiType.parse(mbtiType);
+            if (type == null) {
                 response.put("success", false);
                 response.put("error", "올바르지 않은 MBTI 타입입니다.");
                 return ResponseEntity.badRequest().body(response);
             }
 
-            Page<TestResult> results = testResultService.getMbtiResults(mbtiType, page, size);
+            Page<TestResultSummary> results = testResultService.getMbtiResults(type, page, size);
             
             response.put("success", true);
-            response.put("mbtiType", mbtiType.toUpperCase());
+            response.put("mbtiType", type.name());
             response.put("results", results.getContent().stream()
-                .map(this::buildResultResponse)
+                .map(this::buildSummaryResponse)
                 .toList());
             response.put("totalElements", results.getTotalElements());
             response.put("totalPages", results.getTotalPages());
@@ -249,11 +291,11 @@ public class TestResultController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Page<TestResult> results = testResultService.getMostCommentedResults(page, size);
+            Page<TestResultSummary> results = testResultService.getMostCommentedResults(page, size);
             
             response.put("success", true);
             response.put("results", results.getContent().stream()
-                .map(this::buildResultResponse)
+                .map(this::buildSummaryResponse)
                 .toList());
             response.put("totalElements", results.getTotalElements());
             response.put("totalPages", results.getTotalPages());
@@ -270,28 +312,26 @@ public class TestResultController {
     }
 
     /**
-     * 바이럴 결과들 (공유가 많은)
+     * 바이럴 결과들 (공유수순, 커서 기반 페이지네이션)
+     * - cursor: 이전 응답의 nextCursor (없으면 첫 페이지)
+     * - includeTotal: true면 전체 개수도 조회 (기본은 COUNT 생략)
      */
     @GetMapping("/viral")
     public ResponseEntity<Map<String, Object>> getViralResults(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Page<TestResult> results = testResultService.getViralResults(page, size);
-            
-            response.put("success", true);
-            response.put("results", results.getContent().stream()
-                .map(this::buildResultResponse)
-                .toList());
-            response.put("totalElements", results.getTotalElements());
-            response.put("totalPages", results.getTotalPages());
-            response.put("currentPage", page);
-            
-            return ResponseEntity.ok(response);
+            ResultFeed feed = testResultService.getViralResults(cursor, size, includeTotal);
+            return ResponseEntity.ok(buildFeedResponse(feed));
 
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             log.error("바이럴 결과 조회 API 오류", e);
             response.put("success", false);
@@ -347,16 +387,17 @@ public class TestResultController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            if (!isValidMbtiType(mbtiType)) {
+            MbtiType type = MbtiType.parse(mbtiType);
+            if (type == null) {
                 response.put("success", false);
                 response.put("error", "올바르지 않은 MBTI 타입입니다.");
                 return ResponseEntity.badRequest().body(response);
             }
 
-            Map<String, Object> recommendations = testResultService.getMbtiRecommendations(mbtiType);
+            Map<String, Object> recommendations = testResultService.getMbtiRecommendations(type.name());
             
             response.put("success", true);
-            response.put("mbtiType", mbtiType.toUpperCase());
+            response.put("mbtiType", type.name());
             response.put("recommendations", recommendations);
             
             return ResponseEntity.ok(response);
@@ -371,6 +412,45 @@ public class TestResultController {
 
     // ======================= Private Helper Methods =======================
 
+    /**
+     * 피드 응답 구성 (nextCursor가 null이면 마지막 페이지)
+     */
+    private Map<String, Object> buildFeedResponse(ResultFeed feed) {
+        Map<String, Object> response = new HashMap<>();
+        
+        response.put("success", true);
+        response.put("results", feed.results().stream()
+            .map(this::buildSummaryResponse)
+            .toList());
+        response.put("size", feed.results().size());
+        response.put("hasNext", feed.hasNext());
+        response.put("nextCursor", feed.nextCursor());
+        if (feed.totalCount() != null) {
+            response.put("totalElements", feed.totalCount());
+        }
+        
+        return response;
+    }
+
+    /**
+     * TestResultSummary -> 목록 응답용 Map 변환 (AI 분석/점수 등 CLOB 데이터 제외)
+     */
+    private Map<String, Object> buildSummaryResponse(TestResultSummary result) {
+        Map<String, Object> response = new HashMap<>();
+        
+        response.put("resultId", result.resultId());
+        response.put("mbtiType", result.mbtiType());
+        response.put("description", result.mbtiDescription());
+        response.put("color", result.mbtiColor());
+        response.put("viewCount", resultCounterBuffer.viewCount(result.resultId(), result.viewCount()));
+        response.put("sharedCount", resultCounterBuffer.sharedCount(result.resultId(), result.sharedCount()));
+        response.put("isPublic", result.isPublic());
+        response.put("createdAt", result.createdAt());
+        response.put("analysisStatus", result.analysisStatus());
+        
+        return response;
+    }
+
     /**
      * TestResult -> 응답용 Map 변환
      */
@@ -381,51 +461,23 @@ public class TestResultController {
         response.put("mbtiType", result.getMbtiType());
         response.put("description", result.getMbtiDescription());
         response.put("color", result.getMbtiColor());
-        response.put("viewCount", result.getViewCount());
-        response.put("sharedCount", result.getSharedCount());
+        response.put("viewCount", resultCounterBuffer.viewCount(result.getResultId(), result.getViewCount()));
+        response.put("sharedCount", resultCounterBuffer.sharedCount(result.getResultId(), result.getSharedCount()));
         response.put("isPublic", result.isPublic());
         response.put("createdAt", result.getCreatedAt());
+        response.put("analysisStatus", result.getAnalysisStatus());
         
         // AI 분석 결과가 있으면 포함
         if (result.getAiAnalysis() != null && !result.getAiAnalysis().trim().isEmpty()) {
             response.put("aiAnalysis", result.getAiAnalysis());
         }
         
-        // 상세 점수가 있으면 포함
-        if (result.getDetailedScores() != null && !result.getDetailedScores().trim().isEmpty()) {
-            try {
-                // JSON 파싱하여 포함 (실제로는 ObjectMapper 사용)
-                response.put("detailedScores", result.getDetailedScores());
-            } catch (Exception e) {
-                log.warn("상세 점수 파싱 오류: {}", result.getResultId());
-            }
+        // 상세 점수는 지표별 점수에서 계산해 포함
+        Map<String, Object> detailedScores = testResultService.getDetailedScores(result);
+        if (detailedScores != null) {
+            response.put("detailedScores", detailedScores);
         }
         
         return response;
     }
-
-    /**
-     * MBTI 타입 유효성 검증
-     */
-    private boolean isValidMbtiType(String mbtiType) {
-        if (mbtiType == null || mbtiType.length() != 4) {
-            return false;
-        }
-        
-        String upper = mbtiType.toUpperCase();
-        
-        // 첫 번째 문자: E 또는 I
-        if (upper.charAt(0) != 'E' && upper.charAt(0) != 'I') return false;
-        
-        // 두 번째 문자: S 또는 N
-        if (upper.charAt(1) != 'S' && upper.charAt(1) != 'N') return false;
-        
-        // 세 번째 문자: T 또는 F
-        if (upper.charAt(2) != 'T' && upper.charAt(2) != 'F') return false;
-        
-        // 네 번째 문자: J 또는 P
-        if (upper.charAt(3) != 'J' && upper.charAt(3) != 'P') return false;
-        
-        return true;
-    }
 }
\ No newline at end of file
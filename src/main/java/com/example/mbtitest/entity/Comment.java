@@ -18,7 +18,7 @@ public class Comment {
     
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_comment")
-    @SequenceGenerator(name = "seq_comment", sequenceName = "SEQ_COMMENT", allocationSize = 1)
+    @SequenceGenerator(name = "seq_comment", sequenceName = "SEQ_COMMENT", allocationSize = 50)
     @Column(name = "COMMENT_ID")
     private Long commentId;
     
@@ -43,7 +43,8 @@ public class Comment {
     @Column(name = "USER_IP", length = 50)
     private String userIp;
     
-    @Column(name = "LIKES_COUNT")
+    // 좋아요 수는 CommentLikeAggregator가 증가분 UPDATE로만 변경 (엔티티 저장 시 덮어쓰지 않음)
+    @Column(name = "LIKES_COUNT", updatable = false)
     @Builder.Default
     private Integer likesCount = 0;
     
@@ -0,0 +1,25 @@
+package com.example.mbtitest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일별 방문 통계 롤업 Entity
+ * - 방문 로그를 저장할 때 같은 트랜잭션에서 MERGE로 누적 (ViewStatsRollup)
+ * - 구간 시작 시각은 그 날짜의 00:00
+ */
+@Entity
+@Table(name = "VIEW_STATS_DAILY")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyViewStat {
+
+    @EmbeddedId
+    private ViewStatKey id;
+
+    @Column(name = "VIEW_COUNT", nullable = false)
+    private Long viewCount;
+}
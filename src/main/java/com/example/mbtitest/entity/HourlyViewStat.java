@@ -0,0 +1,24 @@
+package com.example.mbtitest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 시간별 방문 통계 롤업 Entity
+ * - 방문 로그를 저장할 때 같은 트랜잭션에서 MERGE로 누적 (ViewStatsRollup)
+ */
+@Entity
+@Table(name = "VIEW_STATS_HOURLY")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourlyViewStat {
+
+    @EmbeddedId
+    private ViewStatKey id;
+
+    @Column(name = "VIEW_COUNT", nullable = false)
+    private Long viewCount;
+}
@@ -0,0 +1,108 @@
+package com.example.mbtitest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MBTI 8개 지표 점수 (TEST_RESULTS.SCORE_E ~ SCORE_P 숫자 컬럼)
+ * - 예전에는 CATEGORY_SCORES / DETAILED_SCORES에 JSON으로 저장했음
+ * - 상세 점수(지표별 성향)는 저장하지 않고 이 값에서 계산
+ */
+@Embeddable
+public record MbtiScores(
+    @Column(name = "SCORE_E") Integer e,
+    @Column(name = "SCORE_I") Integer i,
+    @Column(name = "SCORE_S") Integer s,
+    @Column(name = "SCORE_N") Integer n,
+    @Column(name = "SCORE_T") Integer t,
+    @Column(name = "SCORE_F") Integer f,
+    @Column(name = "SCORE_J") Integer j,
+    @Column(name = "SCORE_P") Integer p
+) {
+
+    /**
+     * 요청/레거시 JSON의 카테고리 점수 맵에서 생성 (없는 값은 0, 소수는 반올림)
+     */
+    public static MbtiScores from(Map<String, ?> categoryScores) {
+        return new MbtiScores(
+            score(categoryScores, "E"), score(categoryScores, "I"),
+            score(categoryScores, "S"), score(categoryScores, "N"),
+            score(categoryScores, "T"), score(categoryScores, "F"),
+            score(categoryScores, "J"), score(categoryScores, "P"));
+    }
+
+    /**
+     * 요청 점수 맵으로 계산한 MBTI 타입 (같으면 뒤쪽 지표)
+     * - 반올림 전 값으로 비교 (반올림 후 비교하면 50.4 : 50.2 같은 근소한 차이가 동점이 되어 뒤집힘)
+     */
+    public static MbtiType typeOf(Map<String, ?> categoryScores) {
+        int code = (raw(categoryScores, "E") > raw(categoryScores, "I") ? 0 : MbtiType.INTROVERSION)
+            | (raw(categoryScores, "S") > raw(categoryScores, "N") ? 0 : MbtiType.INTUITION)
+            | (raw(categoryScores, "T") > raw(categoryScores, "F") ? 0 : MbtiType.FEELING)
+            | (raw(categoryScores, "J") > raw(categoryScores, "P") ? 0 : MbtiType.PERCEIVING);
+        return MbtiType.fromCode(code);
+    }
+
+    /**
+     * 저장된(반올림된) 점수로 계산한 MBTI 타입 (같으면 뒤쪽 지표)
+     * - 새 결과의 타입은 typeOf로 반올림 전 값에서 계산해 저장하므로, 타입 컬럼이 없을 때만 사용
+     */
+    public MbtiType mbtiType() {
+        int code = (value(e) > value(i) ? 0 : MbtiType.INTROVERSION)
+            | (value(s) > value(n) ? 0 : MbtiType.INTUITION)
+            | (value(t) > value(f) ? 0 : MbtiType.FEELING)
+            | (value(j) > value(p) ? 0 : MbtiType.PERCEIVING);
+        return MbtiType.fromCode(code);
+    }
+
+    /**
+     * 카테고리 점수 맵 (E, I, S, N, T, F, J, P 순서)
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        scores.put("E", value(e));
+        scores.put("I", value(i));
+        scores.put("S", value(s));
+        scores.put("N", value(n));
+        scores.put("T", value(t));
+        scores.put("F", value(f));
+        scores.put("J", value(j));
+        scores.put("P", value(p));
+        return scores;
+    }
+
+    /**
+     * 지표별 상세 점수 (예전 DETAILED_SCORES JSON과 같은 구조)
+     */
+    public Map<String, Object> toDetailedScores() {
+        return toDetailedScores(mbtiType());
+    }
+
+    /**
+     * 지표별 상세 점수 (성향은 저장된 타입을 따름 - 반올림으로 동점이 된 지표도 타입과 같은 성향으로 표시)
+     */
+    public Map<String, Object> toDetailedScores(MbtiType mbtiType) {
+        Map<String, Object> detailed = new LinkedHashMap<>();
+        detailed.put("EI", Map.of("E", value(e), "I", value(i), "tendency", mbtiType.has(MbtiType.INTROVERSION) ? "I" : "E"));
+        detailed.put("SN", Map.of("S", value(s), "N", value(n), "tendency", mbtiType.has(MbtiType.INTUITION) ? "N" : "S"));
+        detailed.put("TF", Map.of("T", value(t), "F", value(f), "tendency", mbtiType.has(MbtiType.FEELING) ? "F" : "T"));
+        detailed.put("JP", Map.of("J", value(j), "P", value(p), "tendency", mbtiType.has(MbtiType.PERCEIVING) ? "P" : "J"));
+        return detailed;
+    }
+
+    private static Integer score(Map<String, ?> categoryScores, String key) {
+        return (int) Math.round(raw(categoryScores, key));
+    }
+
+    private static double raw(Map<String, ?> categoryScores, String key) {
+        Object value = categoryScores != null ? categoryScores.get(key) : null;
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static int value(Integer score) {
+        return score != null ? score : 0;
+    }
+}
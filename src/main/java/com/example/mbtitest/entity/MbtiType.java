@@ -0,0 +1,130 @@
+package com.example.mbtitest.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MBTI 16개 유형
+ * - code: 지표마다 1비트 (8: I, 4: N, 2: F, 1: P - 비트가 0이면 E/S/T/J), 0 ~ 15
+ * - 선언 순서는 화면 표시 순서 (ENFP ~ ISTJ), 배열 카운터는 code로 인덱싱
+ * - DB에는 유형 이름(VARCHAR2(4))으로 저장 (MbtiTypeConverter)
+ */
+public enum MbtiType {
+
+    ENFP("활동가 - 열정적이고 창의적인 사회자", "#FD79A8"),
+    ENFJ("주인공 - 카리스마 있고 영감을 주는 지도자", "#FFEAA7"),
+    ENTP("변론가 - 영리하고 호기심이 많은 사색가", "#4ECDC4"),
+    ENTJ("통솔자 - 대담하고 상상력이 풍부한 의지가 강한 지도자", "#FF6B6B"),
+    ESFP("연예인 - 자발적이고 열정적이며 사교적인 사람", "#FF7675"),
+    ESFJ("집정관 - 도움이 되고 인기가 많으며 배려심이 깊은 사람", "#FDCB6E"),
+    ESTP("사업가 - 영리하고 활동적이며 인식이 뛰어난 사람", "#00CEC9"),
+    ESTJ("경영자 - 우수한 관리자이자 전통과 질서의 수호자", "#E17055"),
+    INFP("중재자 - 충성스럽고 선의의 이상주의자", "#96CEB4"),
+    INFJ("옹호자 - 선의의 옹호자이며 창의적이고 통찰력이 있는 사람", "#45B7D1"),
+    INTP("논리술사 - 지식에 대한 갈증이 있는 혁신적인 발명가", "#9C88FF"),
+    INTJ("건축가 - 상상력이 풍부하고 전략적인 사고를 하는 사람", "#6C63FF"),
+    ISFP("모험가 - 유연하고 매력적인 예술가", "#E84393"),
+    ISFJ("수호자 - 헌신적이고 따뜻한 보호자", "#A29BFE"),
+    ISTP("만능재주꾼 - 대담하면서도 현실적인 실험정신이 풍부한 사람", "#00B894"),
+    ISTJ("물류사 - 사실과 믿을 만한 실용주의자", "#636E72");
+
+    public static final int INTROVERSION = 8;
+    public static final int INTUITION = 4;
+    public static final int FEELING = 2;
+    public static final int PERCEIVING = 1;
+
+    // code → 유형
+    private static final MbtiType[] BY_CODE = new MbtiType[16];
+    private static final List<String> NAMES = Arrays.stream(values()).map(Enum::name).toList();
+
+    static {
+        for (MbtiType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+    private final String description;
+    private final String color;
+
+    MbtiType(String description, String color) {
+        this.code = codeOf(name());
+        this.description = description;
+        this.color = color;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public String color() {
+        return color;
+    }
+
+    public boolean has(int axisBit) {
+        return (code & axisBit) != 0;
+    }
+
+    public static MbtiType fromCode(int code) {
+        return BY_CODE[code & 0xF];
+    }
+
+    /**
+     * 문자열에서 유형 찾기 (대소문자 무시, 올바르지 않으면 null)
+     */
+    public static MbtiType parse(CharSequence value) {
+        if (value == null || value.length() != 4) {
+            return null;
+        }
+        int code = codeOf(value);
+        return code < 0 ? null : BY_CODE[code];
+    }
+
+    /**
+     * JSON 역직렬화 (올바르지 않은 값이면 오류)
+     */
+    @JsonCreator
+    public static MbtiType from(String value) {
+        MbtiType type = parse(value);
+        if (type == null) {
+            throw new IllegalArgumentException("올바르지 않은 MBTI 타입입니다: " + value);
+        }
+        return type;
+    }
+
+    public static boolean isValid(CharSequence value) {
+        return parse(value) != null;
+    }
+
+    /**
+     * 유형 이름 목록 (표시 순서)
+     */
+    public static List<String> names() {
+        return NAMES;
+    }
+
+    private static int codeOf(CharSequence value) {
+        int e = axis(value.charAt(0), 'E', 'I');
+        int s = axis(value.charAt(1), 'S', 'N');
+        int t = axis(value.charAt(2), 'T', 'F');
+        int j = axis(value.charAt(3), 'J', 'P');
+        if ((e | s | t | j) < 0) {
+            return -1;
+        }
+        return e * INTROVERSION | s * INTUITION | t * FEELING | j * PERCEIVING;
+    }
+
+    /**
+     * 지표 한 글자 → 0 (앞 글자) / 1 (뒤 글자) / -1 (올바르지 않음)
+     */
+    private static int axis(char c, char zero, char one) {
+        char upper = (char) (c & ~0x20);
+        return upper == zero ? 0 : upper == one ? 1 : -1;
+    }
+}
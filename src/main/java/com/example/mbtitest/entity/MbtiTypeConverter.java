@@ -0,0 +1,23 @@
+package com.example.mbtitest.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * MbtiType ↔ MBTI_TYPE 컬럼 (유형 이름 4글자)
+ * - 컬럼 형식은 그대로라 기존 데이터/쿼리와 호환
+ * - 올바르지 않은 값은 null로 읽음
+ */
+@Converter
+public class MbtiTypeConverter implements AttributeConverter<MbtiType, String> {
+
+    @Override
+    public String convertToDatabaseColumn(MbtiType attribute) {
+        return attribute != null ? attribute.name() : null;
+    }
+
+    @Override
+    public MbtiType convertToEntityAttribute(String dbData) {
+        return MbtiType.parse(dbData);
+    }
+}
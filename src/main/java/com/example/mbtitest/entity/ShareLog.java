@@ -18,7 +18,7 @@ public class ShareLog {
     
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_share_log")
-    @SequenceGenerator(name = "seq_share_log", sequenceName = "SEQ_SHARE_LOG", allocationSize = 1)
+    @SequenceGenerator(name = "seq_share_log", sequenceName = "SEQ_SHARE_LOG", allocationSize = 50)
     @Column(name = "SHARE_ID")
     private Long shareId;
     
@@ -50,6 +50,9 @@ public class ShareLog {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // 저널에서 적재할 때는 공유 시각을 그대로 사용
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
@@ -55,5 +55,9 @@ public class StatisticsCache {
         public static final String DAILY_COUNT = "DAILY_COUNT";
         public static final String HOURLY_COUNT = "HOURLY_COUNT";
         public static final String MBTI_DISTRIBUTION = "MBTI_DISTRIBUTION";
+        // 유니크 방문자 HyperLogLog 스케치 (STAT_DATA: 직렬화한 스케치, STAT_VALUE: 추정값)
+        public static final String VISITORS_DAILY = "VISITORS_DAILY";     // 키: 2026-03-14
+        public static final String VISITORS_HOURLY = "VISITORS_HOURLY";   // 키: 2026-03-14T09
+        public static final String VISITORS_MBTI = "VISITORS_MBTI";       // 키: 2026-03-14|ENFP
     }
 }
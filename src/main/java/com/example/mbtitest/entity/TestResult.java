@@ -17,9 +17,16 @@ import java.util.List;
 @Builder
 public class TestResult {
     
+    // AI 분석 진행 상태
+    public static final String ANALYSIS_PENDING = "PENDING";
+    public static final String ANALYSIS_DONE = "DONE";
+    public static final String ANALYSIS_FAILED = "FAILED";
+    public static final String ANALYSIS_DEFERRED = "DEFERRED";
+    
+    // 시퀀스 1회 조회로 ID 50개 할당 (pooled, DB 시퀀스도 INCREMENT BY 50 - sql/pooled_sequences.sql)
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_test_result")
-    @SequenceGenerator(name = "seq_test_result", sequenceName = "SEQ_TEST_RESULT", allocationSize = 1)
+    @SequenceGenerator(name = "seq_test_result", sequenceName = "SEQ_TEST_RESULT", allocationSize = 50)
     @Column(name = "RESULT_ID")
     private Long resultId;
     
@@ -37,8 +44,9 @@ public class TestResult {
     @Column(name = "USER_AGENT", length = 500)
     private String userAgent;
     
+    @Convert(converter = MbtiTypeConverter.class)
     @Column(name = "MBTI_TYPE", length = 4, nullable = false)
-    private String mbtiType;
+    private MbtiType mbtiType;
     
     @Column(name = "MBTI_DESCRIPTION", length = 2000)
     private String mbtiDescription;
@@ -46,6 +54,11 @@ public class TestResult {
     @Column(name = "MBTI_COLOR", length = 7)
     private String mbtiColor;
     
+    // 지표별 점수 (SCORE_E ~ SCORE_P 숫자 컬럼, 상세 점수는 여기서 계산)
+    @Embedded
+    private MbtiScores scores;
+    
+    // 예전 JSON 점수 - 새 결과에는 저장하지 않음 (sql/typed_score_columns.sql 이관 전 데이터 조회용)
     @Lob
     @Column(name = "CATEGORY_SCORES")
     private String categoryScores;
@@ -54,6 +67,7 @@ public class TestResult {
     @Column(name = "DETAILED_SCORES")
     private String detailedScores;
     
+    // 답변 데이터 (AnswerCodec 압축 형식, 예전 데이터는 JSON)
     @Lob
     @Column(name = "ANSWER_DATA")
     private String answerData;
@@ -62,14 +76,23 @@ public class TestResult {
     @Column(name = "AI_ANALYSIS")
     private String aiAnalysis;
     
+    // 정규화된 프롬프트/답변의 SHA-256 해시 (AI 분석 캐시 키)
+    @Column(name = "ANALYSIS_KEY", length = 64)
+    private String analysisKey;
+    
+    // AI 분석 상태 (PENDING / DONE / FAILED / DEFERRED, 분석 요청이 없으면 null)
+    @Column(name = "ANALYSIS_STATUS", length = 10)
+    private String analysisStatus;
+    
     @Column(name = "TEST_DURATION")
     private Integer testDuration;
     
-    @Column(name = "VIEW_COUNT")
+    // 조회수/공유수는 ResultCounterBuffer가 증가분 UPDATE로만 변경 (엔티티 저장 시 덮어쓰지 않음)
+    @Column(name = "VIEW_COUNT", updatable = false)
     @Builder.Default
     private Integer viewCount = 0;
     
-    @Column(name = "SHARED_COUNT")
+    @Column(name = "SHARED_COUNT", updatable = false)
     @Builder.Default
     private Integer sharedCount = 0;
     
@@ -100,6 +123,10 @@ public class TestResult {
         this.isPublicFlag = isPublic ? "Y" : "N";
     }
     
+    public boolean isAnalysisPending() {
+        return ANALYSIS_PENDING.equals(analysisStatus);
+    }
+    
     // 편의 메서드
     public boolean isOwnedBy(User checkUser) {
         return user != null && checkUser != null && user.getUserId().equals(checkUser.getUserId());
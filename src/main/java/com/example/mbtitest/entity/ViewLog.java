@@ -18,7 +18,7 @@ public class ViewLog {
     
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_view_log")
-    @SequenceGenerator(name = "seq_view_log", sequenceName = "SEQ_VIEW_LOG", allocationSize = 1)
+    @SequenceGenerator(name = "seq_view_log", sequenceName = "SEQ_VIEW_LOG", allocationSize = 50)
     @Column(name = "VIEW_ID")
     private Long viewId;
     
@@ -37,6 +37,9 @@ public class ViewLog {
     @Column(name = "REFERRER", length = 500)
     private String referrer;
     
+    @Column(name = "PAGE_NAME", length = 30)
+    private String pageName; // MAIN, TEST, RESULT 등 (Page 상수)
+    
     @Column(name = "VIEW_DURATION")
     private Integer viewDuration;
     
@@ -50,6 +53,21 @@ public class ViewLog {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // 비동기 저장 시에는 방문 시각을 미리 넣어 둠
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+    
+    // 방문 페이지 상수
+    public static class Page {
+        public static final String MAIN = "MAIN";
+        public static final String TEST = "TEST";
+        public static final String RESULT = "RESULT";
+        public static final String MBTI = "MBTI";
+        public static final String COMMUNITY = "COMMUNITY";
+        public static final String STATS = "STATS";
+        public static final String ADMIN = "ADMIN";
+        public static final String OTHER = "OTHER";
     }
 }
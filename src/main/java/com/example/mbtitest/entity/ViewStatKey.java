@@ -0,0 +1,32 @@
+package com.example.mbtitest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 방문 통계 롤업 키 (구간 시작 시각, MBTI 타입, 페이지)
+ * - 키 컬럼은 NULL을 쓸 수 없으므로 MBTI 타입이 없는 방문은 NONE으로 저장
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewStatKey implements Serializable {
+
+    public static final String NONE = "-";
+
+    @Column(name = "BUCKET_START", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "MBTI_TYPE", nullable = false, length = 20)
+    private String mbtiType;
+
+    @Column(name = "PAGE_NAME", nullable = false, length = 30)
+    private String pageName;
+}
@@ -0,0 +1,16 @@
+package com.example.mbtitest.repository;
+
+/**
+ * AI 분석 상태 폴링용 읽기 모델 (TEST_RESULTS의 상태 컬럼만 조회)
+ * - AI_ANALYSIS 등 CLOB은 읽지 않음 (분석 완료 시에만 별도로 조회)
+ */
+public record AnalysisStatusView(
+    Long resultId,
+    String isPublicFlag,
+    String analysisStatus
+) {
+
+    public boolean isPublic() {
+        return "Y".equals(isPublicFlag);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -32,10 +33,6 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.isDeleted = 'N'")
     Long countActiveComments();
     
-    // 오늘의 댓글 개수
-    @Query(value = "SELECT COUNT(*) FROM COMMENTS WHERE TO_CHAR(CREATED_AT, 'YYYY-MM-DD') = TO_CHAR(SYSDATE, 'YYYY-MM-DD') AND IS_DELETED = 'N'", nativeQuery = true)
-    Long countTodayComments();
-    
     // 특정 IP의 댓글들 조회 (스팸 방지용)
     List<Comment> findByUserIpAndCreatedAtAfterOrderByCreatedAtDesc(String userIp, LocalDateTime afterTime);
     
@@ -51,6 +48,10 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByCreatedAtBetweenAndIsDeletedOrderByCreatedAtDesc(
         LocalDateTime startDate, LocalDateTime endDate, String isDeleted);
     
+    // 좋아요 수만 조회 (삭제되지 않은 댓글, 좋아요 집계 캐시용)
+    @Query("SELECT c.likesCount FROM Comment c WHERE c.commentId = :commentId AND c.isDeleted = 'N'")
+    Optional<Integer> findActiveLikesCount(@Param("commentId") Long commentId);
+    
     // 좋아요가 많은 순서로 특정 개수만 조회
     @Query(value = "SELECT * FROM (SELECT c.* FROM COMMENTS c WHERE c.IS_DELETED = 'N' ORDER BY c.LIKES_COUNT DESC, c.CREATED_AT DESC) WHERE ROWNUM <= :limit", nativeQuery = true)
     List<Comment> findTopCommentsByLikes(@Param("limit") int limit);
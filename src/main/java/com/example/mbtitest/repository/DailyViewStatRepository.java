@@ -0,0 +1,41 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.DailyViewStat;
+import com.example.mbtitest.entity.ViewStatKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyViewStatRepository extends JpaRepository<DailyViewStat, ViewStatKey> {
+    
+    // 전체 방문 수
+    @Query("SELECT COALESCE(SUM(d.viewCount), 0) FROM DailyViewStat d")
+    Long sumAllViews();
+    
+    // 기간 방문 수 [start, end)
+    @Query("SELECT COALESCE(SUM(d.viewCount), 0) FROM DailyViewStat d " +
+           "WHERE d.id.bucketStart >= :start AND d.id.bucketStart < :end")
+    Long sumViews(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
+    // 일별 방문 수 [start, end)
+    @Query("SELECT d.id.bucketStart, SUM(d.viewCount) FROM DailyViewStat d " +
+           "WHERE d.id.bucketStart >= :start AND d.id.bucketStart < :end " +
+           "GROUP BY d.id.bucketStart ORDER BY d.id.bucketStart")
+    List<Object[]> sumViewsByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
+    // MBTI 타입별 방문 수 (많은 순, 타입 없는 방문 제외)
+    @Query("SELECT d.id.mbtiType, SUM(d.viewCount) FROM DailyViewStat d " +
+           "WHERE d.id.mbtiType <> '" + ViewStatKey.NONE + "' " +
+           "GROUP BY d.id.mbtiType ORDER BY SUM(d.viewCount) DESC")
+    List<Object[]> sumViewsByMbtiType();
+    
+    // 페이지별 방문 수 (많은 순)
+    @Query("SELECT d.id.pageName, SUM(d.viewCount) FROM DailyViewStat d " +
+           "GROUP BY d.id.pageName ORDER BY SUM(d.viewCount) DESC")
+    List<Object[]> sumViewsByPage();
+}
@@ -0,0 +1,21 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.HourlyViewStat;
+import com.example.mbtitest.entity.ViewStatKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HourlyViewStatRepository extends JpaRepository<HourlyViewStat, ViewStatKey> {
+    
+    // 시간별 방문 수 [start, end)
+    @Query("SELECT h.id.bucketStart, SUM(h.viewCount) FROM HourlyViewStat h " +
+           "WHERE h.id.bucketStart >= :start AND h.id.bucketStart < :end " +
+           "GROUP BY h.id.bucketStart ORDER BY h.id.bucketStart")
+    List<Object[]> sumViewsByHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -3,7 +3,6 @@ package com.example.mbtitest.repository;
 import com.example.mbtitest.entity.ShareLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -25,10 +24,6 @@ public interface ShareLogRepository extends JpaRepository<ShareLog, Long> {
     @Query("SELECT COUNT(sl) FROM ShareLog sl")
     Long countTotalShares();
     
-    // 오늘의 공유 개수
-    @Query(value = "SELECT COUNT(*) FROM SHARE_LOGS WHERE TO_CHAR(CREATED_AT, 'YYYY-MM-DD') = TO_CHAR(SYSDATE, 'YYYY-MM-DD')", nativeQuery = true)
-    Long countTodayShares();
-    
     // 플랫폼별 공유 통계
     @Query("SELECT sl.sharePlatform, COUNT(sl) FROM ShareLog sl GROUP BY sl.sharePlatform ORDER BY COUNT(sl) DESC")
     List<Object[]> getShareStatsByPlatform();
@@ -43,14 +38,6 @@ public interface ShareLogRepository extends JpaRepository<ShareLog, Long> {
     // 특정 IP의 공유 로그들 (중복 공유 체크용)
     List<ShareLog> findByUserIpAndCreatedAtAfterOrderByCreatedAtDesc(String userIp, LocalDateTime afterTime);
     
-    // 일별 공유 통계
-    @Query(value = "SELECT TO_CHAR(CREATED_AT, 'YYYY-MM-DD') as shareDate, COUNT(*) as shareCount " +
-           "FROM SHARE_LOGS " +
-           "WHERE CREATED_AT >= :startDate " +
-           "GROUP BY TO_CHAR(CREATED_AT, 'YYYY-MM-DD') " +
-           "ORDER BY TO_CHAR(CREATED_AT, 'YYYY-MM-DD')", nativeQuery = true)
-    List<Object[]> getDailyShareCounts(@Param("startDate") LocalDateTime startDate);
-    
     // 가장 많이 공유된 테스트 결과들
     @Query("SELECT sl.resultId, COUNT(sl) as shareCount " +
            "FROM ShareLog sl " +
@@ -0,0 +1,22 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.StatisticsCache;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StatisticsCacheRepository extends JpaRepository<StatisticsCache, Long> {
+    
+    // 통계 타입 + 키로 여러 건 조회
+    List<StatisticsCache> findByStatTypeAndStatKeyIn(String statType, Collection<String> statKeys);
+    
+    // 갱신용 조회 (다른 인스턴스와 동시에 고치지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<StatisticsCache> findForUpdateByStatTypeAndStatKey(String statType, String statKey);
+}
@@ -1,9 +1,12 @@
 package com.example.mbtitest.repository;
 
+import com.example.mbtitest.entity.MbtiType;
 import com.example.mbtitest.entity.TestResult;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,15 +18,23 @@ import java.util.Optional;
 @Repository
 public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     
-    // MBTI 타입별 개수 조회
+    // MBTI 타입별 개수 조회 ([MbtiType, 개수], MbtiTypeCounts.fromRows로 집계)
     @Query("SELECT tr.mbtiType, COUNT(tr) FROM TestResult tr GROUP BY tr.mbtiType ORDER BY COUNT(tr) DESC")
     List<Object[]> countByMbtiType();
     
     // 최근 결과 조회 (특정 개수만)
     List<TestResult> findTop10ByOrderByCreatedAtDesc();
     
-    // 특정 MBTI 타입의 최근 결과들
-    List<TestResult> findByMbtiTypeOrderByCreatedAtDesc(String mbtiType);
+    // 목록 조회용 select 절 (CLOB 컬럼 제외)
+    String SUMMARY_SELECT = "SELECT new com.example.mbtitest.repository.TestResultSummary("
+        + "tr.resultId, tr.mbtiType, tr.mbtiDescription, tr.mbtiColor, tr.viewCount, tr.sharedCount, "
+        + "tr.isPublicFlag, tr.analysisStatus, tr.createdAt";
+    
+    // 특정 MBTI 타입의 최근 결과들 (AI 분석 앞부분 미리보기 포함)
+    // DBMS_LOB.SUBSTR은 VARCHAR2를 반환하므로 CLOB 전체를 읽지 않음
+    @Query(SUMMARY_SELECT + ", CAST(FUNCTION('DBMS_LOB.SUBSTR', tr.aiAnalysis, 101, 1) AS String)) "
+        + "FROM TestResult tr WHERE tr.mbtiType = :mbtiType ORDER BY tr.createdAt DESC")
+    List<TestResultSummary> findPreviewsByMbtiType(@Param("mbtiType") MbtiType mbtiType, Pageable pageable);
     
     // 날짜 범위로 조회
     List<TestResult> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
@@ -32,21 +43,101 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     List<TestResult> findByUserIpOrderByCreatedAtDesc(String userIp);
     
     // 특정 사용자 UUID의 테스트 결과들
-    List<TestResult> findByUserUuidOrderByCreatedAtDesc(String userUuid);
-    
-    // 공개/비공개 상태로 조회 (페이징)
-    Page<TestResult> findByIsPublicFlag(String isPublicFlag, Pageable pageable);
+    @Query(SUMMARY_SELECT + ") FROM TestResult tr WHERE tr.userUuid = :userUuid ORDER BY tr.createdAt DESC")
+    List<TestResultSummary> findSummariesByUserUuid(@Param("userUuid") String userUuid);
+    
+    // 공개/비공개 상태로 조회 (페이징, 정렬은 Pageable)
+    @Query(value = SUMMARY_SELECT + ") FROM TestResult tr WHERE tr.isPublicFlag = :isPublicFlag",
+           countQuery = "SELECT COUNT(tr) FROM TestResult tr WHERE tr.isPublicFlag = :isPublicFlag")
+    Page<TestResultSummary> findSummariesByIsPublicFlag(@Param("isPublicFlag") String isPublicFlag, Pageable pageable);
+    
+    // 공개 결과 피드 (keyset: 작성일, ID 내림차순 - 커서보다 뒤의 행만)
+    // 범위 조건(<=)을 앞에 두어 IDX_TR_PUBLIC_FEED 인덱스 범위 스캔 (sql/feed_keyset_indexes.sql)
+    @Query(SUMMARY_SELECT + ") FROM TestResult tr WHERE tr.isPublicFlag = 'Y' "
+        + "AND tr.createdAt <= :createdAt AND (tr.createdAt < :createdAt OR tr.resultId < :resultId) "
+        + "ORDER BY tr.createdAt DESC, tr.resultId DESC")
+    List<TestResultSummary> findPublicFeed(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("resultId") Long resultId,
+                                           Limit limit);
+    
+    // 인기 결과 피드 (keyset: 조회수, 작성일, ID 내림차순)
+    @Query(SUMMARY_SELECT + ") FROM TestResult tr WHERE tr.isPublicFlag = 'Y' "
+        + "AND tr.viewCount <= :viewCount AND (tr.viewCount < :viewCount "
+        + "OR (tr.createdAt <= :createdAt AND (tr.createdAt < :createdAt OR tr.resultId < :resultId))) "
+        + "ORDER BY tr.viewCount DESC, tr.createdAt DESC, tr.resultId DESC")
+    List<TestResultSummary> findPopularFeed(@Param("viewCount") Integer viewCount,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("resultId") Long resultId,
+                                            Limit limit);
+    
+    // 바이럴 결과 피드 (keyset: 공유수, 조회수, 작성일, ID 내림차순)
+    @Query(SUMMARY_SELECT + ") FROM TestResult tr WHERE tr.isPublicFlag = 'Y' "
+        + "AND tr.sharedCount <= :sharedCount AND (tr.sharedCount < :sharedCount "
+        + "OR (tr.viewCount <= :viewCount AND (tr.viewCount < :viewCount "
+        + "OR (tr.createdAt <= :createdAt AND (tr.createdAt < :createdAt OR tr.resultId < :resultId))))) "
+        + "ORDER BY tr.sharedCount DESC, tr.viewCount DESC, tr.createdAt DESC, tr.resultId DESC")
+    List<TestResultSummary> findViralFeed(@Param("sharedCount") Integer sharedCount,
+                                          @Param("viewCount") Integer viewCount,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("resultId") Long resultId,
+                                          Limit limit);
+    
+    // 공개 결과 수 (피드 전체 개수 요청 시에만)
+    @Query("SELECT COUNT(tr) FROM TestResult tr WHERE tr.isPublicFlag = 'Y'")
+    long countPublic();
     
     // 특정 MBTI 타입이면서 공개된 결과들 (페이징)
-    Page<TestResult> findByMbtiTypeAndIsPublicFlag(String mbtiType, String isPublicFlag, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + ") FROM TestResult tr WHERE tr.mbtiType = :mbtiType AND tr.isPublicFlag = :isPublicFlag",
+           countQuery = "SELECT COUNT(tr) FROM TestResult tr WHERE tr.mbtiType = :mbtiType AND tr.isPublicFlag = :isPublicFlag")
+    Page<TestResultSummary> findSummariesByMbtiTypeAndIsPublicFlag(@Param("mbtiType") MbtiType mbtiType,
+                                                                  @Param("isPublicFlag") String isPublicFlag,
+                                                                  Pageable pageable);
+    
+    // AI 분석 상태 폴링용 (CLOB 컬럼 제외)
+    @Query("SELECT new com.example.mbtitest.repository.AnalysisStatusView(tr.resultId, tr.isPublicFlag, tr.analysisStatus) "
+        + "FROM TestResult tr WHERE tr.resultId = :resultId")
+    Optional<AnalysisStatusView> findAnalysisStatusById(@Param("resultId") Long resultId);
+    
+    // AI 분석 텍스트만 조회
+    @Query("SELECT tr.aiAnalysis FROM TestResult tr WHERE tr.resultId = :resultId")
+    Optional<String> findAiAnalysisById(@Param("resultId") Long resultId);
     
     // 특정 결과 ID와 사용자 UUID로 조회
     Optional<TestResult> findByResultIdAndUserUuid(Long resultId, String userUuid);
     
-    // 오늘의 테스트 개수
-    @Query(value = "SELECT COUNT(*) FROM TEST_RESULTS WHERE TO_CHAR(CREATED_AT, 'YYYY-MM-DD') = TO_CHAR(SYSDATE, 'YYYY-MM-DD')", nativeQuery = true)
-    Long countTodayTests();
+    // 동일한 분석 키로 저장된 AI 분석 결과 (최신순, 완료된 분석만 - 기본 분석은 제외)
+    @Query("SELECT tr.aiAnalysis FROM TestResult tr WHERE tr.analysisKey = :analysisKey AND tr.aiAnalysis IS NOT NULL AND tr.analysisStatus = 'DONE' ORDER BY tr.createdAt DESC")
+    List<String> findAiAnalysisByAnalysisKey(@Param("analysisKey") String analysisKey, Pageable pageable);
     
+    // 아직 분석이 완료되지 않은 결과에만 AI 분석 텍스트 저장 (완료된 분석을 덮어쓰지 않음)
+    @Modifying
+    @Query("UPDATE TestResult tr SET tr.aiAnalysis = :aiAnalysis WHERE tr.resultId = :resultId AND (tr.analysisStatus IS NULL OR tr.analysisStatus <> 'DONE')")
+    int updateAiAnalysisIfNotDone(@Param("resultId") Long resultId, @Param("aiAnalysis") String aiAnalysis);
+
+    // 분석 상태만 변경 (수정 시각은 재분석 대상 판단에 쓰므로 함께 갱신)
+    @Modifying
+    @Query("UPDATE TestResult tr SET tr.analysisStatus = :analysisStatus, tr.updatedAt = :now WHERE tr.resultId = :resultId")
+    int updateAnalysisStatus(@Param("resultId") Long resultId,
+                             @Param("analysisStatus") String analysisStatus,
+                             @Param("now") LocalDateTime now);
+
+    // 다시 분석할 결과 (보류된 분석 + staleBefore 이전부터 PENDING으로 남은 분석, 오래된 순)
+    // IDX_TR_ANALYSIS_RETRY 인덱스 사용 (sql/analysis_retry_index.sql)
+    @Query("SELECT tr FROM TestResult tr WHERE tr.analysisStatus = 'DEFERRED' "
+        + "OR (tr.analysisStatus = 'PENDING' AND tr.updatedAt < :staleBefore) ORDER BY tr.updatedAt ASC")
+    List<TestResult> findAnalysisRetryCandidates(@Param("staleBefore") LocalDateTime staleBefore, Limit limit);
+
+    // 재분석 선점 (아직 재분석 대상일 때만 PENDING으로 바꾸고 수정 시각 갱신 - 여러 인스턴스가 같은 행을 가져가지 않도록)
+    @Modifying
+    @Query("UPDATE TestResult tr SET tr.analysisStatus = 'PENDING', tr.updatedAt = :now WHERE tr.resultId = :resultId "
+        + "AND (tr.analysisStatus = 'DEFERRED' OR (tr.analysisStatus = 'PENDING' AND tr.updatedAt < :staleBefore))")
+    int claimAnalysisRetry(@Param("resultId") Long resultId,
+                           @Param("staleBefore") LocalDateTime staleBefore,
+                           @Param("now") LocalDateTime now);
+
+    // 분석 상태별 개수
+    long countByAnalysisStatus(String analysisStatus);
+
     // 전체 테스트 개수
     @Query("SELECT COUNT(tr) FROM TestResult tr")
     Long countAllTests();
@@ -55,43 +146,6 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     @Query("SELECT AVG(tr.testDuration) FROM TestResult tr WHERE tr.testDuration IS NOT NULL")
     Double getAverageTestDuration();
     
-    // MBTI 타입별 통계 (Map 형태로 반환)
-    @Query("SELECT " +
-           "SUM(CASE WHEN tr.mbtiType = 'ENFP' THEN 1 ELSE 0 END) as enfp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ENFJ' THEN 1 ELSE 0 END) as enfj, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ENTP' THEN 1 ELSE 0 END) as entp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ENTJ' THEN 1 ELSE 0 END) as entj, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ESFP' THEN 1 ELSE 0 END) as esfp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ESFJ' THEN 1 ELSE 0 END) as esfj, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ESTP' THEN 1 ELSE 0 END) as estp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ESTJ' THEN 1 ELSE 0 END) as estj, " +
-           "SUM(CASE WHEN tr.mbtiType = 'INFP' THEN 1 ELSE 0 END) as infp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'INFJ' THEN 1 ELSE 0 END) as infj, " +
-           "SUM(CASE WHEN tr.mbtiType = 'INTP' THEN 1 ELSE 0 END) as intp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'INTJ' THEN 1 ELSE 0 END) as intj, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ISFP' THEN 1 ELSE 0 END) as isfp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ISFJ' THEN 1 ELSE 0 END) as isfj, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ISTP' THEN 1 ELSE 0 END) as istp, " +
-           "SUM(CASE WHEN tr.mbtiType = 'ISTJ' THEN 1 ELSE 0 END) as istj " +
-           "FROM TestResult tr")
-    Object[] getMbtiTypeStatistics();
-    
-    // 특정 기간의 일별 테스트 수
-    @Query(value = "SELECT TO_CHAR(CREATED_AT, 'YYYY-MM-DD') as testDate, COUNT(*) as testCount " +
-           "FROM TEST_RESULTS " +
-           "WHERE CREATED_AT >= :startDate " +
-           "GROUP BY TO_CHAR(CREATED_AT, 'YYYY-MM-DD') " +
-           "ORDER BY TO_CHAR(CREATED_AT, 'YYYY-MM-DD')", nativeQuery = true)
-    List<Object[]> getDailyTestCounts(@Param("startDate") LocalDateTime startDate);
-    
-    // 조회수가 높은 공개 결과들
-    @Query("SELECT tr FROM TestResult tr WHERE tr.isPublicFlag = 'Y' ORDER BY tr.viewCount DESC, tr.createdAt DESC")
-    Page<TestResult> findPopularResults(Pageable pageable);
-    
-    // 공유수가 높은 공개 결과들
-    @Query("SELECT tr FROM TestResult tr WHERE tr.isPublicFlag = 'Y' ORDER BY tr.sharedCount DESC, tr.viewCount DESC, tr.createdAt DESC")
-    Page<TestResult> findViralResults(Pageable pageable);
-    
     // 총 조회수
     @Query("SELECT SUM(tr.viewCount) FROM TestResult tr")
     Long getTotalViewCount();
@@ -0,0 +1,51 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.MbtiType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결과 목록용 읽기 모델 (TEST_RESULTS의 목록 표시 컬럼만 조회)
+ * - AI_ANALYSIS / ANSWER_DATA / CATEGORY_SCORES / DETAILED_SCORES CLOB은 읽지 않음
+ *   (전체 내용은 단건 조회에서만 TestResult로 읽음)
+ * - analysisPreview: AI 분석 앞부분 (미리보기 쿼리에서만 채움, 최대 PREVIEW_LENGTH + 1자)
+ */
+public record TestResultSummary(
+    Long resultId,
+    MbtiType mbtiType,
+    String mbtiDescription,
+    String mbtiColor,
+    Integer viewCount,
+    Integer sharedCount,
+    String isPublicFlag,
+    String analysisStatus,
+    LocalDateTime createdAt,
+    String analysisPreview
+) {
+
+    public static final int PREVIEW_LENGTH = 100;
+
+    /**
+     * 미리보기 없는 목록 쿼리용
+     */
+    public TestResultSummary(Long resultId, MbtiType mbtiType, String mbtiDescription, String mbtiColor,
+                             Integer viewCount, Integer sharedCount, String isPublicFlag,
+                             String analysisStatus, LocalDateTime createdAt) {
+        this(resultId, mbtiType, mbtiDescription, mbtiColor, viewCount, sharedCount, isPublicFlag,
+            analysisStatus, createdAt, null);
+    }
+
+    public boolean isPublic() {
+        return "Y".equals(isPublicFlag);
+    }
+
+    /**
+     * 미리보기 문구 (PREVIEW_LENGTH자를 넘으면 말줄임)
+     */
+    public String previewText() {
+        if (analysisPreview == null || analysisPreview.length() <= PREVIEW_LENGTH) {
+            return analysisPreview;
+        }
+        return analysisPreview.substring(0, PREVIEW_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mbtitest.service;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * AI 분석 요청 입장 거절 (요청 한도 초과, 대기열 포화, 대기 시간 초과)
+ * - retryAfter: 다시 시도해도 되는 시점까지 남은 시간 (Retry-After 헤더 값)
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String reason;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, String reason, Duration retryAfter) {
+        super(message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Retry-After 헤더용 초 단위 값 (최소 1초)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.AdmissionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AI 분석 요청 입장 제어
+ * - 클라이언트별 토큰 버킷: 토큰이 없으면 대기 없이 바로 거절 (429)
+ * - 동시 처리 수(maxConcurrent)를 넘으면 대기열에서 순서를 기다림
+ * - 대기열은 우선순위(로그인 사용자 먼저) → 같은 우선순위 안에서는 클라이언트별로 돌아가며 입장
+ * - 대기열이 가득 차거나 maxWait 안에 입장하지 못하면 거절
+ * - 입장 결과(Permit)는 처리가 끝나면 반드시 release
+ */
+@Component
+@Slf4j
+public final class AiAdmissionQueue {
+
+    public enum Priority {
+        HIGH, NORMAL
+    }
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+
+    // 우선순위 → (클라이언트 → 대기 요청), 클라이언트 순서가 곧 입장 순서 (입장하면 맨 뒤로)
+    private final Map<Priority, LinkedHashMap<String, ArrayDeque<Waiter>>> waiting = new EnumMap<>(Priority.class);
+    private final Map<String, Integer> queuedPerClient = new HashMap<>();
+    private int queued;
+    private int active;
+
+    public AiAdmissionQueue(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxClients())
+            // 이 시간 동안 요청이 없으면 버킷이 가득 찬 상태와 같으므로 제거
+            .expireAfterAccess(properties.getRefillPeriod().multipliedBy(Math.max(1, properties.getBucketCapacity())))
+            .build();
+        for (Priority priority : Priority.values()) {
+            waiting.put(priority, new LinkedHashMap<>());
+        }
+
+        Gauge.builder("ai.admission.queued", this, AiAdmissionQueue::getQueued)
+            .description("입장을 기다리는 AI 분석 요청 수")
+            .register(meterRegistry);
+        Gauge.builder("ai.admission.active", this, AiAdmissionQueue::getActive)
+            .description("처리 중인 AI 분석 요청 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 입장 허가 (처리가 끝나면 release 호출)
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                onRelease();
+            }
+        }
+    }
+
+    private record Waiter(String clientKey, Priority priority, CompletableFuture<Permit> future, long enqueuedAt) {
+    }
+
+    /**
+     * 입장 요청
+     * - 바로 입장 가능하면 완료된 future, 대기열에 들어가면 입장 시 완료
+     * - 거절되면 AdmissionRejectedException으로 완료
+     */
+    public CompletableFuture<Permit> admit(String clientKey, Priority priority) {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(new Permit());
+        }
+
+        TokenBucket bucket = buckets.get(clientKey,
+            key -> new TokenBucket(properties.getBucketCapacity(), properties.getRefillPeriod().toNanos()));
+        long waitNanos = bucket.tryConsume(System.nanoTime());
+        if (waitNanos > 0) {
+            return reject("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", "rate_limited", Duration.ofNanos(waitNanos));
+        }
+
+        Waiter waiter;
+        synchronized (this) {
+            if (active < properties.getMaxConcurrent()) {
+                active++;
+                waitTimer("admitted").record(0, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(new Permit());
+            }
+
+            if (queued >= properties.getQueueCapacity()
+                    || queuedPerClient.getOrDefault(clientKey, 0) >= properties.getPerClientQueueLimit()) {
+                waiter = null;
+            } else {
+                waiter = new Waiter(clientKey, priority, new CompletableFuture<>(), System.nanoTime());
+                waiting.get(priority).computeIfAbsent(clientKey, key -> new ArrayDeque<>()).add(waiter);
+                queuedPerClient.merge(clientKey, 1, Integer::sum);
+                queued++;
+            }
+        }
+
+        if (waiter == null) {
+            return reject("AI 분석 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", "queue_full", properties.getMaxWait());
+        }
+
+        waiter.future().orTimeout(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        return waiter.future()
+            .exceptionallyCompose(error -> {
+                if (!(error instanceof TimeoutException)) {
+                    return CompletableFuture.failedFuture(error);
+                }
+                synchronized (this) {
+                    removeWaiter(waiter);
+                }
+                waitTimer("timeout").record(System.nanoTime() - waiter.enqueuedAt(), TimeUnit.NANOSECONDS);
+                return reject("AI 분석 대기 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.", "timeout", properties.getMaxWait());
+            });
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    public synchronized int getActive() {
+        return active;
+    }
+
+    /**
+     * 처리 완료 - 대기 중인 다음 요청에 자리를 넘김
+     */
+    private void onRelease() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                next = pollNext();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+
+            // 이미 시간 초과로 끝난 요청이면 다음 요청으로
+            if (next.future().complete(new Permit())) {
+                waitTimer("admitted").record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 다음 입장 요청 선택 (높은 우선순위부터, 같은 우선순위는 클라이언트별로 돌아가며)
+     */
+    private Waiter pollNext() {
+        for (LinkedHashMap<String, ArrayDeque<Waiter>> clients : waiting.values()) {
+            Iterator<Map.Entry<String, ArrayDeque<Waiter>>> iterator = clients.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                continue;
+            }
+
+            Map.Entry<String, ArrayDeque<Waiter>> entry = iterator.next();
+            ArrayDeque<Waiter> deque = entry.getValue();
+            Waiter waiter = deque.poll();
+            iterator.remove();
+            if (!deque.isEmpty()) {
+                // 남은 요청이 있으면 맨 뒤로 보내 다른 클라이언트가 먼저 입장
+                clients.put(entry.getKey(), deque);
+            }
+            dequeued(waiter.clientKey());
+            return waiter;
+        }
+        return null;
+    }
+
+    private void removeWaiter(Waiter waiter) {
+        LinkedHashMap<String, ArrayDeque<Waiter>> clients = waiting.get(waiter.priority());
+        ArrayDeque<Waiter> deque = clients.get(waiter.clientKey());
+        if (deque != null && deque.remove(waiter)) {
+            if (deque.isEmpty()) {
+                clients.remove(waiter.clientKey());
+            }
+            dequeued(waiter.clientKey());
+        }
+    }
+
+    private void dequeued(String clientKey) {
+        queued--;
+        queuedPerClient.computeIfPresent(clientKey, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private CompletableFuture<Permit> reject(String message, String reason, Duration retryAfter) {
+        log.debug("AI 분석 요청 거절 - 사유: {}", reason);
+        meterRegistry.counter("ai.admission.rejected", "reason", reason).increment();
+        return CompletableFuture.failedFuture(new AdmissionRejectedException(message, reason, retryAfter));
+    }
+
+    private Timer waitTimer(String outcome) {
+        return Timer.builder("ai.admission.wait")
+            .description("AI 분석 요청 입장 대기 시간")
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 클라이언트별 토큰 버킷 (refillPeriod마다 1개씩 채워짐, 최대 capacity개)
+     */
+    static final class TokenBucket {
+
+        private final int capacity;
+        private final long refillNanos;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, long refillNanos) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * 토큰 1개 사용 (성공하면 0, 부족하면 다음 토큰까지 남은 나노초)
+         */
+        synchronized long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / refillNanos);
+            lastRefill = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * refillNanos);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.repository.TestResultRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * AI 분석 결과 캐시
+ * - 키: 정규화한 프롬프트 + MBTI 타입 + 답변의 SHA-256 해시
+ * - 1차: 메모리 (크기 제한 LRU + TTL)
+ * - 2차: TEST_RESULTS.AI_ANALYSIS (같은 키로 저장된 이전 결과)
+ */
+@Component
+@Slf4j
+public class AiAnalysisCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Cache<String, String> memoryCache;
+    private final TestResultRepository testResultRepository;
+    private final ObjectMapper canonicalMapper;
+    private final boolean persistentTierEnabled;
+
+    private final Counter persistentHits;
+    private final Counter persistentMisses;
+
+    public AiAnalysisCache(TestResultRepository testResultRepository,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${ai.analysis.cache.max-entries:1000}") long maxEntries,
+                           @Value("${ai.analysis.cache.ttl:6h}") Duration ttl,
+                           @Value("${ai.analysis.cache.persistent:true}") boolean persistentTierEnabled) {
+        this.testResultRepository = testResultRepository;
+        this.canonicalMapper = objectMapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.persistentTierEnabled = persistentTierEnabled;
+        this.memoryCache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memoryCache, "aiAnalysis");
+        this.persistentHits = Counter.builder("ai.analysis.cache.persistent")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.persistentMisses = Counter.builder("ai.analysis.cache.persistent")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 키 생성
+     * - 프롬프트는 유니코드 정규화 후 연속 공백을 하나로 합침
+     * - 답변은 맵 키를 정렬한 JSON으로 직렬화
+     */
+    public String fingerprint(String prompt, String mbtiType, List<?> answers) {
+        String normalizedPrompt = prompt == null ? ""
+            : WHITESPACE.matcher(Normalizer.normalize(prompt, Normalizer.Form.NFC)).replaceAll(" ").trim();
+        String normalizedMbti = mbtiType == null ? "" : mbtiType.trim().toUpperCase();
+
+        String answersJson;
+        try {
+            answersJson = answers == null ? "" : canonicalMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("답변 데이터를 처리할 수 없습니다.", e);
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalizedPrompt.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalizedMbti.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(answersJson.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 캐시 조회 (메모리 → DB 순서)
+     */
+    public Optional<String> get(String analysisKey) {
+        String cached = memoryCache.getIfPresent(analysisKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        if (!persistentTierEnabled) {
+            return Optional.empty();
+        }
+
+        try {
+            List<String> stored = testResultRepository.findAiAnalysisByAnalysisKey(analysisKey, PageRequest.of(0, 1));
+            if (!stored.isEmpty()) {
+                persistentHits.increment();
+                memoryCache.put(analysisKey, stored.get(0));
+                return Optional.of(stored.get(0));
+            }
+        } catch (Exception e) {
+            log.warn("AI 분석 캐시 DB 조회 실패: {}", e.getMessage());
+        }
+
+        persistentMisses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 분석 결과 저장 (DB 저장은 TestResult 저장 시 함께 처리)
+     */
+    public void put(String analysisKey, String aiAnalysis) {
+        if (aiAnalysis != null && !aiAnalysis.isBlank()) {
+            memoryCache.put(analysisKey, aiAnalysis);
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.TestResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI 성격 분석 처리
+ * - 캐시 조회 → Gemini 호출 → 테스트 결과 저장
+ * - 같은 키로 진행 중인 요청이 있으면 새로 호출하지 않고 그 결과를 공유
+ * - submitAnalysis: 결과를 PENDING 상태로 먼저 저장하고 분석은 작업자 풀에서 진행
+ * - 서킷이 열려 있으면 호출하지 않고 DEFERRED 상태로 저장, 회복되면 DB에서 다시 읽어 분석 (재시작 후에도 이어서 처리)
+ * - 지연 허용 시간 안에 분석이 끝나지 않으면 유형별 기본 분석을 먼저 반환하고, 맞춤 분석은 도착하는 대로 저장
+ */
+@Service
+@Slf4j
+public class AiAnalysisService {
+
+    private static final Map<String, Object> ANALYSIS_GENERATION_CONFIG = Map.of(
+        "temperature", 0.7,
+        "topK", 40,
+        "topP", 0.95,
+        "maxOutputTokens", 8000
+    );
+
+    private final GeminiClient geminiClient;
+    private final AiAnalysisCache analysisCache;
+    private final TestResultService testResultService;
+    private final QuestionCatalog questionCatalog;
+    private final MeterRegistry meterRegistry;
+    private final TaskExecutor workerExecutor;
+    private final AiCircuitBreaker circuitBreaker;
+    private final FallbackAnalysisProvider fallbackAnalysisProvider;
+    private final ExecutorService callbackExecutor;
+    private final Duration latencyBudget;
+    private final Duration stalePendingAfter;
+    private final int retryBatchSize;
+
+    /** 진행 중인 분석 (키 → 결과) */
+    private final ConcurrentMap<String, CompletableFuture<AnalysisOutcome>> inFlight = new ConcurrentHashMap<>();
+
+    /** 백그라운드 분석 대기 중인 결과 (키 → PENDING 상태로 저장된 결과와 분석 완료 신호) */
+    private final ConcurrentMap<String, PendingAnalysis> pendingResults = new ConcurrentHashMap<>();
+
+    /** AI 서비스 회복을 기다리는 결과 수 (DEFERRED, 재시도 작업이 돌 때마다 DB에서 갱신) */
+    private final AtomicLong deferredCount = new AtomicLong();
+
+    public AiAnalysisService(GeminiClient geminiClient,
+                             AiAnalysisCache analysisCache,
+                             TestResultService testResultService,
+                             QuestionCatalog questionCatalog,
+                             MeterRegistry meterRegistry,
+                             @Qualifier("analysisWorkerExecutor") TaskExecutor workerExecutor,
+                             AiCircuitBreaker circuitBreaker,
+                             FallbackAnalysisProvider fallbackAnalysisProvider,
+                             @Qualifier("geminiExecutor") ExecutorService callbackExecutor,
+                             @Value("${ai.analysis.latency-budget:8s}") Duration latencyBudget,
+                             @Value("${ai.analysis.deferred.stale-pending-after:10m}") Duration stalePendingAfter,
+                             @Value("${ai.analysis.deferred.retry-batch-size:10}") int retryBatchSize) {
+        this.geminiClient = geminiClient;
+        this.analysisCache = analysisCache;
+        this.testResultService = testResultService;
+        this.questionCatalog = questionCatalog;
+        this.meterRegistry = meterRegistry;
+        this.workerExecutor = workerExecutor;
+        this.circuitBreaker = circuitBreaker;
+        this.fallbackAnalysisProvider = fallbackAnalysisProvider;
+        this.callbackExecutor = callbackExecutor;
+        this.latencyBudget = latencyBudget;
+        this.stalePendingAfter = stalePendingAfter;
+        this.retryBatchSize = retryBatchSize;
+
+        Gauge.builder("ai.analysis.deferred", deferredCount, AtomicLong::get)
+            .description("AI 서비스 회복을 기다리는 분석 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 백그라운드 분석 중인 결과
+     * - completion: 분석 텍스트로 완료, 실패 시 예외로 완료
+     * - fallbackApplied: 기본 분석 저장 여부 (합류한 요청이 여럿이어도 한 번만 저장)
+     */
+    private record PendingAnalysis(TestResult savedResult,
+                                   CompletableFuture<String> completion,
+                                   AtomicBoolean fallbackApplied) {
+
+        PendingAnalysis(TestResult savedResult) {
+            this(savedResult, new CompletableFuture<>(), new AtomicBoolean());
+        }
+    }
+
+    /**
+     * 분석 요청 데이터 (요청 스레드에서 미리 추출한 값만 보관)
+     */
+    public record AnalysisRequest(String prompt,
+                                  String mbtiType,
+                                  Integer testDuration,
+                                  Map<String, Object> categoryScores,
+                                  List<Integer> answers,
+                                  String userIp,
+                                  String userAgent) {
+    }
+
+    /**
+     * 분석 결과
+     * - responseBody: Gemini generateContent 응답 형태 (캐시 적중 시 재구성)
+     * - savedResult: 저장 실패 또는 필수값 누락 시 null
+     */
+    public record AnalysisOutcome(Map<String, Object> responseBody,
+                                  String aiAnalysis,
+                                  TestResult savedResult,
+                                  boolean cached) {
+    }
+
+    /**
+     * submitAnalysis 결과
+     * - analysisStatus: 응답 시점의 분석 상태 (기본 분석을 반환해도 맞춤 분석이 진행 중이면 PENDING)
+     * - aiAnalysis: 맞춤 분석 또는 기본 분석 텍스트 (분석 없이 반환하면 null)
+     * - fallback: 지연 허용 시간 초과 등으로 유형별 기본 분석을 반환한 경우 true
+     */
+    public record Submission(TestResult savedResult,
+                             String analysisStatus,
+                             String aiAnalysis,
+                             boolean fallback) {
+    }
+
+    /**
+     * 스트리밍 분석 진행 상황 수신
+     */
+    public interface StreamListener {
+
+        /** 결과 저장 직후 (필수값 누락 또는 저장 실패 시 null) */
+        void onSaved(TestResult savedResult);
+
+        /** 생성된 텍스트 조각 */
+        void onChunk(String text);
+    }
+
+    /**
+     * AI 분석 후 결과 저장
+     * - 동시에 들어온 같은 요청(중복 클릭, 재시도)은 Gemini 호출과 저장된 결과를 함께 사용
+     */
+    public CompletableFuture<AnalysisOutcome> analyze(AnalysisRequest request) {
+        String analysisKey = analysisCache.fingerprint(request.prompt(), request.mbtiType(), request.answers());
+
+        CompletableFuture<AnalysisOutcome> flight = new CompletableFuture<>();
+        CompletableFuture<AnalysisOutcome> existing = inFlight.putIfAbsent(analysisKey, flight);
+        if (existing != null) {
+            log.debug("진행 중인 AI 분석에 합류 - key: {}", analysisKey);
+            meterRegistry.counter("ai.analysis.coalesced").increment();
+            // 한 요청의 취소가 다른 요청에 전파되지 않도록 사본 반환
+            return existing.copy();
+        }
+
+        CompletableFuture<AnalysisOutcome> work;
+        try {
+            work = startAnalysis(request, analysisKey);
+        } catch (Throwable t) {
+            work = CompletableFuture.failedFuture(t);
+        }
+
+        work.whenComplete((outcome, error) -> {
+            // 완료 후 들어오는 요청은 캐시에서 처리되도록 먼저 제거
+            inFlight.remove(analysisKey, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(outcome);
+            }
+        });
+
+        return flight.copy();
+    }
+
+    private CompletableFuture<AnalysisOutcome> startAnalysis(AnalysisRequest request, String analysisKey) {
+        Optional<String> cachedAnalysis = analysisCache.get(analysisKey);
+        if (cachedAnalysis.isPresent()) {
+            log.debug("AI 분석 캐시 적중 - key: {}", analysisKey);
+            String aiAnalysis = cachedAnalysis.get();
+            return CompletableFuture.completedFuture(new AnalysisOutcome(
+                GeminiClient.toResponseBody(aiAnalysis), aiAnalysis, saveResult(request, analysisKey, aiAnalysis), true));
+        }
+
+        return geminiClient.generateContent(request.prompt(), ANALYSIS_GENERATION_CONFIG)
+            .thenApply(responseBody -> {
+                String aiAnalysis = GeminiClient.extractAiAnalysisFromResponse(responseBody);
+                analysisCache.put(analysisKey, aiAnalysis);
+                return new AnalysisOutcome(responseBody, aiAnalysis, saveResult(request, analysisKey, aiAnalysis), false);
+            });
+    }
+
+    /**
+     * 결과 먼저 저장 후 백그라운드 분석
+     * - 캐시 적중 시 분석이 채워진 상태(DONE)로 바로 저장
+     * - 같은 키로 대기 중인 결과가 있으면 새로 저장하지 않고 그 결과를 기다림
+     * - 지연 허용 시간(latencyBudget)까지만 분석을 기다리고, 넘기면 기본 분석으로 완료
+     */
+    public CompletableFuture<Submission> submitAnalysis(AnalysisRequest request) {
+        if (request.mbtiType() == null || request.categoryScores() == null || request.answers() == null) {
+            throw new RuntimeException("필수 정보가 누락되었습니다.");
+        }
+        meterRegistry.counter("ai.analysis.submitted").increment();
+
+        String analysisKey = analysisCache.fingerprint(request.prompt(), request.mbtiType(), request.answers());
+
+        PendingAnalysis pending = pendingResults.get(analysisKey);
+        if (pending != null) {
+            log.debug("대기 중인 AI 분석에 합류 - key: {}", analysisKey);
+            meterRegistry.counter("ai.analysis.coalesced").increment();
+            return awaitWithinBudget(pending);
+        }
+
+        Optional<String> cachedAnalysis = analysisCache.get(analysisKey);
+        if (cachedAnalysis.isPresent()) {
+            log.debug("AI 분석 캐시 적중 - key: {}", analysisKey);
+            TestResult savedResult = testResultService.saveTestResult(UUID.randomUUID().toString(),
+                request.categoryScores(), request.answers(), cachedAnalysis.get(), request.testDuration(),
+                request.userIp(), request.userAgent(), analysisKey);
+            return CompletableFuture.completedFuture(
+                new Submission(savedResult, TestResult.ANALYSIS_DONE, cachedAnalysis.get(), false));
+        }
+
+        // 서킷이 열려 있으면 기다리지 않고 결과만 저장 (분석은 회복 후 retryDeferredAnalyses에서)
+        if (!circuitBreaker.isCallPermitted()) {
+            TestResult deferredResult = testResultService.saveDeferredTestResult(UUID.randomUUID().toString(),
+                request.categoryScores(), request.answers(), request.testDuration(), request.userIp(),
+                request.userAgent(), analysisKey);
+            return CompletableFuture.completedFuture(
+                fallbackSubmission(deferredResult, TestResult.ANALYSIS_DEFERRED, "circuit_open"));
+        }
+
+        // 저장(DB)은 맵 밖에서 하고, 등록은 저장이 끝난 뒤 putIfAbsent로
+        PendingAnalysis submitted = new PendingAnalysis(savePendingResult(request, analysisKey));
+        PendingAnalysis existing = pendingResults.putIfAbsent(analysisKey, submitted);
+        if (existing != null) {
+            // 저장하는 사이 같은 키로 먼저 등록된 분석이 있으면 방금 저장한 결과는 지우고 그 분석에 합류
+            log.debug("대기 중인 AI 분석에 합류 (중복 저장 결과 삭제) - key: {}", analysisKey);
+            discardDuplicate(submitted.savedResult());
+            meterRegistry.counter("ai.analysis.coalesced").increment();
+            return awaitWithinBudget(existing);
+        }
+
+        try {
+            workerExecutor.execute(() -> runPendingAnalysis(request.prompt(), analysisKey, submitted));
+        } catch (RejectedExecutionException e) {
+            pendingResults.remove(analysisKey, submitted);
+            testResultService.markAnalysisFailed(submitted.savedResult().getResultId());
+            submitted.completion().completeExceptionally(e);
+            throw new RuntimeException("AI 분석 요청이 많습니다. 잠시 후 다시 시도해주세요.", e);
+        }
+
+        return awaitWithinBudget(submitted);
+    }
+
+    /**
+     * 지연 허용 시간까지 분석 완료를 기다림
+     * - 시간 안에 끝나면 맞춤 분석, 넘기거나 실패하면 기본 분석을 저장 후 반환
+     * - 기다리는 쪽만 시간 제한으로 끝나고 백그라운드 분석은 계속 진행
+     */
+    private CompletableFuture<Submission> awaitWithinBudget(PendingAnalysis pending) {
+        TestResult savedResult = pending.savedResult();
+        if (latencyBudget.isZero() || latencyBudget.isNegative()) {
+            return CompletableFuture.completedFuture(
+                new Submission(savedResult, TestResult.ANALYSIS_PENDING, null, false));
+        }
+
+        // 기본 분석 저장(DB)은 타이머 스레드가 아닌 가상 스레드에서 처리
+        return pending.completion().copy()
+            .orTimeout(latencyBudget.toMillis(), TimeUnit.MILLISECONDS)
+            .handleAsync((aiAnalysis, error) -> {
+                if (error == null) {
+                    return new Submission(savedResult, TestResult.ANALYSIS_DONE, aiAnalysis, false);
+                }
+
+                Throwable cause = unwrap(error);
+                if (cause instanceof TimeoutException) {
+                    log.debug("AI 분석이 {}ms 안에 끝나지 않아 기본 분석 반환 - ID: {}",
+                        latencyBudget.toMillis(), savedResult.getResultId());
+                    return fallbackSubmission(pending, TestResult.ANALYSIS_PENDING, "timeout");
+                }
+                if (cause instanceof AiUnavailableException) {
+                    return fallbackSubmission(pending, TestResult.ANALYSIS_DEFERRED, "unavailable");
+                }
+                return fallbackSubmission(pending, TestResult.ANALYSIS_FAILED, "error");
+            }, callbackExecutor);
+    }
+
+    /**
+     * 대기 중인 분석의 기본 분석 반환
+     * - 저장과 집계는 처음 시간을 넘긴 요청만 하고, 함께 기다리던 요청은 같은 텍스트만 반환
+     */
+    private Submission fallbackSubmission(PendingAnalysis pending, String analysisStatus, String reason) {
+        TestResult savedResult = pending.savedResult();
+        if (pending.fallbackApplied().compareAndSet(false, true)) {
+            return fallbackSubmission(savedResult, analysisStatus, reason);
+        }
+        return new Submission(savedResult, analysisStatus,
+            fallbackAnalysisProvider.getAnalysis(savedResult.getMbtiType()), true);
+    }
+
+    /**
+     * 유형별 기본 분석 저장 후 반환
+     * - 맞춤 분석이 이미 저장된 경우에는 덮어쓰지 않음
+     */
+    private Submission fallbackSubmission(TestResult savedResult, String analysisStatus, String reason) {
+        meterRegistry.counter("ai.analysis.fallback", "reason", reason).increment();
+
+        String fallbackAnalysis = fallbackAnalysisProvider.getAnalysis(savedResult.getMbtiType());
+        try {
+            testResultService.saveFallbackAnalysis(savedResult.getResultId(), fallbackAnalysis);
+        } catch (Exception e) {
+            log.error("기본 분석 저장 실패 - ID: {}", savedResult.getResultId(), e);
+        }
+        return new Submission(savedResult, analysisStatus, fallbackAnalysis, true);
+    }
+
+    /**
+     * 작업자 풀에서 실행되는 분석 (완료 시 AI_ANALYSIS 채움, 실패 시 FAILED 표시)
+     */
+    private void runPendingAnalysis(String prompt, String analysisKey, PendingAnalysis pending) {
+        TestResult savedResult = pending.savedResult();
+        try {
+            Map<String, Object> responseBody = geminiClient.generateContent(prompt, ANALYSIS_GENERATION_CONFIG).join();
+            String aiAnalysis = GeminiClient.extractAiAnalysisFromResponse(responseBody);
+            if (aiAnalysis == null) {
+                throw new RuntimeException("AI 응답에서 분석 결과를 찾을 수 없습니다.");
+            }
+
+            analysisCache.put(analysisKey, aiAnalysis);
+            testResultService.updateTestResult(savedResult.getResultId(), aiAnalysis);
+            pending.completion().complete(aiAnalysis);
+        } catch (Exception e) {
+            handleAnalysisFailure(savedResult, e);
+            pending.completion().completeExceptionally(unwrap(e));
+        } finally {
+            pendingResults.remove(analysisKey, pending);
+        }
+    }
+
+    /**
+     * 분석 실패 처리
+     * - 호출 전에 거절된 경우(서킷 차단, 동시 호출 한도) DEFERRED로 두고 retryDeferredAnalyses에서 다시 분석
+     * - 그 외 모델 오류는 FAILED
+     */
+    private void handleAnalysisFailure(TestResult savedResult, Throwable error) {
+        Long resultId = savedResult.getResultId();
+        Throwable cause = unwrap(error);
+
+        try {
+            if (cause instanceof AiUnavailableException) {
+                log.warn("AI 서비스 거절로 분석 보류 - ID: {} ({})", resultId, cause.getMessage());
+                testResultService.updateAnalysisStatus(resultId, TestResult.ANALYSIS_DEFERRED);
+            } else {
+                log.error("백그라운드 AI 분석 실패 - ID: {}", resultId, cause);
+                testResultService.markAnalysisFailed(resultId);
+            }
+        } catch (Exception statusError) {
+            log.error("AI 분석 상태 저장 실패 - ID: {}", resultId, statusError);
+        }
+    }
+
+    /**
+     * 보류된 분석 재시도
+     * - 보류 목록은 메모리가 아닌 TEST_RESULTS에서 ANALYSIS_STATUS로 읽으므로 재시작 후에도 이어서 처리
+     *   (시작 직후 첫 실행에서 이전 프로세스가 남긴 DEFERRED / PENDING 결과를 다시 가져감)
+     * - 대상: DEFERRED 결과 + stalePendingAfter 넘게 PENDING으로 남은 결과 (처리 중 프로세스가 종료된 경우)
+     * - 서킷이 닫혀 있으면 retryBatchSize건, 반개방 상태면 시험 호출 1건만 다시 작업자 풀에 넣음
+     */
+    @Scheduled(fixedDelayString = "${ai.analysis.deferred.retry-interval:30s}")
+    public void retryDeferredAnalyses() {
+        deferredCount.set(testResultService.countByAnalysisStatus(TestResult.ANALYSIS_DEFERRED));
+        if (!circuitBreaker.isCallPermitted()) {
+            return;
+        }
+
+        int batchSize = circuitBreaker.getState() == AiCircuitBreaker.State.CLOSED ? retryBatchSize : 1;
+        LocalDateTime staleBefore = LocalDateTime.now().minus(stalePendingAfter);
+        for (TestResult candidate : testResultService.findAnalysisRetryCandidates(staleBefore, batchSize)) {
+            String analysisKey = candidate.getAnalysisKey() != null
+                ? candidate.getAnalysisKey() : "result:" + candidate.getResultId();
+            // 이 인스턴스에서 분석 중인 결과는 건너뜀, 선점 실패는 다른 인스턴스가 먼저 가져간 경우
+            if (pendingResults.containsKey(analysisKey)
+                    || !testResultService.claimAnalysisRetry(candidate.getResultId(), staleBefore)) {
+                continue;
+            }
+
+            try {
+                if (!retryAnalysis(candidate, analysisKey)) {
+                    return;
+                }
+            } catch (Exception e) {
+                log.error("보류된 AI 분석 재시도 실패 - ID: {}", candidate.getResultId(), e);
+            }
+        }
+    }
+
+    /**
+     * 저장된 결과로 분석 다시 시작 (작업자 풀이 가득 차 넣지 못하면 DEFERRED로 되돌리고 false)
+     * - 프롬프트는 저장된 답변(ANSWER_DATA)으로 다시 조립하고, 캐시에 분석이 있으면 호출 없이 채움
+     */
+    private boolean retryAnalysis(TestResult savedResult, String analysisKey) {
+        Long resultId = savedResult.getResultId();
+        Optional<String> cachedAnalysis = analysisCache.get(analysisKey);
+        if (cachedAnalysis.isPresent()) {
+            testResultService.updateTestResult(resultId, cachedAnalysis.get());
+            return true;
+        }
+
+        String prompt;
+        try {
+            prompt = questionCatalog.buildPrompt(testResultService.parseAnswerData(savedResult.getAnswerData()));
+        } catch (IllegalArgumentException e) {
+            log.warn("저장된 답변으로 프롬프트를 만들 수 없어 분석 실패 처리 - ID: {} ({})", resultId, e.getMessage());
+            testResultService.markAnalysisFailed(resultId);
+            return true;
+        }
+
+        PendingAnalysis pending = new PendingAnalysis(savedResult);
+        if (pendingResults.putIfAbsent(analysisKey, pending) != null) {
+            // 선점하는 사이 같은 키의 분석이 시작되면 다음 주기에 캐시로 채움
+            testResultService.updateAnalysisStatus(resultId, TestResult.ANALYSIS_DEFERRED);
+            return true;
+        }
+
+        try {
+            workerExecutor.execute(() -> runPendingAnalysis(prompt, analysisKey, pending));
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendingResults.remove(analysisKey, pending);
+            testResultService.updateAnalysisStatus(resultId, TestResult.ANALYSIS_DEFERRED);
+            return false;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * 스트리밍 AI 분석
+     * - 결과를 먼저 저장해 resultId를 알려주고, 생성되는 텍스트를 조각 단위로 전달
+     * - 스트림이 끝나면 이어 붙인 분석 텍스트를 updateTestResult로 저장
+     */
+    public CompletableFuture<String> analyzeStream(AnalysisRequest request, StreamListener listener) {
+        String analysisKey = analysisCache.fingerprint(request.prompt(), request.mbtiType(), request.answers());
+        Optional<String> cachedAnalysis = analysisCache.get(analysisKey);
+
+        TestResult savedResult = cachedAnalysis.isPresent()
+            ? saveResult(request, analysisKey, cachedAnalysis.get())
+            : savePendingResultQuietly(request, analysisKey);
+        listener.onSaved(savedResult);
+
+        if (cachedAnalysis.isPresent()) {
+            log.debug("AI 분석 캐시 적중 - key: {}", analysisKey);
+            listener.onChunk(cachedAnalysis.get());
+            return CompletableFuture.completedFuture(cachedAnalysis.get());
+        }
+
+        return geminiClient.streamGenerateContent(request.prompt(), ANALYSIS_GENERATION_CONFIG, listener::onChunk)
+            .thenApply(aiAnalysis -> {
+                analysisCache.put(analysisKey, aiAnalysis);
+                if (savedResult != null) {
+                    try {
+                        testResultService.updateTestResult(savedResult.getResultId(), aiAnalysis);
+                    } catch (Exception e) {
+                        log.error("AI 분석 결과 저장 실패 - ID: {}", savedResult.getResultId(), e);
+                    }
+                }
+                return aiAnalysis;
+            })
+            .whenComplete((aiAnalysis, e) -> {
+                if (e != null && savedResult != null) {
+                    handleAnalysisFailure(savedResult, e);
+                }
+            });
+    }
+
+    /**
+     * 테스트 결과 저장 (실패해도 AI 분석 결과는 반환)
+     */
+    private TestResult saveResult(AnalysisRequest request, String analysisKey, String aiAnalysis) {
+        if (request.mbtiType() == null || request.categoryScores() == null || request.answers() == null) {
+            return null;
+        }
+
+        try {
+            String userUuid = UUID.randomUUID().toString();
+            return testResultService.saveTestResult(userUuid, request.categoryScores(), request.answers(),
+                aiAnalysis, request.testDuration(), request.userIp(), request.userAgent(), analysisKey);
+        } catch (Exception e) {
+            log.error("DB 저장 실패", e);
+            return null;
+        }
+    }
+
+    private TestResult savePendingResult(AnalysisRequest request, String analysisKey) {
+        return testResultService.savePendingTestResult(UUID.randomUUID().toString(), request.categoryScores(),
+            request.answers(), request.testDuration(), request.userIp(), request.userAgent(), analysisKey);
+    }
+
+    private void discardDuplicate(TestResult duplicate) {
+        try {
+            testResultService.deleteTestResult(duplicate.getResultId());
+        } catch (Exception e) {
+            log.warn("중복 저장된 결과 삭제 실패 - ID: {}", duplicate.getResultId(), e);
+        }
+    }
+
+    /**
+     * PENDING 상태로 저장 (실패해도 스트리밍은 계속 진행)
+     */
+    private TestResult savePendingResultQuietly(AnalysisRequest request, String analysisKey) {
+        if (request.mbtiType() == null || request.categoryScores() == null || request.answers() == null) {
+            return null;
+        }
+
+        try {
+            return savePendingResult(request, analysisKey);
+        } catch (Exception e) {
+            log.error("DB 저장 실패", e);
+            return null;
+        }
+    }
+}
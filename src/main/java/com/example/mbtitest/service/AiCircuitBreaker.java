@@ -0,0 +1,145 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.GeminiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gemini 호출 서킷 브레이커
+ * - CLOSED: 최근 호출 실패율이 기준을 넘으면 OPEN
+ * - OPEN: 호출하지 않고 바로 거절, openDuration 경과 후 HALF_OPEN
+ * - HALF_OPEN: 시험 호출만 허용, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+@Component
+@Slf4j
+public final class AiCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final GeminiProperties properties;
+    private final Counter rejectedCounter;
+
+    // 최근 호출 결과 (true = 실패), 원형 버퍼
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+
+    public AiCircuitBreaker(GeminiProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.window = new boolean[Math.max(1, properties.getCircuitWindowSize())];
+        this.rejectedCounter = Counter.builder("ai.circuit.rejected")
+            .description("서킷 차단으로 거절된 AI 호출 수")
+            .register(meterRegistry);
+        Gauge.builder("ai.circuit.state", this, breaker -> breaker.getState().ordinal())
+            .description("서킷 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 호출 허용 여부 (허용하면 결과를 onSuccess/onFailure/onIgnored로 반드시 알려야 함)
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < properties.getCircuitOpenDuration().toNanos()) {
+                rejectedCounter.increment();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= properties.getCircuitHalfOpenCalls()) {
+                rejectedCounter.increment();
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+
+        return true;
+    }
+
+    /**
+     * 호출 가능 상태인지 확인만 함 (상태 변경 없음)
+     */
+    public synchronized boolean isCallPermitted() {
+        return state != State.OPEN
+            || System.nanoTime() - openedAt >= properties.getCircuitOpenDuration().toNanos();
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+
+        int failureRate = windowFailures * 100 / windowCount;
+        if (state == State.CLOSED && windowCount >= properties.getCircuitMinimumCalls()
+                && failureRate >= properties.getCircuitFailureRateThreshold()) {
+            log.warn("Gemini 호출 실패율 {}% (최근 {}건) - 서킷을 엽니다.", failureRate, windowCount);
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * 허용받았지만 상류 호출 없이 끝난 경우 (동시 호출 한도 초과 등)
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State newState) {
+        log.info("AI 서킷 상태 변경: {} -> {}", state, newState);
+        state = newState;
+        halfOpenInFlight = 0;
+
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (newState == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.mbtitest.service;
+
+/**
+ * AI 호출을 시도하지 않고 거절한 경우 (서킷 차단 / 동시 호출 한도 초과)
+ * - 모델 오류와 구분해 결과를 보류(DEFERRED)하고 나중에 다시 분석
+ */
+public class AiUnavailableException extends RuntimeException {
+
+    public AiUnavailableException(String message) {
+        super(message);
+    }
+
+    public AiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
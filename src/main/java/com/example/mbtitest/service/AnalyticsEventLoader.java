@@ -0,0 +1,283 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.AnalyticsJournalProperties;
+import com.example.mbtitest.entity.ShareLog;
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.repository.ShareLogRepository;
+import com.example.mbtitest.repository.ViewLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 분석 이벤트 저널 적재
+ * - 체크포인트 다음 레코드부터 loadBatchSize건씩 읽어 한 트랜잭션으로 DB에 반영한 뒤 체크포인트 이동
+ *   (방문/공유 로그는 saveAll 배치 insert + 방문 통계 롤업 MERGE, 좋아요는 댓글별로 합쳐 LIKES_COUNT = LIKES_COUNT + ? 배치 UPDATE)
+ * - 시작할 때 재시작 전에 남은 레코드를 먼저 적재하고, 종료할 때 남은 레코드를 모두 적재
+ * - DB 반영 후 체크포인트 기록 전에 죽으면 그 배치는 다시 적재됨 (최소 1회 반영)
+ * - 같은 배치가 maxBatchAttempts번 실패하면 레코드 단위로 적재하고, 그래도 실패하는 레코드(예: FK_SHARE_RESULT 위반)는
+ *   로그에 남기고 건너뛴 뒤 체크포인트를 넘김 (DB 연결 실패 같은 일시적 오류는 건너뛰지 않고 다음 주기에 재시도)
+ */
+@Component
+@Slf4j
+public class AnalyticsEventLoader implements SmartLifecycle {
+
+    // ViewLogPipeline과 같이 웹 서버보다 먼저 시작하고 나중에 종료
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final AnalyticsJournal analyticsJournal;
+    private final ViewLogRepository viewLogRepository;
+    private final ShareLogRepository shareLogRepository;
+    private final ViewStatsRollup viewStatsRollup;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int loadBatchSize;
+    private final int maxBatchAttempts;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private final Counter loadedCounter;
+    private final Counter corruptCounter;
+    private final Counter skippedCounter;
+
+    // 연속으로 실패한 배치의 시작 번호와 실패 횟수 (loadLock 안에서만 사용)
+    private long failedFrom = -1;
+    private int failedAttempts;
+
+    private volatile boolean running;
+
+    public AnalyticsEventLoader(AnalyticsJournal analyticsJournal,
+                                ViewLogRepository viewLogRepository,
+                                ShareLogRepository shareLogRepository,
+                                ViewStatsRollup viewStatsRollup,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                AnalyticsJournalProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.analyticsJournal = analyticsJournal;
+        this.viewLogRepository = viewLogRepository;
+        this.shareLogRepository = shareLogRepository;
+        this.viewStatsRollup = viewStatsRollup;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.loadBatchSize = properties.getLoadBatchSize();
+        this.maxBatchAttempts = Math.max(1, properties.getMaxBatchAttempts());
+        this.loadedCounter = Counter.builder("analytics.journal.loaded").register(meterRegistry);
+        this.corruptCounter = Counter.builder("analytics.journal.corrupt").register(meterRegistry);
+        this.skippedCounter = Counter.builder("analytics.journal.skipped")
+            .description("레코드 단위 적재에서도 실패해 건너뛴 레코드 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 재시작 전에 기록된 레코드 재적재
+     */
+    @Override
+    public void start() {
+        running = true;
+        if (analyticsJournal.isEnabled()) {
+            int loaded = load();
+            if (loaded > 0) {
+                log.info("분석 이벤트 저널 재적재 완료 - {}건", loaded);
+            }
+        }
+    }
+
+    /**
+     * 남은 레코드 적재 (저널 파일은 AnalyticsJournal이 닫음)
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (analyticsJournal.isEnabled()) {
+            load();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 체크포인트 이후 레코드를 모두 적재
+     * - 실패하면 체크포인트를 그대로 두고 다음 주기에 다시 시도
+     * - 같은 배치가 maxBatchAttempts번 실패하면 레코드 단위로 적재 (loadRecords)
+     *
+     * @return 적재한 레코드 수 (건너뛴 레코드 포함)
+     */
+    @Scheduled(fixedDelayString = "${analytics.journal.load-interval:1s}")
+    public int load() {
+        EventJournal journal = analyticsJournal.journal();
+        if (journal == null) {
+            return 0;
+        }
+
+        int loaded = 0;
+        loadLock.lock();
+        try {
+            while (true) {
+                long from = journal.checkpoint();
+                List<JournalRecord> records = journal.read(from, loadBatchSize);
+                if (records.isEmpty()) {
+                    return loaded;
+                }
+                int committed;
+                try {
+                    loadBatch(from, records);
+                    committed = records.size();
+                } catch (Exception e) {
+                    if (!recordFailure(from, e)) {
+                        return loaded;
+                    }
+                    committed = loadRecords(from, records);
+                }
+                if (committed > 0) {
+                    journal.commit(from + committed);
+                    loaded += committed;
+                    loadedCounter.increment(committed);
+                }
+                if (committed < records.size()) {
+                    return loaded;
+                }
+                failedFrom = -1;
+                failedAttempts = 0;
+            }
+        } catch (Exception e) {
+            log.error("분석 이벤트 저널 적재 중 오류 발생 - 체크포인트: {}, 다음 주기에 재시도", journal.checkpoint(), e);
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 배치 적재 실패 기록 (일시적 오류는 시도 횟수에 넣지 않음)
+     *
+     * @return 시도 횟수를 다 써서 레코드 단위로 적재해야 하면 true
+     */
+    private boolean recordFailure(long from, Exception e) {
+        if (isTransient(e)) {
+            log.error("분석 이벤트 저널 적재 중 DB 오류 발생 - 체크포인트: {}, 다음 주기에 재시도", from, e);
+            return false;
+        }
+        if (failedFrom != from) {
+            failedFrom = from;
+            failedAttempts = 0;
+        }
+        if (++failedAttempts >= maxBatchAttempts) {
+            log.warn("분석 이벤트 저널 배치 적재가 {}번 실패해 레코드 단위로 적재 - 체크포인트: {}", failedAttempts, from, e);
+            return true;
+        }
+        log.error("분석 이벤트 저널 배치 적재 실패 ({}/{}) - 체크포인트: {}, 다음 주기에 재시도",
+            failedAttempts, maxBatchAttempts, from, e);
+        return false;
+    }
+
+    /**
+     * 레코드 단위 적재 (계속 실패하는 배치용)
+     * - 실패한 레코드는 내용을 로그에 남기고 건너뜀
+     * - 일시적 오류면 그 앞까지만 적재한 것으로 하고 중단
+     *
+     * @return 처리한(적재 또는 건너뛴) 레코드 수
+     */
+    private int loadRecords(long fromSequence, List<JournalRecord> records) {
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                loadBatch(fromSequence + i, Collections.singletonList(records.get(i)));
+            } catch (Exception e) {
+                if (isTransient(e)) {
+                    log.error("분석 이벤트 저널 적재 중 DB 오류 발생 - 번호: {}, 다음 주기에 재시도", fromSequence + i, e);
+                    return i;
+                }
+                skippedCounter.increment();
+                log.error("적재할 수 없는 저널 레코드 건너뜀 - 번호: {}, 레코드: {}", fromSequence + i, records.get(i), e);
+            }
+        }
+        return records.size();
+    }
+
+    /**
+     * 레코드와 관계없이 다시 시도하면 성공할 수 있는 오류 (DB 연결 / 트랜잭션 시작 실패 등)
+     */
+    private static boolean isTransient(Throwable e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof CannotCreateTransactionException;
+    }
+
+    private void loadBatch(long fromSequence, List<JournalRecord> records) {
+        List<ViewLog> viewLogs = new ArrayList<>();
+        List<ShareLog> shareLogs = new ArrayList<>();
+        Map<Long, Long> likes = new LinkedHashMap<>();
+        Map<Long, Long> replayedLikes = new LinkedHashMap<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            JournalRecord record = records.get(i);
+            if (record == null) {
+                corruptCounter.increment();
+                log.warn("손상된 저널 레코드 건너뜀 - 번호: {}", fromSequence + i);
+                continue;
+            }
+            switch (record.type()) {
+                case VIEW -> viewLogs.add(record.toViewLog());
+                case SHARE -> shareLogs.add(record.toShareLog());
+                case LIKE -> (fromSequence + i < analyticsJournal.startSequence() ? replayedLikes : likes)
+                    .merge(record.id(), 1L, Long::sum);
+            }
+        }
+
+        List<Map.Entry<Long, Long>> likeDeltas = new ArrayList<>(likes.entrySet());
+        replayedLikes.forEach((commentId, count) -> likeDeltas.add(Map.entry(commentId, count)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!viewLogs.isEmpty()) {
+                viewLogRepository.saveAll(viewLogs);
+                viewStatsRollup.apply(viewLogs);
+            }
+            if (!shareLogs.isEmpty()) {
+                shareLogRepository.saveAll(shareLogs);
+            }
+            if (!likeDeltas.isEmpty()) {
+                jdbcTemplate.batchUpdate(CommentLikeAggregator.INCREMENT_SQL, likeDeltas, loadBatchSize,
+                    (statement, delta) -> {
+                        statement.setLong(1, delta.getValue());
+                        statement.setLong(2, delta.getKey());
+                    });
+            }
+        });
+
+        if (!viewLogs.isEmpty()) {
+            eventPublisher.publishEvent(new ViewLogsIngestedEvent(viewLogs));
+        }
+        if (!likes.isEmpty() || !replayedLikes.isEmpty()) {
+            eventPublisher.publishEvent(new CommentLikesLoadedEvent(likes, replayedLikes));
+        }
+    }
+}
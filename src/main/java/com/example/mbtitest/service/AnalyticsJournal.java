@@ -0,0 +1,101 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.AnalyticsJournalProperties;
+import com.example.mbtitest.entity.ShareLog;
+import com.example.mbtitest.entity.ViewLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 분석 이벤트 저널 (기록 쪽)
+ * - 방문 / 공유 / 댓글 좋아요를 메모리 맵 세그먼트 파일에 추가만 함 (DB 왕복 없음)
+ * - DB 반영과 재시작 시 재적재는 AnalyticsEventLoader가 담당
+ * - analytics.journal.enabled=false면 열지 않으며, 호출 측은 기존 경로(메모리 대기열/집계)를 사용
+ */
+@Component
+@Slf4j
+public class AnalyticsJournal {
+
+    private final EventJournal journal;
+    private final long startSequence;
+    private final Counter appendedCounter;
+
+    public AnalyticsJournal(AnalyticsJournalProperties properties, MeterRegistry meterRegistry) {
+        if (properties.isEnabled()) {
+            try {
+                this.journal = EventJournal.open(properties.getDirectory(), properties.getRecordsPerSegment(),
+                    properties.isForceOnAppend());
+            } catch (IOException e) {
+                throw new UncheckedIOException("분석 이벤트 저널을 열 수 없습니다: " + properties.getDirectory(), e);
+            }
+            this.startSequence = journal.nextSequence();
+            log.info("분석 이벤트 저널 열기 - 경로: {}, 미적재 레코드: {}건",
+                properties.getDirectory().toAbsolutePath(), startSequence - journal.checkpoint());
+
+            Gauge.builder("analytics.journal.lag", journal, j -> j.nextSequence() - j.checkpoint())
+                .description("저널에 기록됐지만 아직 DB에 적재되지 않은 이벤트 수")
+                .register(meterRegistry);
+        } else {
+            this.journal = null;
+            this.startSequence = 0;
+        }
+        this.appendedCounter = Counter.builder("analytics.journal.appended").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    public void recordView(ViewLog viewLog) {
+        append(JournalRecord.view(viewLog));
+    }
+
+    public void recordShare(ShareLog shareLog) {
+        append(JournalRecord.share(shareLog));
+    }
+
+    public void recordLike(Long commentId) {
+        append(JournalRecord.like(commentId));
+    }
+
+    /**
+     * 적재 작업용 저널 (사용하지 않으면 null)
+     */
+    EventJournal journal() {
+        return journal;
+    }
+
+    /**
+     * 이번 실행에서 처음 기록한 레코드 번호 (이보다 앞은 재시작 전에 기록된 레코드)
+     */
+    long startSequence() {
+        return startSequence;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.error("분석 이벤트 저널 닫기 중 오류 발생", e);
+        }
+    }
+
+    private void append(JournalRecord record) {
+        if (journal == null) {
+            throw new IllegalStateException("분석 이벤트 저널을 사용하지 않습니다.");
+        }
+        journal.append(record);
+        appendedCounter.increment();
+    }
+}
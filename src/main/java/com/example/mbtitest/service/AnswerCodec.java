@@ -0,0 +1,88 @@
+package com.example.mbtitest.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 답변 데이터(ANSWER_DATA) 압축 인코딩
+ * - 형식: "A1;" + (질문ID ':' 답변 글자 수 ':' 답변)을 이어 붙임 (예: A1;1:5:안녕하세요2:3:네 좋아)
+ * - JSON 키/따옴표/이스케이프 없이 답변 본문만 저장하고, 글자 수로 구분해 답변에 어떤 문자가 있어도 안전
+ * - 예전 JSON 형식("[...]")은 isCompact가 false이므로 호출 측에서 JSON으로 읽음
+ */
+public final class AnswerCodec {
+
+    private static final String PREFIX = "A1;";
+
+    private AnswerCodec() {
+    }
+
+    /**
+     * 답변 목록 인코딩
+     * - [{questionId, answer}, ...] 또는 예전 방식의 숫자 목록 (숫자 목록은 순서대로 질문 1, 2, ...)
+     */
+    public static String encode(List<?> answers) {
+        StringBuilder encoded = new StringBuilder(PREFIX);
+        if (answers == null) {
+            return encoded.toString();
+        }
+
+        for (int index = 0; index < answers.size(); index++) {
+            Object item = answers.get(index);
+            int questionId;
+            String answer;
+            if (item instanceof Map<?, ?> answerItem) {
+                if (!(answerItem.get("questionId") instanceof Number id)) {
+                    continue;
+                }
+                questionId = id.intValue();
+                answer = answerItem.get("answer") != null ? answerItem.get("answer").toString() : "";
+            } else if (item != null) {
+                questionId = index + 1;
+                answer = item.toString();
+            } else {
+                continue;
+            }
+            encoded.append(questionId).append(':').append(answer.length()).append(':').append(answer);
+        }
+        return encoded.toString();
+    }
+
+    public static boolean isCompact(String answerData) {
+        return answerData != null && answerData.startsWith(PREFIX);
+    }
+
+    /**
+     * 압축 인코딩된 답변 복원 ([{questionId, answer}, ...])
+     */
+    public static List<Map<String, Object>> decode(String answerData) {
+        if (!isCompact(answerData)) {
+            throw new IllegalArgumentException("압축 형식의 답변 데이터가 아닙니다.");
+        }
+
+        List<Map<String, Object>> answers = new ArrayList<>();
+        int position = PREFIX.length();
+        while (position < answerData.length()) {
+            int idEnd = answerData.indexOf(':', position);
+            int lengthEnd = idEnd < 0 ? -1 : answerData.indexOf(':', idEnd + 1);
+            if (lengthEnd < 0) {
+                throw new IllegalArgumentException("답변 데이터 형식이 올바르지 않습니다: " + position);
+            }
+
+            int questionId = Integer.parseInt(answerData, position, idEnd, 10);
+            int length = Integer.parseInt(answerData, idEnd + 1, lengthEnd, 10);
+            int answerEnd = lengthEnd + 1 + length;
+            if (answerEnd > answerData.length()) {
+                throw new IllegalArgumentException("답변 데이터 형식이 올바르지 않습니다: " + position);
+            }
+
+            Map<String, Object> answer = new LinkedHashMap<>();
+            answer.put("questionId", questionId);
+            answer.put("answer", answerData.substring(lengthEnd + 1, answerEnd));
+            answers.add(answer);
+            position = answerEnd;
+        }
+        return answers;
+    }
+}
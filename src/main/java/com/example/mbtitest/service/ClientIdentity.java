@@ -0,0 +1,53 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * 요청한 클라이언트 식별
+ * - IP 추출 (서비스/컨트롤러 공통, 신뢰하는 프록시의 전달 헤더만 반영)
+ * - 요청 제한용 클라이언트 키: 로그인 사용자는 사용자 ID, 그 외에는 IP
+ */
+public final class ClientIdentity {
+
+    private ClientIdentity() {
+    }
+
+    /**
+     * 클라이언트 IP 주소 추출
+     * - 클라이언트가 마음대로 넣을 수 있는 헤더는 직접 읽지 않고 연결 주소(getRemoteAddr)만 사용
+     * - 프록시 뒤에서는 server.forward-headers-strategy=native 설정으로 Tomcat이
+     *   신뢰하는 프록시(server.tomcat.remoteip.internal-proxies)를 거친 요청만 X-Forwarded-For로 바꿔 줌
+     */
+    public static String resolveIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 요청 제한용 클라이언트 키 (user:{사용자 ID} 또는 ip:{IP})
+     */
+    public static String resolveClientKey(HttpServletRequest request) {
+        User currentUser = currentUser(request);
+        if (currentUser != null) {
+            return "user:" + currentUser.getUserId();
+        }
+        return "ip:" + resolveIp(request);
+    }
+
+    /**
+     * 로그인한 사용자의 요청인지 여부
+     */
+    public static boolean isAuthenticated(HttpServletRequest request) {
+        return currentUser(request) != null;
+    }
+
+    private static User currentUser(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return null;
+        }
+        User currentUser = session.getAttribute("currentUser") instanceof User user ? user : null;
+        return currentUser != null && currentUser.isActive() ? currentUser : null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.mbtitest.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글이 작성됨 (CommentService가 발행, 리스너는 커밋 후 실행)
+ */
+public record CommentAddedEvent(Long commentId, String mbtiType, LocalDateTime createdAt) {
+}
@@ -0,0 +1,10 @@
+package com.example.mbtitest.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글이 삭제(소프트 삭제)됨 (CommentService가 발행, 리스너는 커밋 후 실행)
+ * - createdAt: 댓글 작성 시각 (오늘 작성된 댓글이면 오늘 댓글 수에서도 뺌)
+ */
+public record CommentDeletedEvent(Long commentId, String mbtiType, LocalDateTime createdAt) {
+}
@@ -0,0 +1,241 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.repository.CommentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 댓글 좋아요 집계
+ * - 같은 클라이언트가 같은 댓글에 다시 누른 좋아요는 일정 시간 동안 무시 (크기 제한 + 만료 필터)
+ * - 좋아요는 메모리 카운터에만 쌓고 주기적으로(그리고 종료 시) UPDATE ... SET LIKES_COUNT = LIKES_COUNT + ? 배치로 반영
+ * - 댓글별 DB 좋아요 수를 캐시해 두므로 같은 댓글의 반복 요청은 DB를 거치지 않음
+ * - 분석 이벤트 저널을 사용하면 좋아요를 저널에 기록하고 DB 반영은 AnalyticsEventLoader가 담당
+ *   (적재 완료 이벤트를 받아 대기 중 좋아요에서 빼고 캐시한 좋아요 수에 더함)
+ */
+@Component
+@Slf4j
+public class CommentLikeAggregator {
+
+    static final String INCREMENT_SQL = "UPDATE COMMENTS SET LIKES_COUNT = LIKES_COUNT + ? "
+        + "WHERE COMMENT_ID = ? AND IS_DELETED = 'N'";
+
+    private final CommentRepository commentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsJournal analyticsJournal;
+    private final int batchSize;
+
+    // 클라이언트 키 + 댓글 ID → 최근 좋아요 여부
+    private final Cache<String, Boolean> recentLikes;
+    // 댓글 ID → DB에 반영된 좋아요 수 (삭제되지 않은 댓글만)
+    private final Cache<Long, Long> persistedCounts;
+    // 댓글 ID → 반영 대기 중인 좋아요 수
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 지난 플러시에서 맵에서 뺀 항목 (빼는 순간 들어온 좋아요는 다음 플러시에서 반영, flushLock 안에서만 사용)
+    private List<Map.Entry<Long, LongAdder>> retired = List.of();
+
+    public CommentLikeAggregator(CommentRepository commentRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 AnalyticsJournal analyticsJournal,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${comment.likes.dedup-window:24h}") Duration dedupWindow,
+                                 @Value("${comment.likes.dedup-max-entries:100000}") long dedupMaxEntries,
+                                 @Value("${comment.likes.count-cache-max-entries:10000}") long countCacheMaxEntries,
+                                 @Value("${comment.likes.batch-size:100}") int batchSize) {
+        this.commentRepository = commentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.analyticsJournal = analyticsJournal;
+        this.batchSize = batchSize;
+        this.recentLikes = Caffeine.newBuilder()
+            .maximumSize(dedupMaxEntries)
+            .expireAfterWrite(dedupWindow)
+            .build();
+        this.persistedCounts = Caffeine.newBuilder()
+            .maximumSize(countCacheMaxEntries)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, persistedCounts, "commentLikeCounts");
+        Gauge.builder("comment.likes.pending", pending, Map::size)
+            .description("DB에 반영 대기 중인 댓글 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 좋아요 추가
+     * - 처음 보는 댓글이면 DB에서 좋아요 수를 한 번 읽고, 그 뒤로는 메모리에서만 처리
+     * - 없는(또는 삭제된) 댓글이면 오류
+     */
+    public LikeResult like(Long commentId, String clientKey) {
+        long persisted = persistedCount(commentId);
+
+        if (recentLikes.asMap().putIfAbsent(clientKey + "|" + commentId, Boolean.TRUE) != null) {
+            return new LikeResult(false, persisted + pendingCount(commentId));
+        }
+
+        LongAdder counter = pending.get(commentId);
+        if (counter == null) {
+            counter = pending.computeIfAbsent(commentId, id -> new LongAdder());
+        }
+        counter.increment();
+        if (analyticsJournal.isEnabled()) {
+            try {
+                analyticsJournal.recordLike(commentId);
+            } catch (RuntimeException e) {
+                counter.decrement();
+                throw e;
+            }
+        }
+        return new LikeResult(true, persisted + pendingCount(commentId));
+    }
+
+    /**
+     * 삭제된 댓글은 캐시에서 제거 (이후 좋아요는 DB에서 다시 확인)
+     */
+    public void forget(Long commentId) {
+        persistedCounts.invalidate(commentId);
+    }
+
+    /**
+     * 쌓인 좋아요를 DB에 반영
+     * - 읽은 만큼만 카운터에서 빼므로 반영 중에 들어온 좋아요는 그대로 남음
+     * - 한 주기 동안 좋아요가 없던 댓글은 맵에서 제거
+     * - DB 반영에 실패하면 뺀 값을 다시 더해 다음 주기에 재시도
+     *
+     * @return 반영한 댓글 수
+     */
+    @Scheduled(fixedDelayString = "${comment.likes.flush-interval:5s}")
+    public int flush() {
+        if (analyticsJournal.isEnabled()) {
+            // 저널 사용 시 DB 반영은 적재 작업이 하므로 모두 적재된 댓글만 정리
+            pending.values().removeIf(counter -> counter.sum() == 0);
+            return 0;
+        }
+
+        flushLock.lock();
+        try {
+            List<Delta> deltas = new ArrayList<>();
+            for (Map.Entry<Long, LongAdder> entry : retired) {
+                drain(entry.getKey(), entry.getValue(), deltas);
+            }
+
+            List<Map.Entry<Long, LongAdder>> idle = new ArrayList<>();
+            for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+                if (!drain(entry.getKey(), entry.getValue(), deltas)
+                        && pending.remove(entry.getKey(), entry.getValue())) {
+                    idle.add(entry);
+                }
+            }
+            retired = idle;
+
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(INCREMENT_SQL, deltas, batchSize, (statement, delta) -> {
+                    statement.setLong(1, delta.likes());
+                    statement.setLong(2, delta.commentId());
+                });
+            } catch (Exception e) {
+                log.error("댓글 좋아요 반영 중 오류 발생 - 댓글 {}건, 다음 주기에 재시도", deltas.size(), e);
+                for (Delta delta : deltas) {
+                    pending.computeIfAbsent(delta.commentId(), id -> new LongAdder()).add(delta.likes());
+                }
+                return 0;
+            }
+
+            for (Delta delta : deltas) {
+                persistedCounts.asMap().computeIfPresent(delta.commentId(), (id, count) -> count + delta.likes());
+            }
+            log.debug("댓글 좋아요 반영 완료 - 댓글 {}건", deltas.size());
+            return deltas.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 저널의 좋아요가 DB에 적재됨
+     */
+    @EventListener
+    public void onLikesLoaded(CommentLikesLoadedEvent event) {
+        event.likes().forEach((commentId, likes) -> {
+            LongAdder counter = pending.get(commentId);
+            if (counter != null) {
+                counter.add(-likes);
+            }
+            persistedCounts.asMap().computeIfPresent(commentId, (id, count) -> count + likes);
+        });
+        event.replayedLikes().keySet().forEach(persistedCounts::invalidate);
+    }
+
+    /**
+     * 종료 시 남은 좋아요 반영
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("종료 전 댓글 좋아요 반영 - 댓글 {}건", flushed);
+        }
+    }
+
+    private long persistedCount(Long commentId) {
+        Long count = persistedCounts.get(commentId,
+            id -> commentRepository.findActiveLikesCount(id).map(Integer::longValue).orElse(null));
+        if (count == null) {
+            throw new RuntimeException("댓글을 찾을 수 없습니다. ID: " + commentId);
+        }
+        return count;
+    }
+
+    private long pendingCount(Long commentId) {
+        LongAdder counter = pending.get(commentId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * 카운터에서 현재 값을 빼서 deltas에 추가 (좋아요가 없으면 false)
+     */
+    private static boolean drain(Long commentId, LongAdder counter, List<Delta> deltas) {
+        long likes = counter.sum();
+        if (likes == 0) {
+            return false;
+        }
+        counter.add(-likes);
+        deltas.add(new Delta(commentId, likes));
+        return true;
+    }
+
+    /**
+     * 좋아요 처리 결과
+     *
+     * @param accepted   새 좋아요로 반영했는지 (같은 클라이언트의 반복이면 false)
+     * @param likesCount 표시용 좋아요 수 (DB 값 + 반영 대기 중인 좋아요)
+     */
+    public record LikeResult(boolean accepted, long likesCount) {
+    }
+
+    private record Delta(Long commentId, long likes) {
+    }
+}
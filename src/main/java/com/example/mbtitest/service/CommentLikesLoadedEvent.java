@@ -0,0 +1,11 @@
+package com.example.mbtitest.service;
+
+import java.util.Map;
+
+/**
+ * 저널의 댓글 좋아요가 DB에 적재됨 (댓글 ID → 적재한 좋아요 수)
+ * - likes: 이번 실행에서 기록된 좋아요 (CommentLikeAggregator의 대기 중 좋아요에서 빠짐)
+ * - replayedLikes: 재시작 전에 기록돼 재적재한 좋아요 (대기 중 좋아요에 없음)
+ */
+public record CommentLikesLoadedEvent(Map<Long, Long> likes, Map<Long, Long> replayedLikes) {
+}
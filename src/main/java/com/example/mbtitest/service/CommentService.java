@@ -1,9 +1,11 @@
 package com.example.mbtitest.service;
 
 import com.example.mbtitest.entity.Comment;
+import com.example.mbtitest.entity.MbtiType;
 import com.example.mbtitest.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,8 @@ import java.util.Optional;
 public class CommentService {
     
     private final CommentRepository commentRepository;
+    private final CommentLikeAggregator commentLikeAggregator;
+    private final ApplicationEventPublisher eventPublisher;
     
     // 스팸 방지를 위한 상수들
     private static final int MAX_COMMENTS_PER_IP_PER_HOUR = 5;
@@ -39,7 +43,7 @@ public class CommentService {
         // 입력 값 검증
         validateCommentInput(commentText, mbtiType);
         
-        String userIp = getClientIpAddress(request);
+        String userIp = ClientIdentity.resolveIp(request);
         log.debug("클라이언트 IP: {}", userIp);
         
         // 스팸 체크
@@ -55,7 +59,7 @@ public class CommentService {
             
             Comment comment = Comment.builder()
                 .resultId(resultId)  // null 허용 (커뮤니티 댓글)
-                .mbtiType(mbtiType.toUpperCase())
+                .mbtiType(MbtiType.from(mbtiType.trim()).name())
                 .nickname(nickname != null ? nickname.trim() : null)
                 .commentText(commentText.trim())
                 .userIp(userIp)
@@ -68,6 +72,8 @@ public class CommentService {
             Comment savedComment = commentRepository.save(comment);
             log.info("댓글 작성 완료 - ID: {}, MBTI: {}, IP: {}, resultId: {}", 
                 savedComment.getCommentId(), mbtiType, userIp, resultId);
+            eventPublisher.publishEvent(new CommentAddedEvent(
+                savedComment.getCommentId(), savedComment.getMbtiType(), savedComment.getCreatedAt()));
             
             return savedComment;
             
@@ -112,26 +118,6 @@ public class CommentService {
         return commentRepository.findTopCommentsByLikes(limit);
     }
     
-    /**
-     * 댓글 좋아요 증가
-     */
-    public Comment likeComment(Long commentId) {
-        Optional<Comment> optionalComment = commentRepository.findById(commentId);
-        if (optionalComment.isPresent()) {
-            Comment comment = optionalComment.get();
-            if ("N".equals(comment.getIsDeleted())) {
-                comment.setLikesCount(comment.getLikesCount() + 1);
-                Comment updatedComment = commentRepository.save(comment);
-                log.info("댓글 좋아요 증가 - ID: {}, 현재 좋아요: {}", 
-                    commentId, updatedComment.getLikesCount());
-                return updatedComment;
-            } else {
-                throw new RuntimeException("삭제된 댓글입니다.");
-            }
-        }
-        throw new RuntimeException("댓글을 찾을 수 없습니다. ID: " + commentId);
-    }
-    
     /**
      * 댓글 삭제 (소프트 삭제)
      */
@@ -141,13 +127,19 @@ public class CommentService {
             Comment comment = optionalComment.get();
             
             // IP 확인 (본인 댓글만 삭제 가능)
-            String userIp = getClientIpAddress(request);
+            String userIp = ClientIdentity.resolveIp(request);
             if (!comment.getUserIp().equals(userIp)) {
                 throw new RuntimeException("본인의 댓글만 삭제할 수 있습니다.");
             }
             
+            boolean wasActive = !"Y".equals(comment.getIsDeleted());
             comment.setIsDeleted("Y");
             commentRepository.save(comment);
+            commentLikeAggregator.forget(commentId);
+            if (wasActive) {
+                eventPublisher.publishEvent(new CommentDeletedEvent(
+                    commentId, comment.getMbtiType(), comment.getCreatedAt()));
+            }
             log.info("댓글 삭제 완료 - ID: {}, IP: {}", commentId, userIp);
         } else {
             throw new RuntimeException("댓글을 찾을 수 없습니다. ID: " + commentId);
@@ -159,16 +151,15 @@ public class CommentService {
      */
     @Transactional(readOnly = true)
     public Map<String, Long> getCommentStatsByMbtiType() {
-        Map<String, Long> stats = new HashMap<>();
-        List<Object[]> results = commentRepository.getCommentStatsByMbtiType();
-        
-        for (Object[] result : results) {
-            String mbtiType = (String) result[0];
-            Long count = ((Number) result[1]).longValue();
-            stats.put(mbtiType, count);
-        }
-        
-        return stats;
+        return getCommentCountsByMbtiType().toMap();
+    }
+    
+    /**
+     * MBTI 타입별 댓글 수 (유형별 배열 카운터)
+     */
+    @Transactional(readOnly = true)
+    public MbtiTypeCounts getCommentCountsByMbtiType() {
+        return MbtiTypeCounts.fromRows(commentRepository.getCommentStatsByMbtiType());
     }
     
     /**
@@ -188,7 +179,7 @@ public class CommentService {
             Comment comment = optionalComment.get();
             
             // IP 확인 (본인 댓글만 수정 가능)
-            String userIp = getClientIpAddress(request);
+            String userIp = ClientIdentity.resolveIp(request);
             if (!comment.getUserIp().equals(userIp)) {
                 throw new RuntimeException("본인의 댓글만 수정할 수 있습니다.");
             }
@@ -222,7 +213,7 @@ public class CommentService {
             throw new RuntimeException("댓글은 최대 " + MAX_COMMENT_LENGTH + "자까지 가능합니다.");
         }
         
-        if (mbtiType == null || mbtiType.trim().length() != 4) {
+        if (mbtiType == null || !MbtiType.isValid(mbtiType.trim())) {
             throw new RuntimeException("올바른 MBTI 타입을 선택해주세요.");
         }
         
@@ -248,36 +239,4 @@ public class CommentService {
             throw new RuntimeException("시간당 댓글 작성 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
         }
     }
-    
-    /**
-     * 클라이언트 IP 주소 추출
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String[] headerNames = {
-            "X-Forwarded-For",
-            "X-Real-IP",
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR",
-            "HTTP_X_FORWARDED",
-            "HTTP_X_CLUSTER_CLIENT_IP",
-            "HTTP_CLIENT_IP",
-            "HTTP_FORWARDED_FOR",
-            "HTTP_FORWARDED",
-            "HTTP_VIA",
-            "REMOTE_ADDR"
-        };
-        
-        for (String headerName : headerNames) {
-            String ipAddress = request.getHeader(headerName);
-            if (ipAddress != null && !ipAddress.isEmpty() && !"unknown".equalsIgnoreCase(ipAddress)) {
-                if (ipAddress.contains(",")) {
-                    ipAddress = ipAddress.substring(0, ipAddress.indexOf(","));
-                }
-                return ipAddress.trim();
-            }
-        }
-        
-        return request.getRemoteAddr();
-    }
 }
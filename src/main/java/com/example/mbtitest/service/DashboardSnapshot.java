@@ -0,0 +1,31 @@
+package com.example.mbtitest.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 대시보드 통계 스냅샷 (불변, DashboardSnapshots가 바뀔 때마다 새로 만들어 교체)
+ * - version: 바뀔 때마다 1씩 증가 (ETag로 사용, 인스턴스 / 재시작 구분용 generation 포함)
+ * - builtAt: 마지막 전체 재구성 시각 (null이면 아직 DB에서 읽지 못함)
+ * - stats: 기존 대시보드 통계와 같은 키 (totalTests, todayTests, mbtiStats, mostPopularMbti 등)
+ */
+public record DashboardSnapshot(long generation, long version, LocalDate day, LocalDateTime builtAt,
+                                LocalDateTime updatedAt, Map<String, Object> stats) {
+
+    public boolean ready() {
+        return builtAt != null;
+    }
+
+    public String etag() {
+        return "\"" + Long.toHexString(generation) + "-" + version + "\"";
+    }
+
+    public long count(String key) {
+        return stats.get(key) instanceof Number number ? number.longValue() : 0L;
+    }
+
+    public Object get(String key) {
+        return stats.get(key);
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.entity.ViewLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 메모리 대시보드 통계 스냅샷
+ * - 홈 / 통계 화면과 /statistics/api/dashboard는 current()만 읽으므로 요청마다 SQL 없음
+ * - 건수(테스트 / 댓글 / 공유 / 방문, 전체와 오늘, MBTI 타입별)는 도메인 이벤트로 바로 갱신
+ * - 순위 / 평균 / 유니크 방문자는 주기적인 전체 재구성(dashboard.snapshot.rebuild-interval)에서만 갱신
+ *   (재구성 중에 온 이벤트는 재구성 결과에 다시 적용: 그 사이 커밋된 건은 다음 재구성까지 1건씩 더 셀 수 있음)
+ * - 날짜가 바뀌면 오늘 건수를 0으로 돌림
+ * - 방문 이벤트는 저널 재적재 시 다시 올 수 있어 다음 재구성까지 방문 수가 조금 많을 수 있음
+ */
+@Component
+@Slf4j
+public class DashboardSnapshots {
+
+    private final Supplier<Map<String, Object>> loader;
+    private final TimeBuckets timeBuckets;
+    private final long generation = System.currentTimeMillis();
+
+    private Counters counters;
+    private long version;
+    private LocalDateTime builtAt;
+    // 재구성 중에 적용한 변경 (재구성 결과에 다시 적용)
+    private List<Consumer<Counters>> changesDuringRebuild;
+
+    private volatile DashboardSnapshot current;
+
+    @Autowired
+    public DashboardSnapshots(StatisticsService statisticsService, TimeBuckets timeBuckets) {
+        this(() -> {
+            statisticsService.initializeTodayStats();
+            return statisticsService.loadDashboardStats();
+        }, timeBuckets);
+    }
+
+    DashboardSnapshots(Supplier<Map<String, Object>> loader, TimeBuckets timeBuckets) {
+        this.loader = loader;
+        this.timeBuckets = timeBuckets;
+        this.counters = new Counters(timeBuckets.today());
+        publish();
+    }
+
+    /**
+     * 현재 스냅샷 (DB 조회 없음)
+     */
+    public DashboardSnapshot current() {
+        DashboardSnapshot snapshot = current;
+        if (!snapshot.day().equals(timeBuckets.today())) {
+            synchronized (this) {
+                rollOver();
+                snapshot = current;
+            }
+        }
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.rebuild-interval:5m}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * DB에서 전체 재구성 (실패하면 이전 스냅샷 유지, 이미 재구성 중이면 현재 스냅샷 반환)
+     */
+    public DashboardSnapshot rebuild() {
+        LocalDate day;
+        synchronized (this) {
+            if (changesDuringRebuild != null) {
+                return current;
+            }
+            changesDuringRebuild = new ArrayList<>();
+            day = timeBuckets.today();
+        }
+
+        Counters rebuilt;
+        long startedAt = System.nanoTime();
+        try {
+            rebuilt = Counters.from(loader.get(), day);
+        } catch (RuntimeException e) {
+            log.error("대시보드 스냅샷 재구성 중 오류 발생, 이전 스냅샷 유지", e);
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            return current;
+        }
+
+        synchronized (this) {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            counters = rebuilt;
+            builtAt = LocalDateTime.now();
+            rollOver();
+            publish();
+        }
+        log.debug("대시보드 스냅샷 재구성 완료 - {}ms", (System.nanoTime() - startedAt) / 1_000_000);
+        return current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestResultSaved(TestResultSavedEvent event) {
+        apply(counters -> {
+            counters.totalTests++;
+            if (counters.isToday(event.createdAt())) {
+                counters.todayTests++;
+            }
+            if (event.mbtiType() != null) {
+                counters.mbtiCounts.increment(event.mbtiType());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTestResultDeleted(TestResultDeletedEvent event) {
+        apply(counters -> {
+            counters.totalTests = Math.max(0, counters.totalTests - 1);
+            if (counters.isToday(event.createdAt())) {
+                counters.todayTests = Math.max(0, counters.todayTests - 1);
+            }
+            if (event.mbtiType() != null && counters.mbtiCounts.get(event.mbtiType()) > 0) {
+                counters.mbtiCounts.add(event.mbtiType(), -1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent event) {
+        apply(counters -> {
+            counters.totalComments++;
+            if (counters.isToday(event.createdAt())) {
+                counters.todayComments++;
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentDeleted(CommentDeletedEvent event) {
+        apply(counters -> {
+            counters.totalComments = Math.max(0, counters.totalComments - 1);
+            if (counters.isToday(event.createdAt())) {
+                counters.todayComments = Math.max(0, counters.todayComments - 1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShareRecorded(ShareRecordedEvent event) {
+        apply(counters -> {
+            counters.totalShares++;
+            if (counters.isToday(event.createdAt())) {
+                counters.todayShares++;
+            }
+        });
+    }
+
+    @EventListener
+    public void onViewLogsIngested(ViewLogsIngestedEvent event) {
+        long total = event.viewLogs().size();
+        List<LocalDateTime> times = event.viewLogs().stream().map(ViewLog::getCreatedAt).toList();
+        apply(counters -> {
+            counters.totalViews += total;
+            counters.todayViews += times.stream().filter(counters::isToday).count();
+        });
+    }
+
+    private synchronized void apply(Consumer<Counters> change) {
+        rollOver();
+        change.accept(counters);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+        publish();
+    }
+
+    /**
+     * 날짜가 바뀌었으면 오늘 건수 초기화
+     */
+    private void rollOver() {
+        LocalDate today = timeBuckets.today();
+        if (counters.day.isBefore(today)) {
+            counters.startDay(today);
+            publish();
+        }
+    }
+
+    private void publish() {
+        current = new DashboardSnapshot(generation, ++version, counters.day, builtAt, LocalDateTime.now(),
+            Collections.unmodifiableMap(counters.toMap()));
+    }
+
+    /**
+     * 스냅샷의 변경 가능한 원본 (DashboardSnapshots 락 안에서만 사용)
+     */
+    private static final class Counters {
+        private LocalDate day;
+        private long totalTests;
+        private long todayTests;
+        private long totalComments;
+        private long todayComments;
+        private long totalShares;
+        private long todayShares;
+        private long totalViews;
+        private long todayViews;
+        private long uniqueVisitorsToday;
+        private Double avgTestDuration;
+        private MbtiTypeCounts mbtiCounts = new MbtiTypeCounts();
+        private String mostPopularMbti = "ENFP";
+        private Object mostActiveCommentMbti = List.of();
+        private Object mostPopularSharePlatform = List.of();
+        private Object mostPopularPages = List.of();
+
+        private Counters(LocalDate day) {
+            this.day = day;
+        }
+
+        private static Counters from(Map<String, Object> stats, LocalDate day) {
+            Counters counters = new Counters(day);
+            counters.totalTests = count(stats, "totalTests");
+            counters.todayTests = count(stats, "todayTests");
+            counters.totalComments = count(stats, "totalComments");
+            counters.todayComments = count(stats, "todayComments");
+            counters.totalShares = count(stats, "totalShares");
+            counters.todayShares = count(stats, "todayShares");
+            counters.totalViews = count(stats, "totalViews");
+            counters.todayViews = count(stats, "todayViews");
+            counters.uniqueVisitorsToday = count(stats, "uniqueVisitorsToday");
+            counters.avgTestDuration = stats.get("avgTestDuration") instanceof Number number ? number.doubleValue() : null;
+            if (stats.get("mbtiStats") instanceof Map<?, ?> mbtiStats) {
+                for (Map.Entry<?, ?> entry : mbtiStats.entrySet()) {
+                    MbtiType type = MbtiType.parse(String.valueOf(entry.getKey()));
+                    if (type != null && entry.getValue() instanceof Number number) {
+                        counters.mbtiCounts.add(type, number.longValue());
+                    }
+                }
+            }
+            if (stats.get("mostPopularMbti") instanceof String mostPopularMbti) {
+                counters.mostPopularMbti = mostPopularMbti;
+            }
+            counters.mostActiveCommentMbti = stats.getOrDefault("mostActiveCommentMbti", List.of());
+            counters.mostPopularSharePlatform = stats.getOrDefault("mostPopularSharePlatform", List.of());
+            counters.mostPopularPages = stats.getOrDefault("mostPopularPages", List.of());
+            return counters;
+        }
+
+        private boolean isToday(LocalDateTime time) {
+            return time == null || time.toLocalDate().equals(day);
+        }
+
+        private void startDay(LocalDate today) {
+            day = today;
+            todayTests = 0;
+            todayComments = 0;
+            todayShares = 0;
+            todayViews = 0;
+            uniqueVisitorsToday = 0;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("totalTests", totalTests);
+            stats.put("todayTests", todayTests);
+            stats.put("totalComments", totalComments);
+            stats.put("todayComments", todayComments);
+            stats.put("totalShares", totalShares);
+            stats.put("todayShares", todayShares);
+            stats.put("totalViews", totalViews);
+            stats.put("todayViews", todayViews);
+            stats.put("uniqueVisitorsToday", uniqueVisitorsToday);
+            stats.put("avgTestDuration", avgTestDuration);
+            stats.put("mbtiStats", mbtiCounts.toMap());
+            stats.put("mostPopularMbti", mostPopularMbti);
+            stats.put("mostActiveCommentMbti", mostActiveCommentMbti);
+            stats.put("mostPopularSharePlatform", mostPopularSharePlatform);
+            stats.put("mostPopularPages", mostPopularPages);
+            return stats;
+        }
+
+        private static long count(Map<String, Object> stats, String key) {
+            return stats.get(key) instanceof Number number ? number.longValue() : 0L;
+        }
+    }
+}
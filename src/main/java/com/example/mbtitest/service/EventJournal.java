@@ -0,0 +1,373 @@
+package com.example.mbtitest.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 맵 세그먼트 저널 (추가 전용)
+ * - 레코드는 512바이트 고정 크기, 세그먼트 파일(events-{번호}.seg)마다 recordsPerSegment건
+ * - 레코드 위치는 0부터 시작하는 일련번호 (세그먼트 = 번호 / recordsPerSegment)
+ * - 쓰기는 매핑된 버퍼에 복사만 하므로 프로세스가 죽어도 OS 페이지 캐시에 남음
+ *   (OS/전원 장애까지 견디려면 forceOnAppend, 대신 건마다 디스크 동기화 비용)
+ * - 소비자는 checkpoint 파일에 다음에 읽을 번호를 기록하고, 그 앞의 세그먼트는 삭제
+ * - 다시 열 때 마지막 세그먼트를 처음부터 검사해 CRC가 맞는 마지막 레코드 다음부터 이어 씀
+ *
+ * 레코드 형식 (바이트 위치):
+ *   0 CRC32(4~511) | 4 종류 | 8 발생 시각(epoch ms) | 16 ID(null이면 Long.MIN_VALUE)
+ *   24 IP(48) | 72 라벨(16) | 88 페이지(16) | 104 User-Agent(256) | 360 Referrer(152)
+ *   문자열 칸은 2바이트 길이 + UTF-8 (칸보다 길면 글자 단위로 잘림)
+ */
+public final class EventJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 512;
+
+    private static final int CRC_OFFSET = 0;
+    private static final int TYPE_OFFSET = 4;
+    private static final int TIME_OFFSET = 8;
+    private static final int ID_OFFSET = 16;
+    private static final int IP_OFFSET = 24;
+    private static final int IP_SIZE = 48;
+    private static final int LABEL_OFFSET = 72;
+    private static final int LABEL_SIZE = 16;
+    private static final int PAGE_OFFSET = 88;
+    private static final int PAGE_SIZE = 16;
+    private static final int USER_AGENT_OFFSET = 104;
+    private static final int USER_AGENT_SIZE = 256;
+    private static final int REFERRER_OFFSET = 360;
+    private static final int REFERRER_SIZE = 152;
+    private static final long NULL_ID = Long.MIN_VALUE;
+
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final boolean forceOnAppend;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private FileChannel writeChannel;
+    private MappedByteBuffer writeBuffer;
+    private long writeSegment;
+    private long nextSequence;
+    private volatile long checkpoint;
+
+    private EventJournal(Path directory, int recordsPerSegment, boolean forceOnAppend) {
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    /**
+     * 저널 열기 (없으면 생성, 있으면 마지막 레코드 다음부터 이어 씀)
+     */
+    public static EventJournal open(Path directory, int recordsPerSegment, boolean forceOnAppend) throws IOException {
+        if (recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("세그먼트당 레코드 수는 1 이상이어야 합니다.");
+        }
+        Files.createDirectories(directory);
+        EventJournal journal = new EventJournal(directory, recordsPerSegment, forceOnAppend);
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * 레코드 추가
+     *
+     * @return 레코드 번호
+     */
+    public long append(JournalRecord record) {
+        lock.lock();
+        try {
+            int index = (int) (nextSequence - writeSegment * recordsPerSegment);
+            if (index == recordsPerSegment) {
+                mapSegment(writeSegment + 1);
+                index = 0;
+            }
+
+            encode(record);
+            int offset = index * RECORD_SIZE;
+            writeBuffer.put(offset, scratch, 0, RECORD_SIZE);
+            if (forceOnAppend) {
+                writeBuffer.force(offset, RECORD_SIZE);
+            }
+            return nextSequence++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("분석 이벤트 저널 기록 중 오류가 발생했습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * fromSequence부터 최대 maxRecords건 읽기 (CRC가 맞지 않는 레코드는 null로 채움)
+     */
+    public List<JournalRecord> read(long fromSequence, int maxRecords) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        long sequence = fromSequence;
+        long end = Math.min(nextSequence(), fromSequence + maxRecords);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+        while (sequence < end) {
+            long segment = sequence / recordsPerSegment;
+            int index = (int) (sequence % recordsPerSegment);
+            int count = (int) Math.min(end - sequence, recordsPerSegment - index);
+
+            // 쓰는 중인 세그먼트는 매핑된 버퍼에서, 다 찬 세그먼트는 파일에서 읽음
+            ByteBuffer chunk = ByteBuffer.allocate(count * RECORD_SIZE);
+            boolean copied = false;
+            lock.lock();
+            try {
+                if (segment == writeSegment) {
+                    chunk.put(0, writeBuffer, index * RECORD_SIZE, count * RECORD_SIZE);
+                    copied = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (!copied) {
+                try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+                    long position = (long) index * RECORD_SIZE;
+                    while (chunk.hasRemaining()) {
+                        if (channel.read(chunk, position + chunk.position()) < 0) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                record.clear();
+                record.put(0, chunk, i * RECORD_SIZE, RECORD_SIZE);
+                records.add(decode(record));
+            }
+            sequence += count;
+        }
+        return records;
+    }
+
+    /**
+     * 다음에 쓸 레코드 번호 (= 지금까지 쓴 레코드 수)
+     */
+    public long nextSequence() {
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 소비자가 다음에 읽을 레코드 번호
+     */
+    public long checkpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * sequence 앞까지 반영 완료로 기록하고, 모두 반영된 세그먼트 삭제
+     */
+    public void commit(long sequence) throws IOException {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        if (sequence > nextSequence()) {
+            throw new IllegalArgumentException("아직 기록되지 않은 위치입니다: " + sequence);
+        }
+
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.US_ASCII.encode(Long.toString(sequence)));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = sequence;
+
+        long firstLiveSegment = sequence / recordsPerSegment;
+        long currentSegment;
+        lock.lock();
+        try {
+            currentSegment = writeSegment;
+        } finally {
+            lock.unlock();
+        }
+        for (long segment : listSegments()) {
+            if (segment < firstLiveSegment && segment != currentSegment) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+    }
+
+    /**
+     * 매핑된 쓰기 버퍼를 디스크에 동기화
+     */
+    public void force() {
+        lock.lock();
+        try {
+            if (writeBuffer != null) {
+                writeBuffer.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (writeBuffer != null) {
+                writeBuffer.force();
+                writeBuffer = null;
+            }
+            if (writeChannel != null) {
+                writeChannel.close();
+                writeChannel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        Path checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        checkpoint = Files.exists(checkpointPath) ? Long.parseLong(Files.readString(checkpointPath).trim()) : 0;
+
+        List<Long> segments = listSegments();
+        long lastSegment = segments.isEmpty() ? checkpoint / recordsPerSegment : segments.get(segments.size() - 1);
+        mapSegment(lastSegment);
+
+        // 마지막 세그먼트에서 올바른 레코드가 끝나는 위치 찾기
+        int index = 0;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        while (index < recordsPerSegment) {
+            record.clear();
+            record.put(0, writeBuffer, index * RECORD_SIZE, RECORD_SIZE);
+            if (decode(record) == null) {
+                break;
+            }
+            index++;
+        }
+        nextSequence = Math.max(lastSegment * recordsPerSegment + index, checkpoint);
+    }
+
+    private void mapSegment(long segment) throws IOException {
+        if (writeBuffer != null) {
+            writeBuffer.force();
+        }
+        if (writeChannel != null) {
+            writeChannel.close();
+        }
+        writeChannel = FileChannel.open(segmentPath(segment),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeBuffer = writeChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        writeSegment = segment;
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * scratch 버퍼에 레코드 인코딩 (lock 안에서만 호출)
+     */
+    private void encode(JournalRecord record) {
+        Arrays.fill(scratch.array(), (byte) 0);
+        scratch.put(TYPE_OFFSET, record.type().code());
+        LocalDateTime createdAt = record.createdAt() != null ? record.createdAt() : LocalDateTime.now();
+        scratch.putLong(TIME_OFFSET, createdAt.atZone(ZONE).toInstant().toEpochMilli());
+        scratch.putLong(ID_OFFSET, record.id() != null ? record.id() : NULL_ID);
+        putString(IP_OFFSET, IP_SIZE, record.ip());
+        putString(LABEL_OFFSET, LABEL_SIZE, record.label());
+        putString(PAGE_OFFSET, PAGE_SIZE, record.page());
+        putString(USER_AGENT_OFFSET, USER_AGENT_SIZE, record.userAgent());
+        putString(REFERRER_OFFSET, REFERRER_SIZE, record.referrer());
+        scratch.putInt(CRC_OFFSET, crc(scratch));
+    }
+
+    private void putString(int offset, int size, String value) {
+        if (value == null) {
+            scratch.putShort(offset, (short) -1);
+            return;
+        }
+        ByteBuffer slot = scratch.slice(offset + 2, size - 2);
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(value), slot, true);
+        scratch.putShort(offset, (short) slot.position());
+    }
+
+    /**
+     * 레코드 디코딩 (빈 칸이거나 CRC가 맞지 않으면 null)
+     */
+    private static JournalRecord decode(ByteBuffer record) {
+        JournalRecord.Type type = JournalRecord.Type.fromCode(record.get(TYPE_OFFSET));
+        if (type == null || record.getInt(CRC_OFFSET) != crc(record)) {
+            return null;
+        }
+        long id = record.getLong(ID_OFFSET);
+        return new JournalRecord(
+            type,
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getLong(TIME_OFFSET)), ZONE),
+            id == NULL_ID ? null : id,
+            getString(record, IP_OFFSET),
+            getString(record, LABEL_OFFSET),
+            getString(record, PAGE_OFFSET),
+            getString(record, USER_AGENT_OFFSET),
+            getString(record, REFERRER_OFFSET));
+    }
+
+    private static String getString(ByteBuffer record, int offset) {
+        short length = record.getShort(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.slice(TYPE_OFFSET, RECORD_SIZE - TYPE_OFFSET));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * AI 분석 대체 결과 (유형별 기본 분석)
+ * - Gemini 응답이 지연 허용 시간을 넘기면 먼저 보여줄 분석 텍스트
+ * - TestResultService의 유형 정보로 클라이언트가 파싱하는 분석 JSON 형식을 만들어 유형별로 보관
+ *   (유형별로 처음 요청될 때 한 번만 생성)
+ */
+@Component
+public class FallbackAnalysisProvider {
+
+    private static final String NOTICE = "AI 응답이 지연되어 유형별 기본 분석을 먼저 보여드립니다. 맞춤 분석이 완료되면 결과 페이지에서 확인할 수 있습니다.";
+
+    private final TestResultService testResultService;
+    private final ObjectMapper objectMapper;
+
+    /** 유형 code → 분석 텍스트 */
+    private final AtomicReferenceArray<String> analyses = new AtomicReferenceArray<>(16);
+
+    public FallbackAnalysisProvider(TestResultService testResultService, ObjectMapper objectMapper) {
+        this.testResultService = testResultService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 유형별 기본 분석 텍스트 (```json 코드 블록)
+     */
+    public String getAnalysis(MbtiType mbtiType) {
+        String analysis = analyses.get(mbtiType.code());
+        if (analysis == null) {
+            // 동시에 만들어도 내용이 같으므로 먼저 저장된 값을 사용
+            analyses.compareAndSet(mbtiType.code(), null, buildAnalysis(mbtiType.name()));
+            analysis = analyses.get(mbtiType.code());
+        }
+        return analysis;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String buildAnalysis(String mbtiType) {
+        Map<String, Object> info = testResultService.getMbtiRecommendations(mbtiType);
+        String description = (String) info.get("description");
+        List<String> careers = (List<String>) info.getOrDefault("careers", List.of());
+        List<String> celebrities = (List<String>) info.getOrDefault("celebrities", List.of());
+        Map<String, List<String>> compatibility = (Map<String, List<String>>) info.getOrDefault("compatibility", Map.of());
+
+        // "건축가 - 상상력이 풍부하고..." → 별칭 / 설명
+        int separator = description.indexOf(" - ");
+        String nickname = separator > 0 ? description.substring(0, separator) : mbtiType;
+        String summary = separator > 0 ? description.substring(separator + 3) : description;
+
+        Map<String, Object> mbti = new LinkedHashMap<>();
+        mbti.put("type", mbtiType);
+        mbti.put("description", nickname + " 유형은 " + summary + "입니다.");
+
+        Map<String, Object> similarCharacter = new LinkedHashMap<>();
+        similarCharacter.put("name", celebrities.isEmpty() ? nickname : celebrities.get(0));
+        similarCharacter.put("source", mbtiType + " 유형의 유명인");
+        similarCharacter.put("reason", "같은 " + mbtiType + " 유형으로 알려져 있습니다.");
+
+        Map<String, Object> comprehensive = new LinkedHashMap<>();
+        comprehensive.put("summary", description);
+        comprehensive.put("strengths", info.getOrDefault("strengths", List.of()));
+        comprehensive.put("weaknesses", info.getOrDefault("weaknesses", List.of()));
+        comprehensive.put("growth_areas", compatibility.getOrDefault("good", List.of()).stream()
+            .map(type -> type + " 유형과의 협업")
+            .toList());
+        comprehensive.put("one_line_summary", summary);
+        comprehensive.put("similar_characters", similarCharacter);
+        comprehensive.put("recommendations", "추천 직업: " + String.join(", ", careers)
+            + " / 잘 맞는 유형: " + String.join(", ", compatibility.getOrDefault("best", List.of())));
+
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        analysis.put("fallback", true);
+        analysis.put("notice", NOTICE);
+        analysis.put("mbti", mbti);
+        analysis.put("dnd", Map.of("alignment", "분석 중", "description", "맞춤 분석이 완료되면 표시됩니다."));
+        analysis.put("enneagram", Map.of("type", "분석 중", "description", "맞춤 분석이 완료되면 표시됩니다."));
+        analysis.put("comprehensive", comprehensive);
+
+        try {
+            return "```json\n" + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(analysis) + "\n```";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("기본 분석 생성 실패: " + mbtiType, e);
+        }
+    }
+}
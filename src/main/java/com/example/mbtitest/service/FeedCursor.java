@@ -0,0 +1,68 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.repository.TestResultSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 결과 피드 커서 (keyset 페이지네이션의 이어보기 토큰)
+ * - 마지막으로 내려준 행의 정렬 키 (공유수, 조회수, 작성일, ID)를 담음
+ * - 토큰은 base64url 문자열로, 클라이언트는 내용을 해석하지 않고 다음 요청에 그대로 전달
+ * - 피드 종류가 다른 토큰은 거절
+ */
+public record FeedCursor(Feed feed, int sharedCount, int viewCount, LocalDateTime createdAt, long resultId) {
+
+    public enum Feed {
+        PUBLIC, POPULAR, VIRAL
+    }
+
+    private static final String VERSION = "1";
+    private static final LocalDateTime MAX_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /**
+     * 첫 페이지 (모든 행보다 큰 키)
+     */
+    public static FeedCursor first(Feed feed) {
+        return new FeedCursor(feed, Integer.MAX_VALUE, Integer.MAX_VALUE, MAX_CREATED_AT, Long.MAX_VALUE);
+    }
+
+    /**
+     * 이 행 다음부터 이어보는 커서
+     */
+    public static FeedCursor after(Feed feed, TestResultSummary last) {
+        return new FeedCursor(feed, valueOf(last.sharedCount()), valueOf(last.viewCount()), last.createdAt(), last.resultId());
+    }
+
+    /**
+     * 토큰 해석 (없으면 첫 페이지, 올바르지 않으면 IllegalArgumentException)
+     */
+    public static FeedCursor decode(Feed feed, String token) {
+        if (token == null || token.isBlank()) {
+            return first(feed);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|");
+            if (parts.length != 6 || !VERSION.equals(parts[0]) || !feed.name().equals(parts[1])) {
+                throw new IllegalArgumentException("올바르지 않은 커서입니다.");
+            }
+            return new FeedCursor(feed, Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                LocalDateTime.parse(parts[4]), Long.parseLong(parts[5]));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("올바르지 않은 커서입니다.", e);
+        }
+    }
+
+    public String encode() {
+        String raw = String.join("|", VERSION, feed.name(), String.valueOf(sharedCount), String.valueOf(viewCount),
+            createdAt.toString(), String.valueOf(resultId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int valueOf(Integer count) {
+        return count != null ? count : 0;
+    }
+}
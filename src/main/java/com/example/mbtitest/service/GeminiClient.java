@@ -0,0 +1,302 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.GeminiProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Gemini API 클라이언트
+ * - 공유 커넥션 풀 + 가상 스레드에서 호출
+ * - 동시 호출 수 제한(벌크헤드) 및 요청 전체 마감 시간 적용
+ * - 실패가 몰리면 서킷 브레이커가 호출 전에 거절
+ * - 상류 응답 시간을 결과별로 기록 (ai.upstream.latency, p50/p95/p99)
+ * - streamGenerateContent(SSE)로 생성 중인 텍스트를 조각 단위로 전달
+ */
+@Component
+@Slf4j
+public class GeminiClient {
+
+    private final RestClient restClient;
+    private final ExecutorService executor;
+    private final GeminiProperties properties;
+    private final Semaphore callPermits;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final AiCircuitBreaker circuitBreaker;
+    private final Counter bulkheadRejected;
+    private final MeterRegistry meterRegistry;
+
+    public GeminiClient(@Qualifier("geminiRestClient") RestClient restClient,
+                        @Qualifier("geminiExecutor") ExecutorService executor,
+                        GeminiProperties properties,
+                        Environment environment,
+                        ObjectMapper objectMapper,
+                        AiCircuitBreaker circuitBreaker,
+                        MeterRegistry meterRegistry) {
+        this.restClient = restClient;
+        this.executor = executor;
+        this.properties = properties;
+        this.callPermits = new Semaphore(properties.getMaxConcurrentCalls(), true);
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.bulkheadRejected = Counter.builder("ai.bulkhead.rejected")
+            .description("동시 호출 한도 초과로 거절된 AI 호출 수")
+            .register(meterRegistry);
+        Gauge.builder("ai.bulkhead.available", callPermits, Semaphore::availablePermits)
+            .description("남은 동시 호출 슬롯 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * generateContent 비동기 호출
+     * - totalTimeout 안에 끝나지 않으면 TimeoutException으로 완료되고 진행 중인 호출은 중단
+     */
+    public CompletableFuture<Map<String, Object>> generateContent(String prompt, Map<String, Object> generationConfig) {
+        Map<String, Object> requestBody = buildRequestBody(prompt, generationConfig);
+        return submit(() -> execute(requestBody));
+    }
+
+    /**
+     * streamGenerateContent 비동기 호출
+     * - 텍스트 조각이 도착할 때마다 onChunk 호출 (가상 스레드에서 실행)
+     * - 완료되면 이어 붙인 전체 텍스트 반환
+     */
+    public CompletableFuture<String> streamGenerateContent(String prompt, Map<String, Object> generationConfig,
+                                                           Consumer<String> onChunk) {
+        Map<String, Object> requestBody = buildRequestBody(prompt, generationConfig);
+        return submit(() -> executeStream(requestBody, onChunk));
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(
+                new AiUnavailableException("AI 분석 서비스가 일시적으로 원활하지 않습니다. 잠시 후 다시 시도해주세요."));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long startedAt = System.nanoTime();
+
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+
+        result.orTimeout(properties.getTotalTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                if (error instanceof TimeoutException) {
+                    log.warn("Gemini 호출이 {}ms 안에 끝나지 않아 중단합니다.", properties.getTotalTimeout().toMillis());
+                    task.cancel(true);
+                }
+
+                if (error == null) {
+                    circuitBreaker.onSuccess();
+                } else if (error instanceof AiUnavailableException) {
+                    circuitBreaker.onIgnored();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+
+                // 동시 호출 한도로 거절된 경우는 상류 호출이 없었으므로 기록하지 않음
+                if (!(error instanceof AiUnavailableException)) {
+                    String outcome = error == null ? "success" : error instanceof TimeoutException ? "timeout" : "error";
+                    upstreamLatency(outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+
+        return result;
+    }
+
+    private Timer upstreamLatency(String outcome) {
+        return Timer.builder("ai.upstream.latency")
+            .description("Gemini 호출 응답 시간")
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    /**
+     * AI 응답에서 분석 텍스트 추출
+     */
+    public static String extractAiAnalysisFromResponse(Map<String, Object> responseBody) {
+        try {
+            if (responseBody == null) return null;
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> candidates = (List<Map<String, Object>>) responseBody.get("candidates");
+
+            if (candidates != null && !candidates.isEmpty()) {
+                Map<String, Object> firstCandidate = candidates.get(0);
+
+                @SuppressWarnings("unchecked")
+                Map<String, Object> content = (Map<String, Object>) firstCandidate.get("content");
+
+                if (content != null) {
+                    @SuppressWarnings("unchecked")
+                    List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+
+                    if (parts != null && !parts.isEmpty()) {
+                        Map<String, Object> firstPart = parts.get(0);
+                        return (String) firstPart.get("text");
+                    }
+                }
+            }
+
+            return null;
+        } catch (Exception e) {
+            log.error("AI 응답 파싱 오류", e);
+            return null;
+        }
+    }
+
+    /**
+     * 분석 텍스트를 generateContent 응답 형태로 감싸기 (캐시된 결과 반환용)
+     */
+    public static Map<String, Object> toResponseBody(String text) {
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", text);
+
+        Map<String, Object> content = new HashMap<>();
+        content.put("parts", List.of(part));
+        content.put("role", "model");
+
+        Map<String, Object> candidate = new HashMap<>();
+        candidate.put("content", content);
+        candidate.put("finishReason", "STOP");
+
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("candidates", List.of(candidate));
+        return responseBody;
+    }
+
+    /**
+     * 현재 사용 가능한 동시 호출 슬롯 수
+     */
+    public int availablePermits() {
+        return callPermits.availablePermits();
+    }
+
+    private Map<String, Object> execute(Map<String, Object> requestBody) {
+        acquirePermit();
+        try {
+            return restClient.post()
+                .uri(properties.getBaseUrl() + properties.getModel() + ":generateContent?key={key}", getAiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestBody)
+                .retrieve()
+                .body(new ParameterizedTypeReference<Map<String, Object>>() {});
+        } finally {
+            callPermits.release();
+        }
+    }
+
+    private String executeStream(Map<String, Object> requestBody, Consumer<String> onChunk) {
+        acquirePermit();
+        try {
+            return restClient.post()
+                .uri(properties.getBaseUrl() + properties.getModel() + ":streamGenerateContent?alt=sse&key={key}", getAiKey())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .body(requestBody)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new RuntimeException("AI 서버 응답 오류: " + response.getStatusCode().value());
+                    }
+                    return readEventStream(response.getBody(), onChunk);
+                });
+        } finally {
+            callPermits.release();
+        }
+    }
+
+    /**
+     * SSE 본문 읽기
+     * - 이벤트마다 "data: {generateContent 응답 조각}" 형태
+     */
+    private String readEventStream(InputStream body, Consumer<String> onChunk) throws IOException {
+        StringBuilder fullText = new StringBuilder();
+        StringBuilder data = new StringBuilder();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("data:")) {
+                    data.append(line.substring(5).trim());
+                } else if (line.isEmpty() && data.length() > 0) {
+                    emitChunk(data.toString(), fullText, onChunk);
+                    data.setLength(0);
+                }
+            }
+            if (data.length() > 0) {
+                emitChunk(data.toString(), fullText, onChunk);
+            }
+        }
+
+        return fullText.toString();
+    }
+
+    private void emitChunk(String data, StringBuilder fullText, Consumer<String> onChunk) throws IOException {
+        Map<String, Object> chunk = objectMapper.readValue(data, new TypeReference<Map<String, Object>>() {});
+        String text = extractAiAnalysisFromResponse(chunk);
+        if (text != null && !text.isEmpty()) {
+            fullText.append(text);
+            onChunk.accept(text);
+        }
+    }
+
+    private String getAiKey() {
+        return environment.getProperty("AI_KEY", "NOT_SET");
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!callPermits.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                bulkheadRejected.increment();
+                throw new AiUnavailableException("AI 분석 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI 분석 요청이 중단되었습니다.", e);
+        }
+    }
+
+    /**
+     * Gemini 요청 본문 구성
+     */
+    private Map<String, Object> buildRequestBody(String prompt, Map<String, Object> generationConfig) {
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", prompt);
+
+        Map<String, Object> content = new HashMap<>();
+        content.put("parts", List.of(part));
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("contents", List.of(content));
+        requestBody.put("generationConfig", generationConfig);
+        return requestBody;
+    }
+}
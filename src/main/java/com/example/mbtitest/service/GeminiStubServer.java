@@ -0,0 +1,231 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.GeminiStubProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemini API 스텁 서버
+ * - generateContent / streamGenerateContent(alt=sse) 요청·응답 형식만 흉내냄
+ * - 설정한 분포로 지연시키고, 설정한 비율로 오류 응답
+ * - 스프링 없이도 사용할 수 있어 테스트에서 직접 띄울 수 있음
+ */
+@Slf4j
+public class GeminiStubServer {
+
+    private static final String MODELS_PATH = "/v1beta/models/";
+
+    private final GeminiStubProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final String generatedText;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public GeminiStubServer(GeminiStubProperties properties) {
+        this.properties = properties;
+        this.random = properties.getSeed() != null ? new Random(properties.getSeed()) : new Random();
+        this.generatedText = properties.getResponseText() != null
+            ? properties.getResponseText()
+            : buildAnalysisText(properties.getPayloadChars());
+    }
+
+    /**
+     * 서버 시작
+     */
+    public synchronized void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", properties.getPort()), 0);
+        server.createContext(MODELS_PATH, this::handle);
+        // 지연 중인 요청이 다른 요청을 막지 않도록 요청마다 가상 스레드 사용
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.start();
+        log.info("Gemini 스텁 서버 시작 - {}", getBaseUrl());
+    }
+
+    /**
+     * 서버 종료
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            log.info("Gemini 스텁 서버 종료 - 요청: {}, 오류 응답: {}", requestCount.get(), errorCount.get());
+        }
+    }
+
+    /**
+     * google.gemini.client.base-url에 넣을 주소
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + MODELS_PATH;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            long latencyMillis = sampleLatencyMillis();
+
+            if (shouldFail()) {
+                errorCount.incrementAndGet();
+                sleep(latencyMillis);
+                sendError(exchange);
+            } else if (path.endsWith(":streamGenerateContent")) {
+                sendStream(exchange, latencyMillis);
+            } else if (path.endsWith(":generateContent")) {
+                sleep(latencyMillis);
+                sendJson(exchange, 200, GeminiClient.toResponseBody(generatedText));
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * SSE 응답 - 지연 시간을 조각 수만큼 나눠 조각 사이에 배분
+     */
+    private void sendStream(HttpExchange exchange, long latencyMillis) throws IOException, InterruptedException {
+        int chunkCount = Math.max(1, Math.min(properties.getStreamChunks(), generatedText.length()));
+        int chunkSize = (generatedText.length() + chunkCount - 1) / chunkCount;
+        long interval = latencyMillis / chunkCount;
+
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+
+        OutputStream out = exchange.getResponseBody();
+        for (int start = 0; start < generatedText.length(); start += chunkSize) {
+            sleep(interval);
+            String text = generatedText.substring(start, Math.min(start + chunkSize, generatedText.length()));
+            String event = "data: " + objectMapper.writeValueAsString(GeminiClient.toResponseBody(text)) + "\r\n\r\n";
+            out.write(event.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    private void sendError(HttpExchange exchange) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", properties.getErrorStatus());
+        error.put("message", "The model is overloaded. Please try again later.");
+        error.put("status", "UNAVAILABLE");
+        sendJson(exchange, properties.getErrorStatus(), Map.of("error", error));
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private boolean shouldFail() {
+        synchronized (random) {
+            return random.nextDouble() < properties.getErrorRate();
+        }
+    }
+
+    /**
+     * 설정한 분포에서 지연 시간 추출 (latencyMax로 상한)
+     */
+    long sampleLatencyMillis() {
+        long max = properties.getLatencyMax().toMillis();
+        long sampled;
+
+        synchronized (random) {
+            switch (properties.getLatencyDistribution()) {
+                case FIXED -> sampled = properties.getLatencyMedian().toMillis();
+                case UNIFORM -> {
+                    long min = properties.getLatencyMin().toMillis();
+                    sampled = min + (long) (random.nextDouble() * Math.max(0, max - min));
+                }
+                default -> {
+                    double median = Math.max(1, properties.getLatencyMedian().toMillis());
+                    sampled = Math.round(median * Math.exp(properties.getLatencySigma() * random.nextGaussian()));
+                }
+            }
+        }
+
+        return Math.max(0, Math.min(sampled, max));
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    /**
+     * 클라이언트가 파싱하는 분석 JSON 형식으로 지정한 길이의 응답 생성
+     */
+    private String buildAnalysisText(int targetChars) {
+        StringBuilder filler = new StringBuilder();
+        while (filler.length() < Math.max(0, targetChars - 600)) {
+            filler.append("스텁 서버가 생성한 분석 문장입니다. ");
+        }
+
+        Map<String, Object> percentages = new LinkedHashMap<>();
+        percentages.put("E", 40);
+        percentages.put("I", 60);
+        percentages.put("S", 35);
+        percentages.put("N", 65);
+        percentages.put("T", 55);
+        percentages.put("F", 45);
+        percentages.put("J", 70);
+        percentages.put("P", 30);
+
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        analysis.put("mbti", Map.of("type", "INTJ", "percentages", percentages, "description", filler.toString()));
+        analysis.put("dnd", Map.of("alignment", "질서 중립", "description", "스텁 응답"));
+        analysis.put("enneagram", Map.of("type", "5w6", "description", "스텁 응답"));
+        analysis.put("comprehensive", Map.of(
+            "summary", "스텁 응답",
+            "strengths", List.of("분석력"),
+            "weaknesses", List.of("고집"),
+            "growth_areas", List.of("공감"),
+            "one_line_summary", "스텁 서버 응답",
+            "similar_characters", Map.of("name", "스텁", "source", "테스트", "reason", "스텁 응답"),
+            "recommendations", "스텁 응답"));
+
+        try {
+            return "```json\n" + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(analysis) + "\n```";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("스텁 응답 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.ShareLog;
+import com.example.mbtitest.entity.ViewLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분석 이벤트 저널의 레코드 1건 (방문 / 공유 / 댓글 좋아요)
+ * - id: 방문/공유는 결과 ID, 좋아요는 댓글 ID
+ * - label: 방문은 MBTI 타입, 공유는 플랫폼
+ * - page: 방문한 페이지 (ViewLog.Page, 방문만 사용)
+ * - 문자열은 저널의 고정 크기 칸에 맞게 잘려서 저장됨 (EventJournal 참고)
+ */
+public record JournalRecord(
+    Type type,
+    LocalDateTime createdAt,
+    Long id,
+    String ip,
+    String label,
+    String page,
+    String userAgent,
+    String referrer
+) {
+
+    public enum Type {
+        VIEW(1), SHARE(2), LIKE(3);
+
+        private final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte code() {
+            return code;
+        }
+
+        public static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static JournalRecord view(ViewLog viewLog) {
+        return new JournalRecord(Type.VIEW, viewLog.getCreatedAt(), viewLog.getResultId(), viewLog.getUserIp(),
+            viewLog.getMbtiType(), viewLog.getPageName(), viewLog.getUserAgent(), viewLog.getReferrer());
+    }
+
+    public static JournalRecord share(ShareLog shareLog) {
+        return new JournalRecord(Type.SHARE, shareLog.getCreatedAt(), shareLog.getResultId(), shareLog.getUserIp(),
+            shareLog.getSharePlatform(), null, shareLog.getUserAgent(), shareLog.getReferrer());
+    }
+
+    public static JournalRecord like(Long commentId) {
+        return new JournalRecord(Type.LIKE, LocalDateTime.now(), commentId, null, null, null, null, null);
+    }
+
+    public ViewLog toViewLog() {
+        return ViewLog.builder()
+            .resultId(id)
+            .mbtiType(label)
+            .pageName(page)
+            .userIp(ip)
+            .userAgent(userAgent)
+            .referrer(referrer)
+            .createdAt(createdAt)
+            .build();
+    }
+
+    public ShareLog toShareLog() {
+        return ShareLog.builder()
+            .resultId(id)
+            .sharePlatform(label)
+            .userIp(ip)
+            .userAgent(userAgent)
+            .referrer(referrer)
+            .createdAt(createdAt)
+            .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MBTI 유형별 개수 (유형 code로 인덱싱하는 long 배열)
+ * - 문자열 키 맵 대신 집계에 사용하고, 화면/JSON에는 toMap으로 변환
+ * - 스레드 안전하지 않음 (요청 안에서 집계용)
+ */
+public final class MbtiTypeCounts {
+
+    private final long[] counts = new long[16];
+
+    /**
+     * 리포지토리의 [유형, 개수] 행 목록에서 생성 (올바르지 않은 유형은 무시)
+     */
+    public static MbtiTypeCounts fromRows(List<Object[]> rows) {
+        MbtiTypeCounts counts = new MbtiTypeCounts();
+        for (Object[] row : rows) {
+            MbtiType type = row[0] instanceof MbtiType mbtiType ? mbtiType
+                : row[0] != null ? MbtiType.parse(row[0].toString()) : null;
+            if (type != null && row[1] instanceof Number count) {
+                counts.add(type, count.longValue());
+            }
+        }
+        return counts;
+    }
+
+    public void add(MbtiType type, long count) {
+        counts[type.code()] += count;
+    }
+
+    public void increment(MbtiType type) {
+        counts[type.code()]++;
+    }
+
+    public long get(MbtiType type) {
+        return counts[type.code()];
+    }
+
+    public long total() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 가장 많은 유형 (모두 0이면 null)
+     */
+    public MbtiType mostCommon() {
+        MbtiType mostCommon = null;
+        for (MbtiType type : MbtiType.values()) {
+            if (get(type) > 0 && (mostCommon == null || get(type) > get(mostCommon))) {
+                mostCommon = type;
+            }
+        }
+        return mostCommon;
+    }
+
+    /**
+     * 유형 이름 → 개수 (16개 모두, 표시 순서)
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (MbtiType type : MbtiType.values()) {
+            map.put(type.name(), get(type));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.mbtitest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 성격 테스트 질문 목록 (버전 관리)
+ * - 시작 시 JSON 파일을 읽어 메모리에 보관
+ * - 클라이언트에는 질문 id/본문만 내려주고, 프롬프트는 서버에서 템플릿으로 조립
+ */
+@Component
+@Slf4j
+public class QuestionCatalog {
+
+    private static final String ANSWERS_PLACEHOLDER = "{{answers}}";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 질문 (클라이언트에는 그대로 내려주고, 프롬프트에는 본문만 넣음)
+     */
+    public record Question(int id, String category, String type, String question) {
+    }
+
+    private record CatalogFile(String version, List<Question> questions) {
+    }
+
+    @Getter
+    private final String version;
+    @Getter
+    private final List<Question> questions;
+    private final Map<Integer, Question> questionsById;
+
+    /** 클라이언트용 JSON (미리 직렬화) */
+    @Getter
+    private final byte[] publicJson;
+    @Getter
+    private final String etag;
+
+    // 템플릿을 답변 위치 기준으로 미리 나눠둠
+    private final String promptPrefix;
+    private final String promptSuffix;
+    private final int maxAnswerLength;
+
+    public QuestionCatalog(ObjectMapper objectMapper,
+                           @Value("${question.catalog.location:classpath:questions/question-catalog.json}") Resource catalogResource,
+                           @Value("${question.catalog.prompt-template:classpath:prompts/personality-analysis.txt}") Resource templateResource,
+                           @Value("${question.catalog.max-answer-length:2000}") int maxAnswerLength) throws IOException {
+        CatalogFile catalog;
+        try (InputStream in = catalogResource.getInputStream()) {
+            catalog = objectMapper.readValue(in, CatalogFile.class);
+        }
+
+        this.version = catalog.version();
+        this.questions = List.copyOf(catalog.questions());
+        Map<Integer, Question> byId = new LinkedHashMap<>();
+        for (Question question : questions) {
+            if (byId.put(question.id(), question) != null) {
+                throw new IllegalStateException("질문 id가 중복되었습니다: " + question.id());
+            }
+        }
+        this.questionsById = Collections.unmodifiableMap(byId);
+
+        List<Map<String, Object>> publicQuestions = new ArrayList<>();
+        for (Question question : questions) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", question.id());
+            item.put("category", question.category());
+            item.put("type", question.type());
+            item.put("question", question.question());
+            publicQuestions.add(item);
+        }
+        Map<String, Object> publicCatalog = new LinkedHashMap<>();
+        publicCatalog.put("version", version);
+        publicCatalog.put("questions", publicQuestions);
+        this.publicJson = objectMapper.writeValueAsBytes(publicCatalog);
+        this.etag = "\"" + version + "-" + sha256Hex(publicJson).substring(0, 16) + "\"";
+
+        String template;
+        try (InputStream in = templateResource.getInputStream()) {
+            template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        int placeholder = template.indexOf(ANSWERS_PLACEHOLDER);
+        if (placeholder < 0) {
+            throw new IllegalStateException("프롬프트 템플릿에 " + ANSWERS_PLACEHOLDER + " 위치가 없습니다.");
+        }
+        this.promptPrefix = template.substring(0, placeholder);
+        this.promptSuffix = template.substring(placeholder + ANSWERS_PLACEHOLDER.length());
+        this.maxAnswerLength = maxAnswerLength;
+
+        log.info("질문 목록 로드 완료 - 버전: {}, 질문 수: {}", version, questions.size());
+    }
+
+    /**
+     * 답변으로 분석 프롬프트 조립
+     * - answers: [{questionId, answer}, ...]
+     * - 답변은 연속 공백을 합치고 최대 길이로 자름
+     */
+    public String buildPrompt(List<?> answers) {
+        if (answers == null || answers.isEmpty()) {
+            throw new IllegalArgumentException("답변이 없습니다.");
+        }
+
+        StringBuilder prompt = new StringBuilder(promptPrefix.length() + promptSuffix.length() + answers.size() * 256);
+        prompt.append(promptPrefix);
+
+        Set<Integer> answered = new HashSet<>();
+        for (Object item : answers) {
+            if (!(item instanceof Map<?, ?> answerItem)) {
+                throw new IllegalArgumentException("답변 형식이 올바르지 않습니다.");
+            }
+
+            Question question = answerItem.get("questionId") instanceof Number id ? questionsById.get(id.intValue()) : null;
+            if (question == null) {
+                throw new IllegalArgumentException("알 수 없는 질문입니다: " + answerItem.get("questionId"));
+            }
+            if (!answered.add(question.id())) {
+                throw new IllegalArgumentException("같은 질문에 대한 답변이 중복되었습니다: " + question.id());
+            }
+
+            String answer = answerItem.get("answer") instanceof String text
+                ? WHITESPACE.matcher(text).replaceAll(" ").trim()
+                : "";
+            if (answer.isEmpty()) {
+                throw new IllegalArgumentException(question.id() + "번 질문에 대한 답변이 없습니다.");
+            }
+            if (answer.length() > maxAnswerLength) {
+                answer = answer.substring(0, maxAnswerLength);
+            }
+
+            prompt.append(question.id()).append(". ").append(question.question()).append('\n')
+                .append("→ ").append(answer).append('\n');
+        }
+
+        prompt.append(promptSuffix);
+        return prompt.toString();
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
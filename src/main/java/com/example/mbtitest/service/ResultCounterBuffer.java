@@ -0,0 +1,187 @@
+package com.example.mbtitest.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 결과별 조회수/공유수 쓰기 지연 버퍼
+ * - 요청마다 행을 읽고 고쳐 쓰지 않고 메모리 카운터(LongAdder)만 올림
+ * - 주기적으로(그리고 종료 시) 쌓인 증가분을 UPDATE ... SET VIEW_COUNT = VIEW_COUNT + ? 배치로 반영
+ *   (batchSize건씩 나눠 보내도 한 트랜잭션이므로 중간에 실패하면 전부 롤백 → 증가분을 되돌려도 두 번 반영되지 않음)
+ * - 화면에 보여줄 값은 DB 값 + 아직 반영하지 않은 증가분
+ */
+@Component
+@Slf4j
+public class ResultCounterBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE TEST_RESULTS "
+        + "SET VIEW_COUNT = VIEW_COUNT + ?, SHARED_COUNT = SHARED_COUNT + ? "
+        + "WHERE RESULT_ID = ?";
+
+    private final ConcurrentHashMap<Long, PendingCounts> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    // 지난 플러시에서 맵에서 뺀 항목 (빼는 순간 들어온 증가분은 다음 플러시에서 반영, flushLock 안에서만 사용)
+    private List<Map.Entry<Long, PendingCounts>> retired = List.of();
+
+    public ResultCounterBuffer(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${result.counters.batch-size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        Gauge.builder("result.counters.pending", pending, Map::size)
+            .description("DB에 반영 대기 중인 결과 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 조회수 1 증가 (메모리에만 기록)
+     */
+    public void recordView(Long resultId) {
+        if (resultId != null) {
+            counts(resultId).views.increment();
+        }
+    }
+
+    /**
+     * 공유수 1 증가 (메모리에만 기록)
+     */
+    public void recordShare(Long resultId) {
+        if (resultId != null) {
+            counts(resultId).shares.increment();
+        }
+    }
+
+    /**
+     * 표시용 조회수 (DB 값 + 반영 대기 중인 증가분)
+     */
+    public long viewCount(Long resultId, Integer persistedCount) {
+        PendingCounts counts = resultId != null ? pending.get(resultId) : null;
+        return value(persistedCount) + (counts != null ? counts.views.sum() : 0);
+    }
+
+    /**
+     * 표시용 공유수 (DB 값 + 반영 대기 중인 증가분)
+     */
+    public long sharedCount(Long resultId, Integer persistedCount) {
+        PendingCounts counts = resultId != null ? pending.get(resultId) : null;
+        return value(persistedCount) + (counts != null ? counts.shares.sum() : 0);
+    }
+
+    /**
+     * 쌓인 증가분을 DB에 반영
+     * - 읽은 만큼만 카운터에서 빼므로 반영 중에 들어온 증가분은 그대로 남음
+     * - 한 주기 동안 증가가 없던 결과는 맵에서 제거
+     * - 모든 배치를 한 트랜잭션으로 반영하고, 실패하면(전부 롤백) 뺀 값을 다시 더해 다음 주기에 재시도
+     *
+     * @return 반영한 결과 수
+     */
+    @Scheduled(fixedDelayString = "${result.counters.flush-interval:5s}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<Delta> deltas = new ArrayList<>();
+            for (Map.Entry<Long, PendingCounts> entry : retired) {
+                drain(entry.getKey(), entry.getValue(), deltas);
+            }
+
+            List<Map.Entry<Long, PendingCounts>> idle = new ArrayList<>();
+            for (Map.Entry<Long, PendingCounts> entry : pending.entrySet()) {
+                if (!drain(entry.getKey(), entry.getValue(), deltas)
+                        && pending.remove(entry.getKey(), entry.getValue())) {
+                    idle.add(entry);
+                }
+            }
+            retired = idle;
+
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, deltas, batchSize, (statement, delta) -> {
+                        statement.setLong(1, delta.views());
+                        statement.setLong(2, delta.shares());
+                        statement.setLong(3, delta.resultId());
+                    }));
+                log.debug("조회수/공유수 반영 완료 - 결과 {}건", deltas.size());
+                return deltas.size();
+            } catch (Exception e) {
+                log.error("조회수/공유수 반영 중 오류 발생 - 결과 {}건, 다음 주기에 재시도", deltas.size(), e);
+                for (Delta delta : deltas) {
+                    PendingCounts counts = counts(delta.resultId());
+                    counts.views.add(delta.views());
+                    counts.shares.add(delta.shares());
+                }
+                return 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 종료 시 남은 증가분 반영
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("종료 전 조회수/공유수 반영 - 결과 {}건", flushed);
+        }
+    }
+
+    private PendingCounts counts(Long resultId) {
+        PendingCounts counts = pending.get(resultId);
+        return counts != null ? counts : pending.computeIfAbsent(resultId, id -> new PendingCounts());
+    }
+
+    /**
+     * 카운터에서 현재 값을 빼서 deltas에 추가 (증가분이 없으면 false)
+     */
+    private static boolean drain(Long resultId, PendingCounts counts, List<Delta> deltas) {
+        long views = counts.views.sum();
+        long shares = counts.shares.sum();
+        if (views == 0 && shares == 0) {
+            return false;
+        }
+        counts.views.add(-views);
+        counts.shares.add(-shares);
+        deltas.add(new Delta(resultId, views, shares));
+        return true;
+    }
+
+    private static long value(Integer count) {
+        return count != null ? count : 0;
+    }
+
+    private static final class PendingCounts {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder shares = new LongAdder();
+    }
+
+    private record Delta(Long resultId, long views, long shares) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.repository.TestResultSummary;
+
+import java.util.List;
+
+/**
+ * 결과 피드 한 페이지
+ * - nextCursor: 다음 페이지 토큰 (마지막 페이지면 null)
+ * - totalCount: 전체 개수를 요청한 경우에만 채움 (기본은 COUNT 쿼리 생략)
+ */
+public record ResultFeed(List<TestResultSummary> results, String nextCursor, Long totalCount) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.RetentionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 오래된 로그 정리 (VIEW_LOGS / SHARE_LOGS / 삭제된 COMMENTS)
+ * - 엔티티를 읽지 않고, 시각 인덱스로 찾은 chunkSize건을 DELETE 한 번으로 삭제 (청크마다 자동 커밋)
+ *   청크 사이에 쉬고, maxRunTime을 넘기면 멈춘 뒤 다음 실행에서 이어서 삭제
+ * - dropPartitions 사용 시 보관 기간이 통째로 지난 구간 파티션은 DROP PARTITION으로 먼저 삭제
+ *   (파티션 테이블이 아니거나 삭제할 수 없으면 청크 삭제로 처리)
+ * - 대상별 삭제 건수와 걸린 시간을 로그 / 메트릭(retention.purged.rows, retention.run)으로 남김
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RetentionJob {
+
+    private static final String DELETE_SQL =
+        "DELETE FROM %1$s WHERE %2$s IN (" +
+        "SELECT %2$s FROM %1$s WHERE %3$s < ?%4$s FETCH FIRST ? ROWS ONLY)";
+
+    private static final String PARTITIONS_SQL =
+        "SELECT PARTITION_NAME, HIGH_VALUE FROM USER_TAB_PARTITIONS " +
+        "WHERE TABLE_NAME = ? ORDER BY PARTITION_POSITION";
+
+    // HIGH_VALUE 예: TIMESTAMP' 2026-01-01 00:00:00' / TO_DATE(' 2026-01-01 00:00:00', 'SYYYY-MM-DD HH24:MI:SS', ...)
+    private static final Pattern HIGH_VALUE = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})(?: (\\d{2}:\\d{2}:\\d{2}))?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * 정리 대상 (시각 컬럼에 인덱스 필요: sql/retention_indexes.sql)
+     */
+    enum Target {
+        VIEW_LOGS("VIEW_LOGS", "VIEW_ID", "CREATED_AT", "", true),
+        SHARE_LOGS("SHARE_LOGS", "SHARE_ID", "CREATED_AT", "", true),
+        DELETED_COMMENTS("COMMENTS", "COMMENT_ID", "UPDATED_AT", " AND IS_DELETED = 'Y'", false);
+
+        private final String table;
+        private final String idColumn;
+        private final String timeColumn;
+        private final String condition;
+        private final boolean partitionable;
+
+        Target(String table, String idColumn, String timeColumn, String condition, boolean partitionable) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.timeColumn = timeColumn;
+            this.condition = condition;
+            this.partitionable = partitionable;
+        }
+
+        private String deleteSql() {
+            return String.format(DELETE_SQL, table, idColumn, timeColumn, condition);
+        }
+    }
+
+    /**
+     * 대상별 정리 결과
+     */
+    public record Report(String target, LocalDateTime cutoff, long rowsDeleted, int partitionsDropped,
+                         int chunks, Duration elapsed, boolean completed) {
+    }
+
+    @Scheduled(cron = "${retention.cron:0 30 4 * * *}")
+    public void scheduledPurge() {
+        if (properties.isEnabled()) {
+            purge();
+        }
+    }
+
+    /**
+     * 모든 대상 정리 (이미 실행 중이면 건너뜀)
+     */
+    public List<Report> purge() {
+        if (!runLock.tryLock()) {
+            log.info("오래된 로그 정리가 이미 실행 중이라 건너뜀");
+            return List.of();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long startedAt = System.nanoTime();
+            long deadline = startedAt + properties.getMaxRunTime().toNanos();
+            List<Report> reports = new ArrayList<>();
+
+            reports.add(purge(Target.VIEW_LOGS, now.minus(properties.getViewLogs()), deadline));
+            reports.add(purge(Target.SHARE_LOGS, now.minus(properties.getShareLogs()), deadline));
+            reports.add(purge(Target.DELETED_COMMENTS, now.minus(properties.getDeletedComments()), deadline));
+
+            meterRegistry.timer("retention.run").record(Duration.ofNanos(System.nanoTime() - startedAt));
+            return reports;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    Report purge(Target target, LocalDateTime cutoff, long deadline) {
+        long startedAt = System.nanoTime();
+        long rowsDeleted = 0;
+        int partitionsDropped = 0;
+        int chunks = 0;
+        boolean completed = false;
+
+        try {
+            if (properties.isDropPartitions() && target.partitionable) {
+                partitionsDropped = dropExpiredPartitions(target.table, cutoff);
+            }
+
+            String sql = target.deleteSql();
+            int chunkSize = properties.getChunkSize();
+            while (true) {
+                int deleted = jdbcTemplate.update(sql, Timestamp.valueOf(cutoff), chunkSize);
+                rowsDeleted += deleted;
+                chunks++;
+                if (deleted < chunkSize) {
+                    completed = true;
+                    break;
+                }
+                if (System.nanoTime() - deadline >= 0 || !pause()) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("오래된 로그 정리 중 오류 발생 - {}", target, e);
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        meterRegistry.counter("retention.purged.rows", "target", target.name()).increment(rowsDeleted);
+        if (completed) {
+            log.info("오래된 로그 정리 완료 - {}: {} 이전 {}건 삭제 (파티션 {}개, 청크 {}개), {}ms",
+                target, cutoff, rowsDeleted, partitionsDropped, chunks, elapsed.toMillis());
+        } else {
+            log.warn("오래된 로그 정리 중단 - {}: {} 이전 {}건 삭제 (파티션 {}개, 청크 {}개), {}ms, 남은 행은 다음 실행에서 삭제",
+                target, cutoff, rowsDeleted, partitionsDropped, chunks, elapsed.toMillis());
+        }
+        return new Report(target.name(), cutoff, rowsDeleted, partitionsDropped, chunks, elapsed, completed);
+    }
+
+    /**
+     * 상한(HIGH_VALUE)이 cutoff 이하인 파티션 삭제
+     * - 인터벌 파티셔닝의 기준 파티션처럼 삭제할 수 없는 파티션은 건너뛰고 청크 삭제에 맡김
+     */
+    private int dropExpiredPartitions(String table, LocalDateTime cutoff) {
+        List<String> expired = new ArrayList<>();
+        try {
+            jdbcTemplate.query(PARTITIONS_SQL, rs -> {
+                LocalDateTime highValue = parseHighValue(rs.getString("HIGH_VALUE"));
+                if (highValue != null && !highValue.isAfter(cutoff)) {
+                    expired.add(rs.getString("PARTITION_NAME"));
+                }
+            }, table);
+        } catch (DataAccessException e) {
+            log.debug("파티션 정보를 읽을 수 없어 청크 삭제만 사용 - {}: {}", table, e.getMessage());
+            return 0;
+        }
+
+        int dropped = 0;
+        for (String partition : expired) {
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION \"" + partition.replace("\"", "")
+                    + "\" UPDATE GLOBAL INDEXES");
+                dropped++;
+            } catch (DataAccessException e) {
+                log.warn("파티션 삭제 실패, 청크 삭제로 처리 - {}.{}: {}", table, partition, e.getMessage());
+            }
+        }
+        return dropped;
+    }
+
+    static LocalDateTime parseHighValue(String highValue) {
+        if (highValue == null) {
+            return null;
+        }
+        Matcher matcher = HIGH_VALUE.matcher(highValue);
+        if (!matcher.find()) {
+            // MAXVALUE 등
+            return null;
+        }
+        String time = matcher.group(2) != null ? matcher.group(2) : "00:00:00";
+        return LocalDateTime.parse(matcher.group(1) + "T" + time);
+    }
+
+    private boolean pause() {
+        long millis = properties.getChunkPause().toMillis();
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.mbtitest.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공유가 기록됨 (ShareService가 발행, DB 저장 시 커밋 후 / 저널 사용 시 저널 기록 직후)
+ */
+public record ShareRecordedEvent(Long resultId, String platform, LocalDateTime createdAt) {
+}
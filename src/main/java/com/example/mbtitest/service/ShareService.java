@@ -4,6 +4,7 @@ import com.example.mbtitest.entity.ShareLog;
 import com.example.mbtitest.repository.ShareLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +22,9 @@ import java.util.Map;
 public class ShareService {
     
     private final ShareLogRepository shareLogRepository;
+    private final AnalyticsJournal analyticsJournal;
+    private final TimeBuckets timeBuckets;
+    private final ApplicationEventPublisher eventPublisher;
     
     // 지원하는 공유 플랫폼들
     private static final String[] SUPPORTED_PLATFORMS = {
@@ -28,23 +33,36 @@ public class ShareService {
     
     /**
      * 공유 로그 기록
+     * - 분석 이벤트 저널을 사용하면 저널에만 기록하고 DB 저장은 적재 작업이 처리 (반환 로그의 ID는 null)
      */
     public ShareLog recordShare(Long resultId, String platform, HttpServletRequest request) {
         // 플랫폼 검증
         validatePlatform(platform);
         
-        String userIp = getClientIpAddress(request);
+        String userIp = ClientIdentity.resolveIp(request);
         
         try {
             ShareLog shareLog = ShareLog.builder()
                 .resultId(resultId)
                 .sharePlatform(platform.toLowerCase())
                 .userIp(userIp)
+                .createdAt(LocalDateTime.now())
                 .build();
             
+            if (analyticsJournal.isEnabled()) {
+                analyticsJournal.recordShare(shareLog);
+                log.info("공유 로그 기록 완료 (저널) - ResultID: {}, Platform: {}, IP: {}", 
+                    resultId, platform, userIp);
+                eventPublisher.publishEvent(new ShareRecordedEvent(
+                    resultId, shareLog.getSharePlatform(), shareLog.getCreatedAt()));
+                return shareLog;
+            }
+            
             ShareLog savedLog = shareLogRepository.save(shareLog);
             log.info("공유 로그 기록 완료 - ResultID: {}, Platform: {}, IP: {}", 
                 resultId, platform, userIp);
+            eventPublisher.publishEvent(new ShareRecordedEvent(
+                resultId, savedLog.getSharePlatform(), savedLog.getCreatedAt()));
             
             return savedLog;
             
@@ -156,7 +174,7 @@ public class ShareService {
             stats.put("totalShares", shareLogRepository.countTotalShares());
             
             // 오늘 공유 수
-            stats.put("todayShares", shareLogRepository.countTodayShares());
+            stats.put("todayShares", timeBuckets.countToday(TimeBuckets.Source.SHARE_LOGS));
             
             // 플랫폼별 공유 통계
             List<Object[]> platformStats = shareLogRepository.getShareStatsByPlatform();
@@ -189,14 +207,15 @@ public class ShareService {
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getDailyShareStats() {
         try {
-            LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-            List<Object[]> dailyCounts = shareLogRepository.getDailyShareCounts(weekAgo);
+            // 오늘 포함 최근 7일, 공유가 없는 날은 0
+            List<TimeBuckets.Range> days = timeBuckets.lastDays(7);
+            List<Long> dailyCounts = timeBuckets.countPerRange(TimeBuckets.Source.SHARE_LOGS, days);
             
-            return dailyCounts.stream()
-                .map(row -> {
+            return IntStream.range(0, days.size())
+                .mapToObj(i -> {
                     Map<String, Object> dayData = new HashMap<>();
-                    dayData.put("date", row[0].toString());
-                    dayData.put("count", ((Number) row[1]).intValue());
+                    dayData.put("date", days.get(i).startDate().toString());
+                    dayData.put("count", dailyCounts.get(i).intValue());
                     return dayData;
                 })
                 .toList();
@@ -252,38 +271,6 @@ public class ShareService {
         }
     }
     
-    /**
-     * 클라이언트 IP 주소 추출
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String[] headerNames = {
-            "X-Forwarded-For",
-            "X-Real-IP",
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR",
-            "HTTP_X_FORWARDED",
-            "HTTP_X_CLUSTER_CLIENT_IP",
-            "HTTP_CLIENT_IP",
-            "HTTP_FORWARDED_FOR",
-            "HTTP_FORWARDED",
-            "HTTP_VIA",
-            "REMOTE_ADDR"
-        };
-        
-        for (String headerName : headerNames) {
-            String ipAddress = request.getHeader(headerName);
-            if (ipAddress != null && !ipAddress.isEmpty() && !"unknown".equalsIgnoreCase(ipAddress)) {
-                if (ipAddress.contains(",")) {
-                    ipAddress = ipAddress.substring(0, ipAddress.indexOf(","));
-                }
-                return ipAddress.trim();
-            }
-        }
-        
-        return request.getRemoteAddr();
-    }
-    
     /**
      * 공유 가능 여부 확인 (스팸 방지)
      */
@@ -0,0 +1,133 @@
+package com.example.mbtitest.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 상위 K개 빈도 추정 (heavy hitters)
+ * - 항목을 최대 capacity개만 세고, 꽉 찬 상태에서 새 항목이 오면 가장 작은 카운터를 넘겨받음
+ *   (넘겨받은 카운터 값을 error로 기록: 실제 빈도는 count - error 이상 count 이하)
+ * - 전체 건수의 1/capacity보다 자주 나오는 항목은 반드시 남음
+ * - 같은 capacity끼리 merge하면 두 구간을 합친 요약이 됨 (오차 한도도 더해짐)
+ * - 동기화하지 않음 (호출 측에서 처리)
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String item) {
+        add(item, 1, 0);
+    }
+
+    /**
+     * 다른 요약을 합침
+     */
+    public void merge(SpaceSaving other) {
+        for (Counter counter : other.counters.values()) {
+            add(counter.item, counter.count, counter.error);
+        }
+        // add에서 더한 건수는 other의 전체 건수로 바로잡음
+        total += other.total - other.counters.values().stream().mapToLong(counter -> counter.count).sum();
+    }
+
+    /**
+     * 많이 나온 순으로 최대 limit개
+     */
+    public List<Entry> top(int limit) {
+        return counters.values().stream()
+            .sorted(Comparator.comparingLong((Counter counter) -> counter.count).reversed()
+                .thenComparing(counter -> counter.item))
+            .limit(limit)
+            .map(counter -> new Entry(counter.item, counter.count, counter.error))
+            .toList();
+    }
+
+    /**
+     * 지금까지 센 전체 건수 (정확한 값)
+     */
+    public long total() {
+        return total;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(total, top(capacity));
+    }
+
+    public static SpaceSaving restore(int capacity, Snapshot snapshot) {
+        SpaceSaving summary = new SpaceSaving(capacity);
+        for (Entry entry : snapshot.entries()) {
+            summary.add(entry.item(), entry.count(), entry.error());
+        }
+        summary.total = snapshot.total();
+        return summary;
+    }
+
+    private void add(String item, long count, long error) {
+        total += count;
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += count;
+            counter.error += error;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(item, count, error));
+            return;
+        }
+
+        // 가장 작은 카운터를 넘겨받음 (capacity가 작으므로 선형 탐색)
+        Counter min = null;
+        for (Counter candidate : counters.values()) {
+            if (min == null || candidate.count < min.count) {
+                min = candidate;
+            }
+        }
+        counters.remove(min.item);
+        counters.put(item, new Counter(item, min.count + count, min.count + error));
+    }
+
+    /**
+     * 추정 결과 (실제 빈도는 count - error 이상 count 이하)
+     */
+    public record Entry(String item, long count, long error) {
+    }
+
+    /**
+     * 체크포인트 저장용
+     */
+    public record Snapshot(long total, List<Entry> entries) {
+
+        public Snapshot {
+            entries = entries != null ? entries : new ArrayList<>();
+        }
+    }
+
+    private static final class Counter {
+        private final String item;
+        private long count;
+        private long error;
+
+        private Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
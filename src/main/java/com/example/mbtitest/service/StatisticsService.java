@@ -1,11 +1,13 @@
 package com.example.mbtitest.service;
 
+import com.example.mbtitest.entity.MbtiType;
 import com.example.mbtitest.entity.UserStats;
 import com.example.mbtitest.repository.TestResultRepository;
 import com.example.mbtitest.repository.UserStatsRepository;
 import com.example.mbtitest.repository.CommentRepository;
+import com.example.mbtitest.repository.DailyViewStatRepository;
+import com.example.mbtitest.repository.HourlyViewStatRepository;
 import com.example.mbtitest.repository.ShareLogRepository;
-import com.example.mbtitest.repository.ViewLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,44 +27,40 @@ public class StatisticsService {
     private final UserStatsRepository userStatsRepository;
     private final CommentRepository commentRepository;
     private final ShareLogRepository shareLogRepository;
-    private final ViewLogRepository viewLogRepository;
+    private final HourlyViewStatRepository hourlyViewStatRepository;
+    private final DailyViewStatRepository dailyViewStatRepository;
+    private final UniqueVisitorSketches uniqueVisitorSketches;
+    private final TimeBuckets timeBuckets;
     
     /**
-     * 대시보드용 전체 통계 조회
+     * 대시보드용 전체 통계 DB 조회 (DashboardSnapshots가 주기적으로 재구성할 때만 호출)
+     * - 화면 / API는 DashboardSnapshots의 메모리 스냅샷을 읽음
+     * - 기본 통계 조회가 실패하면 예외를 던져 이전 스냅샷을 유지하게 함
      */
-    public Map<String, Object> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
+    public Map<String, Object> loadDashboardStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
         
-        try {
-            // 기본 통계
-            stats.put("totalTests", testResultRepository.countAllTests());
-            stats.put("todayTests", testResultRepository.countTodayTests());
-            stats.put("totalComments", commentRepository.countActiveComments());
-            stats.put("todayComments", commentRepository.countTodayComments());
-            stats.put("totalShares", shareLogRepository.countTotalShares());
-            stats.put("todayShares", shareLogRepository.countTodayShares());
-            stats.put("totalViews", viewLogRepository.countTotalViews());
-            stats.put("todayViews", viewLogRepository.countTodayViews());
-            stats.put("uniqueVisitorsToday", viewLogRepository.countTodayUniqueVisitors());
-            stats.put("avgTestDuration", testResultRepository.getAverageTestDuration());
-            
-            // MBTI 타입별 통계
-            stats.put("mbtiStats", getMbtiTypeStatistics());
-            
-            // 인기 통계
-            stats.put("mostPopularMbti", getMostPopularMbtiType());
-            stats.put("mostActiveCommentMbti", getMostActiveCommentMbtiTypes());
-            stats.put("mostPopularSharePlatform", getMostPopularSharePlatforms());
-            stats.put("mostPopularPages", getMostPopularPages());
-            
-        } catch (Exception e) {
-            log.error("대시보드 통계 조회 중 오류 발생", e);
-            // 기본값으로 설정
-            stats.put("totalTests", 0L);
-            stats.put("todayTests", 0L);
-            stats.put("totalComments", 0L);
-            stats.put("todayComments", 0L);
-        }
+        // 기본 통계
+        stats.put("totalTests", testResultRepository.countAllTests());
+        stats.put("todayTests", timeBuckets.countToday(TimeBuckets.Source.TEST_RESULTS));
+        stats.put("totalComments", commentRepository.countActiveComments());
+        stats.put("todayComments", timeBuckets.countToday(TimeBuckets.Source.ACTIVE_COMMENTS));
+        stats.put("totalShares", shareLogRepository.countTotalShares());
+        stats.put("todayShares", timeBuckets.countToday(TimeBuckets.Source.SHARE_LOGS));
+        TimeBuckets.Range today = timeBuckets.todayRange();
+        stats.put("totalViews", dailyViewStatRepository.sumAllViews());
+        stats.put("todayViews", dailyViewStatRepository.sumViews(today.start(), today.end()));
+        stats.put("uniqueVisitorsToday", uniqueVisitorSketches.uniqueVisitors(today.startDate(), today.startDate().plusDays(1)));
+        stats.put("avgTestDuration", testResultRepository.getAverageTestDuration());
+        
+        // MBTI 타입별 통계
+        stats.put("mbtiStats", getMbtiTypeStatistics());
+        
+        // 인기 통계
+        stats.put("mostPopularMbti", getMostPopularMbtiType());
+        stats.put("mostActiveCommentMbti", getMostActiveCommentMbtiTypes());
+        stats.put("mostPopularSharePlatform", getMostPopularSharePlatforms());
+        stats.put("mostPopularPages", getMostPopularPages());
         
         return stats;
     }
@@ -71,37 +69,16 @@ public class StatisticsService {
      * MBTI 타입별 상세 통계
      */
     public Map<String, Object> getMbtiTypeStatistics() {
-        Map<String, Object> mbtiStats = new HashMap<>();
-        
+        // 16개 유형 모두 포함 (없는 유형은 0)
+        MbtiTypeCounts counts;
         try {
-            // TestResultRepository에서 MBTI 타입별 개수 조회
-            List<Object[]> mbtiCounts = testResultRepository.countByMbtiType();
-            
-            // 기본값으로 모든 MBTI 타입을 0으로 초기화
-            String[] mbtiTypes = {"ENFP", "ENFJ", "ENTP", "ENTJ", "ESFP", "ESFJ", "ESTP", "ESTJ", 
-                                 "INFP", "INFJ", "INTP", "INTJ", "ISFP", "ISFJ", "ISTP", "ISTJ"};
-            for (String type : mbtiTypes) {
-                mbtiStats.put(type, 0L);
-            }
-            
-            // 실제 데이터로 업데이트
-            for (Object[] row : mbtiCounts) {
-                String mbtiType = (String) row[0];
-                Long count = ((Number) row[1]).longValue();
-                mbtiStats.put(mbtiType, count);
-            }
-            
+            counts = MbtiTypeCounts.fromRows(testResultRepository.countByMbtiType());
         } catch (Exception e) {
             log.error("MBTI 타입 통계 조회 중 오류 발생", e);
-            // 기본값으로 초기화
-            String[] mbtiTypes = {"ENFP", "ENFJ", "ENTP", "ENTJ", "ESFP", "ESFJ", "ESTP", "ESTJ", 
-                                 "INFP", "INFJ", "INTP", "INTJ", "ISFP", "ISFJ", "ISTP", "ISTJ"};
-            for (String type : mbtiTypes) {
-                mbtiStats.put(type, 0L);
-            }
+            counts = new MbtiTypeCounts();
         }
         
-        return mbtiStats;
+        return new LinkedHashMap<>(counts.toMap());
     }
     
     /**
@@ -115,9 +92,9 @@ public class StatisticsService {
             }
             
             // UserStats에 데이터가 없다면 TestResult에서 직접 계산
-            List<Object[]> mbtiCounts = testResultRepository.countByMbtiType();
-            if (!mbtiCounts.isEmpty()) {
-                return (String) mbtiCounts.get(0)[0];
+            MbtiType mostCommon = MbtiTypeCounts.fromRows(testResultRepository.countByMbtiType()).mostCommon();
+            if (mostCommon != null) {
+                return mostCommon.name();
             }
         } catch (Exception e) {
             log.error("인기 MBTI 타입 조회 중 오류 발생", e);
@@ -154,11 +131,13 @@ public class StatisticsService {
     }
     
     /**
-     * 가장 인기있는 페이지들
+     * 가장 인기있는 페이지들 (일별 롤업 기준)
      */
     public List<String> getMostPopularPages() {
         try {
-            List<String> popularPages = viewLogRepository.getMostPopularPages();
+            List<String> popularPages = dailyViewStatRepository.sumViewsByPage().stream()
+                .map(row -> ((String) row[0]).toLowerCase())
+                .toList();
             return popularPages.isEmpty() ? Arrays.asList("test", "result", "stats") : 
                    popularPages.subList(0, Math.min(3, popularPages.size()));
         } catch (Exception e) {
@@ -174,13 +153,14 @@ public class StatisticsService {
         List<Map<String, Object>> dailyStats = new ArrayList<>();
         
         try {
-            LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-            List<Object[]> dailyCounts = testResultRepository.getDailyTestCounts(weekAgo);
+            // 오늘 포함 최근 7일, 테스트가 없는 날은 0
+            List<TimeBuckets.Range> days = timeBuckets.lastDays(7);
+            List<Long> dailyCounts = timeBuckets.countPerRange(TimeBuckets.Source.TEST_RESULTS, days);
             
-            for (Object[] row : dailyCounts) {
+            for (int i = 0; i < days.size(); i++) {
                 Map<String, Object> dayData = new HashMap<>();
-                dayData.put("date", row[0].toString());
-                dayData.put("count", ((Number) row[1]).intValue());
+                dayData.put("date", days.get(i).startDate().toString());
+                dayData.put("count", dailyCounts.get(i).intValue());
                 dailyStats.add(dayData);
             }
         } catch (Exception e) {
@@ -197,12 +177,12 @@ public class StatisticsService {
         List<Map<String, Object>> hourlyStats = new ArrayList<>();
         
         try {
-            LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
-            List<Object[]> hourlyCounts = viewLogRepository.getHourlyViewStats(startOfDay);
+            TimeBuckets.Range today = timeBuckets.todayRange();
+            List<Object[]> hourlyCounts = hourlyViewStatRepository.sumViewsByHour(today.start(), today.end());
             
             for (Object[] row : hourlyCounts) {
                 Map<String, Object> hourData = new HashMap<>();
-                hourData.put("hour", ((Number) row[0]).intValue());
+                hourData.put("hour", ((LocalDateTime) row[0]).getHour());
                 hourData.put("count", ((Number) row[1]).intValue());
                 hourlyStats.add(hourData);
             }
@@ -219,7 +199,7 @@ public class StatisticsService {
     @Transactional
     public void initializeTodayStats() {
         try {
-            LocalDate today = LocalDate.now();
+            LocalDate today = timeBuckets.today();
             Optional<UserStats> existingStats = userStatsRepository.findByStatDate(today);
             
             if (existingStats.isEmpty()) {
@@ -0,0 +1,12 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테스트 결과가 삭제됨 (TestResultService가 발행, 리스너는 커밋 후 실행)
+ * - createdAt: 결과 저장 시각 (오늘 저장된 결과면 오늘 테스트 수에서도 뺌)
+ */
+public record TestResultDeletedEvent(Long resultId, MbtiType mbtiType, LocalDateTime createdAt) {
+}
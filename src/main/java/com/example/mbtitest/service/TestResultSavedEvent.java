@@ -0,0 +1,11 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테스트 결과가 저장됨 (TestResultService가 발행, 리스너는 커밋 후 실행)
+ */
+public record TestResultSavedEvent(Long resultId, MbtiType mbtiType, LocalDateTime createdAt) {
+}
@@ -1,11 +1,18 @@
 package com.example.mbtitest.service;
 
+import com.example.mbtitest.entity.MbtiScores;
+import com.example.mbtitest.entity.MbtiType;
 import com.example.mbtitest.entity.TestResult;
+import com.example.mbtitest.repository.AnalysisStatusView;
 import com.example.mbtitest.repository.TestResultRepository;
+import com.example.mbtitest.repository.TestResultSummary;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,8 +30,11 @@ import java.util.*;
 @Transactional
 public class TestResultService {
     
+    private static final int MAX_FEED_SIZE = 100;
+    
     private final TestResultRepository testResultRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * 테스트 결과 저장
@@ -32,33 +42,70 @@ public class TestResultService {
     public TestResult saveTestResult(String userUuid, Map<String, Object> categoryScores, 
                                    List<Integer> answers, String aiAnalysis, 
                                    Integer testDuration, HttpServletRequest request) {
+        // 사용자 정보 추출
+        String userIp = ClientIdentity.resolveIp(request);
+        String userAgent = request.getHeader("User-Agent");
+        
+        return saveTestResult(userUuid, categoryScores, answers, aiAnalysis, testDuration, userIp, userAgent, null);
+    }
+    
+    /**
+     * 테스트 결과 저장 (요청 객체 없이 - 비동기 처리용)
+     * - analysisKey: AI 분석 캐시 키 (없으면 null)
+     */
+    public TestResult saveTestResult(String userUuid, Map<String, Object> categoryScores, 
+                                   List<Integer> answers, String aiAnalysis, 
+                                   Integer testDuration, String userIp, String userAgent,
+                                   String analysisKey) {
+        String analysisStatus = aiAnalysis != null ? TestResult.ANALYSIS_DONE : null;
+        return createTestResult(userUuid, categoryScores, answers, aiAnalysis, testDuration,
+            userIp, userAgent, analysisKey, analysisStatus);
+    }
+    
+    /**
+     * AI 분석 대기 상태로 테스트 결과 저장
+     * - 분석은 백그라운드에서 진행 후 updateTestResult로 채움
+     */
+    public TestResult savePendingTestResult(String userUuid, Map<String, Object> categoryScores, 
+                                          List<Integer> answers, Integer testDuration, 
+                                          String userIp, String userAgent, String analysisKey) {
+        return createTestResult(userUuid, categoryScores, answers, null, testDuration,
+            userIp, userAgent, analysisKey, TestResult.ANALYSIS_PENDING);
+    }
+    
+    /**
+     * AI 분석 보류 상태로 테스트 결과 저장 (AI 서비스 장애 시 빠른 응답용)
+     * - AI 서비스가 회복되면 다시 분석해 updateTestResult로 채움
+     */
+    public TestResult saveDeferredTestResult(String userUuid, Map<String, Object> categoryScores, 
+                                           List<Integer> answers, Integer testDuration, 
+                                           String userIp, String userAgent, String analysisKey) {
+        return createTestResult(userUuid, categoryScores, answers, null, testDuration,
+            userIp, userAgent, analysisKey, TestResult.ANALYSIS_DEFERRED);
+    }
+    
+    private TestResult createTestResult(String userUuid, Map<String, Object> categoryScores, 
+                                      List<Integer> answers, String aiAnalysis, 
+                                      Integer testDuration, String userIp, String userAgent,
+                                      String analysisKey, String analysisStatus) {
         try {
-            // 사용자 정보 추출
-            String userIp = getClientIpAddress(request);
-            String userAgent = request.getHeader("User-Agent");
-            
-            // MBTI 타입 계산
-            String mbtiType = calculateMbtiType(categoryScores);
-            
-            // JSON 데이터 변환
-            String categoryScoresJson = objectMapper.writeValueAsString(categoryScores);
-            String answerDataJson = objectMapper.writeValueAsString(answers);
-            String detailedScoresJson = objectMapper.writeValueAsString(generateDetailedScores(categoryScores));
+            // 점수는 숫자 컬럼으로 저장 (반올림), MBTI 타입은 반올림 전 점수에서 계산
+            MbtiScores scores = MbtiScores.from(categoryScores);
+            MbtiType mbtiType = MbtiScores.typeOf(categoryScores);
             
-            // MBTI 정보 설정
-            Map<String, String> mbtiInfo = getMbtiInfo(mbtiType);
             
             TestResult testResult = TestResult.builder()
                 .userUuid(userUuid)
                 .userIp(userIp)
                 .userAgent(userAgent)
-                .mbtiType(mbtiType.toUpperCase())
-                .mbtiDescription(mbtiInfo.get("description"))
-                .mbtiColor(mbtiInfo.get("color"))
-                .categoryScores(categoryScoresJson)
-                .detailedScores(detailedScoresJson)
-                .answerData(answerDataJson)
+                .mbtiType(mbtiType)
+                .mbtiDescription(mbtiType.description())
+                .mbtiColor(mbtiType.color())
+                .scores(scores)
+                .answerData(AnswerCodec.encode(answers))
                 .aiAnalysis(aiAnalysis)
+                .analysisKey(analysisKey)
+                .analysisStatus(analysisStatus)
                 .testDuration(testDuration)
                 .viewCount(0)
                 .sharedCount(0)
@@ -68,12 +115,11 @@ public class TestResultService {
             TestResult savedResult = testResultRepository.save(testResult);
             log.info("테스트 결과 저장 완료 - ID: {}, MBTI: {}, UUID: {}", 
                 savedResult.getResultId(), mbtiType, userUuid);
+            eventPublisher.publishEvent(new TestResultSavedEvent(
+                savedResult.getResultId(), mbtiType, savedResult.getCreatedAt()));
             
             return savedResult;
             
-        } catch (JsonProcessingException e) {
-            log.error("JSON 변환 중 오류 발생", e);
-            throw new RuntimeException("테스트 결과 저장 중 오류가 발생했습니다.", e);
         } catch (Exception e) {
             log.error("테스트 결과 저장 중 오류 발생", e);
             throw new RuntimeException("테스트 결과 저장 중 오류가 발생했습니다.", e);
@@ -88,6 +134,22 @@ public class TestResultService {
         return testResultRepository.findById(resultId);
     }
     
+    /**
+     * AI 분석 상태 조회 (CLOB 컬럼은 읽지 않음)
+     */
+    @Transactional(readOnly = true)
+    public Optional<AnalysisStatusView> getAnalysisStatus(Long resultId) {
+        return testResultRepository.findAnalysisStatusById(resultId);
+    }
+    
+    /**
+     * AI 분석 텍스트 조회
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getAiAnalysis(Long resultId) {
+        return testResultRepository.findAiAnalysisById(resultId);
+    }
+    
     /**
      * 최근 테스트 결과들 조회
      */
@@ -97,70 +159,91 @@ public class TestResultService {
     }
     
     /**
-     * 특정 MBTI 타입의 최근 결과들
+     * 특정 MBTI 타입의 최근 결과들 (AI 분석 미리보기 포함)
      */
     @Transactional(readOnly = true)
-    public List<TestResult> getRecentTestResultsByMbti(String mbtiType) {
-        return testResultRepository.findByMbtiTypeOrderByCreatedAtDesc(mbtiType.toUpperCase());
+    public List<TestResultSummary> getRecentTestResultsByMbti(MbtiType mbtiType, int limit) {
+        return testResultRepository.findPreviewsByMbtiType(mbtiType, PageRequest.of(0, limit));
     }
     
     /**
      * 사용자 테스트 이력 조회
      */
     @Transactional(readOnly = true)
-    public List<TestResult> getUserTestHistory(String userUuid) {
-        return testResultRepository.findByUserUuidOrderByCreatedAtDesc(userUuid);
+    public List<TestResultSummary> getUserTestHistory(String userUuid) {
+        return testResultRepository.findSummariesByUserUuid(userUuid);
     }
     
     /**
-     * 공개 결과 조회 (페이징)
+     * 공개 결과 피드 (최신순, 커서 기반)
      */
     @Transactional(readOnly = true)
-    public Page<TestResult> getPublicResults(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return testResultRepository.findByIsPublicFlag("Y", pageable);
+    public ResultFeed getPublicResults(String cursor, int size, boolean includeTotal) {
+        FeedCursor after = FeedCursor.decode(FeedCursor.Feed.PUBLIC, cursor);
+        int limit = feedSize(size);
+        List<TestResultSummary> rows = testResultRepository.findPublicFeed(
+            after.createdAt(), after.resultId(), Limit.of(limit + 1));
+        return toFeed(FeedCursor.Feed.PUBLIC, rows, limit, includeTotal);
     }
     
     /**
-     * 인기 결과 조회 (조회수 기준)
+     * 인기 결과 피드 (조회수 기준, 커서 기반)
      */
     @Transactional(readOnly = true)
-    public Page<TestResult> getPopularResults(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, 
-            Sort.by(Sort.Direction.DESC, "viewCount")
-                .and(Sort.by(Sort.Direction.DESC, "createdAt")));
-        return testResultRepository.findByIsPublicFlag("Y", pageable);
+    public ResultFeed getPopularResults(String cursor, int size, boolean includeTotal) {
+        FeedCursor after = FeedCursor.decode(FeedCursor.Feed.POPULAR, cursor);
+        int limit = feedSize(size);
+        List<TestResultSummary> rows = testResultRepository.findPopularFeed(
+            after.viewCount(), after.createdAt(), after.resultId(), Limit.of(limit + 1));
+        return toFeed(FeedCursor.Feed.POPULAR, rows, limit, includeTotal);
     }
     
     /**
      * 특정 MBTI 타입 결과 조회
      */
     @Transactional(readOnly = true)
-    public Page<TestResult> getMbtiResults(String mbtiType, int page, int size) {
+    public Page<TestResultSummary> getMbtiResults(MbtiType mbtiType, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return testResultRepository.findByMbtiTypeAndIsPublicFlag(mbtiType.toUpperCase(), "Y", pageable);
+        return testResultRepository.findSummariesByMbtiTypeAndIsPublicFlag(mbtiType, "Y", pageable);
     }
     
     /**
      * 댓글이 많은 결과 조회 (구현 예정)
      */
     @Transactional(readOnly = true)
-    public Page<TestResult> getMostCommentedResults(int page, int size) {
+    public Page<TestResultSummary> getMostCommentedResults(int page, int size) {
         // 현재는 최신순으로 정렬, 추후 댓글 수 기준으로 정렬 예정
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return testResultRepository.findByIsPublicFlag("Y", pageable);
+        return testResultRepository.findSummariesByIsPublicFlag("Y", pageable);
     }
     
     /**
-     * 바이럴 결과 조회 (공유수 기준)
+     * 바이럴 결과 피드 (공유수 기준, 커서 기반)
      */
     @Transactional(readOnly = true)
-    public Page<TestResult> getViralResults(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, 
-            Sort.by(Sort.Direction.DESC, "sharedCount")
-                .and(Sort.by(Sort.Direction.DESC, "viewCount"))
-                .and(Sort.by(Sort.Direction.DESC, "createdAt")));
-        return testResultRepository.findByIsPublicFlag("Y", pageable);
+    public ResultFeed getViralResults(String cursor, int size, boolean includeTotal) {
+        FeedCursor after = FeedCursor.decode(FeedCursor.Feed.VIRAL, cursor);
+        int limit = feedSize(size);
+        List<TestResultSummary> rows = testResultRepository.findViralFeed(
+            after.sharedCount(), after.viewCount(), after.createdAt(), after.resultId(), Limit.of(limit + 1));
+        return toFeed(FeedCursor.Feed.VIRAL, rows, limit, includeTotal);
+    }
+    
+    /**
+     * 한 건 더 조회한 결과로 다음 페이지 여부 판단 (COUNT 쿼리 없이)
+     */
+    private ResultFeed toFeed(FeedCursor.Feed feed, List<TestResultSummary> rows, int size, boolean includeTotal) {
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = FeedCursor.after(feed, rows.get(size - 1)).encode();
+        }
+        Long totalCount = includeTotal ? testResultRepository.countPublic() : null;
+        return new ResultFeed(rows, nextCursor, totalCount);
+    }
+    
+    private int feedSize(int size) {
+        return Math.max(1, Math.min(size, MAX_FEED_SIZE));
     }
     
     /**
@@ -184,10 +267,10 @@ public class TestResultService {
     public Map<String, Object> getMbtiRecommendations(String mbtiType) {
         Map<String, Object> recommendations = new HashMap<>();
         
-        // 기본 MBTI 정보
-        Map<String, String> mbtiInfo = getMbtiInfo(mbtiType);
-        recommendations.put("description", mbtiInfo.get("description"));
-        recommendations.put("color", mbtiInfo.get("color"));
+        // 기본 MBTI 정보 (알 수 없는 타입이면 기본 설명)
+        MbtiType type = MbtiType.parse(mbtiType);
+        recommendations.put("description", type != null ? type.description() : "독특한 성격을 가진 사람");
+        recommendations.put("color", type != null ? type.color() : "#74B9FF");
         
         // 강점과 약점
         recommendations.put("strengths", getStrengths(mbtiType));
@@ -206,193 +289,68 @@ public class TestResultService {
     }
     
     /**
-     * 조회수 증가
+     * 지표별 점수 조회
+     * - 숫자 컬럼이 비어 있는 예전 결과는 CATEGORY_SCORES JSON에서 읽음 (없으면 null)
      */
-    public void incrementViewCount(Long resultId) {
-        Optional<TestResult> optionalResult = testResultRepository.findById(resultId);
-        if (optionalResult.isPresent()) {
-            TestResult result = optionalResult.get();
-            result.setViewCount(result.getViewCount() + 1);
-            testResultRepository.save(result);
+    @Transactional(readOnly = true)
+    public MbtiScores resolveScores(TestResult testResult) {
+        if (testResult.getScores() != null) {
+            return testResult.getScores();
+        }
+        
+        String categoryScoresJson = testResult.getCategoryScores();
+        if (categoryScoresJson == null || categoryScoresJson.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return MbtiScores.from(objectMapper.readValue(categoryScoresJson, new TypeReference<Map<String, Object>>() {}));
+        } catch (JsonProcessingException e) {
+            log.error("카테고리 점수 파싱 중 오류 발생: {}", categoryScoresJson, e);
+            return null;
         }
     }
     
     /**
-     * 공유수 증가
+     * 카테고리 점수 (E, I, S, N, T, F, J, P 순서)
      */
-    public void incrementSharedCount(Long resultId) {
-        Optional<TestResult> optionalResult = testResultRepository.findById(resultId);
-        if (optionalResult.isPresent()) {
-            TestResult result = optionalResult.get();
-            result.setSharedCount(result.getSharedCount() + 1);
-            testResultRepository.save(result);
-        }
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getCategoryScores(TestResult testResult) {
+        MbtiScores scores = resolveScores(testResult);
+        return scores != null ? scores.toMap() : new LinkedHashMap<>();
     }
     
     /**
-     * 카테고리 점수 파싱
+     * 지표별 상세 점수 (저장하지 않고 점수에서 계산)
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> parseCategoryScores(String categoryScoresJson) {
-        try {
-            if (categoryScoresJson == null || categoryScoresJson.trim().isEmpty()) {
-                return new HashMap<>();
-            }
-            return objectMapper.readValue(categoryScoresJson, Map.class);
-        } catch (JsonProcessingException e) {
-            log.error("카테고리 점수 파싱 중 오류 발생: {}", categoryScoresJson, e);
-            return new HashMap<>();
+    public Map<String, Object> getDetailedScores(TestResult testResult) {
+        MbtiScores scores = resolveScores(testResult);
+        if (scores == null) {
+            return null;
         }
+        return testResult.getMbtiType() != null ? scores.toDetailedScores(testResult.getMbtiType()) : scores.toDetailedScores();
     }
     
     /**
-     * 답변 데이터 파싱
+     * 답변 데이터 파싱 ([{questionId, answer}, ...])
+     * - 압축 형식이 아니면 예전 JSON 형식으로 읽음
      */
     @Transactional(readOnly = true)
-    public List<Integer> parseAnswerData(String answerDataJson) {
+    public List<?> parseAnswerData(String answerData) {
         try {
-            if (answerDataJson == null || answerDataJson.trim().isEmpty()) {
+            if (answerData == null || answerData.trim().isEmpty()) {
                 return new ArrayList<>();
             }
-            return objectMapper.readValue(answerDataJson, List.class);
-        } catch (JsonProcessingException e) {
-            log.error("답변 데이터 파싱 중 오류 발생: {}", answerDataJson, e);
+            if (AnswerCodec.isCompact(answerData)) {
+                return AnswerCodec.decode(answerData);
+            }
+            return objectMapper.readValue(answerData, List.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.error("답변 데이터 파싱 중 오류 발생: {}", answerData, e);
             return new ArrayList<>();
         }
     }
     
-    /**
-     * MBTI 타입 계산
-     */
-    private String calculateMbtiType(Map<String, Object> categoryScores) {
-        StringBuilder mbti = new StringBuilder();
-        
-        // E vs I (외향 vs 내향)
-        double eScore = ((Number) categoryScores.getOrDefault("E", 0)).doubleValue();
-        double iScore = ((Number) categoryScores.getOrDefault("I", 0)).doubleValue();
-        mbti.append(eScore > iScore ? "E" : "I");
-        
-        // S vs N (감각 vs 직관)
-        double sScore = ((Number) categoryScores.getOrDefault("S", 0)).doubleValue();
-        double nScore = ((Number) categoryScores.getOrDefault("N", 0)).doubleValue();
-        mbti.append(sScore > nScore ? "S" : "N");
-        
-        // T vs F (사고 vs 감정)
-        double tScore = ((Number) categoryScores.getOrDefault("T", 0)).doubleValue();
-        double fScore = ((Number) categoryScores.getOrDefault("F", 0)).doubleValue();
-        mbti.append(tScore > fScore ? "T" : "F");
-        
-        // J vs P (판단 vs 인식)
-        double jScore = ((Number) categoryScores.getOrDefault("J", 0)).doubleValue();
-        double pScore = ((Number) categoryScores.getOrDefault("P", 0)).doubleValue();
-        mbti.append(jScore > pScore ? "J" : "P");
-        
-        return mbti.toString();
-    }
-    
-    /**
-     * 상세 점수 생성
-     */
-    private Map<String, Object> generateDetailedScores(Map<String, Object> categoryScores) {
-        Map<String, Object> detailed = new HashMap<>();
-        
-        double eScore = ((Number) categoryScores.getOrDefault("E", 0)).doubleValue();
-        double iScore = ((Number) categoryScores.getOrDefault("I", 0)).doubleValue();
-        double sScore = ((Number) categoryScores.getOrDefault("S", 0)).doubleValue();
-        double nScore = ((Number) categoryScores.getOrDefault("N", 0)).doubleValue();
-        double tScore = ((Number) categoryScores.getOrDefault("T", 0)).doubleValue();
-        double fScore = ((Number) categoryScores.getOrDefault("F", 0)).doubleValue();
-        double jScore = ((Number) categoryScores.getOrDefault("J", 0)).doubleValue();
-        double pScore = ((Number) categoryScores.getOrDefault("P", 0)).doubleValue();
-        
-        detailed.put("EI", Map.of("E", eScore, "I", iScore, "tendency", eScore > iScore ? "E" : "I"));
-        detailed.put("SN", Map.of("S", sScore, "N", nScore, "tendency", sScore > nScore ? "S" : "N"));
-        detailed.put("TF", Map.of("T", tScore, "F", fScore, "tendency", tScore > fScore ? "T" : "F"));
-        detailed.put("JP", Map.of("J", jScore, "P", pScore, "tendency", jScore > pScore ? "J" : "P"));
-        
-        return detailed;
-    }
-    
-    /**
-     * MBTI 기본 정보 조회
-     */
-    private Map<String, String> getMbtiInfo(String mbtiType) {
-        Map<String, String> info = new HashMap<>();
-        
-        // MBTI 타입별 설명과 색상 (간단한 예시)
-        switch (mbtiType.toUpperCase()) {
-            case "INTJ":
-                info.put("description", "건축가 - 상상력이 풍부하고 전략적인 사고를 하는 사람");
-                info.put("color", "#6C63FF");
-                break;
-            case "INTP":
-                info.put("description", "논리술사 - 지식에 대한 갈증이 있는 혁신적인 발명가");
-                info.put("color", "#9C88FF");
-                break;
-            case "ENTJ":
-                info.put("description", "통솔자 - 대담하고 상상력이 풍부한 의지가 강한 지도자");
-                info.put("color", "#FF6B6B");
-                break;
-            case "ENTP":
-                info.put("description", "변론가 - 영리하고 호기심이 많은 사색가");
-                info.put("color", "#4ECDC4");
-                break;
-            case "INFJ":
-                info.put("description", "옹호자 - 선의의 옹호자이며 창의적이고 통찰력이 있는 사람");
-                info.put("color", "#45B7D1");
-                break;
-            case "INFP":
-                info.put("description", "중재자 - 충성스럽고 선의의 이상주의자");
-                info.put("color", "#96CEB4");
-                break;
-            case "ENFJ":
-                info.put("description", "주인공 - 카리스마 있고 영감을 주는 지도자");
-                info.put("color", "#FFEAA7");
-                break;
-            case "ENFP":
-                info.put("description", "활동가 - 열정적이고 창의적인 사회자");
-                info.put("color", "#FD79A8");
-                break;
-            case "ISTJ":
-                info.put("description", "물류사 - 사실과 믿을 만한 실용주의자");
-                info.put("color", "#636E72");
-                break;
-            case "ISFJ":
-                info.put("description", "수호자 - 헌신적이고 따뜻한 보호자");
-                info.put("color", "#A29BFE");
-                break;
-            case "ESTJ":
-                info.put("description", "경영자 - 우수한 관리자이자 전통과 질서의 수호자");
-                info.put("color", "#E17055");
-                break;
-            case "ESFJ":
-                info.put("description", "집정관 - 도움이 되고 인기가 많으며 배려심이 깊은 사람");
-                info.put("color", "#FDCB6E");
-                break;
-            case "ISTP":
-                info.put("description", "만능재주꾼 - 대담하면서도 현실적인 실험정신이 풍부한 사람");
-                info.put("color", "#00B894");
-                break;
-            case "ISFP":
-                info.put("description", "모험가 - 유연하고 매력적인 예술가");
-                info.put("color", "#E84393");
-                break;
-            case "ESTP":
-                info.put("description", "사업가 - 영리하고 활동적이며 인식이 뛰어난 사람");
-                info.put("color", "#00CEC9");
-                break;
-            case "ESFP":
-                info.put("description", "연예인 - 자발적이고 열정적이며 사교적인 사람");
-                info.put("color", "#FF7675");
-                break;
-            default:
-                info.put("description", "독특한 성격을 가진 사람");
-                info.put("color", "#74B9FF");
-        }
-        
-        return info;
-    }
-    
     /**
      * 강점 조회
      */
@@ -437,16 +395,7 @@ public class TestResultService {
      */
     @Transactional(readOnly = true)
     public Map<String, Long> getMbtiTypeStatistics() {
-        Map<String, Long> stats = new HashMap<>();
-        List<Object[]> results = testResultRepository.countByMbtiType();
-        
-        for (Object[] result : results) {
-            String mbtiType = (String) result[0];
-            Long count = ((Number) result[1]).longValue();
-            stats.put(mbtiType, count);
-        }
-        
-        return stats;
+        return MbtiTypeCounts.fromRows(testResultRepository.countByMbtiType()).toMap();
     }
     
     /**
@@ -457,39 +406,6 @@ public class TestResultService {
         return testResultRepository.findByCreatedAtBetween(startDate, endDate);
     }
     
-    /**
-     * 클라이언트 IP 주소 추출
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String[] headerNames = {
-            "X-Forwarded-For",
-            "X-Real-IP",
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR",
-            "HTTP_X_FORWARDED",
-            "HTTP_X_CLUSTER_CLIENT_IP",
-            "HTTP_CLIENT_IP",
-            "HTTP_FORWARDED_FOR",
-            "HTTP_FORWARDED",
-            "HTTP_VIA",
-            "REMOTE_ADDR"
-        };
-        
-        for (String headerName : headerNames) {
-            String ipAddress = request.getHeader(headerName);
-            if (ipAddress != null && !ipAddress.isEmpty() && !"unknown".equalsIgnoreCase(ipAddress)) {
-                // X-Forwarded-For 헤더는 여러 IP를 포함할 수 있으므로 첫 번째 IP만 사용
-                if (ipAddress.contains(",")) {
-                    ipAddress = ipAddress.substring(0, ipAddress.indexOf(","));
-                }
-                return ipAddress.trim();
-            }
-        }
-        
-        return request.getRemoteAddr();
-    }
-    
     /**
      * 테스트 결과 업데이트 (AI 분석 추가 등)
      */
@@ -498,20 +414,66 @@ public class TestResultService {
         if (optionalResult.isPresent()) {
             TestResult testResult = optionalResult.get();
             testResult.setAiAnalysis(aiAnalysis);
+            testResult.setAnalysisStatus(TestResult.ANALYSIS_DONE);
             return testResultRepository.save(testResult);
         }
         throw new RuntimeException("테스트 결과를 찾을 수 없습니다. ID: " + resultId);
     }
     
     /**
-     * 테스트 결과 삭제 (관리자용)
+     * 기본 분석 저장 (분석이 이미 완료된 결과는 그대로 둠)
+     * - 상태는 바꾸지 않으므로 맞춤 분석이 도착하면 updateTestResult로 교체됨
+     */
+    public boolean saveFallbackAnalysis(Long resultId, String fallbackAnalysis) {
+        return testResultRepository.updateAiAnalysisIfNotDone(resultId, fallbackAnalysis) > 0;
+    }
+    
+    /**
+     * AI 분석 실패 표시
+     */
+    public void markAnalysisFailed(Long resultId) {
+        updateAnalysisStatus(resultId, TestResult.ANALYSIS_FAILED);
+    }
+    
+    /**
+     * AI 분석 상태 변경 (결과 행을 읽지 않고 상태 컬럼만 UPDATE)
+     */
+    public void updateAnalysisStatus(Long resultId, String analysisStatus) {
+        testResultRepository.updateAnalysisStatus(resultId, analysisStatus, LocalDateTime.now());
+    }
+    
+    /**
+     * 다시 분석할 결과 조회 (DEFERRED + staleBefore 이전부터 PENDING인 결과, 오래된 순)
+     */
+    @Transactional(readOnly = true)
+    public List<TestResult> findAnalysisRetryCandidates(LocalDateTime staleBefore, int limit) {
+        return testResultRepository.findAnalysisRetryCandidates(staleBefore, Limit.of(limit));
+    }
+
+    /**
+     * 재분석 선점 (다른 인스턴스가 먼저 가져갔거나 이미 분석된 경우 false)
+     */
+    public boolean claimAnalysisRetry(Long resultId, LocalDateTime staleBefore) {
+        return testResultRepository.claimAnalysisRetry(resultId, staleBefore, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * 분석 상태별 결과 수
+     */
+    @Transactional(readOnly = true)
+    public long countByAnalysisStatus(String analysisStatus) {
+        return testResultRepository.countByAnalysisStatus(analysisStatus);
+    }
+
+    /**
+     * 테스트 결과 삭제 (관리자용, 중복 저장된 분석 대기 결과 정리)
      */
     public void deleteTestResult(Long resultId) {
-        if (testResultRepository.existsById(resultId)) {
-            testResultRepository.deleteById(resultId);
-            log.info("테스트 결과 삭제 완료 - ID: {}", resultId);
-        } else {
-            throw new RuntimeException("테스트 결과를 찾을 수 없습니다. ID: " + resultId);
-        }
+        TestResult testResult = testResultRepository.findById(resultId)
+            .orElseThrow(() -> new RuntimeException("테스트 결과를 찾을 수 없습니다. ID: " + resultId));
+        testResultRepository.delete(testResult);
+        log.info("테스트 결과 삭제 완료 - ID: {}", resultId);
+        eventPublisher.publishEvent(new TestResultDeletedEvent(
+            resultId, testResult.getMbtiType(), testResult.getCreatedAt()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.mbtitest.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시간 구간별 건수 조회 (오늘 / 최근 N일)
+ * - 구간 경계를 서버 시간대(JVM 기본 시간대, CREATED_AT을 채우는 LocalDateTime.now()와 같음) 기준으로
+ *   자바에서 계산해 CREATED_AT >= ? AND CREATED_AT < ? 반열린 구간으로 조회
+ *   (컬럼을 TO_CHAR 등으로 감싸지 않으므로 CREATED_AT 인덱스 범위 스캔, Oracle / H2 같은 SQL)
+ * - 여러 구간은 전체 범위를 한 번 읽으면서 CASE로 구간별 건수를 셈
+ */
+@Component
+public class TimeBuckets {
+
+    /**
+     * 집계 대상 테이블 (CREATED_AT 인덱스: IDX_TEST_RESULTS_DATE, IDX_SHARE_LOGS_CREATED_AT, IDX_COMMENTS_CREATED_AT)
+     */
+    public enum Source {
+        TEST_RESULTS("TEST_RESULTS", ""),
+        SHARE_LOGS("SHARE_LOGS", ""),
+        ACTIVE_COMMENTS("COMMENTS", " AND IS_DELETED = 'N'");
+
+        private final String table;
+        private final String condition;
+
+        Source(String table, String condition) {
+            this.table = table;
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * 반열린 구간 [start, end)
+     */
+    public record Range(LocalDateTime start, LocalDateTime end) {
+
+        public static Range day(LocalDate date) {
+            return new Range(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        }
+
+        public LocalDate startDate() {
+            return start.toLocalDate();
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public TimeBuckets(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, Clock.systemDefaultZone());
+    }
+
+    public TimeBuckets(JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public Range todayRange() {
+        return Range.day(today());
+    }
+
+    /**
+     * 오늘을 포함한 최근 days일 (오래된 날부터)
+     */
+    public List<Range> lastDays(int days) {
+        LocalDate today = today();
+        List<Range> ranges = new ArrayList<>(days);
+        for (int i = days - 1; i >= 0; i--) {
+            ranges.add(Range.day(today.minusDays(i)));
+        }
+        return ranges;
+    }
+
+    public long countToday(Source source) {
+        return count(source, todayRange());
+    }
+
+    public long count(Source source, Range range) {
+        return countPerRange(source, List.of(range)).get(0);
+    }
+
+    /**
+     * 구간별 건수 (ranges 순서대로, 구간은 겹치지 않고 시간순이어야 함)
+     */
+    public List<Long> countPerRange(Source source, List<Range> ranges) {
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> params = new ArrayList<>(ranges.size() * 2 + 2);
+        for (Range range : ranges) {
+            params.add(Timestamp.valueOf(range.start()));
+            params.add(Timestamp.valueOf(range.end()));
+        }
+        params.add(Timestamp.valueOf(ranges.get(0).start()));
+        params.add(Timestamp.valueOf(ranges.get(ranges.size() - 1).end()));
+
+        return jdbcTemplate.queryForObject(countSql(source, ranges.size()), (rs, rowNum) -> {
+            List<Long> counts = new ArrayList<>(ranges.size());
+            for (int i = 1; i <= ranges.size(); i++) {
+                counts.add(rs.getLong(i));
+            }
+            return counts;
+        }, params.toArray());
+    }
+
+    /**
+     * 구간 ranges개의 건수를 한 번에 세는 SQL (파라미터: 구간별 시작 / 끝, 전체 시작 / 끝)
+     */
+    public static String countSql(Source source, int ranges) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < ranges; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("COUNT(CASE WHEN CREATED_AT >= ? AND CREATED_AT < ? THEN 1 END)");
+        }
+        return sql.append(" FROM ").append(source.table)
+            .append(" WHERE CREATED_AT >= ? AND CREATED_AT < ?").append(source.condition)
+            .toString();
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.ViewLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 유입 경로(Referer 호스트) / 페이지 상위 K개 실시간 집계
+ * - 방문 로그 저장 이벤트로 Space-Saving 요약을 갱신하므로 조회 시 방문 로그를 읽지 않음
+ * - 방문 시각 기준 10분 구간 7개(최근 1시간), 1시간 구간 169개(최근 1일 / 7일), 전체 기간 요약을 유지
+ *   (창 경계는 구간 단위라 최근 1시간은 최대 10분, 1일 / 7일은 최대 1시간 더 포함될 수 있음)
+ * - 주기적으로(그리고 종료 시) 체크포인트 파일에 저장하고 시작할 때 읽음
+ *   (비정상 종료 시 마지막 체크포인트 이후 방문은 빠짐, 인스턴스마다 따로 집계)
+ */
+@Component
+@Slf4j
+public final class TrafficHeavyHitters {
+
+    private static final long TEN_MINUTES = Duration.ofMinutes(10).toMillis();
+    private static final long ONE_HOUR = Duration.ofHours(1).toMillis();
+    private static final int MINUTE_SLICES = 7;
+    private static final int HOUR_SLICES = 7 * 24 + 1;
+    private static final int MAX_ITEM_LENGTH = 100;
+
+    public enum Window {
+        HOUR, DAY, WEEK, ALL
+    }
+
+    private final int capacity;
+    private final Path checkpointFile;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private final Slice[] minuteSlices = new Slice[MINUTE_SLICES];
+    private final Slice[] hourSlices = new Slice[HOUR_SLICES];
+    private Slice allTime;
+
+    @Autowired
+    public TrafficHeavyHitters(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${traffic.heavy-hitters.capacity:100}") int capacity,
+                               @Value("${traffic.heavy-hitters.checkpoint-file:data/traffic-heavy-hitters.json}") Path checkpointFile) {
+        this(objectMapper, meterRegistry, capacity, checkpointFile, Clock.systemDefaultZone());
+    }
+
+    TrafficHeavyHitters(ObjectMapper objectMapper, MeterRegistry meterRegistry, int capacity,
+                        Path checkpointFile, Clock clock) {
+        this.capacity = capacity;
+        this.checkpointFile = checkpointFile;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.allTime = new Slice(0, capacity);
+        restore();
+
+        meterRegistry.gauge("traffic.heavy-hitters.views", this, hitters -> hitters.views(Window.ALL));
+    }
+
+    @EventListener
+    public void onViewLogsIngested(ViewLogsIngestedEvent event) {
+        record(event.viewLogs());
+    }
+
+    public synchronized void record(List<ViewLog> viewLogs) {
+        for (ViewLog viewLog : viewLogs) {
+            long time = viewLog.getCreatedAt() != null
+                ? viewLog.getCreatedAt().atZone(clock.getZone()).toInstant().toEpochMilli()
+                : clock.millis();
+            String referrer = referrerHost(viewLog.getReferrer());
+            String page = pageKey(viewLog);
+
+            add(slice(minuteSlices, time, TEN_MINUTES), referrer, page);
+            add(slice(hourSlices, time, ONE_HOUR), referrer, page);
+            add(allTime, referrer, page);
+        }
+    }
+
+    /**
+     * 유입 경로(Referer 호스트) 상위 limit개
+     */
+    public synchronized List<SpaceSaving.Entry> topReferrers(Window window, int limit) {
+        return merged(window).referrers.top(limit);
+    }
+
+    /**
+     * 페이지 상위 limit개 (MAIN, RESULT/ENFP 등)
+     */
+    public synchronized List<SpaceSaving.Entry> topPages(Window window, int limit) {
+        return merged(window).pages.top(limit);
+    }
+
+    /**
+     * 방문 수 / Referer가 있는 방문 수
+     */
+    public synchronized long views(Window window) {
+        return merged(window).pages.total();
+    }
+
+    public synchronized long referredViews(Window window) {
+        return merged(window).referrers.total();
+    }
+
+    /**
+     * 체크포인트 저장 (임시 파일에 쓴 뒤 교체)
+     */
+    @Scheduled(fixedDelayString = "${traffic.heavy-hitters.checkpoint-interval:1m}")
+    public void checkpoint() {
+        Checkpoint checkpoint;
+        synchronized (this) {
+            checkpoint = new Checkpoint(snapshots(minuteSlices), snapshots(hourSlices), allTime.snapshot());
+        }
+        try {
+            Path directory = checkpointFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, checkpointFile.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), checkpoint);
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("유입 경로 / 페이지 상위 집계 체크포인트 저장 중 오류 발생 - {}", checkpointFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private void restore() {
+        if (!Files.exists(checkpointFile)) {
+            return;
+        }
+        try {
+            Checkpoint checkpoint = objectMapper.readValue(checkpointFile.toFile(), Checkpoint.class);
+            restoreSlices(minuteSlices, checkpoint.minuteSlices());
+            restoreSlices(hourSlices, checkpoint.hourSlices());
+            if (checkpoint.allTime() != null) {
+                allTime = Slice.restore(checkpoint.allTime(), capacity);
+            }
+            log.info("유입 경로 / 페이지 상위 집계 체크포인트 읽기 - 전체 방문 {}건", allTime.pages.total());
+        } catch (IOException | RuntimeException e) {
+            log.warn("유입 경로 / 페이지 상위 집계 체크포인트를 읽을 수 없어 새로 시작 - {}: {}", checkpointFile, e.getMessage());
+        }
+    }
+
+    private void restoreSlices(Slice[] slices, List<SliceSnapshot> snapshots) {
+        if (snapshots == null) {
+            return;
+        }
+        for (SliceSnapshot snapshot : snapshots) {
+            long length = slices == minuteSlices ? TEN_MINUTES : ONE_HOUR;
+            slices[(int) Math.floorMod(snapshot.start() / length, (long) slices.length)] = Slice.restore(snapshot, capacity);
+        }
+    }
+
+    private Slice merged(Window window) {
+        if (window == Window.ALL) {
+            return allTime;
+        }
+
+        long now = clock.millis();
+        Slice[] slices = window == Window.HOUR ? minuteSlices : hourSlices;
+        long length = window == Window.HOUR ? TEN_MINUTES : ONE_HOUR;
+        long span = switch (window) {
+            case HOUR -> ONE_HOUR;
+            case DAY -> Duration.ofDays(1).toMillis();
+            default -> Duration.ofDays(7).toMillis();
+        };
+        // 현재 구간 + 창 길이만큼의 이전 구간
+        long oldest = now - now % length - span;
+
+        Slice merged = new Slice(0, capacity);
+        for (Slice slice : slices) {
+            if (slice != null && slice.start >= oldest) {
+                merged.referrers.merge(slice.referrers);
+                merged.pages.merge(slice.pages);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 방문 시각이 속한 구간 (구간 배열보다 오래된 방문이면 null)
+     */
+    private Slice slice(Slice[] slices, long time, long length) {
+        long start = time - time % length;
+        int index = (int) Math.floorMod(start / length, (long) slices.length);
+        Slice slice = slices[index];
+        if (slice != null && slice.start > start) {
+            return null;
+        }
+        if (slice == null || slice.start != start) {
+            // 한 바퀴 돌아온 오래된 구간은 비우고 다시 사용
+            slice = new Slice(start, capacity);
+            slices[index] = slice;
+        }
+        return slice;
+    }
+
+    private static void add(Slice slice, String referrer, String page) {
+        if (slice == null) {
+            return;
+        }
+        slice.pages.add(page);
+        if (referrer != null) {
+            slice.referrers.add(referrer);
+        }
+    }
+
+    private static List<SliceSnapshot> snapshots(Slice[] slices) {
+        List<SliceSnapshot> snapshots = new ArrayList<>();
+        for (Slice slice : slices) {
+            if (slice != null) {
+                snapshots.add(slice.snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Referer URL의 호스트 (www. 제외, 없거나 읽을 수 없으면 null)
+     */
+    static String referrerHost(String referrer) {
+        if (referrer == null || referrer.isBlank()) {
+            return null;
+        }
+        String host = null;
+        try {
+            host = URI.create(referrer.trim()).getHost();
+        } catch (IllegalArgumentException e) {
+            // 잘못된 URL은 앞부분을 그대로 사용
+        }
+        String item = (host != null ? host : referrer.trim()).toLowerCase(Locale.ROOT);
+        if (item.startsWith("www.")) {
+            item = item.substring(4);
+        }
+        return item.length() > MAX_ITEM_LENGTH ? item.substring(0, MAX_ITEM_LENGTH) : item;
+    }
+
+    /**
+     * 페이지 키 (페이지 이름, MBTI 타입이 있으면 RESULT/ENFP 형식)
+     */
+    static String pageKey(ViewLog viewLog) {
+        String page = viewLog.getPageName() != null ? viewLog.getPageName() : ViewLog.Page.OTHER;
+        return viewLog.getMbtiType() != null ? page + "/" + viewLog.getMbtiType() : page;
+    }
+
+    private static final class Slice {
+        private final long start;
+        private final SpaceSaving referrers;
+        private final SpaceSaving pages;
+
+        private Slice(long start, int capacity) {
+            this(start, new SpaceSaving(capacity), new SpaceSaving(capacity));
+        }
+
+        private Slice(long start, SpaceSaving referrers, SpaceSaving pages) {
+            this.start = start;
+            this.referrers = referrers;
+            this.pages = pages;
+        }
+
+        private SliceSnapshot snapshot() {
+            return new SliceSnapshot(start, referrers.snapshot(), pages.snapshot());
+        }
+
+        private static Slice restore(SliceSnapshot snapshot, int capacity) {
+            return new Slice(snapshot.start(),
+                SpaceSaving.restore(capacity, snapshot.referrers()),
+                SpaceSaving.restore(capacity, snapshot.pages()));
+        }
+    }
+
+    record SliceSnapshot(long start, SpaceSaving.Snapshot referrers, SpaceSaving.Snapshot pages) {
+    }
+
+    record Checkpoint(List<SliceSnapshot> minuteSlices, List<SliceSnapshot> hourSlices, SliceSnapshot allTime) {
+    }
+}
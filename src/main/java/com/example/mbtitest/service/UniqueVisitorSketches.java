@@ -0,0 +1,353 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.entity.StatisticsCache;
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.repository.StatisticsCacheRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 유니크 방문자 수 (IP 기준) HyperLogLog 스케치
+ * - 일별 / 시간별 / 일별 MBTI 타입별 스케치를 방문 로그 저장 이벤트로 갱신
+ * - STATISTICS_CACHE에 한 행씩 저장 (STAT_DATA: 압축 후 Base64, STAT_VALUE: 추정값)
+ * - 조회는 필요한 구간의 스케치를 합쳐 추정하므로 기간을 자유롭게 지정할 수 있고 방문 로그를 읽지 않음
+ * - 오차: 표준 오차 1.04 / √(2^precision) (기본 precision 12 → 약 ±1.6%, 95% 구간 약 ±3.3%)
+ * - 새 방문은 메모리 스케치에 모았다가 주기적으로 DB 스케치와 합쳐 저장 (합치기는 중복에 안전하므로 재시도해도 됨)
+ */
+@Component
+@Slf4j
+public class UniqueVisitorSketches {
+
+    private static final DateTimeFormatter HOUR_KEY = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+
+    private final StatisticsCacheRepository statisticsCacheRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int precision;
+    private final int backfillDays;
+
+    // DB에 저장된 스케치 (없는 키는 빈 스케치)
+    private final LoadingCache<SketchKey, HyperLogLog> persisted;
+    // 아직 저장하지 않은 방문
+    private final ConcurrentHashMap<SketchKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public UniqueVisitorSketches(StatisticsCacheRepository statisticsCacheRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${visitor.sketch.precision:12}") int precision,
+                                 @Value("${visitor.sketch.cache-max-entries:2000}") long cacheMaxEntries,
+                                 @Value("${visitor.sketch.cache-ttl:5m}") Duration cacheTtl,
+                                 @Value("${visitor.sketch.backfill-days:0}") int backfillDays) {
+        this.statisticsCacheRepository = statisticsCacheRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.precision = new HyperLogLog(precision).precision();
+        this.backfillDays = backfillDays;
+        // 다른 인스턴스가 저장한 방문도 반영되도록 일정 시간 뒤 다시 읽음
+        this.persisted = Caffeine.newBuilder()
+            .maximumSize(cacheMaxEntries)
+            .expireAfterWrite(cacheTtl)
+            .recordStats()
+            .build(new CacheLoader<>() {
+                @Override
+                public HyperLogLog load(SketchKey key) {
+                    return loadAll(Set.of(key)).get(key);
+                }
+
+                @Override
+                public Map<SketchKey, HyperLogLog> loadAll(Set<? extends SketchKey> keys) {
+                    return loadSketches(keys);
+                }
+            });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, persisted, "visitorSketches");
+        Gauge.builder("visitor.sketches.pending", pending, Map::size)
+            .description("저장 대기 중인 유니크 방문자 스케치 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 저장된 방문 로그를 스케치에 추가
+     */
+    @EventListener
+    public void onViewLogsIngested(ViewLogsIngestedEvent event) {
+        record(event.viewLogs());
+    }
+
+    public void record(List<ViewLog> viewLogs) {
+        for (ViewLog viewLog : viewLogs) {
+            if (viewLog.getUserIp() == null || viewLog.getCreatedAt() == null) {
+                continue;
+            }
+            record(viewLog.getUserIp(), viewLog.getMbtiType(), viewLog.getCreatedAt());
+        }
+    }
+
+    /**
+     * 기간 [from, toExclusive)의 유니크 방문자 수
+     */
+    public long uniqueVisitors(LocalDate from, LocalDate toExclusive) {
+        return estimate(from.datesUntil(toExclusive).map(UniqueVisitorSketches::daily).toList());
+    }
+
+    /**
+     * 날짜별 유니크 방문자 수 [from, toExclusive)
+     */
+    public Map<LocalDate, Long> dailyUniqueVisitors(LocalDate from, LocalDate toExclusive) {
+        List<LocalDate> dates = from.datesUntil(toExclusive).toList();
+        persisted.getAll(dates.stream().map(UniqueVisitorSketches::daily).toList());
+
+        Map<LocalDate, Long> result = new LinkedHashMap<>();
+        for (LocalDate date : dates) {
+            result.put(date, estimate(List.of(daily(date))));
+        }
+        return result;
+    }
+
+    /**
+     * 그날의 시간별 유니크 방문자 수 (시 → 방문자 수, 방문이 없는 시간은 제외)
+     */
+    public Map<Integer, Long> hourlyUniqueVisitors(LocalDate date) {
+        List<SketchKey> keys = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            keys.add(hourly(date.atTime(hour, 0)));
+        }
+        persisted.getAll(keys);
+
+        Map<Integer, Long> result = new LinkedHashMap<>();
+        for (int hour = 0; hour < 24; hour++) {
+            long visitors = estimate(List.of(keys.get(hour)));
+            if (visitors > 0) {
+                result.put(hour, visitors);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 기간 [from, toExclusive)의 MBTI 타입별 유니크 방문자 수 (방문이 없는 타입은 제외)
+     */
+    public Map<String, Long> uniqueVisitorsByMbtiType(LocalDate from, LocalDate toExclusive) {
+        List<LocalDate> dates = from.datesUntil(toExclusive).toList();
+        persisted.getAll(dates.stream()
+            .flatMap(date -> Arrays.stream(MbtiType.values()).map(type -> mbti(date, type.name())))
+            .toList());
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (MbtiType type : MbtiType.values()) {
+            long visitors = estimate(dates.stream().map(date -> mbti(date, type.name())).toList());
+            if (visitors > 0) {
+                result.put(type.name(), visitors);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 모아 둔 방문을 DB 스케치와 합쳐 저장
+     * - 키마다 행 잠금 후 읽고 합쳐서 저장 (여러 인스턴스가 같은 키를 갱신해도 잃지 않음)
+     * - 저장하는 동안 새 방문이 없던 키만 대기 목록에서 제거, 실패한 키는 다음 주기에 재시도
+     *
+     * @return 저장한 스케치 수
+     */
+    @Scheduled(fixedDelayString = "${visitor.sketch.flush-interval:30s}")
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        flushLock.lock();
+        try {
+            int flushed = 0;
+            for (Map.Entry<SketchKey, HyperLogLog> entry : pending.entrySet()) {
+                SketchKey key = entry.getKey();
+                HyperLogLog delta = entry.getValue().copy();
+                try {
+                    HyperLogLog merged = transactionTemplate.execute(status -> save(key, delta));
+                    persisted.put(key, merged);
+                    pending.computeIfPresent(key, (k, sketch) -> sketch.sameRegisters(delta) ? null : sketch);
+                    flushed++;
+                } catch (Exception e) {
+                    log.error("유니크 방문자 스케치 저장 중 오류 발생 - {} {}, 다음 주기에 재시도",
+                        key.statType(), key.statKey(), e);
+                }
+            }
+            log.debug("유니크 방문자 스케치 저장 완료 - {}건", flushed);
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 종료 시 남은 방문 저장
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("종료 전 유니크 방문자 스케치 저장 - {}건", flushed);
+        }
+    }
+
+    /**
+     * 스케치 도입 전 방문 로그로 최근 backfillDays일 스케치 채우기
+     * - 합치기는 중복에 안전하므로 여러 번 실행해도 값이 늘지 않음
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillDays <= 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        backfill(today.minusDays(backfillDays), today.plusDays(1));
+    }
+
+    public void backfill(LocalDate from, LocalDate toExclusive) {
+        try {
+            long[] rows = {0};
+            jdbcTemplate.query(
+                "SELECT USER_IP, MBTI_TYPE, CREATED_AT FROM VIEW_LOGS " +
+                "WHERE CREATED_AT >= ? AND CREATED_AT < ? AND USER_IP IS NOT NULL",
+                rs -> {
+                    record(rs.getString(1), rs.getString(2), rs.getTimestamp(3).toLocalDateTime());
+                    rows[0]++;
+                },
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(toExclusive.atStartOfDay()));
+            int flushed = flush();
+            log.info("유니크 방문자 스케치 백필 완료 - {} ~ {}, 방문 로그 {}건, 스케치 {}건",
+                from, toExclusive, rows[0], flushed);
+        } catch (Exception e) {
+            log.error("유니크 방문자 스케치 백필 중 오류 발생", e);
+        }
+    }
+
+    private void record(String userIp, String mbtiType, LocalDateTime createdAt) {
+        LocalDate date = createdAt.toLocalDate();
+        add(daily(date), userIp);
+        add(hourly(createdAt), userIp);
+        if (mbtiType != null) {
+            add(mbti(date, mbtiType), userIp);
+        }
+    }
+
+    private void add(SketchKey key, String userIp) {
+        // 저장 후 제거(computeIfPresent)와 겹치지 않도록 compute 안에서 추가
+        pending.compute(key, (k, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog(precision);
+            target.add(userIp);
+            return target;
+        });
+    }
+
+    private long estimate(List<SketchKey> keys) {
+        HyperLogLog union = new HyperLogLog(precision);
+        persisted.getAll(keys).values().forEach(union::merge);
+        for (SketchKey key : keys) {
+            HyperLogLog sketch = pending.get(key);
+            if (sketch != null) {
+                union.merge(sketch);
+            }
+        }
+        return union.estimate();
+    }
+
+    private HyperLogLog save(SketchKey key, HyperLogLog delta) {
+        StatisticsCache row = statisticsCacheRepository
+            .findForUpdateByStatTypeAndStatKey(key.statType(), key.statKey())
+            .orElseGet(() -> StatisticsCache.builder()
+                .statType(key.statType())
+                .statKey(key.statKey())
+                .build());
+
+        HyperLogLog merged = decode(key, row.getStatData());
+        merged.merge(delta);
+        row.setStatValue(merged.estimate());
+        row.setStatData(merged.serialize());
+        row.setCalculatedAt(LocalDateTime.now());
+        statisticsCacheRepository.save(row);
+        return merged;
+    }
+
+    private Map<SketchKey, HyperLogLog> loadSketches(Set<? extends SketchKey> keys) {
+        Map<String, List<String>> keysByType = keys.stream()
+            .collect(Collectors.groupingBy(SketchKey::statType,
+                Collectors.mapping(SketchKey::statKey, Collectors.toList())));
+
+        Map<SketchKey, HyperLogLog> result = new HashMap<>();
+        keysByType.forEach((statType, statKeys) -> {
+            for (StatisticsCache row : statisticsCacheRepository.findByStatTypeAndStatKeyIn(statType, statKeys)) {
+                SketchKey key = new SketchKey(statType, row.getStatKey());
+                result.put(key, decode(key, row.getStatData()));
+            }
+        });
+        for (SketchKey key : keys) {
+            result.putIfAbsent(key, new HyperLogLog(precision));
+        }
+        return result;
+    }
+
+    private HyperLogLog decode(SketchKey key, String data) {
+        if (data == null) {
+            return new HyperLogLog(precision);
+        }
+        try {
+            HyperLogLog sketch = HyperLogLog.deserialize(data);
+            if (sketch.precision() == precision) {
+                return sketch;
+            }
+            log.warn("precision이 다른 유니크 방문자 스케치는 무시 - {} {}", key.statType(), key.statKey());
+        } catch (IllegalArgumentException e) {
+            log.warn("유니크 방문자 스케치를 읽을 수 없어 무시 - {} {}: {}", key.statType(), key.statKey(), e.getMessage());
+        }
+        return new HyperLogLog(precision);
+    }
+
+    private static SketchKey daily(LocalDate date) {
+        return new SketchKey(StatisticsCache.StatType.VISITORS_DAILY, date.toString());
+    }
+
+    private static SketchKey hourly(LocalDateTime time) {
+        return new SketchKey(StatisticsCache.StatType.VISITORS_HOURLY, time.format(HOUR_KEY));
+    }
+
+    private static SketchKey mbti(LocalDate date, String mbtiType) {
+        return new SketchKey(StatisticsCache.StatType.VISITORS_MBTI, date + "|" + mbtiType);
+    }
+
+    private record SketchKey(String statType, String statKey) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.mbtitest.service;
 
+import com.example.mbtitest.entity.MbtiType;
 import com.example.mbtitest.entity.User;
 import com.example.mbtitest.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -151,8 +152,9 @@ public class UserService {
                 user.setNickname(nickname.trim());
             }
             
-            if (mbtiType != null && isValidMbtiType(mbtiType)) {
-                user.setMbtiType(mbtiType.toUpperCase());
+            MbtiType type = MbtiType.parse(mbtiType);
+            if (type != null) {
+                user.setMbtiType(type.name());
             }
             
             User updatedUser = userRepository.save(user);
@@ -265,26 +267,4 @@ public class UserService {
             throw new RuntimeException("이미 사용 중인 이메일입니다.");
         }
     }
-    
-    /**
-     * MBTI 타입 유효성 검사
-     */
-    private boolean isValidMbtiType(String mbtiType) {
-        if (mbtiType == null || mbtiType.length() != 4) {
-            return false;
-        }
-        
-        String[] validTypes = {
-            "ENFP", "ENFJ", "ENTP", "ENTJ", "ESFP", "ESFJ", "ESTP", "ESTJ",
-            "INFP", "INFJ", "INTP", "INTJ", "ISFP", "ISFJ", "ISTP", "ISTJ"
-        };
-        
-        String upperMbti = mbtiType.toUpperCase();
-        for (String validType : validTypes) {
-            if (validType.equals(upperMbti)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,230 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.ViewLogProperties;
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.repository.ViewLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 페이지 방문 로그 비동기 저장
+ * - 요청 스레드는 크기가 제한된 대기열에 넣기만 함 (DB insert 없음)
+ * - 작업 스레드 1개가 대기열에서 최대 batchSize건씩 꺼내 saveAll (pooled 시퀀스 + JDBC 배치 insert)
+ *   같은 트랜잭션에서 방문 통계 롤업(ViewStatsRollup)도 갱신
+ * - 대기열이 차면 overflowPolicy에 따라 버림 / 잠깐 대기 / 샘플링
+ * - 웹 서버가 멈춘 뒤에 종료되며, 종료 시 대기열에 남은 로그를 모두 저장
+ */
+@Component
+@Slf4j
+public class ViewLogPipeline implements SmartLifecycle {
+
+    // 웹 서버(DEFAULT_PHASE - 2048)보다 먼저 시작하고 나중에 종료
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final ViewLogRepository viewLogRepository;
+    private final ViewStatsRollup viewStatsRollup;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ViewLogProperties properties;
+    private final BlockingQueue<ViewLog> queue;
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter overflowDrops;
+    private final Counter sampledDrops;
+    private final Counter stoppedDrops;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread worker;
+
+    public ViewLogPipeline(ViewLogRepository viewLogRepository,
+                           ViewStatsRollup viewStatsRollup,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           ViewLogProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.viewLogRepository = viewLogRepository;
+        this.viewStatsRollup = viewStatsRollup;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("view.logs.queue.depth", queue, BlockingQueue::size)
+            .description("저장 대기 중인 방문 로그 수")
+            .register(meterRegistry);
+        this.writtenCounter = Counter.builder("view.logs.written").register(meterRegistry);
+        this.failedCounter = Counter.builder("view.logs.failed").register(meterRegistry);
+        this.overflowDrops = droppedCounter(meterRegistry, "overflow");
+        this.sampledDrops = droppedCounter(meterRegistry, "sampled");
+        this.stoppedDrops = droppedCounter(meterRegistry, "stopped");
+    }
+
+    /**
+     * 방문 로그를 대기열에 추가
+     *
+     * @return 대기열에 들어갔으면 true (버려졌으면 false)
+     */
+    public boolean submit(ViewLog viewLog) {
+        if (stopped) {
+            stoppedDrops.increment();
+            return false;
+        }
+
+        return switch (properties.getOverflowPolicy()) {
+            case DROP -> offer(viewLog);
+            case BLOCK -> offerWithTimeout(viewLog);
+            case SAMPLE -> offerSampled(viewLog);
+        };
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "view-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 새 로그를 받지 않고, 남은 로그를 저장할 때까지 shutdownTimeout만큼 대기
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("방문 로그 저장이 종료 대기 시간 안에 끝나지 않음 - 남은 로그: {}건", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private boolean offer(ViewLog viewLog) {
+        if (queue.offer(viewLog)) {
+            return true;
+        }
+        overflowDrops.increment();
+        return false;
+    }
+
+    private boolean offerWithTimeout(ViewLog viewLog) {
+        try {
+            if (queue.offer(viewLog, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        overflowDrops.increment();
+        return false;
+    }
+
+    private boolean offerSampled(ViewLog viewLog) {
+        if (queue.size() >= properties.getQueueCapacity() * properties.getSampleThreshold()
+                && sampleSequence.getAndIncrement() % properties.getSampleRate() != 0) {
+            sampledDrops.increment();
+            return false;
+        }
+        return offer(viewLog);
+    }
+
+    /**
+     * 작업 스레드: 첫 로그가 오면 maxLinger 동안 batchSize까지 모아서 저장
+     */
+    private void drainLoop() {
+        List<ViewLog> batch = new ArrayList<>(properties.getBatchSize());
+        long lingerNanos = properties.getMaxLinger().toNanos();
+        try {
+            while (running || !queue.isEmpty()) {
+                ViewLog first = queue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < properties.getBatchSize()) {
+                    queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= properties.getBatchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    ViewLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(batch);
+            batch.clear();
+            while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ViewLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                viewLogRepository.saveAll(batch);
+                viewStatsRollup.apply(batch);
+            });
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            // 방문 로그는 실패해도 다시 시도하지 않음 (메인 기능에 영향 없도록)
+            failedCounter.increment(batch.size());
+            log.error("방문 로그 배치 저장 중 오류 발생 - {}건", batch.size(), e);
+            return;
+        }
+        eventPublisher.publishEvent(new ViewLogsIngestedEvent(List.copyOf(batch)));
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("view.logs.dropped")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.mbtitest.service;
 
 import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.repository.DailyViewStatRepository;
+import com.example.mbtitest.repository.HourlyViewStatRepository;
 import com.example.mbtitest.repository.ViewLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -20,13 +24,22 @@ import java.util.Map;
 public class ViewLogService {
     
     private final ViewLogRepository viewLogRepository;
+    private final HourlyViewStatRepository hourlyViewStatRepository;
+    private final DailyViewStatRepository dailyViewStatRepository;
+    private final ViewLogPipeline viewLogPipeline;
+    private final AnalyticsJournal analyticsJournal;
+    private final UniqueVisitorSketches uniqueVisitorSketches;
+    private final TrafficHeavyHitters trafficHeavyHitters;
+    private final TimeBuckets timeBuckets;
     
     /**
      * 페이지 방문 로그 기록
+     * - 요청 스레드에서 DB insert 없음: 분석 이벤트 저널에 기록하거나(사용 시) ViewLogPipeline 대기열에 넣음
      */
-    public ViewLog recordPageView(Long resultId, String mbtiType, HttpServletRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordPageView(String pageName, Long resultId, String mbtiType, HttpServletRequest request) {
         try {
-            String userIp = getClientIpAddress(request);
+            String userIp = ClientIdentity.resolveIp(request);
             String userAgent = request.getHeader("User-Agent");
             String referrer = request.getHeader("Referer");
             
@@ -46,61 +59,71 @@ public class ViewLogService {
                 .userIp(userIp)
                 .userAgent(userAgent)
                 .referrer(referrer)
+                .pageName(pageName)
+                .createdAt(LocalDateTime.now())
                 .build();
             
-            ViewLog savedLog = viewLogRepository.save(viewLog);
-            log.debug("페이지 방문 로그 기록 - ResultId: {}, MBTI: {}, IP: {}", 
-                resultId, safeMbtiType, userIp);
-            
-            return savedLog;
+            if (analyticsJournal.isEnabled()) {
+                analyticsJournal.recordView(viewLog);
+                log.debug("페이지 방문 로그 기록 - Page: {}, ResultId: {}, MBTI: {}, IP: {}", 
+                    pageName, resultId, safeMbtiType, userIp);
+            } else if (viewLogPipeline.submit(viewLog)) {
+                log.debug("페이지 방문 로그 기록 - Page: {}, ResultId: {}, MBTI: {}, IP: {}", 
+                    pageName, resultId, safeMbtiType, userIp);
+            }
             
         } catch (Exception e) {
             log.error("페이지 방문 로그 기록 중 오류 발생", e);
             // 방문 로그는 실패해도 메인 기능에 영향을 주지 않도록
-            return null;
         }
     }
     
     /**
      * 테스트 페이지 방문 기록
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void recordTestPageView(HttpServletRequest request) {
-        recordPageView(null, null, request);
+        recordPageView(ViewLog.Page.TEST, null, null, request);
     }
     
     /**
      * 결과 페이지 방문 기록
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void recordResultPageView(String mbtiType, HttpServletRequest request) {
-        recordPageView(null, mbtiType, request);
+        recordPageView(ViewLog.Page.RESULT, null, mbtiType, request);
     }
     
     /**
      * 통계 페이지 방문 기록
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void recordStatsPageView(HttpServletRequest request) {
-        recordPageView(null, null, request);
+        recordPageView(ViewLog.Page.STATS, null, null, request);
     }
     
     /**
      * 커뮤니티 페이지 방문 기록
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void recordCommunityPageView(String mbtiType, HttpServletRequest request) {
-        recordPageView(null, mbtiType, request);
+        recordPageView(ViewLog.Page.COMMUNITY, null, mbtiType, request);
     }
     
     /**
      * MBTI 타입별 상세 페이지 방문 기록
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void recordMbtiPageView(String mbtiType, HttpServletRequest request) {
-        recordPageView(null, mbtiType, request);
+        recordPageView(ViewLog.Page.MBTI, null, mbtiType, request);
     }
     
     /**
      * 메인 페이지 방문 기록
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void recordMainPageView(HttpServletRequest request) {
-        recordPageView(null, null, request);
+        recordPageView(ViewLog.Page.MAIN, null, null, request);
     }
     
     /**
@@ -111,17 +134,21 @@ public class ViewLogService {
         Map<String, Object> stats = new HashMap<>();
         
         try {
-            // 전체 페이지뷰
-            stats.put("totalViews", viewLogRepository.countTotalViews());
+            TimeBuckets.Range today = timeBuckets.todayRange();
+            TimeBuckets.Range week = lastWeek();
             
-            // 오늘 페이지뷰
-            stats.put("todayViews", viewLogRepository.countTodayViews());
+            // 전체 / 오늘 페이지뷰 (일별 롤업)
+            stats.put("totalViews", dailyViewStatRepository.sumAllViews());
+            stats.put("todayViews", dailyViewStatRepository.sumViews(today.start(), today.end()));
             
-            // 오늘 유니크 방문자
-            stats.put("todayUniqueVisitors", viewLogRepository.countTodayUniqueVisitors());
+            // 오늘 / 최근 7일 유니크 방문자 (HyperLogLog 추정값)
+            stats.put("todayUniqueVisitors",
+                uniqueVisitorSketches.uniqueVisitors(today.startDate(), today.end().toLocalDate()));
+            stats.put("weeklyUniqueVisitors",
+                uniqueVisitorSketches.uniqueVisitors(week.startDate(), week.end().toLocalDate()));
             
-            // MBTI 타입별 방문 통계
-            List<Object[]> mbtiStats = viewLogRepository.getViewStatsByMbtiType();
+            // MBTI 타입별 방문 통계 (많은 순)
+            List<Object[]> mbtiStats = dailyViewStatRepository.sumViewsByMbtiType();
             Map<String, Long> mbtiViewCounts = new HashMap<>();
             for (Object[] row : mbtiStats) {
                 String mbtiType = (String) row[0];
@@ -131,24 +158,18 @@ public class ViewLogService {
             stats.put("mbtiStats", mbtiViewCounts);
             
             // 가장 인기있는 MBTI 타입들
-            List<String> popularMbtiTypes = viewLogRepository.getMostPopularPages();
+            List<String> popularMbtiTypes = mbtiStats.stream().map(row -> (String) row[0]).toList();
             stats.put("mostPopularPages", popularMbtiTypes.isEmpty() ? List.of("ENFP", "INFP") : popularMbtiTypes);
             
             // 가장 많이 조회된 MBTI 타입들
-            List<Object[]> mbtiViewStats = viewLogRepository.getMostViewedMbtiTypes();
-            Map<String, Long> mostViewedCounts = new HashMap<>();
-            for (Object[] row : mbtiViewStats) {
-                String mbtiType = (String) row[0];
-                Long count = ((Number) row[1]).longValue();
-                mostViewedCounts.put(mbtiType, count);
-            }
-            stats.put("mbtiViewStats", mostViewedCounts);
+            stats.put("mbtiViewStats", mbtiViewCounts);
             
         } catch (Exception e) {
             log.error("방문 통계 조회 중 오류 발생", e);
             stats.put("totalViews", 0L);
             stats.put("todayViews", 0L);
             stats.put("todayUniqueVisitors", 0L);
+            stats.put("weeklyUniqueVisitors", 0L);
             stats.put("mbtiStats", new HashMap<>());
             stats.put("mostPopularPages", List.of("ENFP", "INFP"));
             stats.put("mbtiViewStats", new HashMap<>());
@@ -163,14 +184,17 @@ public class ViewLogService {
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getHourlyViewStats() {
         try {
-            LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
-            List<Object[]> hourlyStats = viewLogRepository.getHourlyViewStats(startOfDay);
+            TimeBuckets.Range today = timeBuckets.todayRange();
+            List<Object[]> hourlyStats = hourlyViewStatRepository.sumViewsByHour(today.start(), today.end());
+            Map<Integer, Long> uniqueVisitors = uniqueVisitorSketches.hourlyUniqueVisitors(today.startDate());
             
             return hourlyStats.stream()
                 .map(row -> {
+                    int hour = ((LocalDateTime) row[0]).getHour();
                     Map<String, Object> hourData = new HashMap<>();
-                    hourData.put("hour", ((Number) row[0]).intValue());
+                    hourData.put("hour", hour);
                     hourData.put("count", ((Number) row[1]).intValue());
+                    hourData.put("uniqueVisitors", uniqueVisitors.getOrDefault(hour, 0L));
                     return hourData;
                 })
                 .toList();
@@ -182,20 +206,24 @@ public class ViewLogService {
     }
     
     /**
-     * 일별 방문 통계 (최근 7일)
+     * 일별 방문 통계 (오늘 포함 최근 7일)
+     * - 방문 수는 일별 롤업, 유니크 방문자는 일별 HyperLogLog 스케치
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getDailyViewStats() {
         try {
-            LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-            List<Object[]> dailyStats = viewLogRepository.getDailyViewStats(weekAgo);
+            TimeBuckets.Range week = lastWeek();
+            List<Object[]> dailyStats = dailyViewStatRepository.sumViewsByDay(week.start(), week.end());
+            Map<LocalDate, Long> uniqueVisitors =
+                uniqueVisitorSketches.dailyUniqueVisitors(week.startDate(), week.end().toLocalDate());
             
             return dailyStats.stream()
                 .map(row -> {
+                    LocalDate date = ((LocalDateTime) row[0]).toLocalDate();
                     Map<String, Object> dayData = new HashMap<>();
-                    dayData.put("date", row[0].toString());
+                    dayData.put("date", date.toString());
                     dayData.put("totalViews", ((Number) row[1]).intValue());
-                    dayData.put("uniqueVisitors", ((Number) row[2]).intValue());
+                    dayData.put("uniqueVisitors", uniqueVisitors.getOrDefault(date, 0L).intValue());
                     return dayData;
                 })
                 .toList();
@@ -207,33 +235,50 @@ public class ViewLogService {
     }
     
     /**
-     * 유입 경로 분석
+     * 유입 경로 분석 (전체 기간)
      */
-    @Transactional(readOnly = true)
     public Map<String, Object> getTrafficSources() {
+        return getTrafficSources(TrafficHeavyHitters.Window.ALL);
+    }
+    
+    /**
+     * 유입 경로 분석
+     * - 방문 로그를 읽지 않고 TrafficHeavyHitters의 상위 Referer 호스트 / 페이지 요약을 사용
+     * - 상위 목록에 들지 못한 Referer는 "other"로 합침
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> getTrafficSources(TrafficHeavyHitters.Window window) {
         Map<String, Object> sources = new HashMap<>();
         
         try {
-            List<Object[]> refererStats = viewLogRepository.getTopReferers();
             Map<String, Long> refererCounts = new HashMap<>();
+            long listedReferredViews = 0;
             
-            for (Object[] row : refererStats) {
-                String referer = (String) row[0];
-                Long count = ((Number) row[1]).longValue();
-                
+            for (SpaceSaving.Entry entry : trafficHeavyHitters.topReferrers(window, Integer.MAX_VALUE)) {
                 // 유입 경로 분류
-                String sourceType = categorizeReferer(referer);
-                refererCounts.merge(sourceType, count, Long::sum);
+                String sourceType = categorizeReferer(entry.item());
+                refererCounts.merge(sourceType, entry.count(), Long::sum);
+                listedReferredViews += entry.count();
             }
             
-            sources.put("refererStats", refererCounts);
+            long totalViews = trafficHeavyHitters.views(window);
+            long referredViews = trafficHeavyHitters.referredViews(window);
+            
+            // 상위 목록 밖의 Referer (Space-Saving 카운터가 과대 추정한 만큼은 빼서 음수가 되지 않게)
+            long otherViews = referredViews - listedReferredViews;
+            if (otherViews > 0) {
+                refererCounts.merge("other", otherViews, Long::sum);
+            }
             
-            // 직접 방문 비율 계산
-            long totalViews = viewLogRepository.countTotalViews();
-            long directViews = totalViews - refererCounts.values().stream().mapToLong(Long::longValue).sum();
-            refererCounts.put("direct", directViews);
+            // 직접 방문 수 계산
+            refererCounts.put("direct", totalViews - referredViews);
             
+            sources.put("refererStats", refererCounts);
             sources.put("totalViews", totalViews);
+            sources.put("topPages", trafficHeavyHitters.topPages(window, 10).stream()
+                .map(entry -> Map.<String, Object>of("page", entry.item(), "views", entry.count()))
+                .toList());
+            sources.put("window", window.name().toLowerCase());
             
         } catch (Exception e) {
             log.error("유입 경로 분석 중 오류 발생", e);
@@ -252,7 +297,7 @@ public class ViewLogService {
         Map<String, Object> popularity = new HashMap<>();
         
         try {
-            List<Object[]> mbtiViews = viewLogRepository.getMostViewedMbtiTypes();
+            List<Object[]> mbtiViews = dailyViewStatRepository.sumViewsByMbtiType();
             Map<String, Long> mbtiPopularity = new HashMap<>();
             
             for (Object[] row : mbtiViews) {
@@ -270,15 +315,29 @@ public class ViewLogService {
                 .toList();
             popularity.put("topMbtiTypes", topMbtiTypes);
             
+            // 최근 7일 MBTI 타입별 유니크 방문자 (HyperLogLog 추정값)
+            TimeBuckets.Range week = lastWeek();
+            popularity.put("mbtiUniqueVisitors",
+                uniqueVisitorSketches.uniqueVisitorsByMbtiType(week.startDate(), week.end().toLocalDate()));
+            
         } catch (Exception e) {
             log.error("MBTI 타입 인기도 분석 중 오류 발생", e);
             popularity.put("mbtiViews", new HashMap<>());
             popularity.put("topMbtiTypes", List.of("ENFP", "INFP", "ENTP"));
+            popularity.put("mbtiUniqueVisitors", new HashMap<>());
         }
         
         return popularity;
     }
     
+    /**
+     * 오늘 포함 최근 7일 [6일 전 자정, 내일 자정)
+     */
+    private TimeBuckets.Range lastWeek() {
+        List<TimeBuckets.Range> days = timeBuckets.lastDays(7);
+        return new TimeBuckets.Range(days.get(0).start(), days.get(days.size() - 1).end());
+    }
+    
     /**
      * 유입 경로 분류
      */
@@ -307,55 +366,4 @@ public class ViewLogService {
             return "other";
         }
     }
-    
-    /**
-     * 클라이언트 IP 주소 추출
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String[] headerNames = {
-            "X-Forwarded-For",
-            "X-Real-IP", 
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR",
-            "HTTP_X_FORWARDED",
-            "HTTP_X_CLUSTER_CLIENT_IP",
-            "HTTP_CLIENT_IP",
-            "HTTP_FORWARDED_FOR",
-            "HTTP_FORWARDED",
-            "HTTP_VIA",
-            "REMOTE_ADDR"
-        };
-        
-        for (String headerName : headerNames) {
-            String ipAddress = request.getHeader(headerName);
-            if (ipAddress != null && !ipAddress.isEmpty() && !"unknown".equalsIgnoreCase(ipAddress)) {
-                if (ipAddress.contains(",")) {
-                    ipAddress = ipAddress.substring(0, ipAddress.indexOf(","));
-                }
-                return ipAddress.trim();
-            }
-        }
-        
-        return request.getRemoteAddr();
-    }
-    
-    /**
-     * 방문 로그 정리 (오래된 데이터 삭제 - 스케줄링 작업용)
-     */
-    @Transactional
-    public void cleanupOldViewLogs(int daysToKeep) {
-        try {
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
-            List<ViewLog> oldLogs = viewLogRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(
-                LocalDateTime.of(2020, 1, 1, 0, 0), cutoffDate);
-            
-            if (!oldLogs.isEmpty()) {
-                viewLogRepository.deleteAll(oldLogs);
-                log.info("오래된 방문 로그 {} 개 삭제 완료 ({}일 이전)", oldLogs.size(), daysToKeep);
-            }
-        } catch (Exception e) {
-            log.error("오래된 방문 로그 정리 중 오류 발생", e);
-        }
-    }
 }
@@ -0,0 +1,13 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.ViewLog;
+
+import java.util.List;
+
+/**
+ * 방문 로그가 DB에 저장됨 (트랜잭션 커밋 후, ViewLogPipeline / AnalyticsEventLoader가 발행)
+ * - 메모리 통계(유니크 방문자 스케치 등)는 이 이벤트로 갱신
+ * - 저널 재적재 시 같은 로그가 다시 올 수 있으므로 리스너는 중복에 안전해야 함
+ */
+public record ViewLogsIngestedEvent(List<ViewLog> viewLogs) {
+}
@@ -0,0 +1,82 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.entity.ViewStatKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 방문 통계 롤업 (VIEW_STATS_HOURLY / VIEW_STATS_DAILY)
+ * - 방문 로그를 저장하는 쪽(ViewLogPipeline, AnalyticsEventLoader)이 같은 트랜잭션에서 호출
+ * - 배치 안에서 (구간, MBTI 타입, 페이지)별로 합친 뒤 MERGE로 VIEW_COUNT에 더함
+ * - 실패하면(여러 인스턴스가 같은 새 구간을 동시에 INSERT한 경우 포함) 방문 로그와 함께 롤백됨
+ * - 통계 조회는 롤업만 읽으므로 비용이 방문 로그 건수가 아니라 구간 수에 비례
+ */
+@Component
+@RequiredArgsConstructor
+public class ViewStatsRollup {
+
+    private static final String MERGE_SQL =
+        "MERGE INTO %s t " +
+        "USING (SELECT CAST(? AS TIMESTAMP) AS BUCKET_START, CAST(? AS VARCHAR(20)) AS MBTI_TYPE, " +
+        "CAST(? AS VARCHAR(30)) AS PAGE_NAME, CAST(? AS NUMERIC(19)) AS VIEW_COUNT FROM DUAL) s " +
+        "ON (t.BUCKET_START = s.BUCKET_START AND t.MBTI_TYPE = s.MBTI_TYPE AND t.PAGE_NAME = s.PAGE_NAME) " +
+        "WHEN MATCHED THEN UPDATE SET t.VIEW_COUNT = t.VIEW_COUNT + s.VIEW_COUNT " +
+        "WHEN NOT MATCHED THEN INSERT (BUCKET_START, MBTI_TYPE, PAGE_NAME, VIEW_COUNT) " +
+        "VALUES (s.BUCKET_START, s.MBTI_TYPE, s.PAGE_NAME, s.VIEW_COUNT)";
+
+    private static final String HOURLY_MERGE_SQL = String.format(MERGE_SQL, "VIEW_STATS_HOURLY");
+    private static final String DAILY_MERGE_SQL = String.format(MERGE_SQL, "VIEW_STATS_DAILY");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 방문 로그 배치를 롤업에 반영 (호출 측 트랜잭션 안에서 실행)
+     */
+    public void apply(List<ViewLog> viewLogs) {
+        if (viewLogs.isEmpty()) {
+            return;
+        }
+
+        Map<ViewStatKey, Long> hourly = new LinkedHashMap<>();
+        Map<ViewStatKey, Long> daily = new LinkedHashMap<>();
+        for (ViewLog viewLog : viewLogs) {
+            LocalDateTime createdAt = viewLog.getCreatedAt() != null ? viewLog.getCreatedAt() : LocalDateTime.now();
+            String mbtiType = viewLog.getMbtiType() != null ? viewLog.getMbtiType() : ViewStatKey.NONE;
+            String pageName = viewLog.getPageName() != null ? viewLog.getPageName() : ViewLog.Page.OTHER;
+
+            hourly.merge(new ViewStatKey(hourBucket(createdAt), mbtiType, pageName), 1L, Long::sum);
+            daily.merge(new ViewStatKey(dayBucket(createdAt), mbtiType, pageName), 1L, Long::sum);
+        }
+
+        merge(HOURLY_MERGE_SQL, hourly);
+        merge(DAILY_MERGE_SQL, daily);
+    }
+
+    public static LocalDateTime hourBucket(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    public static LocalDateTime dayBucket(LocalDateTime time) {
+        return time.toLocalDate().atStartOfDay();
+    }
+
+    private void merge(String sql, Map<ViewStatKey, Long> counts) {
+        List<Map.Entry<ViewStatKey, Long>> rows = new ArrayList<>(counts.entrySet());
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (statement, row) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(row.getKey().getBucketStart()));
+            statement.setString(2, row.getKey().getMbtiType());
+            statement.setString(3, row.getKey().getPageName());
+            statement.setLong(4, row.getValue());
+        });
+    }
+}
@@ -0,0 +1,11 @@
+-- =============================================
+-- AI 분석 캐시 키 컬럼 추가
+-- 정규화된 프롬프트/답변의 SHA-256 해시 (64자 hex)
+-- 같은 답변으로 다시 요청하면 저장된 AI_ANALYSIS를 재사용
+-- =============================================
+
+ALTER TABLE TEST_RESULTS ADD (ANALYSIS_KEY VARCHAR2(64));
+
+CREATE INDEX IDX_TEST_RESULTS_ANALYSIS_KEY ON TEST_RESULTS(ANALYSIS_KEY);
+
+COMMIT;
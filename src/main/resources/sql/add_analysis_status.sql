@@ -0,0 +1,13 @@
+-- =============================================
+-- AI 분석 상태 컬럼 추가
+-- PENDING: 결과 저장 후 분석 진행 중 / DONE: 분석 완료 / FAILED: 분석 실패
+-- 기존 데이터는 AI_ANALYSIS 유무로 채움
+-- =============================================
+
+ALTER TABLE TEST_RESULTS ADD (ANALYSIS_STATUS VARCHAR2(10));
+
+UPDATE TEST_RESULTS
+   SET ANALYSIS_STATUS = 'DONE'
+ WHERE AI_ANALYSIS IS NOT NULL;
+
+COMMIT;
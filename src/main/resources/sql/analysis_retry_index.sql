@@ -0,0 +1,7 @@
+-- =============================================
+-- AI 분석 재시도(AiAnalysisService.retryDeferredAnalyses)용 인덱스
+-- - 재시도 작업은 주기마다 DEFERRED 행과 오래 PENDING으로 남은 행을 수정 시각 순으로 읽음
+-- - 대부분의 행은 DONE이므로 상태 컬럼 인덱스로 대상 행만 범위 스캔
+-- =============================================
+
+CREATE INDEX IDX_TR_ANALYSIS_RETRY ON TEST_RESULTS(ANALYSIS_STATUS, UPDATED_AT);
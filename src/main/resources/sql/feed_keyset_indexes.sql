@@ -0,0 +1,29 @@
+-- =============================================
+-- 결과 피드 keyset 페이지네이션용 인덱스
+-- - 공개 피드: 작성일, ID 내림차순
+-- - 인기 피드: 조회수, 작성일, ID 내림차순
+-- - 바이럴 피드: 공유수, 조회수, 작성일, ID 내림차순
+-- - 커서 다음 행부터 인덱스 순서대로 읽고 페이지 크기만큼에서 멈추므로 페이지 깊이와 무관하게 일정한 비용
+-- - 정렬 키에 NULL이 있으면 커서 비교에서 빠지므로 먼저 기본값으로 채움
+-- =============================================
+
+UPDATE TEST_RESULTS SET VIEW_COUNT = 0 WHERE VIEW_COUNT IS NULL;
+UPDATE TEST_RESULTS SET SHARED_COUNT = 0 WHERE SHARED_COUNT IS NULL;
+UPDATE TEST_RESULTS SET CREATED_AT = NVL(UPDATED_AT, SYSTIMESTAMP) WHERE CREATED_AT IS NULL;
+COMMIT;
+
+ALTER TABLE TEST_RESULTS MODIFY (
+    VIEW_COUNT   DEFAULT 0 NOT NULL,
+    SHARED_COUNT DEFAULT 0 NOT NULL,
+    CREATED_AT   DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_TR_PUBLIC_FEED ON TEST_RESULTS(IS_PUBLIC, CREATED_AT DESC, RESULT_ID DESC);
+CREATE INDEX IDX_TR_POPULAR_FEED ON TEST_RESULTS(IS_PUBLIC, VIEW_COUNT DESC, CREATED_AT DESC, RESULT_ID DESC);
+CREATE INDEX IDX_TR_VIRAL_FEED ON TEST_RESULTS(IS_PUBLIC, SHARED_COUNT DESC, VIEW_COUNT DESC, CREATED_AT DESC, RESULT_ID DESC);
+
+-- 확인
+SELECT INDEX_NAME, COLUMN_NAME, COLUMN_POSITION, DESCEND
+  FROM USER_IND_COLUMNS
+ WHERE INDEX_NAME IN ('IDX_TR_PUBLIC_FEED', 'IDX_TR_POPULAR_FEED', 'IDX_TR_VIRAL_FEED')
+ ORDER BY INDEX_NAME, COLUMN_POSITION;
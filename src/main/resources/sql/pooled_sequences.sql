@@ -0,0 +1,17 @@
+-- =============================================
+-- 시퀀스 증가폭을 50으로 변경 (Hibernate pooled 할당)
+-- 엔티티의 allocationSize = 50 과 반드시 같아야 함
+-- 애플리케이션은 NEXTVAL 1회로 (값 - 49) ~ 값 범위의 ID를 사용하므로
+-- 기존 데이터와 ID가 겹치지 않음
+-- H2(MODE=Oracle)에서도 같은 문법으로 실행 가능
+-- =============================================
+
+ALTER SEQUENCE SEQ_TEST_RESULT INCREMENT BY 50;
+ALTER SEQUENCE SEQ_VIEW_LOG INCREMENT BY 50;
+ALTER SEQUENCE SEQ_SHARE_LOG INCREMENT BY 50;
+ALTER SEQUENCE SEQ_COMMENT INCREMENT BY 50;
+
+-- 확인
+SELECT SEQUENCE_NAME, INCREMENT_BY, LAST_NUMBER
+  FROM USER_SEQUENCES
+ WHERE SEQUENCE_NAME IN ('SEQ_TEST_RESULT', 'SEQ_VIEW_LOG', 'SEQ_SHARE_LOG', 'SEQ_COMMENT');
@@ -0,0 +1,28 @@
+-- =============================================
+-- 오래된 로그 정리(RetentionJob)용 인덱스 / 선택: 인터벌 파티셔닝
+-- - 정리 작업은 시각 조건으로 chunk-size건의 ID를 인덱스 범위 스캔으로 찾아 삭제하므로
+--   시각 컬럼 인덱스가 없으면 청크마다 전체 테이블을 읽음
+-- - 삭제된 댓글은 IS_DELETED = 'Y'이고 UPDATED_AT(삭제 시각)이 보관 기간을 지난 행
+-- =============================================
+
+CREATE INDEX IDX_VIEW_LOGS_CREATED_AT ON VIEW_LOGS(CREATED_AT);
+CREATE INDEX IDX_SHARE_LOGS_CREATED_AT ON SHARE_LOGS(CREATED_AT);
+CREATE INDEX IDX_COMMENTS_DELETED_AT ON COMMENTS(IS_DELETED, UPDATED_AT);
+
+-- 선택: 월 단위 인터벌 파티셔닝 (Oracle 12.2 이상, Partitioning 옵션 필요)
+-- 적용 후 retention.drop-partitions=true 이면 보관 기간이 통째로 지난 파티션은 DROP PARTITION으로 삭제
+-- (첫 번째 기준 파티션은 삭제할 수 없으므로 그 안의 행은 청크 삭제로 처리)
+-- ALTER TABLE VIEW_LOGS MODIFY
+--     PARTITION BY RANGE (CREATED_AT) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+--     (PARTITION P_VIEW_LOGS_INITIAL VALUES LESS THAN (TIMESTAMP '2024-01-01 00:00:00'))
+--     ONLINE UPDATE INDEXES (IDX_VIEW_LOGS_CREATED_AT LOCAL);
+-- ALTER TABLE SHARE_LOGS MODIFY
+--     PARTITION BY RANGE (CREATED_AT) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+--     (PARTITION P_SHARE_LOGS_INITIAL VALUES LESS THAN (TIMESTAMP '2024-01-01 00:00:00'))
+--     ONLINE UPDATE INDEXES (IDX_SHARE_LOGS_CREATED_AT LOCAL);
+
+-- 확인
+SELECT TABLE_NAME, PARTITION_NAME, HIGH_VALUE, NUM_ROWS
+  FROM USER_TAB_PARTITIONS
+ WHERE TABLE_NAME IN ('VIEW_LOGS', 'SHARE_LOGS')
+ ORDER BY TABLE_NAME, PARTITION_POSITION;
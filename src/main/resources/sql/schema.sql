@@ -3,11 +3,11 @@
 -- =============================================
 
 -- 1. 시퀀스 생성
-CREATE SEQUENCE SEQ_TEST_RESULT START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_TEST_RESULT START WITH 1 INCREMENT BY 50;
 CREATE SEQUENCE SEQ_USER_STATS START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE SEQ_COMMENT START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE SEQ_SHARE_LOG START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE SEQ_VIEW_LOG START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_COMMENT START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE SEQ_SHARE_LOG START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE SEQ_VIEW_LOG START WITH 1 INCREMENT BY 50;
 
 -- 2. 테스트 결과 저장 테이블
 CREATE TABLE TEST_RESULTS (
@@ -15,9 +15,19 @@ CREATE TABLE TEST_RESULTS (
     USER_IP         VARCHAR2(50),                       -- 사용자 IP (비회원용)
     USER_AGENT      VARCHAR2(500),                      -- 브라우저 정보
     MBTI_TYPE       VARCHAR2(4) NOT NULL,               -- MBTI 결과 (예: ENFP)
-    CATEGORY_SCORES CLOB,                               -- JSON 형태의 각 카테고리별 점수
-    ANSWER_DATA     CLOB,                               -- 전체 답변 데이터 (JSON)
+    SCORE_E         NUMBER(3),                          -- 지표별 점수 (E/I/S/N/T/F/J/P)
+    SCORE_I         NUMBER(3),
+    SCORE_S         NUMBER(3),
+    SCORE_N         NUMBER(3),
+    SCORE_T         NUMBER(3),
+    SCORE_F         NUMBER(3),
+    SCORE_J         NUMBER(3),
+    SCORE_P         NUMBER(3),
+    CATEGORY_SCORES CLOB,                               -- 예전 JSON 점수 (typed_score_columns.sql로 이관)
+    ANSWER_DATA     CLOB,                               -- 전체 답변 데이터 (압축 형식, 예전 데이터는 JSON)
     AI_ANALYSIS     CLOB,                               -- AI 분석 결과
+    ANALYSIS_KEY    VARCHAR2(64),                       -- AI 분석 캐시 키 (프롬프트/답변 SHA-256)
+    ANALYSIS_STATUS VARCHAR2(10),                       -- AI 분석 상태 (PENDING / DONE / FAILED / DEFERRED)
     TEST_DURATION   NUMBER(10),                         -- 테스트 소요 시간 (초)
     CREATED_AT      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     UPDATED_AT      TIMESTAMP DEFAULT CURRENT_TIMESTAMP
@@ -80,6 +90,7 @@ CREATE TABLE SHARE_LOGS (
 CREATE TABLE VIEW_LOGS (
     VIEW_ID         NUMBER(10) DEFAULT SEQ_VIEW_LOG.NEXTVAL PRIMARY KEY,
     PAGE_TYPE       VARCHAR2(20) NOT NULL,              -- 페이지 타입 (test, result, stats, etc.)
+    PAGE_NAME       VARCHAR2(30),                       -- 페이지 이름 (MAIN, TEST, RESULT 등, 방문 통계 롤업 키)
     MBTI_TYPE       VARCHAR2(4),                        -- 조회된 MBTI 타입 (해당되는 경우)
     USER_IP         VARCHAR2(50),                       -- 방문자 IP
     USER_AGENT      VARCHAR2(500),                      -- 브라우저 정보
@@ -91,6 +102,7 @@ CREATE TABLE VIEW_LOGS (
 CREATE INDEX IDX_TEST_RESULTS_MBTI ON TEST_RESULTS(MBTI_TYPE);
 CREATE INDEX IDX_TEST_RESULTS_DATE ON TEST_RESULTS(CREATED_AT);
 CREATE INDEX IDX_TEST_RESULTS_IP ON TEST_RESULTS(USER_IP);
+CREATE INDEX IDX_TEST_RESULTS_ANALYSIS_KEY ON TEST_RESULTS(ANALYSIS_KEY);
 
 CREATE INDEX IDX_COMMENTS_MBTI ON COMMENTS(MBTI_TYPE);
 CREATE INDEX IDX_COMMENTS_DATE ON COMMENTS(CREATED_AT);
@@ -120,7 +120,7 @@ BEGIN
     WHERE SEQUENCE_NAME = 'SEQ_COMMENT';
     
     IF seq_count = 0 THEN
-        EXECUTE IMMEDIATE 'CREATE SEQUENCE SEQ_COMMENT START WITH 1 INCREMENT BY 1 NOMAXVALUE NOCYCLE CACHE 20';
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE SEQ_COMMENT START WITH 1 INCREMENT BY 50 NOMAXVALUE NOCYCLE CACHE 20';
     END IF;
 END;
 /
@@ -134,7 +134,7 @@ BEGIN
     WHERE SEQUENCE_NAME = 'SEQ_TEST_RESULT';
     
     IF seq_count = 0 THEN
-        EXECUTE IMMEDIATE 'CREATE SEQUENCE SEQ_TEST_RESULT START WITH 1 INCREMENT BY 1 NOMAXVALUE NOCYCLE CACHE 20';
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE SEQ_TEST_RESULT START WITH 1 INCREMENT BY 50 NOMAXVALUE NOCYCLE CACHE 20';
     END IF;
 END;
 /
@@ -0,0 +1,52 @@
+-- =============================================
+-- 통계 캐시 테이블 (StatisticsCache)
+-- - 유니크 방문자 HyperLogLog 스케치 저장에 사용
+--   STAT_TYPE: VISITORS_DAILY / VISITORS_HOURLY / VISITORS_MBTI
+--   STAT_KEY : 2026-03-14 / 2026-03-14T09 / 2026-03-14|ENFP
+--   STAT_DATA: 압축 후 Base64로 직렬화한 스케치, STAT_VALUE: 저장 시점의 추정값
+-- - 기존 방문 로그로 스케치를 채우려면 visitor.sketch.backfill-days를 설정하고 한 번 기동
+-- =============================================
+
+-- database/oracle_schema.sql로 만든 예전 구조(CACHE_ID / CACHE_KEY / CACHE_VALUE ...)가 있으면
+-- STATISTICS_CACHE_OLD로 이름을 바꿔 보관하고 새 구조로 생성 (예전 행은 만료용 JSON 자리표시뿐이라 옮기지 않음)
+-- 이미 STAT_* 구조면 그대로 둠
+DECLARE
+    table_exists NUMBER;
+    old_layout NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO table_exists
+    FROM USER_TABLES
+    WHERE TABLE_NAME = 'STATISTICS_CACHE';
+    
+    SELECT COUNT(*) INTO old_layout
+    FROM USER_TAB_COLUMNS
+    WHERE TABLE_NAME = 'STATISTICS_CACHE' AND COLUMN_NAME = 'CACHE_KEY';
+    
+    IF old_layout > 0 THEN
+        EXECUTE IMMEDIATE 'ALTER TABLE STATISTICS_CACHE RENAME TO STATISTICS_CACHE_OLD';
+        DBMS_OUTPUT.PUT_LINE('예전 STATISTICS_CACHE를 STATISTICS_CACHE_OLD로 변경함');
+        table_exists := 0;
+    END IF;
+    
+    IF table_exists = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE TABLE STATISTICS_CACHE (
+            STAT_ID       NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            STAT_TYPE     VARCHAR2(50)  NOT NULL,
+            STAT_KEY      VARCHAR2(100),
+            STAT_VALUE    NUMBER(19),
+            STAT_DATA     CLOB,
+            CALCULATED_AT TIMESTAMP DEFAULT SYSTIMESTAMP,
+            EXPIRES_AT    TIMESTAMP,
+            CONSTRAINT UK_STATISTICS_CACHE UNIQUE (STAT_TYPE, STAT_KEY)
+        )';
+        DBMS_OUTPUT.PUT_LINE('STATISTICS_CACHE 테이블 생성됨');
+    ELSE
+        DBMS_OUTPUT.PUT_LINE('STATISTICS_CACHE 테이블 이미 존재');
+    END IF;
+END;
+/
+
+-- 확인
+SELECT STAT_TYPE, COUNT(*) AS SKETCHES, MAX(CALCULATED_AT) AS LAST_SAVED
+  FROM STATISTICS_CACHE
+ GROUP BY STAT_TYPE;
@@ -0,0 +1,28 @@
+-- =============================================
+-- 오늘 / 일별 건수 조회(TimeBuckets)용 CREATED_AT 인덱스
+-- - 조회 조건이 CREATED_AT >= ? AND CREATED_AT < ? 이므로 CREATED_AT 단일 컬럼 인덱스 범위 스캔
+--   (이전 TO_CHAR(CREATED_AT, 'YYYY-MM-DD') 조건은 인덱스를 쓰지 못해 매번 전체 스캔)
+-- - TEST_RESULTS: IDX_TEST_RESULTS_DATE (oracle_schema.sql)
+-- - SHARE_LOGS: IDX_SHARE_LOGS_CREATED_AT (retention_indexes.sql)
+-- - COMMENTS: 아래에서 생성 (이미 같은 컬럼 인덱스가 있으면 건너뜀)
+-- =============================================
+
+DECLARE
+    v_count NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO v_count
+      FROM USER_IND_COLUMNS
+     WHERE TABLE_NAME = 'COMMENTS' AND COLUMN_NAME = 'CREATED_AT' AND COLUMN_POSITION = 1;
+
+    IF v_count = 0 THEN
+        EXECUTE IMMEDIATE 'CREATE INDEX IDX_COMMENTS_CREATED_AT ON COMMENTS(CREATED_AT)';
+    END IF;
+END;
+/
+
+-- 확인: 실행 계획에 INDEX RANGE SCAN이 나와야 함
+EXPLAIN PLAN FOR
+SELECT COUNT(CASE WHEN CREATED_AT >= TIMESTAMP '2026-03-14 00:00:00' AND CREATED_AT < TIMESTAMP '2026-03-15 00:00:00' THEN 1 END)
+  FROM TEST_RESULTS
+ WHERE CREATED_AT >= TIMESTAMP '2026-03-08 00:00:00' AND CREATED_AT < TIMESTAMP '2026-03-15 00:00:00';
+SELECT PLAN_TABLE_OUTPUT FROM TABLE(DBMS_XPLAN.DISPLAY());
@@ -0,0 +1,57 @@
+-- =============================================
+-- 지표별 점수를 숫자 컬럼으로 저장 (SCORE_E ~ SCORE_P)
+-- - 예전에는 CATEGORY_SCORES / DETAILED_SCORES CLOB에 JSON으로 저장
+-- - 새 결과는 숫자 컬럼만 채우고 DETAILED_SCORES는 조회 시 계산
+-- - ANSWER_DATA는 새 결과부터 압축 형식("A1;...")으로 저장, 기존 JSON은 그대로 읽을 수 있어 변환하지 않음
+-- - 이관 전 데이터는 애플리케이션이 CATEGORY_SCORES JSON에서 읽으므로 배포 후 실행해도 됨
+-- =============================================
+
+ALTER TABLE TEST_RESULTS ADD (
+    SCORE_E NUMBER(3),
+    SCORE_I NUMBER(3),
+    SCORE_S NUMBER(3),
+    SCORE_N NUMBER(3),
+    SCORE_T NUMBER(3),
+    SCORE_F NUMBER(3),
+    SCORE_J NUMBER(3),
+    SCORE_P NUMBER(3)
+);
+
+-- 기존 데이터 이관 (CATEGORY_SCORES JSON → 숫자 컬럼, 10,000건씩 커밋)
+DECLARE
+    updated_count NUMBER;
+BEGIN
+    LOOP
+        UPDATE TEST_RESULTS
+           SET SCORE_E = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.E' RETURNING NUMBER NULL ON ERROR)), 0),
+               SCORE_I = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.I' RETURNING NUMBER NULL ON ERROR)), 0),
+               SCORE_S = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.S' RETURNING NUMBER NULL ON ERROR)), 0),
+               SCORE_N = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.N' RETURNING NUMBER NULL ON ERROR)), 0),
+               SCORE_T = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.T' RETURNING NUMBER NULL ON ERROR)), 0),
+               SCORE_F = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.F' RETURNING NUMBER NULL ON ERROR)), 0),
+               SCORE_J = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.J' RETURNING NUMBER NULL ON ERROR)), 0),
+               SCORE_P = NVL(ROUND(JSON_VALUE(CATEGORY_SCORES, '$.P' RETURNING NUMBER NULL ON ERROR)), 0)
+         WHERE SCORE_E IS NULL
+           AND CATEGORY_SCORES IS NOT NULL
+           AND ROWNUM <= 10000;
+
+        updated_count := SQL%ROWCOUNT;
+        COMMIT;
+        EXIT WHEN updated_count = 0;
+    END LOOP;
+END;
+/
+
+-- 이관된 행의 JSON 점수 비우기 (상세 점수는 조회 시 계산)
+UPDATE TEST_RESULTS
+   SET CATEGORY_SCORES = NULL,
+       DETAILED_SCORES = NULL
+ WHERE SCORE_E IS NOT NULL;
+
+COMMIT;
+
+-- 확인: 이관되지 않은 행 수 (0이어야 함)
+SELECT COUNT(*) AS NOT_MIGRATED
+  FROM TEST_RESULTS
+ WHERE SCORE_E IS NULL
+   AND CATEGORY_SCORES IS NOT NULL;
@@ -0,0 +1,46 @@
+-- =============================================
+-- 방문 통계 롤업 테이블 (시간별 / 일별)
+-- - 키: 구간 시작 시각, MBTI 타입(없으면 '-'), 페이지(PAGE_NAME, 없으면 'OTHER')
+-- - 애플리케이션이 방문 로그를 저장하는 트랜잭션에서 MERGE로 VIEW_COUNT를 누적
+-- - 통계 화면은 롤업만 읽으므로 조회 비용이 방문 로그 건수가 아니라 구간 수에 비례
+-- - 기존 방문 로그 백필은 애플리케이션을 멈춘 상태에서 실행 (실행 중이면 그 사이 방문이 두 번 집계됨)
+-- =============================================
+
+ALTER TABLE VIEW_LOGS ADD (PAGE_NAME VARCHAR2(30));
+
+CREATE TABLE VIEW_STATS_HOURLY (
+    BUCKET_START TIMESTAMP     NOT NULL,
+    MBTI_TYPE    VARCHAR2(20)  NOT NULL,
+    PAGE_NAME    VARCHAR2(30)  NOT NULL,
+    VIEW_COUNT   NUMBER(19)    DEFAULT 0 NOT NULL,
+    CONSTRAINT PK_VIEW_STATS_HOURLY PRIMARY KEY (BUCKET_START, MBTI_TYPE, PAGE_NAME)
+);
+
+CREATE TABLE VIEW_STATS_DAILY (
+    BUCKET_START TIMESTAMP     NOT NULL,
+    MBTI_TYPE    VARCHAR2(20)  NOT NULL,
+    PAGE_NAME    VARCHAR2(30)  NOT NULL,
+    VIEW_COUNT   NUMBER(19)    DEFAULT 0 NOT NULL,
+    CONSTRAINT PK_VIEW_STATS_DAILY PRIMARY KEY (BUCKET_START, MBTI_TYPE, PAGE_NAME)
+);
+
+-- 기존 방문 로그 백필 (페이지 정보가 없던 로그는 'OTHER')
+INSERT INTO VIEW_STATS_HOURLY (BUCKET_START, MBTI_TYPE, PAGE_NAME, VIEW_COUNT)
+SELECT CAST(TRUNC(CREATED_AT, 'HH24') AS TIMESTAMP), NVL(MBTI_TYPE, '-'), NVL(PAGE_NAME, 'OTHER'), COUNT(*)
+  FROM VIEW_LOGS
+ WHERE CREATED_AT IS NOT NULL
+ GROUP BY TRUNC(CREATED_AT, 'HH24'), NVL(MBTI_TYPE, '-'), NVL(PAGE_NAME, 'OTHER');
+
+INSERT INTO VIEW_STATS_DAILY (BUCKET_START, MBTI_TYPE, PAGE_NAME, VIEW_COUNT)
+SELECT CAST(TRUNC(BUCKET_START) AS TIMESTAMP), MBTI_TYPE, PAGE_NAME, SUM(VIEW_COUNT)
+  FROM VIEW_STATS_HOURLY
+ GROUP BY TRUNC(BUCKET_START), MBTI_TYPE, PAGE_NAME;
+
+COMMIT;
+
+-- 확인
+SELECT 'HOURLY' AS ROLLUP, COUNT(*) AS BUCKETS, SUM(VIEW_COUNT) AS VIEWS FROM VIEW_STATS_HOURLY
+UNION ALL
+SELECT 'DAILY', COUNT(*), SUM(VIEW_COUNT) FROM VIEW_STATS_DAILY
+UNION ALL
+SELECT 'RAW', NULL, COUNT(*) FROM VIEW_LOGS WHERE CREATED_AT IS NOT NULL;
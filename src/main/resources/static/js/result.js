@@ -9,6 +9,53 @@ function initializeResultPage() {
     setupResultAnimations();
     setupScoreAnimations();
     loadRelatedContent();
+    pollPendingAnalysis();
+}
+
+/**
+ * AI 분석이 진행 중이면 완료될 때까지 상태 조회
+ */
+function pollPendingAnalysis() {
+    const waiting = resultData.analysisStatus === 'PENDING' || resultData.analysisStatus === 'DEFERRED';
+    if (!waiting || !resultData.resultId) return;
+
+    const content = document.getElementById('pendingAnalysisContent');
+    const notice = document.getElementById('pendingAnalysisNotice');
+    const maxAttempts = 60;
+    let attempts = 0;
+
+    const poll = async () => {
+        attempts++;
+        try {
+            const response = await fetch(`/api/results/${resultData.resultId}/status`);
+            const data = await response.json();
+
+            if (data.success && data.analysisStatus === 'DONE') {
+                if (content) content.textContent = data.aiAnalysis;
+                if (notice) notice.remove();
+                return;
+            }
+            if (data.success && data.analysisStatus === 'FAILED') {
+                // 기본 분석이 표시 중이면 그대로 두고 안내만 변경
+                if (notice) {
+                    notice.textContent = 'AI 맞춤 분석에 실패해 유형별 기본 분석을 표시합니다.';
+                } else if (content) {
+                    content.textContent = 'AI 분석에 실패했습니다. 다시 테스트를 진행해주세요.';
+                }
+                return;
+            }
+        } catch (error) {
+            console.error('AI 분석 상태 조회 실패:', error);
+        }
+
+        if (attempts < maxAttempts) {
+            setTimeout(poll, 2000);
+        } else if (content) {
+            content.textContent = 'AI 분석이 지연되고 있습니다. 잠시 후 새로고침해주세요.';
+        }
+    };
+
+    setTimeout(poll, 2000);
 }
 
 /**
@@ -1,96 +1,24 @@
-// 질문 데이터 - 복합 분석형
-const questions = [
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '새로운 직장에 첫 출근하는 날, 당신은 어떻게 하루를 보내고 어떤 첫인상을 남기려고 하나요? 구체적으로 묘사해주세요.',
-        criteria: 'MBTI: 먼저 다가가는가(E) vs 관찰 후 접근(I), 구체적 계획(S) vs 전체 분위기 파악(N), 업무 중심(T) vs 관계 중심(F), 체계적 준비(J) vs 상황 대응(P) / D&D: 규칙과 절차 준수(질서) vs 자유로운 적응(혼돈), 타인 도움(선) vs 개인 성과(중립/악) / 에니어그램: 완벽한 모습(1), 도움 되기(2), 인정받기(3), 독특함(4), 관찰(5), 안전 확보(6), 즐거움(7), 주도권(8), 조화(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '팀 프로젝트에서 의견이 완전히 갈린 상황입니다. 절반은 A안을, 절반은 B안을 주장하고 있습니다. 당신은 어떻게 행동하고 이 상황을 해결하려 하나요?',
-        criteria: 'MBTI: 적극적 중재(E) vs 신중한 관찰(I), 실용적 타협(S) vs 창의적 대안(N), 논리적 분석(T) vs 감정적 조화(F), 결정 촉구(J) vs 더 많은 논의(P) / D&D: 규칙/절차대로(질서) vs 유연한 해결(혼돈), 팀 전체 이익(선) vs 효율성 우선(중립) / 에니어그램: 올바른 방향 제시(1), 중재자 역할(2), 성과 중심 해결(3), 창의적 접근(4), 분석 후 제안(5), 신중한 검토(6), 긍정적 분위기(7), 강력한 결정(8), 갈등 회피(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '당신이 가장 행복하고 만족스러웠던 경험을 떠올려보세요. 그때 무엇을 하고 있었고, 왜 그렇게 만족스러웠는지 자세히 설명해주세요.',
-        criteria: 'MBTI: 사람들과 함께(E) vs 혼자만의 시간(I), 구체적 성취(S) vs 의미와 가능성(N), 성과와 효율(T) vs 관계와 조화(F), 계획된 목표 달성(J) vs 즉흥적 경험(P) / D&D: 규칙 안에서의 성취(질서) vs 자유로운 탐험(혼돈), 타인에게 도움(선) vs 개인적 만족(중립) / 에니어그램: 완벽한 완성(1), 누군가 도움(2), 인정과 성공(3), 특별한 경험(4), 깊은 이해(5), 안전한 환경(6), 새로운 즐거움(7), 통제와 성취(8), 평화로운 조화(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '중요한 결정을 내려야 하는 상황에서 시간이 촉박합니다. 충분한 정보가 없고 주변에서는 서로 다른 조언을 해줍니다. 이럴 때 당신은 어떻게 결정을 내리나요?',
-        criteria: 'MBTI: 타인과 상의(E) vs 혼자 고민(I), 기존 경험과 사실(S) vs 직감과 가능성(N), 논리적 분석(T) vs 가치와 감정(F), 빠른 결정(J) vs 더 많은 정보 수집(P) / D&D: 원칙과 규칙 준수(질서) vs 상황에 맞는 유연성(혼돈), 타인 영향 고려(선) vs 개인 이익 우선(중립/악) / 에니어그램: 올바른 선택 추구(1), 타인 의견 수용(2), 성공 가능성 중시(3), 진정성 있는 선택(4), 신중한 분석(5), 안전한 선택(6), 긍정적 결과 기대(7), 주도적 결정(8), 갈등 최소화(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '당신의 친한 친구가 도덕적으로 문제가 있는 일을 하려고 합니다. 말려도 듣지 않고 오히려 당신에게 도움을 요청합니다. 어떻게 반응하시겠습니까?',
-        criteria: 'MBTI: 적극적 개입(E) vs 거리 두기(I), 구체적 결과 경고(S) vs 원칙적 설득(N), 논리적 반박(T) vs 감정적 호소(F), 명확한 거절(J) vs 상황 지켜보기(P) / D&D: 도덕적 원칙 고수(질서선) vs 친구 관계 우선(혼돈중립) vs 자신의 이익 고려(악) / 에니어그램: 올바름 추구(1), 친구 구하기(2), 관계 유지 vs 평판(3), 진정성 있는 관계(4), 거리 두고 관찰(5), 위험 회피(6), 문제 회피(7), 단호한 거절(8), 갈등 피하기(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '큰 실패를 경험한 후 당신은 어떻게 반응하고 회복하는 편인가요? 그 과정에서 가장 중요하게 생각하는 것은 무엇인가요?',
-        criteria: 'MBTI: 타인과 이야기(E) vs 혼자 정리(I), 구체적 원인 분석(S) vs 의미 찾기(N), 객관적 평가(T) vs 감정적 치유(F), 체계적 회복 계획(J) vs 자연스러운 회복(P) / D&D: 원칙적 성찰(질서) vs 유연한 적응(혼돈), 타인에게 미안함(선) vs 개인적 성장 중심(중립) / 에니어그램: 완벽을 위한 개선(1), 타인의 위로(2), 재기를 통한 성공(3), 실패의 깊은 의미(4), 원인의 철저한 분석(5), 안전망 구축(6), 새로운 기회 찾기(7), 더 강한 의지(8), 평온한 수용(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '리더 역할을 맡게 되었을 때, 당신만의 리더십 스타일은 어떤 모습인가요? 팀원들과는 어떻게 소통하고 어떤 분위기를 만들려고 하나요?',
-        criteria: 'MBTI: 적극적 소통(E) vs 필요시 소통(I), 실무 중심(S) vs 비전 중심(N), 성과 중심(T) vs 관계 중심(F), 체계적 관리(J) vs 유연한 관리(P) / D&D: 공정한 규칙(질서) vs 상황별 대응(혼돈), 팀 전체 이익(선) vs 효율성 우선(중립) / 에니어그램: 완벽한 시스템(1), 팀원 돌봄(2), 성과 달성(3), 창의적 환경(4), 전문성 기반(5), 안정적 운영(6), 즐거운 분위기(7), 강력한 추진력(8), 조화로운 팀(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '당신이 가장 화가 나거나 스트레스를 받는 상황은 언제이며, 그럴 때 어떻게 대처하나요? 주변 사람들은 당신의 이런 모습을 어떻게 볼 것 같나요?',
-        criteria: 'MBTI: 외부 표출(E) vs 내재화(I), 구체적 문제 해결(S) vs 의미 부여(N), 논리적 해결(T) vs 감정적 해소(F), 체계적 대응(J) vs 즉흥적 대응(P) / D&D: 원칙적 분노(질서) vs 자유로운 해소(혼돈), 타인 배려(선) vs 자기중심적 해소(악) / 에니어그램: 불완전함에 화남(1), 무시받을 때(2), 실패 두려움(3), 이해받지 못함(4), 침범당함(5), 불안정함(6), 제약받음(7), 통제당함(8), 갈등 상황(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '10년 후 당신이 되고 싶은 모습은 어떤가요? 그 목표를 위해 지금 가장 중요하게 생각하는 것과 실제로 하고 있는 노력은 무엇인가요?',
-        criteria: 'MBTI: 사회적 역할(E) vs 개인적 성취(I), 구체적 목표(S) vs 추상적 비전(N), 성과 지향(T) vs 가치 실현(F), 체계적 계획(J) vs 유연한 적응(P) / D&D: 사회적 기여(질서선) vs 개인적 자유(혼돈중립) / 에니어그램: 완벽한 삶(1), 사랑받는 사람(2), 성공한 사람(3), 특별한 사람(4), 지혜로운 사람(5), 안전한 삶(6), 풍요로운 경험(7), 강력한 영향력(8), 평화로운 삶(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '새로운 환경이나 변화가 있을 때 당신의 적응 과정은 어떤가요? 변화를 대하는 당신만의 방식이 있다면 설명해주세요.',
-        criteria: 'MBTI: 적극적 탐색(E) vs 신중한 적응(I), 단계적 적응(S) vs 전체적 파악(N), 효율적 적응(T) vs 감정적 적응(F), 계획적 준비(J) vs 즉흥적 대응(P) / D&D: 기존 규칙 활용(질서) vs 새로운 방식 시도(혼돈), 타인과 함께 적응(선) vs 개인적 적응(중립) / 에니어그램: 완벽한 적응(1), 도움 받으며 적응(2), 빠른 성과(3), 독특한 방식(4), 충분한 이해 후 적응(5), 안전 확보 후 적응(6), 즐거운 탐험(7), 주도적 적응(8), 점진적 적응(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '당신에게 정의란 무엇이며, 불의를 목격했을 때 어떻게 행동하나요? 구체적인 상황을 가정해서 설명해주세요.',
-        criteria: 'MBTI: 적극적 개입(E) vs 신중한 접근(I), 현실적 해결(S) vs 원칙적 접근(N), 합리적 판단(T) vs 감정적 판단(F), 즉시 행동(J) vs 상황 관찰(P) / D&D: 법적 해결(질서선) vs 직접 해결(혼돈선) vs 개입 안함(중립) vs 이용(악) / 에니어그램: 옳은 일 추구(1), 약자 보호(2), 공정한 성과(3), 진정한 정의(4), 객관적 분석(5), 안전한 방법(6), 밝은 해결(7), 강력한 대응(8), 평화로운 해결(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '인생에서 가장 소중하게 여기는 가치나 신념이 있다면 무엇인가요? 그것이 당신의 일상적인 선택과 행동에 어떻게 영향을 미치나요?',
-        criteria: 'MBTI: 사회적 가치(E) vs 개인적 신념(I), 실용적 가치(S) vs 이상적 가치(N), 원칙과 일관성(T) vs 관계와 조화(F), 확고한 실행(J) vs 유연한 적용(P) / D&D: 사회적 규범(질서) vs 개인적 자유(혼돈), 타인 배려(선) vs 개인 추구(중립/악) / 에니어그램: 완벽함(1), 사랑과 헌신(2), 성취와 성공(3), 진정성과 독특함(4), 지식과 이해(5), 안전과 충성(6), 즐거움과 자유(7), 힘과 자율성(8), 평화와 조화(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '깊은 고민이나 갈등이 있을 때, 당신은 누구에게 어떤 방식으로 도움을 요청하나요? 혹은 혼자 해결하는 편인가요? 그 이유는 무엇인가요?',
-        criteria: 'MBTI: 적극적 상의(E) vs 혼자 해결(I), 경험자 조언(S) vs 새로운 관점(N), 논리적 조언(T) vs 감정적 지지(F), 결론 지향(J) vs 과정 중심(P) / D&D: 공식적 도움(질서) vs 비공식적 도움(혼돈), 타인 부담 고려(선) vs 자신 필요 우선(중립) / 에니어그램: 완벽한 해답 추구(1), 정서적 지지(2), 성공한 사람 조언(3), 이해받고 싶음(4), 전문가 조언(5), 신뢰할 수 있는 사람(6), 긍정적 관점(7), 독립적 해결(8), 갈등 회피(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '당신만의 행복이나 만족감을 찾는 방법은 무엇인가요? 어떤 순간에 "아, 정말 살아있다는 느낌이다"라고 생각하시나요?',
-        criteria: 'MBTI: 사회적 연결(E) vs 개인적 성취(I), 감각적 경험(S) vs 의미 있는 경험(N), 성취와 인정(T) vs 사랑과 조화(F), 목표 달성(J) vs 자유로운 탐험(P) / D&D: 질서 안에서의 만족(질서) vs 자유로운 즐거움(혼돈), 타인과 함께(선) vs 개인적 만족(중립) / 에니어그램: 완벽한 순간(1), 사랑받는 순간(2), 성공의 순간(3), 특별한 순간(4), 이해의 순간(5), 안전한 순간(6), 즐거운 순간(7), 통제하는 순간(8), 평화로운 순간(9)'
-    },
-    {
-        category: '복합분석',
-        type: 'comprehensive',
-        question: '당신이 다른 사람들에게 어떻게 기억되고 싶은가요? 그리고 실제로 주변 사람들이 당신을 어떤 사람이라고 묘사할 것 같나요? 차이가 있다면 그 이유는 무엇일까요?',
-        criteria: 'MBTI: 사회적 영향력(E) vs 개인적 진정성(I), 실용적 기여(S) vs 의미 있는 유산(N), 능력과 성과(T) vs 인간성과 따뜻함(F), 일관된 모습(J) vs 다면적 모습(P) / D&D: 모범적 인물(질서선) vs 자유로운 영혼(혼돈중립) / 에니어그램: 완벽한 사람(1), 헌신적인 사람(2), 성공한 사람(3), 특별한 사람(4), 지혜로운 사람(5), 신뢰할 수 있는 사람(6), 즐거운 사람(7), 강한 사람(8), 평화로운 사람(9)'
+// 질문 데이터 - 서버의 질문 목록(/api/questions)에서 불러옴
+let questions = [];
+let questionCatalogVersion = null;
+
+/**
+ * 질문 목록 불러오기
+ * - 페이지에 버전이 있으면 버전 고정 URL로 요청 (브라우저 장기 캐시)
+ */
+async function loadQuestionCatalog() {
+    const version = window.questionCatalogVersion;
+    const url = version ? `/api/questions/${encodeURIComponent(version)}` : '/api/questions';
+
+    const response = await fetch(url);
+    if (!response.ok) {
+        throw new Error(`질문 목록을 불러오지 못했습니다: ${response.status}`);
     }
-];
+
+    const catalog = await response.json();
+    questions = catalog.questions;
+    questionCatalogVersion = catalog.version;
+}
 
 class PersonalityTest {
     constructor() {
@@ -556,6 +484,7 @@ ${this.currentQuestionIndex === questions.length - 1 ? '🚀 분석 시작하기
 <div class="spinner"></div>
 <h3>AI가 당신의 성격을 분석하고 있습니다...</h3>
 <p>잠시만 기다려주세요. 이 과정은 약 30초 정도 소요됩니다.</p>
+<pre id="streamingPreview" style="display: none; max-height: 240px; overflow-y: auto; margin-top: 20px; padding: 16px; text-align: left; white-space: pre-wrap; word-break: break-all; font-size: 0.85rem; color: #475569; background: rgba(59, 130, 246, 0.05); border-radius: 12px;"></pre>
 </div>
 `;
 
@@ -573,18 +502,6 @@ ${this.currentQuestionIndex === questions.length - 1 ? '🚀 분석 시작하기
         // 테스트 시작 시간 기록 (추정)
         const testDuration = Math.floor(Math.random() * 300) + 180; // 3-8분 사이 랜덤
 
-        // 답변 데이터 준비
-        const answersWithQuestions = questions.map((q, index) => ({
-            category: q.category,
-            type: q.type,
-            question: q.question,
-            answer: this.answers[index],
-            criteria: q.criteria
-        }));
-
-        // AI 프롬프트 작성
-        const prompt = this.createAnalysisPrompt(answersWithQuestions);
-
         // 간단한 MBTI 타입 추정 (AI 응답에서 추출할 예정)
         const estimatedMbtiType = "ENFP"; // 임시값, AI가 정확한 값 반환할 것
 
@@ -596,70 +513,26 @@ ${this.currentQuestionIndex === questions.length - 1 ? '🚀 분석 시작하기
             J: 30, P: 70
         };
 
-        try {
-            const response = await fetch('/api/analyze', {
-                method: 'POST',
-                headers: {
-                    'Content-Type': 'application/json',
-                },
-                body: JSON.stringify({
-                    prompt: prompt,
-                    mbtiType: estimatedMbtiType,
-                    testDuration: testDuration,
-                    categoryScores: categoryScores,
-                    answers: this.answers.map((answer, index) => ({ question: index + 1, answer: answer }))
-                })
-            });
-
-            if (!response.ok) {
-                throw new Error(`서버 요청 실패: ${response.status}`);
-            }
-
-            const data = await response.json();
-
-            if (!data.success) {
-                throw new Error(data.error || '서버에서 알 수 없는 오류가 발생했습니다.');
-            }
-
-            // 서버에서 받은 Gemini 응답 처리
-            const geminiData = data.data;
-
-            // 디버깅: 실제 응답 내용 확인
-            console.log('=== 서버 API 응답 디버깅 ===');
-            console.log('서버 응답:', data);
-            console.log('Gemini 데이터:', geminiData);
-            console.log('===========================');
-
-            if (!geminiData.candidates || !geminiData.candidates[0] || !geminiData.candidates[0].content) {
-                throw new Error('AI 응답 형식이 올바르지 않습니다.');
-            }
-
-            // parts 구조 안전하게 접근
-            const content = geminiData.candidates[0].content;
-            let aiResponse = '';
-
-            console.log('aiResponse 추출 시도...');
-            if (content.parts && content.parts.length > 0 && content.parts[0].text) {
-                aiResponse = content.parts[0].text;
-                console.log('성공: parts[0].text 사용:', aiResponse.substring(0, 200) + '...');
-            } else if (content.text) {
-                // 혹시 직접 text 필드가 있는 경우
-                aiResponse = content.text;
-                console.log('성공: content.text 사용:', aiResponse.substring(0, 200) + '...');
-            } else {
-                aiResponse = '응답을 받았지만 텍스트 추출에 실패했습니다. (finishReason: ' + geminiData.candidates[0].finishReason + ')';
-                console.log('실패: 기본 메시지 사용:', aiResponse);
-            }
-
-            // DB 저장 성공 여부 확인
-            if (data.resultId) {
-                console.log('✅ DB 저장 성공! 결과 ID:', data.resultId);
-                console.log('🔗 결과 URL:', data.resultUrl);
+        // 질문 id와 답변만 전송 (프롬프트는 서버에서 조립)
+        const requestBody = {
+            catalogVersion: questionCatalogVersion,
+            mbtiType: estimatedMbtiType,
+            testDuration: testDuration,
+            categoryScores: categoryScores,
+            answers: questions.map((q, index) => ({ questionId: q.id, answer: this.answers[index] }))
+        };
 
-                // 결과 페이지로 리다이렉트할 수도 있음 (선택사항)
-                // window.location.href = data.resultUrl;
-            } else {
-                console.log('⚠️ DB 저장 실패 또는 정보 없음');
+        try {
+            // 스트리밍으로 먼저 시도하고, 지원되지 않으면 기존 방식으로 요청
+            let aiResponse;
+            try {
+                aiResponse = await this.requestAnalysisStream(requestBody);
+            } catch (streamError) {
+                if (!streamError.fallback) {
+                    throw streamError;
+                }
+                console.warn('스트리밍 분석을 사용할 수 없어 일반 요청으로 전환합니다:', streamError.message);
+                aiResponse = await this.requestAnalysis(requestBody);
             }
 
             // JSON 파싱 시도
@@ -683,67 +556,218 @@ ${this.currentQuestionIndex === questions.length - 1 ? '🚀 분석 시작하기
         }
     }
 
-    createAnalysisPrompt(answersWithQuestions) {
-        return `
-당신은 전문적인 성격 분석 AI입니다. 사용자의 답변을 바탕으로 MBTI, D&D 성향, 에니어그램을 정확하고 자세하게 분석해주세요.
-
-### 분석 대상 답변:
-${answersWithQuestions.map((item, index) => `
-**질문 ${index + 1}:** ${item.question}
-**답변:** ${item.answer}
-`).join('\n')}
-
-### 분석 요구사항:
-1. **MBTI**: E/I, S/N, T/F, J/P 차원 분석하여 4글자 조합 도출
-   - 각 차원별 퍼센트도 함께 제공 (합이 100%가 되도록, 예: E 30% + I 70% = 100%)
-2. **D&D 성향**: 질서-혼돈, 선-악 축 분석하여 9가지 중 선택
-3. **에니어그램**: 1-9번 유형 중 선택, 가능하면 날개(w) 포함
-
-### 응답 형식 (반드시 JSON으로):
-\`\`\`json
-{
-  "mbti": {
-    "type": "MBTI타입",
-    "percentages": {
-      "E": 30,
-      "I": 70,
-      "S": 25,
-      "N": 75,
-      "T": 80,
-      "F": 20,
-      "J": 35,
-      "P": 65
-    },
-    "description": "상세한 설명 (5-6문장)"
-  },
-  "dnd": {
-    "alignment": "성향명",
-    "description": "상세한 설명 (5-6문장)"
-  },
-  "enneagram": {
-    "type": "유형",
-    "description": "상세한 설명 (5-6문장)"
-  },
-  "comprehensive": {
-    "summary": "종합 분석 (8-10문장)",
-    "strengths": ["강점 5-6개"],
-    "weaknesses": ["단점 4-5개"],
-    "growth_areas": ["성장영역 5-6개"],
-    "one_line_summary": "한 줄 핵심 정체성",
-    "similar_characters": {
-      "name": "캐릭터명",
-      "source": "작품명",
-      "reason": "유사성 설명 (3-4문문장)"
-    },
-    "recommendations": "맞춤 조언 (5-6문장)"
-  }
-}
-\`\`\`
+    /**
+     * 스트리밍 분석 요청 (SSE)
+     * - 생성되는 텍스트를 로딩 화면에 바로 보여주고, 완료되면 전체 텍스트 반환
+     */
+    async requestAnalysisStream(requestBody) {
+        const fallbackError = (message) => Object.assign(new Error(message), { fallback: true });
+
+        if (!window.ReadableStream || !window.TextDecoder) {
+            throw fallbackError('브라우저가 스트리밍을 지원하지 않습니다.');
+        }
 
-사용자의 답변 패턴을 종합적으로 분석하여 정확하고 개인화된 결과를 제공해주세요.
+        let response;
+        try {
+            response = await fetch('/api/analyze/stream', {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json',
+                    'Accept': 'text/event-stream'
+                },
+                body: JSON.stringify(requestBody)
+            });
+        } catch (networkError) {
+            throw fallbackError(networkError.message);
+        }
 
-**중요: similar_characters는 반드시 애니메이션, 만화, 게임 캐릭터만 선택하세요. 실사 드라마, 영화, 소설 캐릭터는 제외합니다.**
-`;
+        // 요청 한도 초과는 일반 요청으로 다시 보내지 않음
+        if (response.status === 429) {
+            throw new Error(this.retryAfterMessage(response));
+        }
+        if (!response.ok || !response.body) {
+            throw fallbackError(`서버 요청 실패: ${response.status}`);
+        }
+
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder('utf-8');
+        let buffer = '';
+        let aiResponse = '';
+        let finished = false;
+
+        while (!finished) {
+            const { value, done } = await reader.read();
+            if (done) break;
+
+            buffer += decoder.decode(value, { stream: true });
+
+            // 이벤트는 빈 줄로 구분
+            let boundary;
+            while ((boundary = buffer.search(/\r?\n\r?\n/)) !== -1) {
+                const rawEvent = buffer.slice(0, boundary);
+                buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, '');
+
+                let eventName = 'message';
+                let data = '';
+                rawEvent.split(/\r?\n/).forEach(line => {
+                    if (line.startsWith('event:')) {
+                        eventName = line.slice(6).trim();
+                    } else if (line.startsWith('data:')) {
+                        data += line.slice(5);
+                    }
+                });
+
+                const payload = data ? JSON.parse(data) : {};
+
+                if (eventName === 'saved') {
+                    if (payload.resultId) {
+                        console.log('✅ DB 저장 성공! 결과 ID:', payload.resultId);
+                        console.log('🔗 결과 URL:', payload.resultUrl);
+                    }
+                } else if (eventName === 'chunk') {
+                    aiResponse += payload.text;
+                    this.showStreamingText(aiResponse);
+                } else if (eventName === 'error') {
+                    throw new Error(payload.error || '서버에서 알 수 없는 오류가 발생했습니다.');
+                } else if (eventName === 'done') {
+                    finished = true;
+                }
+            }
+        }
+
+        if (!aiResponse) {
+            throw new Error('AI 응답이 중단되었습니다.');
+        }
+
+        return aiResponse;
+    }
+
+    /**
+     * 일반 분석 요청 (전체 응답을 한 번에 수신)
+     */
+    async requestAnalysis(requestBody) {
+        const response = await fetch('/api/analyze', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+            },
+            body: JSON.stringify(requestBody)
+        });
+
+        if (response.status === 429) {
+            throw new Error(this.retryAfterMessage(response));
+        }
+        if (!response.ok) {
+            throw new Error(`서버 요청 실패: ${response.status}`);
+        }
+
+        const data = await response.json();
+
+        if (!data.success) {
+            throw new Error(data.error || '서버에서 알 수 없는 오류가 발생했습니다.');
+        }
+
+        // 지연 허용 시간 초과 - 유형별 기본 분석을 먼저 표시 (맞춤 분석은 결과 페이지에서 확인)
+        if (data.fallback && data.aiAnalysis) {
+            console.log('⏱️ AI 응답 지연으로 기본 분석 사용. 결과 ID:', data.resultId);
+            this.fallbackResultUrl = data.resultUrl;
+            return data.aiAnalysis;
+        }
+
+        // 결과는 먼저 저장되고 분석은 서버에서 진행 중 - 완료될 때까지 상태 조회
+        if (data.analysisStatus === 'PENDING' || data.analysisStatus === 'DEFERRED') {
+            console.log('✅ DB 저장 성공! 결과 ID:', data.resultId);
+            return await this.waitForAnalysis(data.statusUrl);
+        }
+
+        // 서버에서 받은 Gemini 응답 처리
+        const geminiData = data.data;
+
+        // 디버깅: 실제 응답 내용 확인
+        console.log('=== 서버 API 응답 디버깅 ===');
+        console.log('서버 응답:', data);
+        console.log('Gemini 데이터:', geminiData);
+        console.log('===========================');
+
+        if (!geminiData.candidates || !geminiData.candidates[0] || !geminiData.candidates[0].content) {
+            throw new Error('AI 응답 형식이 올바르지 않습니다.');
+        }
+
+        // parts 구조 안전하게 접근
+        const content = geminiData.candidates[0].content;
+        let aiResponse = '';
+
+        console.log('aiResponse 추출 시도...');
+        if (content.parts && content.parts.length > 0 && content.parts[0].text) {
+            aiResponse = content.parts[0].text;
+            console.log('성공: parts[0].text 사용:', aiResponse.substring(0, 200) + '...');
+        } else if (content.text) {
+            // 혹시 직접 text 필드가 있는 경우
+            aiResponse = content.text;
+            console.log('성공: content.text 사용:', aiResponse.substring(0, 200) + '...');
+        } else {
+            aiResponse = '응답을 받았지만 텍스트 추출에 실패했습니다. (finishReason: ' + geminiData.candidates[0].finishReason + ')';
+            console.log('실패: 기본 메시지 사용:', aiResponse);
+        }
+
+        // DB 저장 성공 여부 확인
+        if (data.resultId) {
+            console.log('✅ DB 저장 성공! 결과 ID:', data.resultId);
+            console.log('🔗 결과 URL:', data.resultUrl);
+        } else {
+            console.log('⚠️ DB 저장 실패 또는 정보 없음');
+        }
+
+        return aiResponse;
+    }
+
+    /**
+     * 백그라운드 분석 완료 대기 (2초 간격으로 상태 조회)
+     * - DEFERRED: AI 서비스 회복 후 서버에서 다시 분석하므로 계속 대기
+     */
+    async waitForAnalysis(statusUrl) {
+        const maxAttempts = 90;
+
+        for (let attempt = 0; attempt < maxAttempts; attempt++) {
+            await new Promise(resolve => setTimeout(resolve, 2000));
+
+            const response = await fetch(statusUrl);
+            if (!response.ok) {
+                throw new Error(`서버 요청 실패: ${response.status}`);
+            }
+
+            const data = await response.json();
+            if (data.analysisStatus === 'DONE') {
+                return data.aiAnalysis;
+            }
+            if (data.analysisStatus === 'FAILED') {
+                throw new Error('AI 분석에 실패했습니다. 다시 시도해주세요.');
+            }
+        }
+
+        throw new Error('AI 응답 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.');
+    }
+
+    /**
+     * 요청 한도 초과(429) 안내 문구 (Retry-After 초 단위)
+     */
+    retryAfterMessage(response) {
+        const retryAfter = parseInt(response.headers.get('Retry-After'), 10);
+        return Number.isNaN(retryAfter)
+            ? '요청이 많아 잠시 후 다시 시도해주세요.'
+            : `요청이 많아 ${retryAfter}초 후에 다시 시도해주세요.`;
+    }
+
+    /**
+     * 로딩 화면에 생성 중인 텍스트 표시
+     */
+    showStreamingText(text) {
+        const preview = document.getElementById('streamingPreview');
+        if (!preview) return;
+
+        preview.style.display = 'block';
+        preview.textContent = text;
+        preview.scrollTop = preview.scrollHeight;
     }
 
     parseTextResponse(response) {
@@ -788,6 +812,11 @@ ${answersWithQuestions.map((item, index) => `
 <h2 style="text-align: center; margin-bottom: 30px; color: #2c3e50;">
     🎭 당신의 성격 분석 결과
 </h2>
+${results.fallback ? `
+<div style="margin-bottom: 20px; padding: 15px; background: #fff8e1; border-left: 4px solid #FFB84D; border-radius: 8px; color: #2c3e50;">
+    ⏱️ ${results.notice}
+    ${this.fallbackResultUrl ? `<br><a href="${this.fallbackResultUrl}" target="_blank" style="color: #0066cc;">결과 페이지에서 맞춤 분석 확인하기</a>` : ''}
+</div>` : ''}
 
 <div class="result-card">
 <div class="category-badge mbti">MBTI</div>
@@ -1115,8 +1144,9 @@ ${questions.map((question, index) => `
 window.personalityTest = null;
 
 // DOM 로드 완료 후 초기화
-document.addEventListener('DOMContentLoaded', function() {
+document.addEventListener('DOMContentLoaded', async function() {
     try {
+        await loadQuestionCatalog();
         window.personalityTest = new PersonalityTest();
         console.log('✅ PersonalityTest 초기화 성공');
     } catch (error) {
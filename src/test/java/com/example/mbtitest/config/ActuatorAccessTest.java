@@ -0,0 +1,78 @@
+package com.example.mbtitest.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 운영 엔드포인트 접근 제한 / 메트릭 등록 확인
+ * - 관리 포트를 앱 포트와 같게 두어도 metrics는 로컬 접속만 허용되는지 확인
+ */
+@SpringBootTest(properties = {"server.port=18080", "management.server.port=18080"})
+@AutoConfigureMockMvc
+class ActuatorAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void healthIsPublic() throws Exception {
+        // 테스트 환경에는 Oracle이 없어 DOWN(503)일 수 있으므로 거부되지 않았는지만 확인
+        int status = mockMvc.perform(get("/actuator/health").with(remoteAddr("203.0.113.7")))
+            .andReturn().getResponse().getStatus();
+        assertThat(status).isIn(200, 503);
+    }
+
+    @Test
+    void metricsAreForbiddenFromRemoteAddress() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(remoteAddr("203.0.113.7")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/ai.bulkhead.available").with(remoteAddr("203.0.113.7")))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void poolAndAiMetricsAreRegistered() throws Exception {
+        String body = mockMvc.perform(get("/actuator/metrics").with(remoteAddr("127.0.0.1")))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        List<String> names = new ArrayList<>();
+        for (JsonNode name : objectMapper.readTree(body).path("names")) {
+            names.add(name.asText());
+        }
+        assertThat(names).contains(
+            "httpcomponents.httpclient.pool.total.max",
+            "httpcomponents.httpclient.pool.total.connections",
+            "executor.pool.size",
+            "ai.bulkhead.available",
+            "cache.gets");
+
+        mockMvc.perform(get("/actuator/metrics/httpcomponents.httpclient.pool.total.max")
+                .param("tag", "httpclient:gemini")
+                .with(remoteAddr("127.0.0.1")))
+            .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.mbtitest.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Gemini HTTP 클라이언트 설정 테스트
+ * - 커넥션 풀 최대 연결 수와 연결 / 읽기 타임아웃이 실제 클라이언트에 적용되는지 확인
+ * - 연결만 받고 응답하지 않는 서버 소켓 사용
+ */
+class GeminiClientConfigTest {
+
+    private final GeminiClientConfig config = new GeminiClientConfig();
+
+    private ServerSocket silentServer;
+    private CloseableHttpClient httpClient;
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (silentServer != null) {
+            silentServer.close();
+        }
+    }
+
+    @Test
+    void connectionConfig_usesConfiguredTimeouts() {
+        GeminiProperties properties = new GeminiProperties();
+        properties.setConnectTimeout(Duration.ofMillis(1500));
+        properties.setReadTimeout(Duration.ofSeconds(45));
+
+        ConnectionConfig connectionConfig = GeminiClientConfig.connectionConfig(properties);
+
+        assertThat(connectionConfig.getConnectTimeout().toMilliseconds()).isEqualTo(1500);
+        assertThat(connectionConfig.getSocketTimeout().toMilliseconds()).isEqualTo(45_000);
+    }
+
+    @Test
+    void restClient_failsWithReadTimeout() throws Exception {
+        GeminiProperties properties = new GeminiProperties();
+        properties.setReadTimeout(Duration.ofMillis(300));
+        RestClient restClient = startClient(properties, config.geminiConnectionManager(properties));
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> restClient.get().uri(silentUrl()).retrieve().toBodilessEntity())
+            .hasRootCauseInstanceOf(SocketTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void connectionPool_limitsConcurrentConnections() throws Exception {
+        GeminiProperties properties = new GeminiProperties();
+        properties.setMaxConnections(2);
+        properties.setReadTimeout(Duration.ofSeconds(10));
+        PoolingHttpClientConnectionManager connectionManager = config.geminiConnectionManager(properties);
+        RestClient restClient = startClient(properties, connectionManager);
+
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(2);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(2);
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> restClient.get().uri(silentUrl()).retrieve().toBodilessEntity());
+        }
+
+        // 연결 2개를 쓰는 동안 세 번째 요청은 풀에서 대기
+        PoolStats stats = awaitStats(connectionManager, 2, 1);
+        assertThat(stats.getLeased()).isEqualTo(2);
+        assertThat(stats.getPending()).isEqualTo(1);
+    }
+
+    private RestClient startClient(GeminiProperties properties,
+                                   PoolingHttpClientConnectionManager connectionManager) throws Exception {
+        silentServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        httpClient = config.geminiHttpClient(connectionManager, properties);
+        return config.geminiRestClient(RestClient.builder(), httpClient);
+    }
+
+    private String silentUrl() {
+        return "http://127.0.0.1:" + silentServer.getLocalPort() + "/v1beta/models/test";
+    }
+
+    private static PoolStats awaitStats(PoolingHttpClientConnectionManager connectionManager,
+                                        int leased, int pending) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        PoolStats stats = connectionManager.getTotalStats();
+        while (System.nanoTime() < deadline && (stats.getLeased() != leased || stats.getPending() != pending)) {
+            Thread.sleep(20);
+            stats = connectionManager.getTotalStats();
+        }
+        return stats;
+    }
+}
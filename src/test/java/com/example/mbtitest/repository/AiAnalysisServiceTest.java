@@ -0,0 +1,307 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.config.GeminiProperties;
+import com.example.mbtitest.entity.TestResult;
+import com.example.mbtitest.service.AiAnalysisCache;
+import com.example.mbtitest.service.AiAnalysisService;
+import com.example.mbtitest.service.AiCircuitBreaker;
+import com.example.mbtitest.service.FallbackAnalysisProvider;
+import com.example.mbtitest.service.GeminiClient;
+import com.example.mbtitest.service.QuestionCatalog;
+import com.example.mbtitest.service.TestResultService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AI 분석 처리 테스트 (H2, Gemini 호출은 테스트용 클라이언트로 대체)
+ * - 같은 요청 합치기, 결과 먼저 저장 후 백그라운드 분석, 지연 시 기본 분석, DB에 남은 보류 / PENDING 결과 재분석
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import({TestResultService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AiAnalysisServiceTest {
+
+    private static final String ANALYSIS = "```json\n{\"mbti\": {\"type\": \"INTJ\"}}\n```";
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private TestResultService testResultService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private FakeGeminiClient geminiClient;
+
+    @BeforeEach
+    void setUp() {
+        geminiClient = new FakeGeminiClient(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        testResultRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentIdenticalAnalyses_shareOneGeminiCallAndSavedResult() throws Exception {
+        AiAnalysisService service = newService(Duration.ofSeconds(5));
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<AiAnalysisService.AnalysisOutcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            outcomes.add(CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return service.analyze(request("prompt")).join();
+            }, executor));
+        }
+
+        start.countDown();
+        // 첫 요청을 뺀 나머지가 모두 진행 중인 호출에 합류한 뒤 응답
+        awaitUntil(() -> meterRegistry.counter("ai.analysis.coalesced").count() >= callers - 1);
+        geminiClient.respond(ANALYSIS);
+
+        List<AiAnalysisService.AnalysisOutcome> results = new ArrayList<>();
+        for (CompletableFuture<AiAnalysisService.AnalysisOutcome> outcome : outcomes) {
+            results.add(outcome.get(5, TimeUnit.SECONDS));
+        }
+
+        assertThat(geminiClient.calls()).isEqualTo(1);
+        assertThat(results).extracting(AiAnalysisService.AnalysisOutcome::aiAnalysis).containsOnly(ANALYSIS);
+        assertThat(results).extracting(outcome -> outcome.savedResult().getResultId())
+            .containsOnly(results.get(0).savedResult().getResultId());
+        assertThat(testResultRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void submitAnalysis_backgroundWorkerFillsAiAnalysis() throws Exception {
+        AiAnalysisService service = newService(Duration.ZERO);
+
+        AiAnalysisService.Submission submission = service.submitAnalysis(request("prompt")).get(5, TimeUnit.SECONDS);
+        Long resultId = submission.savedResult().getResultId();
+
+        assertThat(submission.analysisStatus()).isEqualTo(TestResult.ANALYSIS_PENDING);
+        assertThat(stored(resultId).getAnalysisStatus()).isEqualTo(TestResult.ANALYSIS_PENDING);
+        assertThat(stored(resultId).getAiAnalysis()).isNull();
+
+        geminiClient.respond(ANALYSIS);
+
+        awaitUntil(() -> TestResult.ANALYSIS_DONE.equals(stored(resultId).getAnalysisStatus()));
+        assertThat(stored(resultId).getAiAnalysis()).isEqualTo(ANALYSIS);
+        assertThat(geminiClient.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void submitAnalysis_whilePending_joinsSavedResult() throws Exception {
+        AiAnalysisService service = newService(Duration.ZERO);
+
+        AiAnalysisService.Submission first = service.submitAnalysis(request("prompt")).get(5, TimeUnit.SECONDS);
+        AiAnalysisService.Submission second = service.submitAnalysis(request("prompt")).get(5, TimeUnit.SECONDS);
+
+        assertThat(second.savedResult().getResultId()).isEqualTo(first.savedResult().getResultId());
+        assertThat(testResultRepository.count()).isEqualTo(1);
+        geminiClient.respond(ANALYSIS);
+        awaitUntil(() -> TestResult.ANALYSIS_DONE.equals(stored(first.savedResult().getResultId()).getAnalysisStatus()));
+        assertThat(geminiClient.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void submitAnalysis_timeoutAppliesFallbackOnceAndLateResultReplacesIt() throws Exception {
+        AiAnalysisService service = newService(Duration.ofMillis(200));
+        int callers = 4;
+        List<CompletableFuture<AiAnalysisService.Submission>> submissions = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            submissions.add(CompletableFuture.supplyAsync(() -> service.submitAnalysis(request("prompt")).join(), executor));
+        }
+
+        List<AiAnalysisService.Submission> results = new ArrayList<>();
+        for (CompletableFuture<AiAnalysisService.Submission> submission : submissions) {
+            results.add(submission.get(5, TimeUnit.SECONDS));
+        }
+        Long resultId = results.get(0).savedResult().getResultId();
+        String fallbackAnalysis = results.get(0).aiAnalysis();
+
+        // 함께 기다린 요청 모두 기본 분석을 받지만 저장과 집계는 한 번만
+        assertThat(results).allMatch(AiAnalysisService.Submission::fallback);
+        assertThat(results).extracting(AiAnalysisService.Submission::analysisStatus).containsOnly(TestResult.ANALYSIS_PENDING);
+        assertThat(results).extracting(AiAnalysisService.Submission::aiAnalysis).containsOnly(fallbackAnalysis);
+        assertThat(results).extracting(submission -> submission.savedResult().getResultId()).containsOnly(resultId);
+        assertThat(meterRegistry.counter("ai.analysis.fallback", "reason", "timeout").count()).isEqualTo(1);
+        assertThat(fallbackAnalysis).contains("\"fallback\" : true");
+        assertThat(stored(resultId).getAiAnalysis()).isEqualTo(fallbackAnalysis);
+        assertThat(stored(resultId).getAnalysisStatus()).isEqualTo(TestResult.ANALYSIS_PENDING);
+
+        // 늦게 도착한 맞춤 분석이 기본 분석을 대체
+        geminiClient.respond(ANALYSIS);
+
+        awaitUntil(() -> TestResult.ANALYSIS_DONE.equals(stored(resultId).getAnalysisStatus()));
+        assertThat(stored(resultId).getAiAnalysis()).isEqualTo(ANALYSIS);
+        assertThat(geminiClient.calls()).isEqualTo(1);
+        assertThat(testResultRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void retryDeferredAnalyses_reloadsDeferredResultsFromDatabase() throws Exception {
+        // 재시작 전 프로세스가 남긴 보류 결과 (새 서비스 인스턴스는 메모리에 아무것도 없음)
+        TestResult deferred = testResultService.saveDeferredTestResult("deferred-user", scores(), answers(),
+            300, "10.0.0.1", "JUnit", "deferred-key");
+        AiAnalysisService service = newService(Duration.ZERO, Duration.ofHours(1));
+
+        service.retryDeferredAnalyses();
+
+        awaitUntil(() -> geminiClient.calls() == 1);
+        assertThat(stored(deferred.getResultId()).getAnalysisStatus()).isEqualTo(TestResult.ANALYSIS_PENDING);
+        assertThat(geminiClient.lastPrompt()).contains("1. " + questionCatalog().getQuestions().get(0).question());
+
+        geminiClient.respond(ANALYSIS);
+
+        awaitUntil(() -> TestResult.ANALYSIS_DONE.equals(stored(deferred.getResultId()).getAnalysisStatus()));
+        assertThat(stored(deferred.getResultId()).getAiAnalysis()).isEqualTo(ANALYSIS);
+        service.retryDeferredAnalyses();
+        assertThat(geminiClient.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void retryDeferredAnalyses_retriesOnlyStalePendingResults() throws Exception {
+        TestResult pending = testResultService.savePendingTestResult("pending-user", scores(), answers(),
+            300, "10.0.0.1", "JUnit", "pending-key");
+
+        // 최근 PENDING은 다른 작업자가 처리 중일 수 있으므로 그대로 둠
+        newService(Duration.ZERO, Duration.ofHours(1)).retryDeferredAnalyses();
+        assertThat(geminiClient.calls()).isZero();
+
+        Thread.sleep(20);
+        newService(Duration.ZERO, Duration.ofMillis(10)).retryDeferredAnalyses();
+        geminiClient.respond(ANALYSIS);
+
+        awaitUntil(() -> TestResult.ANALYSIS_DONE.equals(stored(pending.getResultId()).getAnalysisStatus()));
+        assertThat(geminiClient.calls()).isEqualTo(1);
+    }
+
+    private TestResult stored(Long resultId) {
+        return testResultRepository.findById(resultId).orElseThrow();
+    }
+
+    private AiAnalysisService newService(Duration latencyBudget) {
+        return newService(latencyBudget, Duration.ofMinutes(10));
+    }
+
+    private AiAnalysisService newService(Duration latencyBudget, Duration stalePendingAfter) {
+        GeminiProperties properties = new GeminiProperties();
+        AiAnalysisCache analysisCache = new AiAnalysisCache(testResultRepository, objectMapper, meterRegistry,
+            100, Duration.ofHours(1), false);
+        return new AiAnalysisService(geminiClient, analysisCache, testResultService, questionCatalog(),
+            meterRegistry, executor::execute, new AiCircuitBreaker(properties, meterRegistry),
+            new FallbackAnalysisProvider(testResultService, objectMapper), executor,
+            latencyBudget, stalePendingAfter, 10);
+    }
+
+    private QuestionCatalog questionCatalog() {
+        try {
+            return new QuestionCatalog(objectMapper,
+                new ClassPathResource("questions/question-catalog.json"),
+                new ClassPathResource("prompts/personality-analysis.txt"),
+                2000);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AiAnalysisService.AnalysisRequest request(String prompt) {
+        return new AiAnalysisService.AnalysisRequest(prompt, "INTJ", 300, scores(), answers(), "10.0.0.1", "JUnit");
+    }
+
+    private static Map<String, Object> scores() {
+        return Map.of("E", 10, "I", 30, "S", 12, "N", 28, "T", 25, "F", 15, "J", 22, "P", 18);
+    }
+
+    /** 답변 목록 (숫자 목록은 순서대로 질문 1, 2, ...의 답변으로 저장됨) */
+    private static List<Integer> answers() {
+        return List.of(1, 2, 3, 4, 5);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * 호출 수를 세고, 테스트가 respond를 부를 때 응답하는 Gemini 클라이언트
+     */
+    static final class FakeGeminiClient extends GeminiClient {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile String lastPrompt;
+        private final CompletableFuture<Map<String, Object>> response = new CompletableFuture<>();
+
+        FakeGeminiClient(MeterRegistry meterRegistry) {
+            super(null, null, new GeminiProperties(), null, null,
+                new AiCircuitBreaker(new GeminiProperties(), meterRegistry), meterRegistry);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Object>> generateContent(String prompt, Map<String, Object> generationConfig) {
+            calls.incrementAndGet();
+            lastPrompt = prompt;
+            return response.copy();
+        }
+
+        void respond(String aiAnalysis) {
+            response.complete(GeminiClient.toResponseBody(aiAnalysis));
+        }
+
+        int calls() {
+            return calls.get();
+        }
+
+        String lastPrompt() {
+            return lastPrompt;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.config.AnalyticsJournalProperties;
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.service.AnalyticsEventLoader;
+import com.example.mbtitest.service.AnalyticsJournal;
+import com.example.mbtitest.service.ViewStatsRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 분석 이벤트 저널 적재 테스트 (H2)
+ * - 계속 실패하는 배치는 정해진 횟수 뒤 레코드 단위로 적재하고, 실패하는 레코드만 건너뛰는지 확인
+ * - 적재 작업이 자체 트랜잭션을 쓰므로 테스트 트랜잭션 없이 실행
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnalyticsEventLoaderTest {
+
+    /** 없는 결과 ID (VIEW_LOGS.RESULT_ID 외래 키 위반) */
+    private static final Long MISSING_RESULT_ID = 999_999L;
+
+    @Autowired
+    private ViewLogRepository viewLogRepository;
+
+    @Autowired
+    private ShareLogRepository shareLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AnalyticsJournal analyticsJournal;
+    private AnalyticsEventLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        AnalyticsJournalProperties properties = new AnalyticsJournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setRecordsPerSegment(1_024);
+        properties.setLoadBatchSize(100);
+        properties.setMaxBatchAttempts(2);
+        analyticsJournal = new AnalyticsJournal(properties, meterRegistry);
+        loader = new AnalyticsEventLoader(analyticsJournal, viewLogRepository, shareLogRepository,
+            new ViewStatsRollup(jdbcTemplate), jdbcTemplate, transactionManager, event -> { }, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyticsJournal.close();
+        viewLogRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM VIEW_STATS_HOURLY");
+        jdbcTemplate.update("DELETE FROM VIEW_STATS_DAILY");
+    }
+
+    @Test
+    void load_skipsRecordThatKeepsFailingAndMovesCheckpointPastIt() {
+        analyticsJournal.recordView(viewLog(null));
+        analyticsJournal.recordView(viewLog(MISSING_RESULT_ID));
+        analyticsJournal.recordView(viewLog(null));
+
+        // 첫 시도: 배치 전체가 롤백되고 체크포인트는 그대로
+        assertThat(loader.load()).isZero();
+        assertThat(viewLogRepository.count()).isZero();
+        assertThat(lag()).isEqualTo(3);
+
+        // 두 번째 시도에서 횟수를 다 써서 레코드 단위로 적재, 외래 키를 위반하는 레코드만 건너뜀
+        assertThat(loader.load()).isEqualTo(3);
+        assertThat(viewLogRepository.count()).isEqualTo(2);
+        assertThat(meterRegistry.get("analytics.journal.skipped").counter().count()).isEqualTo(1);
+        assertThat(lag()).isZero();
+
+        // 다음 배치는 다시 한 번에 적재
+        analyticsJournal.recordView(viewLog(null));
+        assertThat(loader.load()).isEqualTo(1);
+        assertThat(viewLogRepository.count()).isEqualTo(3);
+        assertThat(meterRegistry.get("analytics.journal.skipped").counter().count()).isEqualTo(1);
+    }
+
+    private double lag() {
+        return meterRegistry.get("analytics.journal.lag").gauge().value();
+    }
+
+    private static ViewLog viewLog(Long resultId) {
+        return ViewLog.builder()
+            .resultId(resultId)
+            .mbtiType("INTJ")
+            .pageName(ViewLog.Page.RESULT)
+            .userIp("10.0.0.1")
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+}
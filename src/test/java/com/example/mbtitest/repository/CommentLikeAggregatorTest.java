@@ -0,0 +1,104 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.config.AnalyticsJournalProperties;
+import com.example.mbtitest.entity.Comment;
+import com.example.mbtitest.service.AnalyticsJournal;
+import com.example.mbtitest.service.CommentLikeAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 댓글 좋아요 집계 테스트 (H2)
+ * - 같은 클라이언트의 반복 좋아요 무시, 모아서 반영, 엔티티 저장이 반영된 좋아요 수를 덮어쓰지 않는지 확인
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+class CommentLikeAggregatorTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CommentLikeAggregator aggregator;
+    private Long commentId;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        aggregator = new CommentLikeAggregator(commentRepository, jdbcTemplate,
+            new AnalyticsJournal(new AnalyticsJournalProperties(), meterRegistry), meterRegistry,
+            Duration.ofHours(1), 1_000, 100, 50);
+        commentId = entityManager.persist(Comment.builder()
+            .mbtiType("ENFP")
+            .commentText("반가워요")
+            .likesCount(3)
+            .build()).getCommentId();
+        entityManager.flush();
+    }
+
+    @Test
+    void like_ignoresRepeatsFromSameClient() {
+        CommentLikeAggregator.LikeResult first = aggregator.like(commentId, "ip:1.1.1.1");
+        CommentLikeAggregator.LikeResult repeat = aggregator.like(commentId, "ip:1.1.1.1");
+        CommentLikeAggregator.LikeResult other = aggregator.like(commentId, "ip:2.2.2.2");
+
+        assertThat(first.accepted()).isTrue();
+        assertThat(first.likesCount()).isEqualTo(4);
+        assertThat(repeat.accepted()).isFalse();
+        assertThat(repeat.likesCount()).isEqualTo(4);
+        assertThat(other.likesCount()).isEqualTo(5);
+
+        // 반영 전에는 DB 그대로
+        assertThat(persistedLikes()).isEqualTo(3);
+        assertThat(aggregator.flush()).isEqualTo(1);
+        assertThat(persistedLikes()).isEqualTo(5);
+
+        // 반영 후에도 표시 값은 이어짐
+        assertThat(aggregator.like(commentId, "ip:3.3.3.3").likesCount()).isEqualTo(6);
+    }
+
+    @Test
+    void like_unknownCommentFails() {
+        assertThatThrownBy(() -> aggregator.like(commentId + 1_000, "ip:1.1.1.1"))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("댓글을 찾을 수 없습니다");
+    }
+
+    @Test
+    void entitySave_doesNotOverwriteFlushedLikes() {
+        Comment comment = commentRepository.findById(commentId).orElseThrow();
+
+        aggregator.like(commentId, "ip:1.1.1.1");
+        aggregator.flush();
+
+        // 좋아요 반영 전에 읽어 둔 엔티티를 수정 후 저장
+        comment.setCommentText("수정했어요");
+        commentRepository.save(comment);
+        entityManager.flush();
+
+        assertThat(persistedLikes()).isEqualTo(4);
+    }
+
+    private int persistedLikes() {
+        return jdbcTemplate.queryForObject(
+            "SELECT LIKES_COUNT FROM COMMENTS WHERE COMMENT_ID = ?", Integer.class, commentId);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.mbtitest.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시퀀스 ID 할당 방식별 insert 처리량 비교 (H2, MODE=Oracle)
+ * - 변경 전: 행마다 NEXTVAL 조회 + insert 1건씩 (allocationSize = 1, 배치 없음)
+ * - 변경 후: NEXTVAL 1회로 50개 할당 + 50건 JDBC 배치 (allocationSize = 50, batch_size = 50)
+ * - 메모리 DB라 네트워크 왕복이 없으므로 왕복마다 BENCHMARK_RTT_MICROS(기본 200µs)만큼 지연을 넣어 측정
+ *
+ * 실행: RUN_BENCHMARKS=true gradle test --tests '*InsertThroughputBenchmarkTest'
+ */
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class InsertThroughputBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int BLOCK_SIZE = 50;
+
+    private final long rttNanos = Long.parseLong(System.getenv().getOrDefault("BENCHMARK_RTT_MICROS", "200")) * 1_000;
+
+    private Connection connection;
+    private int roundTrips;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:insert_benchmark;MODE=Oracle;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE SEQ_SINGLE START WITH 1 INCREMENT BY 1");
+            statement.execute("CREATE SEQUENCE SEQ_POOLED START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+            statement.execute("CREATE TABLE BENCH_RESULTS (RESULT_ID NUMBER(19) PRIMARY KEY, USER_UUID VARCHAR2(36), "
+                + "MBTI_TYPE VARCHAR2(4), CATEGORY_SCORES CLOB)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void compareSingleRowAndPooledBatchInserts() throws SQLException {
+        // 워밍업
+        insertSingle(500);
+        clearTable();
+        insertPooledBatch(500);
+        clearTable();
+
+        roundTrips = 0;
+        long started = System.nanoTime();
+        insertSingle(ROWS);
+        double singleSeconds = (System.nanoTime() - started) / 1e9;
+        int singleRoundTrips = roundTrips;
+        clearTable();
+
+        roundTrips = 0;
+        started = System.nanoTime();
+        insertPooledBatch(ROWS);
+        double pooledSeconds = (System.nanoTime() - started) / 1e9;
+        int pooledRoundTrips = roundTrips;
+
+        System.out.printf("[insert 벤치마크] %d행, 왕복 지연 %dµs%n", ROWS, rttNanos / 1_000);
+        System.out.printf("  변경 전 (allocationSize=1, 배치 없음): %,.0f inserts/sec, 왕복 %d회%n",
+            ROWS / singleSeconds, singleRoundTrips);
+        System.out.printf("  변경 후 (allocationSize=50, batch=50): %,.0f inserts/sec, 왕복 %d회%n",
+            ROWS / pooledSeconds, pooledRoundTrips);
+
+        assertThat(pooledRoundTrips).isEqualTo(ROWS / BLOCK_SIZE * 2);
+        assertThat(singleRoundTrips).isEqualTo(ROWS * 2);
+        assertThat(countRows()).isEqualTo(ROWS);
+    }
+
+    /**
+     * 변경 전: 행마다 시퀀스 조회 + insert
+     */
+    private void insertSingle(int rows) throws SQLException {
+        try (PreparedStatement nextId = connection.prepareStatement("SELECT SEQ_SINGLE.NEXTVAL FROM DUAL");
+             PreparedStatement insert = connection.prepareStatement(insertSql())) {
+            for (int i = 0; i < rows; i++) {
+                long id;
+                try (ResultSet resultSet = nextId.executeQuery()) {
+                    resultSet.next();
+                    id = resultSet.getLong(1);
+                }
+                roundTrip();
+
+                bindRow(insert, id);
+                insert.executeUpdate();
+                roundTrip();
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * 변경 후: 시퀀스 값 1개로 (값 - 49) ~ 값 범위를 쓰고 50건씩 배치 전송 (Hibernate pooled 방식)
+     */
+    private void insertPooledBatch(int rows) throws SQLException {
+        try (PreparedStatement nextId = connection.prepareStatement("SELECT SEQ_POOLED.NEXTVAL FROM DUAL");
+             PreparedStatement insert = connection.prepareStatement(insertSql())) {
+            for (int start = 0; start < rows; start += BLOCK_SIZE) {
+                long hi;
+                try (ResultSet resultSet = nextId.executeQuery()) {
+                    resultSet.next();
+                    hi = resultSet.getLong(1);
+                }
+                roundTrip();
+
+                int blockRows = Math.min(BLOCK_SIZE, rows - start);
+                for (int i = 0; i < blockRows; i++) {
+                    bindRow(insert, hi - BLOCK_SIZE + 1 + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                roundTrip();
+            }
+        }
+        connection.commit();
+    }
+
+    private String insertSql() {
+        return "INSERT INTO BENCH_RESULTS (RESULT_ID, USER_UUID, MBTI_TYPE, CATEGORY_SCORES) VALUES (?, ?, ?, ?)";
+    }
+
+    private void bindRow(PreparedStatement insert, long id) throws SQLException {
+        insert.setLong(1, id);
+        insert.setString(2, UUID.randomUUID().toString());
+        insert.setString(3, "INTJ");
+        insert.setString(4, "{\"E\":40,\"I\":60,\"S\":35,\"N\":65,\"T\":55,\"F\":45,\"J\":70,\"P\":30}");
+    }
+
+    private void roundTrip() {
+        roundTrips++;
+        if (rttNanos > 0) {
+            LockSupport.parkNanos(rttNanos);
+        }
+    }
+
+    private void clearTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM BENCH_RESULTS");
+        }
+        connection.commit();
+    }
+
+    private int countRows() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM BENCH_RESULTS")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
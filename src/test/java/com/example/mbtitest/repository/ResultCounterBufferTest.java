@@ -0,0 +1,159 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.entity.TestResult;
+import com.example.mbtitest.service.ResultCounterBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회수/공유수 쓰기 지연 버퍼 테스트 (H2)
+ * - 동시에 증가시키면서 중간중간 반영해도 증가분이 빠지거나 두 번 반영되지 않는지 확인
+ * - 반영이 중간 배치에서 실패해도 앞 배치가 두 번 반영되지 않는지 확인 (반영 트랜잭션을 쓰므로 테스트 트랜잭션 없이 실행)
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResultCounterBufferTest {
+
+    private static final int THREADS = 8;
+    private static final int VIEWS_PER_THREAD = 2_000;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ResultCounterBuffer buffer;
+    private Long hotResultId;
+    private Long otherResultId;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new ResultCounterBuffer(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 50);
+        hotResultId = persistResult().getResultId();
+        otherResultId = persistResult().getResultId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE TEST_RESULTS DROP CONSTRAINT IF EXISTS CK_TEST_VIEW_LIMIT");
+        testResultRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentIncrements_flushedWithoutLossOrDoubleCounting() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                    buffer.recordView(hotResultId);
+                    if (i % 10 == 0) {
+                        buffer.recordShare(hotResultId);
+                        buffer.recordView(otherResultId);
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        // 증가 중에도 계속 반영
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            buffer.flush();
+        }
+        executor.shutdown();
+        buffer.flush();
+
+        assertThat(persisted("VIEW_COUNT", hotResultId)).isEqualTo(THREADS * VIEWS_PER_THREAD);
+        assertThat(persisted("SHARED_COUNT", hotResultId)).isEqualTo(THREADS * VIEWS_PER_THREAD / 10);
+        assertThat(persisted("VIEW_COUNT", otherResultId)).isEqualTo(THREADS * VIEWS_PER_THREAD / 10);
+        assertThat(buffer.flush()).isZero();
+    }
+
+    @Test
+    void viewCount_mergesUnflushedDeltas() {
+        buffer.recordView(hotResultId);
+        buffer.recordView(hotResultId);
+        buffer.recordShare(hotResultId);
+
+        assertThat(buffer.viewCount(hotResultId, 5)).isEqualTo(7);
+        assertThat(buffer.sharedCount(hotResultId, 5)).isEqualTo(6);
+        assertThat(persisted("VIEW_COUNT", hotResultId)).isZero();
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        int persistedViews = persisted("VIEW_COUNT", hotResultId);
+        assertThat(persistedViews).isEqualTo(2);
+        assertThat(buffer.viewCount(hotResultId, persistedViews)).isEqualTo(2);
+    }
+
+    @Test
+    void idleEntries_removedAfterAQuietInterval() {
+        buffer.recordView(hotResultId);
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        // 한 주기 동안 증가가 없으면 제거되고, 그 뒤 다시 증가해도 반영됨
+        assertThat(buffer.flush()).isZero();
+        buffer.recordView(hotResultId);
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(persisted("VIEW_COUNT", hotResultId)).isEqualTo(2);
+    }
+
+    @Test
+    void failedFlush_rollsBackEarlierBatchesAndRetriesOnce() {
+        buffer = new ResultCounterBuffer(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 1);
+        // 두 번째 결과의 UPDATE만 실패하도록 제약 추가 (batchSize=1이라 결과마다 별도 배치)
+        jdbcTemplate.execute("ALTER TABLE TEST_RESULTS ADD CONSTRAINT CK_TEST_VIEW_LIMIT "
+            + "CHECK (RESULT_ID <> " + otherResultId + " OR VIEW_COUNT < 100)");
+        buffer.recordView(hotResultId);
+        for (int i = 0; i < 150; i++) {
+            buffer.recordView(otherResultId);
+        }
+
+        assertThat(buffer.flush()).isZero();
+        assertThat(persisted("VIEW_COUNT", hotResultId)).isZero();
+        assertThat(buffer.viewCount(hotResultId, 0)).isEqualTo(1);
+
+        // 제약을 풀면 다음 반영에서 한 번만 반영
+        jdbcTemplate.execute("ALTER TABLE TEST_RESULTS DROP CONSTRAINT CK_TEST_VIEW_LIMIT");
+        assertThat(buffer.flush()).isEqualTo(2);
+        assertThat(persisted("VIEW_COUNT", hotResultId)).isEqualTo(1);
+        assertThat(persisted("VIEW_COUNT", otherResultId)).isEqualTo(150);
+    }
+
+    private TestResult persistResult() {
+        return testResultRepository.save(TestResult.builder()
+            .userUuid("user")
+            .mbtiType(MbtiType.INFP)
+            .viewCount(0)
+            .sharedCount(0)
+            .build());
+    }
+
+    private int persisted(String column, Long resultId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT " + column + " FROM TEST_RESULTS WHERE RESULT_ID = ?", Integer.class, resultId);
+    }
+}
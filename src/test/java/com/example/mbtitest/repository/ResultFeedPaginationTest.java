@@ -0,0 +1,134 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.entity.TestResult;
+import com.example.mbtitest.service.FeedCursor;
+import com.example.mbtitest.service.ResultFeed;
+import com.example.mbtitest.service.TestResultService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 결과 피드 keyset 페이지네이션 테스트 (H2)
+ * - 정렬 키가 같은 행이 많아도 페이지를 넘기며 빠짐/중복 없이 전체 순서대로 조회되는지 확인
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+class ResultFeedPaginationTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private TestResultService testResultService;
+    private final List<TestResult> publicResults = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testResultService = new TestResultService(testResultRepository, new ObjectMapper(), event -> { });
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < ROWS; i++) {
+            TestResult result = entityManager.persist(TestResult.builder()
+                .userUuid("user-" + i)
+                .mbtiType(MbtiType.ENFP)
+                .isPublicFlag(i % 5 == 4 ? "N" : "Y")
+                .viewCount(i % 3)
+                .sharedCount(i % 2)
+                .build());
+            if (result.isPublic()) {
+                publicResults.add(result);
+            }
+        }
+        entityManager.flush();
+
+        // 작성일이 같은 행을 여러 개 만듦 (@PrePersist가 현재 시각으로 덮어쓰므로 저장 후 변경)
+        for (TestResult result : publicResults) {
+            result.setCreatedAt(base.plusMinutes(result.getResultId() % 4));
+            entityManager.getEntityManager()
+                .createQuery("UPDATE TestResult tr SET tr.createdAt = :createdAt WHERE tr.resultId = :resultId")
+                .setParameter("createdAt", result.getCreatedAt())
+                .setParameter("resultId", result.getResultId())
+                .executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    void publicFeedPagesInCreatedAtOrder() {
+        assertFeedOrder(testResultService::getPublicResults,
+            Comparator.comparing(TestResult::getCreatedAt)
+                .thenComparing(TestResult::getResultId)
+                .reversed());
+    }
+
+    @Test
+    void popularFeedPagesInViewCountOrder() {
+        assertFeedOrder(testResultService::getPopularResults,
+            Comparator.comparing(TestResult::getViewCount)
+                .thenComparing(TestResult::getCreatedAt)
+                .thenComparing(TestResult::getResultId)
+                .reversed());
+    }
+
+    @Test
+    void viralFeedPagesInSharedCountOrder() {
+        assertFeedOrder(testResultService::getViralResults,
+            Comparator.comparing(TestResult::getSharedCount)
+                .thenComparing(TestResult::getViewCount)
+                .thenComparing(TestResult::getCreatedAt)
+                .thenComparing(TestResult::getResultId)
+                .reversed());
+    }
+
+    @Test
+    void countsOnlyWhenRequestedAndRejectsForeignCursors() {
+        ResultFeed first = testResultService.getPublicResults(null, 5, false);
+        assertThat(first.totalCount()).isNull();
+        assertThat(testResultService.getPublicResults(null, 5, true).totalCount()).isEqualTo(publicResults.size());
+
+        assertThatThrownBy(() -> testResultService.getPopularResults(first.nextCursor(), 5, false))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FeedCursor.decode(FeedCursor.Feed.PUBLIC, "not-a-cursor"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertFeedOrder(FeedQuery query, Comparator<TestResult> order) {
+        List<Long> expected = publicResults.stream().sorted(order).map(TestResult::getResultId).toList();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResultFeed feed = query.apply(cursor, 7, false);
+            assertThat(feed.results()).hasSizeLessThanOrEqualTo(7);
+            feed.results().forEach(summary -> paged.add(summary.resultId()));
+            cursor = feed.nextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @FunctionalInterface
+    private interface FeedQuery {
+        ResultFeed apply(String cursor, int size, boolean includeTotal);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.config.RetentionProperties;
+import com.example.mbtitest.entity.Comment;
+import com.example.mbtitest.entity.ShareLog;
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.service.RetentionJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 오래된 로그 정리 테스트 (H2)
+ * - 청크 단위 삭제, 보관 기간 안의 행 / 삭제되지 않은 댓글 유지, 최대 실행 시간 초과 시 중단
+ * - H2에는 USER_TAB_PARTITIONS가 없으므로 파티션 삭제를 켜도 청크 삭제로 처리되는지 확인
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+class RetentionJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ViewLogRepository viewLogRepository;
+
+    @Autowired
+    private ShareLogRepository shareLogRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void purgesExpiredRowsInChunks() {
+        saveViews(7, NOW.minusDays(100));
+        saveViews(2, NOW.minusDays(10));
+        shareLogRepository.saveAllAndFlush(List.of(share(NOW.minusDays(400)), share(NOW.minusDays(30))));
+        Comment deletedLongAgo = saveComment("Y", NOW.minusDays(60));
+        saveComment("Y", NOW.minusDays(1));
+        saveComment("N", NOW.minusDays(60));
+
+        RetentionProperties properties = properties(3, Duration.ofMinutes(1));
+        properties.setDropPartitions(true);
+        List<RetentionJob.Report> reports = new RetentionJob(jdbcTemplate, properties, new SimpleMeterRegistry()).purge();
+
+        assertThat(reports).extracting(RetentionJob.Report::target)
+            .containsExactly("VIEW_LOGS", "SHARE_LOGS", "DELETED_COMMENTS");
+        assertThat(reports.get(0).rowsDeleted()).isEqualTo(7);
+        assertThat(reports.get(0).chunks()).isEqualTo(3);
+        assertThat(reports.get(0).partitionsDropped()).isZero();
+        assertThat(reports).allSatisfy(report -> assertThat(report.completed()).isTrue());
+        assertThat(reports.get(1).rowsDeleted()).isEqualTo(1);
+        assertThat(reports.get(2).rowsDeleted()).isEqualTo(1);
+
+        assertThat(viewLogRepository.count()).isEqualTo(2);
+        assertThat(shareLogRepository.count()).isEqualTo(1);
+        assertThat(commentRepository.count()).isEqualTo(2);
+        assertThat(commentRepository.existsById(deletedLongAgo.getCommentId())).isFalse();
+    }
+
+    @Test
+    void stopsAfterMaxRunTime() {
+        saveViews(7, NOW.minusDays(100));
+
+        List<RetentionJob.Report> reports =
+            new RetentionJob(jdbcTemplate, properties(3, Duration.ZERO), new SimpleMeterRegistry()).purge();
+
+        RetentionJob.Report viewLogs = reports.get(0);
+        assertThat(viewLogs.rowsDeleted()).isEqualTo(3);
+        assertThat(viewLogs.chunks()).isEqualTo(1);
+        assertThat(viewLogs.completed()).isFalse();
+        assertThat(viewLogRepository.count()).isEqualTo(4);
+    }
+
+    private static RetentionProperties properties(int chunkSize, Duration maxRunTime) {
+        RetentionProperties properties = new RetentionProperties();
+        properties.setChunkSize(chunkSize);
+        properties.setChunkPause(Duration.ZERO);
+        properties.setMaxRunTime(maxRunTime);
+        return properties;
+    }
+
+    private void saveViews(int count, LocalDateTime createdAt) {
+        List<ViewLog> viewLogs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            viewLogs.add(ViewLog.builder()
+                .pageName(ViewLog.Page.MAIN)
+                .userIp("10.0.0." + i)
+                .createdAt(createdAt.plusMinutes(i))
+                .build());
+        }
+        viewLogRepository.saveAllAndFlush(viewLogs);
+    }
+
+    private static ShareLog share(LocalDateTime createdAt) {
+        return ShareLog.builder()
+            .mbtiType("ENFP")
+            .sharePlatform("kakao")
+            .userIp("10.0.0.1")
+            .createdAt(createdAt)
+            .build();
+    }
+
+    private Comment saveComment(String isDeleted, LocalDateTime updatedAt) {
+        Comment comment = commentRepository.saveAndFlush(Comment.builder()
+            .mbtiType("INTJ")
+            .commentText("댓글")
+            .userIp("10.0.0.1")
+            .isDeleted(isDeleted)
+            .build());
+        // 삭제 시각은 @PreUpdate가 현재 시각으로 채우므로 직접 맞춤
+        jdbcTemplate.update("UPDATE COMMENTS SET UPDATED_AT = ? WHERE COMMENT_ID = ?",
+            Timestamp.valueOf(updatedAt), comment.getCommentId());
+        return comment;
+    }
+}
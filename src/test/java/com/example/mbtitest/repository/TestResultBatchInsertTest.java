@@ -0,0 +1,70 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.MbtiScores;
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.entity.TestResult;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TestResult 배치 insert 테스트 (H2)
+ * - pooled 시퀀스 할당 + JDBC 배치로 insert 왕복 횟수가 줄어드는지 확인
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TestResultBatchInsertTest {
+
+    private static final int ROWS = 200;
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_allocatesIdsInBlocksAndBatchesInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TestResult> results = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            results.add(TestResult.builder()
+                .userUuid(UUID.randomUUID().toString())
+                .mbtiType(MbtiType.INTJ)
+                .scores(new MbtiScores(40, 60, 35, 65, 55, 45, 70, 30))
+                .build());
+        }
+        testResultRepository.saveAll(results);
+        entityManager.flush();
+
+        // 시퀀스 조회 ROWS/50회 + insert 배치 ROWS/50회 (배치 없이 하면 ROWS * 2회)
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(ROWS / 50 * 2 + 2);
+        assertThat(results).extracting(TestResult::getResultId).doesNotHaveDuplicates();
+
+        // 점수는 숫자 컬럼으로 저장/조회
+        entityManager.clear();
+        TestResult reloaded = entityManager.find(TestResult.class, results.get(0).getResultId());
+        assertThat(reloaded.getScores()).isEqualTo(new MbtiScores(40, 60, 35, 65, 55, 45, 70, 30));
+        assertThat(reloaded.getScores().mbtiType()).isEqualTo(MbtiType.INTJ);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.entity.TestResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결과 목록 projection 쿼리 테스트 (H2)
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+class TestResultSummaryQueryTest {
+
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS DBMS_LOB");
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS DBMS_LOB.SUBSTR FOR '"
+            + H2Functions.class.getName() + ".lobSubstr'");
+        save("user-1", MbtiType.INTJ, "Y", 5, "A".repeat(300));
+        save("user-1", MbtiType.ENFP, "Y", 20, null);
+        save("user-2", MbtiType.INTJ, "N", 50, "짧은 분석");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesPublicSummariesWithRequestedSort() {
+        Page<TestResultSummary> page = testResultRepository.findSummariesByIsPublicFlag("Y",
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "viewCount")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(TestResultSummary::mbtiType)
+            .containsExactly(MbtiType.ENFP, MbtiType.INTJ);
+        assertThat(page.getContent()).allSatisfy(summary -> {
+            assertThat(summary.isPublic()).isTrue();
+            assertThat(summary.analysisPreview()).isNull();
+        });
+    }
+
+    @Test
+    void filtersByTypeAndUser() {
+        assertThat(testResultRepository.findSummariesByMbtiTypeAndIsPublicFlag(MbtiType.INTJ, "Y", PageRequest.of(0, 10))
+            .getContent()).hasSize(1);
+        assertThat(testResultRepository.findSummariesByUserUuid("user-1")).hasSize(2);
+    }
+
+    @Test
+    void previewsOnlyTheBeginningOfTheAnalysis() {
+        List<TestResultSummary> previews = testResultRepository.findPreviewsByMbtiType(MbtiType.INTJ, PageRequest.of(0, 5));
+
+        assertThat(previews).hasSize(2);
+        assertThat(previews).extracting(TestResultSummary::analysisPreview)
+            .containsExactlyInAnyOrder("A".repeat(TestResultSummary.PREVIEW_LENGTH + 1), "짧은 분석");
+        assertThat(previews).extracting(TestResultSummary::previewText)
+            .contains("A".repeat(TestResultSummary.PREVIEW_LENGTH) + "...", "짧은 분석");
+    }
+
+    @Test
+    void readsAnalysisStatusWithoutTheAnalysisText() {
+        Long resultId = testResultRepository.findSummariesByUserUuid("user-2").get(0).resultId();
+
+        AnalysisStatusView status = testResultRepository.findAnalysisStatusById(resultId).orElseThrow();
+
+        assertThat(status.resultId()).isEqualTo(resultId);
+        assertThat(status.isPublic()).isFalse();
+        assertThat(status.analysisStatus()).isEqualTo(TestResult.ANALYSIS_DONE);
+        assertThat(testResultRepository.findAiAnalysisById(resultId)).contains("짧은 분석");
+        assertThat(testResultRepository.findAnalysisStatusById(-1L)).isEmpty();
+    }
+
+    private void save(String userUuid, MbtiType mbtiType, String isPublicFlag, int viewCount, String aiAnalysis) {
+        entityManager.persist(TestResult.builder()
+            .userUuid(userUuid)
+            .mbtiType(mbtiType)
+            .mbtiDescription(mbtiType.description())
+            .isPublicFlag(isPublicFlag)
+            .viewCount(viewCount)
+            .aiAnalysis(aiAnalysis)
+            .analysisStatus(aiAnalysis != null ? TestResult.ANALYSIS_DONE : null)
+            .build());
+    }
+
+    /**
+     * H2용 DBMS_LOB.SUBSTR (Oracle과 같은 인자 순서: 길이, 시작 위치)
+     */
+    public static final class H2Functions {
+
+        public static String lobSubstr(String value, int amount, int offset) {
+            if (value == null) {
+                return null;
+            }
+            int start = Math.min(offset - 1, value.length());
+            return value.substring(start, Math.min(start + amount, value.length()));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.Comment;
+import com.example.mbtitest.entity.ShareLog;
+import com.example.mbtitest.service.TimeBuckets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시간 구간별 건수 조회 테스트 (H2)
+ * - 서버 시간대 기준 반열린 구간 [자정, 다음 자정), 자정 정각 행은 새 날짜에 포함
+ * - 실행 계획에서 CREATED_AT 인덱스 범위 스캔 확인 (H2 EXPLAIN, Oracle은 ORACLE_PLAN_TEST_URL 설정 시)
+ *
+ * Oracle 실행: ORACLE_PLAN_TEST_URL=jdbc:oracle:thin:@//host:1521/service ORACLE_PLAN_TEST_USER=... ORACLE_PLAN_TEST_PASSWORD=...
+ *             gradle test --tests '*TimeBucketsTest'  (sql/oracle_schema.sql, sql/time_range_indexes.sql 적용된 스키마)
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+class TimeBucketsTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 14);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atTime(15, 0).atZone(ZONE).toInstant(), ZONE);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShareLogRepository shareLogRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private TimeBuckets timeBuckets;
+
+    @BeforeEach
+    void setUp() {
+        timeBuckets = new TimeBuckets(jdbcTemplate, CLOCK);
+    }
+
+    @Test
+    void lastDays_areContiguousHalfOpenDaysEndingToday() {
+        List<TimeBuckets.Range> days = timeBuckets.lastDays(7);
+
+        assertThat(days).hasSize(7);
+        assertThat(days.get(0).start()).isEqualTo(TODAY.minusDays(6).atStartOfDay());
+        assertThat(days.get(6)).isEqualTo(timeBuckets.todayRange());
+        assertThat(days.get(6).end()).isEqualTo(TODAY.plusDays(1).atStartOfDay());
+        for (int i = 1; i < days.size(); i++) {
+            assertThat(days.get(i).start()).isEqualTo(days.get(i - 1).end());
+        }
+    }
+
+    @Test
+    void countPerRange_assignsMidnightToNewDay() {
+        shareLogRepository.saveAllAndFlush(List.of(
+            share(TODAY.atStartOfDay()),
+            share(TODAY.atTime(23, 59, 59)),
+            share(TODAY.atStartOfDay().minusNanos(1_000)),
+            share(TODAY.minusDays(2).atTime(12, 0)),
+            share(TODAY.minusDays(7).atTime(12, 0)),
+            share(TODAY.plusDays(1).atStartOfDay())));
+
+        assertThat(timeBuckets.countToday(TimeBuckets.Source.SHARE_LOGS)).isEqualTo(2);
+        assertThat(timeBuckets.countPerRange(TimeBuckets.Source.SHARE_LOGS, timeBuckets.lastDays(7)))
+            .containsExactly(0L, 0L, 0L, 0L, 1L, 1L, 2L);
+    }
+
+    @Test
+    void activeComments_excludeDeleted() {
+        saveComment("N", TODAY.atTime(9, 0));
+        saveComment("Y", TODAY.atTime(10, 0));
+        saveComment("N", TODAY.minusDays(1).atTime(10, 0));
+
+        assertThat(timeBuckets.countToday(TimeBuckets.Source.ACTIVE_COMMENTS)).isEqualTo(1);
+    }
+
+    @Test
+    void h2Plan_usesCreatedAtIndexRange() {
+        jdbcTemplate.execute("CREATE INDEX IDX_TEST_RESULTS_DATE ON TEST_RESULTS(CREATED_AT)");
+        jdbcTemplate.execute("CREATE INDEX IDX_SHARE_LOGS_CREATED_AT ON SHARE_LOGS(CREATED_AT)");
+        jdbcTemplate.execute("CREATE INDEX IDX_COMMENTS_CREATED_AT ON COMMENTS(CREATED_AT)");
+
+        // H2는 사용한 인덱스와 인덱스 조건을 /* 인덱스: 조건 */ 형식으로 표시
+        assertThat(explainH2(TimeBuckets.Source.TEST_RESULTS)).contains("IDX_TEST_RESULTS_DATE: CREATED_AT >= ?");
+        assertThat(explainH2(TimeBuckets.Source.SHARE_LOGS)).contains("IDX_SHARE_LOGS_CREATED_AT: CREATED_AT >= ?");
+        assertThat(explainH2(TimeBuckets.Source.ACTIVE_COMMENTS)).contains("IDX_COMMENTS_CREATED_AT: CREATED_AT >= ?");
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "ORACLE_PLAN_TEST_URL", matches = ".+")
+    void oraclePlan_usesIndexRangeScan() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getenv("ORACLE_PLAN_TEST_URL"),
+                System.getenv("ORACLE_PLAN_TEST_USER"), System.getenv("ORACLE_PLAN_TEST_PASSWORD"));
+             Statement statement = connection.createStatement()) {
+            for (TimeBuckets.Source source : TimeBuckets.Source.values()) {
+                statement.execute("EXPLAIN PLAN FOR " + TimeBuckets.countSql(source, 7));
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("SELECT PLAN_TABLE_OUTPUT FROM TABLE(DBMS_XPLAN.DISPLAY())")) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                assertThat(plan.toString()).as(source.name()).contains("INDEX RANGE SCAN");
+            }
+        }
+    }
+
+    private String explainH2(TimeBuckets.Source source) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + TimeBuckets.countSql(source, 7), String.class);
+    }
+
+    private static ShareLog share(LocalDateTime createdAt) {
+        return ShareLog.builder()
+            .mbtiType("ENFP")
+            .sharePlatform("kakao")
+            .userIp("10.0.0.1")
+            .createdAt(createdAt)
+            .build();
+    }
+
+    private void saveComment(String isDeleted, LocalDateTime createdAt) {
+        Comment comment = commentRepository.saveAndFlush(Comment.builder()
+            .mbtiType("INTJ")
+            .commentText("댓글")
+            .userIp("10.0.0.1")
+            .isDeleted(isDeleted)
+            .build());
+        // 작성 시각은 @PrePersist가 현재 시각으로 채우므로 직접 맞춤
+        jdbcTemplate.update("UPDATE COMMENTS SET CREATED_AT = ? WHERE COMMENT_ID = ?",
+            Timestamp.valueOf(createdAt), comment.getCommentId());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.StatisticsCache;
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.service.UniqueVisitorSketches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 유니크 방문자 스케치 테스트 (H2)
+ * - 저장 전후 조회, 재시작 후 DB에서 읽기, 기간 합치기, 같은 로그 재적재 시 중복 없음
+ * - 스케치마다 자체 트랜잭션으로 저장하므로 테스트 트랜잭션 없이 실행
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UniqueVisitorSketchesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Autowired
+    private StatisticsCacheRepository statisticsCacheRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        statisticsCacheRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void countsDistinctVisitorsBeforeAndAfterFlush() {
+        UniqueVisitorSketches sketches = sketches();
+        sketches.record(visits(DAY.atTime(9, 10), "ENFP", 0, 100));
+        sketches.record(visits(DAY.atTime(9, 50), "ENFP", 50, 150));
+        sketches.record(visits(DAY.atTime(14, 0), "INTJ", 0, 30));
+
+        assertApproximately(sketches.uniqueVisitors(DAY, DAY.plusDays(1)), 150);
+
+        // 일별 1 + 시간별 2 + 타입별 2
+        assertThat(sketches.flush()).isEqualTo(5);
+        assertThat(statisticsCacheRepository.count()).isEqualTo(5);
+        long beforeFlush = sketches.uniqueVisitors(DAY, DAY.plusDays(1));
+        assertThat(sketches().uniqueVisitors(DAY, DAY.plusDays(1))).isEqualTo(beforeFlush);
+
+        Map<Integer, Long> hourly = sketches.hourlyUniqueVisitors(DAY);
+        assertThat(hourly).containsOnlyKeys(9, 14);
+        assertApproximately(hourly.get(9), 150);
+        assertApproximately(hourly.get(14), 30);
+
+        Map<String, Long> byType = sketches.uniqueVisitorsByMbtiType(DAY, DAY.plusDays(1));
+        assertThat(byType).containsOnlyKeys("ENFP", "INTJ");
+        assertApproximately(byType.get("ENFP"), 150);
+        assertApproximately(byType.get("INTJ"), 30);
+    }
+
+    @Test
+    void restartReadsPersistedSketchesAndReplayDoesNotDoubleCount() {
+        UniqueVisitorSketches before = sketches();
+        List<ViewLog> monday = visits(DAY.atTime(10, 0), "ENFP", 0, 80);
+        before.record(monday);
+        before.flush();
+
+        long mondayVisitors = before.uniqueVisitors(DAY, DAY.plusDays(1));
+
+        UniqueVisitorSketches after = sketches();
+        // 재적재로 같은 로그가 다시 들어와도 그대로
+        after.record(monday);
+        after.record(visits(DAY.plusDays(1).atTime(10, 0), "ENFP", 40, 120));
+        after.flush();
+
+        assertThat(after.uniqueVisitors(DAY, DAY.plusDays(1))).isEqualTo(mondayVisitors);
+        assertApproximately(mondayVisitors, 80);
+        assertApproximately(after.uniqueVisitors(DAY.plusDays(1), DAY.plusDays(2)), 80);
+        assertApproximately(after.uniqueVisitors(DAY, DAY.plusDays(2)), 120);
+
+        Map<LocalDate, Long> daily = after.dailyUniqueVisitors(DAY.minusDays(1), DAY.plusDays(2));
+        assertThat(daily).containsOnlyKeys(DAY.minusDays(1), DAY, DAY.plusDays(1));
+        assertThat(daily.get(DAY.minusDays(1))).isZero();
+        assertThat(daily.get(DAY)).isEqualTo(mondayVisitors);
+
+        StatisticsCache dailyRow = statisticsCacheRepository
+            .findByStatTypeAndStatKeyIn(StatisticsCache.StatType.VISITORS_DAILY, List.of(DAY.toString()))
+            .get(0);
+        assertThat(dailyRow.getStatValue()).isEqualTo(mondayVisitors);
+        assertThat(dailyRow.getStatData()).isNotBlank();
+    }
+
+    // 추정값이므로 표준 오차(precision 12: 1.6%)의 3배 이내인지만 확인
+    private static void assertApproximately(long actual, long expected) {
+        assertThat((double) actual).isCloseTo(expected, within(expected * 0.05 + 1));
+    }
+
+    private UniqueVisitorSketches sketches() {
+        return new UniqueVisitorSketches(statisticsCacheRepository, jdbcTemplate, transactionManager,
+            new SimpleMeterRegistry(), 12, 1_000, Duration.ofMinutes(5), 0);
+    }
+
+    private static List<ViewLog> visits(LocalDateTime time, String mbtiType, int fromIp, int toIp) {
+        List<ViewLog> viewLogs = new ArrayList<>();
+        for (int i = fromIp; i < toIp; i++) {
+            viewLogs.add(ViewLog.builder()
+                .mbtiType(mbtiType)
+                .userIp("10.0." + (i / 256) + "." + (i % 256))
+                .createdAt(time)
+                .build());
+        }
+        return viewLogs;
+    }
+}
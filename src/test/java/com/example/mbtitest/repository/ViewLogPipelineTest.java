@@ -0,0 +1,130 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.config.ViewLogProperties;
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.service.ViewLogPipeline;
+import com.example.mbtitest.service.ViewStatsRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 방문 로그 비동기 저장 테스트 (H2)
+ * - 작업 스레드가 자체 트랜잭션으로 저장하므로 테스트 트랜잭션 없이 실행
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ViewLogPipelineTest {
+
+    @Autowired
+    private ViewLogRepository viewLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        viewLogRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM VIEW_STATS_HOURLY");
+        jdbcTemplate.update("DELETE FROM VIEW_STATS_DAILY");
+    }
+
+    @Test
+    void stop_flushesEverythingQueued() {
+        ViewLogPipeline pipeline = pipeline(properties(1_000, ViewLogProperties.OverflowPolicy.DROP));
+        pipeline.start();
+        for (int i = 0; i < 250; i++) {
+            assertThat(pipeline.submit(viewLog(i))).isTrue();
+        }
+        pipeline.stop();
+
+        assertThat(viewLogRepository.count()).isEqualTo(250);
+        assertThat(meterRegistry.get("view.logs.written").counter().count()).isEqualTo(250);
+        assertThat(meterRegistry.get("view.logs.queue.depth").gauge().value()).isZero();
+
+        // 종료 후에는 받지 않음
+        assertThat(pipeline.submit(viewLog(0))).isFalse();
+        assertThat(dropped("stopped")).isEqualTo(1);
+    }
+
+    @Test
+    void dropPolicy_dropsWhenQueueIsFull() {
+        ViewLogPipeline pipeline = pipeline(properties(5, ViewLogProperties.OverflowPolicy.DROP));
+        int accepted = 0;
+        for (int i = 0; i < 8; i++) {
+            accepted += pipeline.submit(viewLog(i)) ? 1 : 0;
+        }
+
+        assertThat(accepted).isEqualTo(5);
+        assertThat(dropped("overflow")).isEqualTo(3);
+
+        // 시작 전에 쌓인 로그도 저장
+        pipeline.start();
+        pipeline.stop();
+        assertThat(viewLogRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    void samplePolicy_keepsOneInRateAboveThreshold() {
+        ViewLogProperties properties = properties(100, ViewLogProperties.OverflowPolicy.SAMPLE);
+        properties.setSampleThreshold(0.5);
+        properties.setSampleRate(10);
+        ViewLogPipeline pipeline = pipeline(properties);
+
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            accepted += pipeline.submit(viewLog(i)) ? 1 : 0;
+        }
+
+        // 절반까지는 모두, 그 뒤 50건은 10건 중 1건
+        assertThat(accepted).isEqualTo(55);
+        assertThat(dropped("sampled")).isEqualTo(45);
+        assertThat(dropped("overflow")).isZero();
+    }
+
+    private ViewLogPipeline pipeline(ViewLogProperties properties) {
+        return new ViewLogPipeline(viewLogRepository, new ViewStatsRollup(jdbcTemplate), transactionManager,
+            event -> { }, properties, meterRegistry);
+    }
+
+    private ViewLogProperties properties(int queueCapacity, ViewLogProperties.OverflowPolicy policy) {
+        ViewLogProperties properties = new ViewLogProperties();
+        properties.setQueueCapacity(queueCapacity);
+        properties.setBatchSize(50);
+        properties.setMaxLinger(Duration.ofMillis(20));
+        properties.setOverflowPolicy(policy);
+        return properties;
+    }
+
+    private ViewLog viewLog(int i) {
+        return ViewLog.builder()
+            .mbtiType("INTJ")
+            .userIp("10.0.0." + (i % 256))
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("view.logs.dropped").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.mbtitest.repository;
+
+import com.example.mbtitest.entity.ViewLog;
+import com.example.mbtitest.entity.ViewStatKey;
+import com.example.mbtitest.service.ViewStatsRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 방문 통계 롤업 테스트 (H2)
+ * - MERGE 누적, 시간별/일별 구간, MBTI 타입/페이지별 합계
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+class ViewStatsRollupTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 14, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HourlyViewStatRepository hourlyViewStatRepository;
+
+    @Autowired
+    private DailyViewStatRepository dailyViewStatRepository;
+
+    private ViewStatsRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        rollup = new ViewStatsRollup(jdbcTemplate);
+    }
+
+    @Test
+    void apply_accumulatesAcrossBatches() {
+        rollup.apply(List.of(
+            view(DAY.plusHours(9).plusMinutes(5), "ENFP", ViewLog.Page.RESULT),
+            view(DAY.plusHours(9).plusMinutes(40), "ENFP", ViewLog.Page.RESULT),
+            view(DAY.plusHours(10), null, ViewLog.Page.MAIN)));
+        rollup.apply(List.of(
+            view(DAY.plusHours(9).plusMinutes(59), "ENFP", ViewLog.Page.RESULT),
+            view(DAY.plusDays(1).plusHours(1), "INTJ", null)));
+
+        assertThat(hourlyViewStatRepository.findById(
+            new ViewStatKey(DAY.plusHours(9), "ENFP", ViewLog.Page.RESULT)))
+            .hasValueSatisfying(stat -> assertThat(stat.getViewCount()).isEqualTo(3));
+        assertThat(hourlyViewStatRepository.count()).isEqualTo(3);
+        assertThat(dailyViewStatRepository.count()).isEqualTo(3);
+        assertThat(dailyViewStatRepository.findById(new ViewStatKey(DAY.plusDays(1), "INTJ", ViewLog.Page.OTHER)))
+            .isPresent();
+    }
+
+    @Test
+    void queries_readBucketsInHalfOpenRanges() {
+        rollup.apply(List.of(
+            view(DAY.plusHours(9), "ENFP", ViewLog.Page.RESULT),
+            view(DAY.plusHours(9).plusMinutes(30), "INFP", ViewLog.Page.RESULT),
+            view(DAY.plusHours(23).plusMinutes(59), "ENFP", ViewLog.Page.MBTI),
+            view(DAY.plusDays(1), "ENFP", ViewLog.Page.MAIN),
+            view(DAY.minusMinutes(1), null, ViewLog.Page.MAIN)));
+
+        assertThat(hourlyViewStatRepository.sumViewsByHour(DAY, DAY.plusDays(1)))
+            .extracting(row -> ((LocalDateTime) row[0]).getHour(), row -> ((Number) row[1]).longValue())
+            .containsExactly(tuple(9, 2L), tuple(23, 1L));
+
+        assertThat(dailyViewStatRepository.sumViews(DAY, DAY.plusDays(1))).isEqualTo(3);
+        assertThat(dailyViewStatRepository.sumAllViews()).isEqualTo(5);
+        assertThat(dailyViewStatRepository.sumViewsByDay(DAY.minusDays(1), DAY.plusDays(2)))
+            .extracting(row -> ((Number) row[1]).longValue())
+            .containsExactly(1L, 3L, 1L);
+
+        assertThat(dailyViewStatRepository.sumViewsByMbtiType())
+            .extracting(row -> (String) row[0])
+            .containsExactly("ENFP", "INFP");
+        assertThat(dailyViewStatRepository.sumViewsByPage())
+            .extracting(row -> (String) row[0], row -> ((Number) row[1]).longValue())
+            .containsExactlyInAnyOrder(
+                tuple(ViewLog.Page.RESULT, 2L), tuple(ViewLog.Page.MAIN, 2L), tuple(ViewLog.Page.MBTI, 1L));
+    }
+
+    private static ViewLog view(LocalDateTime createdAt, String mbtiType, String pageName) {
+        return ViewLog.builder()
+            .mbtiType(mbtiType)
+            .pageName(pageName)
+            .userIp("10.0.0.1")
+            .createdAt(createdAt)
+            .build();
+    }
+}
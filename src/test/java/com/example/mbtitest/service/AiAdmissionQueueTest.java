@@ -0,0 +1,114 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AiAdmissionQueue 입장 제어 테스트
+ */
+class AiAdmissionQueueTest {
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setBucketCapacity(100);
+        properties.setRefillPeriod(Duration.ofSeconds(20));
+        properties.setMaxConcurrent(1);
+        properties.setQueueCapacity(10);
+        properties.setPerClientQueueLimit(3);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenBucketIsEmpty() {
+        properties.setBucketCapacity(2);
+        AiAdmissionQueue queue = new AiAdmissionQueue(properties, meterRegistry);
+
+        queue.admit("ip:1", AiAdmissionQueue.Priority.NORMAL).join().release();
+        queue.admit("ip:1", AiAdmissionQueue.Priority.NORMAL).join().release();
+
+        assertThatThrownBy(() -> queue.admit("ip:1", AiAdmissionQueue.Priority.NORMAL).join())
+            .hasCauseInstanceOf(AdmissionRejectedException.class)
+            .satisfies(e -> {
+                AdmissionRejectedException rejected = (AdmissionRejectedException) e.getCause();
+                assertThat(rejected.getReason()).isEqualTo("rate_limited");
+                assertThat(rejected.getRetryAfterSeconds()).isBetween(1L, 20L);
+            });
+        // 다른 클라이언트는 영향 없음
+        assertThat(queue.admit("ip:2", AiAdmissionQueue.Priority.NORMAL)).isCompleted();
+        assertThat(meterRegistry.get("ai.admission.rejected").tag("reason", "rate_limited").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void admitsWaitingClientsInRoundRobinOrder() {
+        AiAdmissionQueue queue = new AiAdmissionQueue(properties, meterRegistry);
+        AiAdmissionQueue.Permit running = queue.admit("ip:busy", AiAdmissionQueue.Priority.NORMAL).join();
+
+        List<String> admitted = new ArrayList<>();
+        List<AiAdmissionQueue.Permit> permits = new ArrayList<>();
+        for (String client : List.of("ip:a", "ip:a", "ip:a", "ip:b")) {
+            queue.admit(client, AiAdmissionQueue.Priority.NORMAL).thenAccept(permit -> {
+                admitted.add(client);
+                permits.add(permit);
+            });
+        }
+        assertThat(queue.getQueued()).isEqualTo(4);
+
+        // 자리가 날 때마다 다음 요청이 입장 (release 안에서 바로 완료됨)
+        running.release();
+        for (int i = 0; i < 4; i++) {
+            permits.get(i).release();
+        }
+
+        assertThat(admitted).containsExactly("ip:a", "ip:b", "ip:a", "ip:a");
+        assertThat(queue.getQueued()).isZero();
+        assertThat(queue.getActive()).isZero();
+    }
+
+    @Test
+    void admitsHighPriorityFirst() {
+        AiAdmissionQueue queue = new AiAdmissionQueue(properties, meterRegistry);
+        AiAdmissionQueue.Permit running = queue.admit("ip:busy", AiAdmissionQueue.Priority.NORMAL).join();
+
+        CompletableFuture<AiAdmissionQueue.Permit> normal = queue.admit("ip:a", AiAdmissionQueue.Priority.NORMAL);
+        CompletableFuture<AiAdmissionQueue.Permit> high = queue.admit("user:1", AiAdmissionQueue.Priority.HIGH);
+
+        running.release();
+
+        assertThat(high).isCompleted();
+        assertThat(normal).isNotDone();
+    }
+
+    @Test
+    void rejectsWhenClientQueueIsFullOrWaitExpires() throws Exception {
+        properties.setPerClientQueueLimit(1);
+        properties.setMaxWait(Duration.ofMillis(300));
+        AiAdmissionQueue queue = new AiAdmissionQueue(properties, meterRegistry);
+        queue.admit("ip:busy", AiAdmissionQueue.Priority.NORMAL).join();
+
+        CompletableFuture<AiAdmissionQueue.Permit> waiting = queue.admit("ip:a", AiAdmissionQueue.Priority.NORMAL);
+        assertThatThrownBy(() -> queue.admit("ip:a", AiAdmissionQueue.Priority.NORMAL).join())
+            .hasCauseInstanceOf(AdmissionRejectedException.class);
+
+        assertThatThrownBy(() -> waiting.get(2, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(AdmissionRejectedException.class);
+        assertThat(queue.getQueued()).isZero();
+        assertThat(meterRegistry.get("ai.admission.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.admission.wait").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+    }
+}
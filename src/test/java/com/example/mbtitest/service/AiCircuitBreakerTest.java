@@ -0,0 +1,86 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.GeminiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AiCircuitBreaker 상태 전이 테스트
+ */
+class AiCircuitBreakerTest {
+
+    private GeminiProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AiCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GeminiProperties();
+        properties.setCircuitWindowSize(4);
+        properties.setCircuitMinimumCalls(4);
+        properties.setCircuitFailureRateThreshold(50);
+        properties.setCircuitOpenDuration(Duration.ofMillis(50));
+        properties.setCircuitHalfOpenCalls(1);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new AiCircuitBreaker(properties, meterRegistry);
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        recordCalls(false, true, false);
+        assertThat(circuitBreaker.getState()).isEqualTo(AiCircuitBreaker.State.CLOSED);
+
+        recordCalls(true);
+        assertThat(circuitBreaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(meterRegistry.get("ai.circuit.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.circuit.state").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void halfOpenAllowsSingleProbeAndClosesOnSuccess() throws Exception {
+        openCircuit();
+        Thread.sleep(60);
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(AiCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(AiCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void halfOpenReopensOnFailure() throws Exception {
+        openCircuit();
+        Thread.sleep(60);
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+    }
+
+    private void openCircuit() {
+        recordCalls(true, true, true, true);
+        assertThat(circuitBreaker.getState()).isEqualTo(AiCircuitBreaker.State.OPEN);
+    }
+
+    private void recordCalls(boolean... failures) {
+        for (boolean failure : failures) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+            if (failure) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.mbtitest.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AnswerCodec 답변 압축 인코딩 테스트
+ */
+class AnswerCodecTest {
+
+    @Test
+    void roundTripsAnswersContainingSeparators() {
+        List<Map<String, Object>> answers = List.of(
+            Map.of("questionId", 1, "answer", "주말엔 집에서 쉬어요: 12:30까지 자요"),
+            Map.of("questionId", 7, "answer", "줄바꿈\n\"따옴표\" A1;도 포함"),
+            Map.of("questionId", 12, "answer", ""));
+
+        String encoded = AnswerCodec.encode(answers);
+
+        assertThat(AnswerCodec.isCompact(encoded)).isTrue();
+        assertThat(AnswerCodec.decode(encoded)).isEqualTo(answers);
+    }
+
+    @Test
+    void encodesLegacyNumberAnswersInQuestionOrder() {
+        String encoded = AnswerCodec.encode(List.of(3, 1));
+
+        assertThat(encoded).isEqualTo("A1;1:1:32:1:1");
+        assertThat(AnswerCodec.decode(encoded))
+            .extracting(answer -> answer.get("questionId"))
+            .containsExactly(1, 2);
+    }
+
+    @Test
+    void rejectsLegacyJsonAndTruncatedData() {
+        assertThat(AnswerCodec.isCompact("[{\"questionId\":1,\"answer\":\"네\"}]")).isFalse();
+        assertThatThrownBy(() -> AnswerCodec.decode("A1;1:10:짧음"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
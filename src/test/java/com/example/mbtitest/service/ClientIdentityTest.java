@@ -0,0 +1,64 @@
+package com.example.mbtitest.service;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 클라이언트 식별 테스트
+ * - 클라이언트가 넣은 전달 헤더는 무시하고, 신뢰하는 프록시를 거친 경우에만 반영되는지 확인
+ * - 프록시 처리는 forward-headers-strategy=native와 같은 규칙의 Tomcat RemoteIpFilter로 확인
+ */
+class ClientIdentityTest {
+
+    private static final String INTERNAL_PROXIES = "10\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}|127\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}";
+
+    @Test
+    void resolveIp_ignoresClientSuppliedHeaders() {
+        MockHttpServletRequest request = request("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+        request.addHeader("X-Real-IP", "198.51.100.2");
+        request.addHeader("HTTP_CLIENT_IP", "198.51.100.3");
+
+        assertThat(ClientIdentity.resolveIp(request)).isEqualTo("203.0.113.7");
+        assertThat(ClientIdentity.resolveClientKey(request)).isEqualTo("ip:203.0.113.7");
+    }
+
+    @Test
+    void resolveIp_usesForwardedAddressOnlyFromTrustedProxy() throws Exception {
+        MockHttpServletRequest viaProxy = request("10.0.0.5");
+        viaProxy.addHeader("X-Forwarded-For", "198.51.100.1");
+        assertThat(resolveBehindRemoteIpFilter(viaProxy)).isEqualTo("198.51.100.1");
+
+        MockHttpServletRequest spoofed = request("203.0.113.7");
+        spoofed.addHeader("X-Forwarded-For", "198.51.100.1");
+        assertThat(resolveBehindRemoteIpFilter(spoofed)).isEqualTo("203.0.113.7");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/analyze");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static String resolveBehindRemoteIpFilter(MockHttpServletRequest request) throws IOException, ServletException {
+        MockFilterConfig filterConfig = new MockFilterConfig();
+        filterConfig.addInitParameter("internalProxies", INTERNAL_PROXIES);
+        RemoteIpFilter filter = new RemoteIpFilter();
+        filter.init(filterConfig);
+
+        AtomicReference<String> resolved = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (filteredRequest, response) -> resolved.set(ClientIdentity.resolveIp((HttpServletRequest) filteredRequest)));
+        return resolved.get();
+    }
+}
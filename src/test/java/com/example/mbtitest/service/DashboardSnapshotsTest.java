@@ -0,0 +1,187 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiType;
+import com.example.mbtitest.entity.ViewLog;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대시보드 스냅샷 테스트
+ * - 재구성, 이벤트로 건수 갱신(삭제 시 차감), 재구성 실패 시 이전 스냅샷 유지, 날짜 변경
+ */
+class DashboardSnapshotsTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 14, 15, 25);
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @Test
+    void notReadyUntilFirstRebuild() {
+        DashboardSnapshots snapshots = newSnapshots(this::loadStats);
+
+        assertThat(snapshots.current().ready()).isFalse();
+        assertThat(snapshots.current().count("totalTests")).isZero();
+
+        DashboardSnapshot snapshot = snapshots.rebuild();
+        assertThat(snapshot.ready()).isTrue();
+        assertThat(snapshot.count("totalTests")).isEqualTo(100);
+        assertThat(snapshot.count("todayTests")).isEqualTo(5);
+        assertThat(snapshot.get("mostPopularMbti")).isEqualTo("INFP");
+        assertThat(mbtiStats(snapshot)).containsEntry("ENFP", 40L).containsEntry("ISTJ", 0L);
+        assertThat(snapshots.current()).isSameAs(snapshot);
+    }
+
+    @Test
+    void eventsUpdateCountsAndVersion() {
+        DashboardSnapshots snapshots = newSnapshots(this::loadStats);
+        DashboardSnapshot built = snapshots.rebuild();
+
+        snapshots.onTestResultSaved(new TestResultSavedEvent(1L, MbtiType.ENFP, NOW));
+        snapshots.onTestResultSaved(new TestResultSavedEvent(2L, MbtiType.ISTJ, NOW.minusDays(1)));
+        snapshots.onCommentAdded(new CommentAddedEvent(1L, "ENFP", NOW));
+        snapshots.onCommentDeleted(new CommentDeletedEvent(2L, "INFP", NOW.minusDays(2)));
+        snapshots.onShareRecorded(new ShareRecordedEvent(1L, "kakao", NOW));
+        snapshots.onViewLogsIngested(new ViewLogsIngestedEvent(List.of(view(NOW), view(NOW), view(NOW.minusDays(1)))));
+
+        DashboardSnapshot snapshot = snapshots.current();
+        assertThat(snapshot.count("totalTests")).isEqualTo(102);
+        assertThat(snapshot.count("todayTests")).isEqualTo(6);
+        assertThat(mbtiStats(snapshot)).containsEntry("ENFP", 41L).containsEntry("ISTJ", 1L);
+        assertThat(snapshot.count("totalComments")).isEqualTo(21);
+        assertThat(snapshot.count("todayComments")).isEqualTo(3);
+        assertThat(snapshot.count("totalShares")).isEqualTo(31);
+        assertThat(snapshot.count("todayShares")).isEqualTo(2);
+        assertThat(snapshot.count("totalViews")).isEqualTo(503);
+        assertThat(snapshot.count("todayViews")).isEqualTo(52);
+
+        assertThat(snapshot.version()).isGreaterThan(built.version());
+        assertThat(snapshot.etag()).isNotEqualTo(built.etag());
+        assertThat(snapshot.builtAt()).isEqualTo(built.builtAt());
+    }
+
+    @Test
+    void deletedResultsAreSubtracted() {
+        DashboardSnapshots snapshots = newSnapshots(this::loadStats);
+        snapshots.rebuild();
+
+        // 분석 대기 중복 결과: 저장 후 바로 삭제되면 건수는 그대로
+        snapshots.onTestResultSaved(new TestResultSavedEvent(1L, MbtiType.ENFP, NOW));
+        snapshots.onTestResultDeleted(new TestResultDeletedEvent(1L, MbtiType.ENFP, NOW));
+        snapshots.onTestResultDeleted(new TestResultDeletedEvent(2L, MbtiType.ISTJ, NOW.minusDays(1)));
+
+        DashboardSnapshot snapshot = snapshots.current();
+        assertThat(snapshot.count("totalTests")).isEqualTo(99);
+        assertThat(snapshot.count("todayTests")).isEqualTo(5);
+        assertThat(mbtiStats(snapshot)).containsEntry("ENFP", 40L).containsEntry("ISTJ", 0L);
+    }
+
+    @Test
+    void failedRebuildKeepsPreviousSnapshot() {
+        AtomicInteger calls = new AtomicInteger();
+        DashboardSnapshots snapshots = newSnapshots(() -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("DB 연결 실패");
+            }
+            return loadStats();
+        });
+        DashboardSnapshot built = snapshots.rebuild();
+        snapshots.onTestResultSaved(new TestResultSavedEvent(1L, MbtiType.ENFP, NOW));
+        DashboardSnapshot updated = snapshots.current();
+
+        assertThat(snapshots.rebuild()).isSameAs(updated);
+        assertThat(updated.count("totalTests")).isEqualTo(101);
+        assertThat(updated.builtAt()).isEqualTo(built.builtAt());
+    }
+
+    @Test
+    void resetsTodayCountsWhenDayChanges() {
+        DashboardSnapshots snapshots = newSnapshots(this::loadStats);
+        snapshots.rebuild();
+
+        clock.set(NOW.plusDays(1).withHour(0).withMinute(1));
+        DashboardSnapshot snapshot = snapshots.current();
+        assertThat(snapshot.day()).isEqualTo(NOW.toLocalDate().plusDays(1));
+        assertThat(snapshot.count("totalTests")).isEqualTo(100);
+        assertThat(snapshot.count("todayTests")).isZero();
+        assertThat(snapshot.count("todayViews")).isZero();
+
+        // 전날 저장이 늦게 도착하면 전체 건수만 증가
+        snapshots.onTestResultSaved(new TestResultSavedEvent(1L, MbtiType.ENFP, NOW));
+        assertThat(snapshots.current().count("totalTests")).isEqualTo(101);
+        assertThat(snapshots.current().count("todayTests")).isZero();
+    }
+
+    private DashboardSnapshots newSnapshots(Supplier<Map<String, Object>> loader) {
+        return new DashboardSnapshots(loader, new TimeBuckets(null, clock));
+    }
+
+    private Map<String, Object> loadStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalTests", 100L);
+        stats.put("todayTests", 5L);
+        stats.put("totalComments", 21L);
+        stats.put("todayComments", 2L);
+        stats.put("totalShares", 30L);
+        stats.put("todayShares", 1L);
+        stats.put("totalViews", 500L);
+        stats.put("todayViews", 50L);
+        stats.put("mbtiStats", Map.of("ENFP", 40L, "INFP", 60L));
+        stats.put("mostPopularMbti", "INFP");
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> mbtiStats(DashboardSnapshot snapshot) {
+        return (Map<String, Long>) snapshot.get("mbtiStats");
+    }
+
+    private static ViewLog view(LocalDateTime createdAt) {
+        return ViewLog.builder()
+            .pageName(ViewLog.Page.MAIN)
+            .userIp("10.0.0.1")
+            .createdAt(createdAt)
+            .build();
+    }
+
+    /**
+     * 테스트 중 시각을 옮길 수 있는 Clock
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDateTime now) {
+            set(now);
+        }
+
+        private void set(LocalDateTime now) {
+            instant = now.atZone(ZONE).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
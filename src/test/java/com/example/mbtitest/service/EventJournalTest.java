@@ -0,0 +1,129 @@
+package com.example.mbtitest.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EventJournal 세그먼트 저널 테스트
+ * - 세그먼트를 넘나드는 읽기, 재시작 후 이어 쓰기, 체크포인트 이전 세그먼트 삭제, 손상된 꼬리 무시
+ */
+class EventJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsAndReadsAcrossSegments() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, 4, false)) {
+            for (long i = 0; i < 10; i++) {
+                assertThat(journal.append(view(i))).isEqualTo(i);
+            }
+
+            List<JournalRecord> records = journal.read(2, 7);
+
+            assertThat(records).extracting(JournalRecord::id).containsExactly(2L, 3L, 4L, 5L, 6L, 7L, 8L);
+            assertThat(records.get(0)).isEqualTo(view(2));
+            assertThat(journal.read(8, 100)).hasSize(2);
+        }
+        assertThat(segmentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reopenContinuesAfterLastRecordAndKeepsCheckpoint() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, 4, false)) {
+            for (long i = 0; i < 6; i++) {
+                journal.append(view(i));
+            }
+            journal.commit(3);
+        }
+
+        try (EventJournal journal = EventJournal.open(directory, 4, false)) {
+            assertThat(journal.nextSequence()).isEqualTo(6);
+            assertThat(journal.checkpoint()).isEqualTo(3);
+            assertThat(journal.append(JournalRecord.like(42L))).isEqualTo(6);
+            assertThat(journal.read(journal.checkpoint(), 100))
+                .extracting(JournalRecord::id).containsExactly(3L, 4L, 5L, 42L);
+        }
+    }
+
+    @Test
+    void commitDeletesFullyConsumedSegments() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, 4, false)) {
+            for (long i = 0; i < 9; i++) {
+                journal.append(view(i));
+            }
+            assertThat(segmentCount()).isEqualTo(3);
+
+            journal.commit(5);
+            assertThat(segmentCount()).isEqualTo(2);
+
+            journal.commit(9);
+            assertThat(segmentCount()).isEqualTo(1);
+            assertThat(journal.read(9, 100)).isEmpty();
+        }
+    }
+
+    @Test
+    void reopenStopsAtCorruptedTail() throws IOException {
+        try (EventJournal journal = EventJournal.open(directory, 8, false)) {
+            for (long i = 0; i < 3; i++) {
+                journal.append(view(i));
+            }
+        }
+
+        // 세 번째 레코드 중간을 덮어써 쓰다 만 레코드처럼 만듦
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), 2L * EventJournal.RECORD_SIZE + 100);
+        }
+
+        try (EventJournal journal = EventJournal.open(directory, 8, false)) {
+            assertThat(journal.nextSequence()).isEqualTo(2);
+            journal.append(view(7));
+            assertThat(journal.read(0, 100)).extracting(JournalRecord::id).containsExactly(0L, 1L, 7L);
+        }
+    }
+
+    @Test
+    void truncatesLongStringsToFit() throws IOException {
+        String userAgent = "가".repeat(200);
+        try (EventJournal journal = EventJournal.open(directory, 4, false)) {
+            journal.append(new JournalRecord(JournalRecord.Type.VIEW, LocalDateTime.now(), 1L,
+                "1.1.1.1", "INTJ", "RESULT", userAgent, null));
+
+            JournalRecord record = journal.read(0, 1).get(0);
+
+            // 3바이트 글자가 칸(254바이트)에 들어가는 만큼만 남음
+            assertThat(record.userAgent()).isEqualTo("가".repeat(84));
+            assertThat(record.referrer()).isNull();
+        }
+    }
+
+    private static JournalRecord view(long resultId) {
+        return new JournalRecord(JournalRecord.Type.VIEW,
+            LocalDateTime.of(2026, 1, 1, 12, 0).plus(resultId, ChronoUnit.SECONDS),
+            resultId, "10.0.0." + resultId, "ENFP", "MAIN", "Mozilla/5.0", "https://example.com/" + resultId);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.config.GeminiClientConfig;
+import com.example.mbtitest.config.GeminiProperties;
+import com.example.mbtitest.config.GeminiStubProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GeminiClient 호출 테스트 (GeminiStubServer 사용)
+ */
+class GeminiClientTest {
+
+    private GeminiStubServer stubServer;
+    private CloseableHttpClient httpClient;
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (stubServer != null) {
+            stubServer.stop();
+        }
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void generateContent_returnsParsableAnalysis() throws Exception {
+        GeminiClient geminiClient = startClient(stubProperties());
+
+        Map<String, Object> response = geminiClient.generateContent("prompt", Map.of()).get(5, TimeUnit.SECONDS);
+
+        assertThat(GeminiClient.extractAiAnalysisFromResponse(response)).isEqualTo("{\"mbti\": \"INTJ\"}");
+        assertThat(stubServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamGenerateContent_relaysChunksInOrderAndReturnsFullText() throws Exception {
+        GeminiClient geminiClient = startClient(stubProperties());
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        String fullText = geminiClient.streamGenerateContent("prompt", Map.of(), chunks::add)
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(chunks).hasSize(4);
+        assertThat(String.join("", chunks)).isEqualTo("{\"mbti\": \"INTJ\"}");
+        assertThat(fullText).isEqualTo("{\"mbti\": \"INTJ\"}");
+    }
+
+    @Test
+    void streamGenerateContent_failsOnErrorStatus() throws Exception {
+        GeminiStubProperties properties = stubProperties();
+        properties.setErrorRate(1.0);
+        GeminiClient geminiClient = startClient(properties);
+
+        assertThatThrownBy(() -> geminiClient.streamGenerateContent("prompt", Map.of(), text -> { })
+            .get(5, TimeUnit.SECONDS))
+            .hasRootCauseMessage("AI 서버 응답 오류: 503");
+        assertThat(stubServer.getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void generatedPayload_matchesConfiguredSizeAndShape() throws Exception {
+        GeminiStubProperties properties = stubProperties();
+        properties.setResponseText(null);
+        properties.setPayloadChars(8000);
+        GeminiClient geminiClient = startClient(properties);
+
+        Map<String, Object> response = geminiClient.generateContent("prompt", Map.of()).get(5, TimeUnit.SECONDS);
+        String text = GeminiClient.extractAiAnalysisFromResponse(response);
+
+        assertThat(text.length()).isBetween(7400, 9000);
+        String json = text.substring(text.indexOf('{'), text.lastIndexOf('}') + 1);
+        assertThat(new ObjectMapper().readTree(json).path("mbti").path("type").asText()).isEqualTo("INTJ");
+    }
+
+    @Test
+    void sampledLatency_staysWithinConfiguredBounds() {
+        GeminiStubProperties properties = stubProperties();
+        properties.setLatencyDistribution(GeminiStubProperties.LatencyDistribution.UNIFORM);
+        properties.setLatencyMin(Duration.ofMillis(100));
+        properties.setLatencyMax(Duration.ofMillis(200));
+        GeminiStubServer server = new GeminiStubServer(properties);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(server.sampleLatencyMillis()).isBetween(100L, 200L);
+        }
+    }
+
+    private GeminiStubProperties stubProperties() {
+        GeminiStubProperties properties = new GeminiStubProperties();
+        properties.setPort(0);
+        properties.setLatencyDistribution(GeminiStubProperties.LatencyDistribution.FIXED);
+        properties.setLatencyMedian(Duration.ZERO);
+        properties.setResponseText("{\"mbti\": \"INTJ\"}");
+        properties.setStreamChunks(4);
+        properties.setSeed(42L);
+        return properties;
+    }
+
+    private GeminiClient startClient(GeminiStubProperties stubProperties) throws Exception {
+        stubServer = new GeminiStubServer(stubProperties);
+        stubServer.start();
+
+        GeminiProperties properties = new GeminiProperties();
+        properties.setBaseUrl(stubServer.getBaseUrl());
+        properties.setTotalTimeout(Duration.ofSeconds(10));
+
+        GeminiClientConfig config = new GeminiClientConfig();
+        httpClient = config.geminiHttpClient(config.geminiConnectionManager(properties), properties);
+        RestClient restClient = config.geminiRestClient(RestClient.builder(), httpClient);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        MockEnvironment environment = new MockEnvironment().withProperty("AI_KEY", "test-key");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new GeminiClient(restClient, executor, properties, environment, new ObjectMapper(),
+            new AiCircuitBreaker(properties, meterRegistry), meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mbtitest.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * HyperLogLog 스케치 테스트
+ * - 오차 범위, 중복 무시, 합집합, 직렬화
+ */
+class HyperLogLogTest {
+
+    @Test
+    void estimatesWithinDocumentedError() {
+        for (int cardinality : new int[] {10, 1_000, 100_000}) {
+            HyperLogLog sketch = new HyperLogLog(12);
+            for (int i = 0; i < cardinality; i++) {
+                sketch.add("10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+            }
+            // 표준 오차 1.6%의 3배 이내
+            assertThat((double) sketch.estimate()).isCloseTo(cardinality, within(cardinality * 0.05 + 1));
+        }
+    }
+
+    @Test
+    void ignoresDuplicates() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 500; i++) {
+                sketch.add("user-" + i);
+            }
+        }
+        assertThat((double) sketch.estimate()).isCloseTo(500, within(25.0));
+    }
+
+    @Test
+    void mergeEstimatesUnion() {
+        HyperLogLog monday = new HyperLogLog(12);
+        HyperLogLog tuesday = new HyperLogLog(12);
+        for (int i = 0; i < 3_000; i++) {
+            monday.add("ip-" + i);
+        }
+        for (int i = 2_000; i < 6_000; i++) {
+            tuesday.add("ip-" + i);
+        }
+
+        HyperLogLog week = new HyperLogLog(12);
+        week.merge(monday);
+        week.merge(tuesday);
+        week.merge(tuesday);
+
+        assertThat((double) week.estimate()).isCloseTo(6_000, within(300.0));
+        assertThatThrownBy(() -> week.merge(new HyperLogLog(10)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void serializesCompactly() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 200; i++) {
+            sketch.add("ip-" + i);
+        }
+
+        String data = sketch.serialize();
+        HyperLogLog restored = HyperLogLog.deserialize(data);
+
+        assertThat(restored.sameRegisters(sketch)).isTrue();
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+        // 대부분 비어 있는 레지스터는 압축되어 4KB보다 훨씬 작음
+        assertThat(data.length()).isLessThan(1_500);
+        assertThat(new HyperLogLog(12).isEmpty()).isTrue();
+    }
+}
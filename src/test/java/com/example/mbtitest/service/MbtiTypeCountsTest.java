@@ -0,0 +1,73 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.MbtiScores;
+import com.example.mbtitest.entity.MbtiType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MbtiType 비트 인코딩과 MbtiTypeCounts 집계 테스트
+ */
+class MbtiTypeCountsTest {
+
+    @Test
+    void encodesOneBitPerAxis() {
+        assertThat(MbtiType.ESTJ.code()).isZero();
+        assertThat(MbtiType.INFP.code()).isEqualTo(15);
+        assertThat(MbtiType.INTJ.code()).isEqualTo(MbtiType.INTROVERSION | MbtiType.INTUITION);
+        for (MbtiType type : MbtiType.values()) {
+            assertThat(MbtiType.fromCode(type.code())).isSameAs(type);
+        }
+        assertThat(MbtiType.ENFP.has(MbtiType.FEELING)).isTrue();
+        assertThat(MbtiType.ENFP.has(MbtiType.INTROVERSION)).isFalse();
+    }
+
+    @Test
+    void parsesCaseInsensitivelyAndRejectsInvalidValues() {
+        assertThat(MbtiType.parse("enfp")).isSameAs(MbtiType.ENFP);
+        assertThat(MbtiType.parse("IsTj")).isSameAs(MbtiType.ISTJ);
+        assertThat(MbtiType.parse("ENF")).isNull();
+        assertThat(MbtiType.parse("EXFP")).isNull();
+        assertThat(MbtiType.parse(null)).isNull();
+        assertThatThrownBy(() -> MbtiType.from("ABCD")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void derivesTypeFromScores() {
+        assertThat(new MbtiScores(60, 40, 35, 65, 45, 55, 30, 70).mbtiType()).isSameAs(MbtiType.ENFP);
+        assertThat(new MbtiScores(50, 50, 50, 50, 50, 50, 50, 50).mbtiType()).isSameAs(MbtiType.INFP);
+    }
+
+    @Test
+    void derivesTypeFromUnroundedScores() {
+        // 반올림하면 모두 50 : 50 동점이지만 반올림 전 값은 E, S, T, J가 앞섬
+        Map<String, Object> categoryScores = Map.of(
+            "E", 50.4, "I", 50.2, "S", 50.3, "N", 49.9, "T", 50.1, "F", 49.6, "J", 50.4, "P", 50.0);
+        MbtiScores scores = MbtiScores.from(categoryScores);
+
+        assertThat(MbtiScores.typeOf(categoryScores)).isSameAs(MbtiType.ESTJ);
+        assertThat(scores.toMap()).containsEntry("E", 50).containsEntry("I", 50).containsEntry("F", 50);
+        assertThat(scores.toDetailedScores(MbtiType.ESTJ).get("EI"))
+            .isEqualTo(Map.of("E", 50, "I", 50, "tendency", "E"));
+    }
+
+    @Test
+    void countsRowsIntoAllSixteenTypes() {
+        MbtiTypeCounts counts = MbtiTypeCounts.fromRows(List.of(
+            new Object[]{MbtiType.INTJ, 3L},
+            new Object[]{"enfp", 5},
+            new Object[]{"UNKNOWN", 7L}));
+
+        assertThat(counts.get(MbtiType.INTJ)).isEqualTo(3);
+        assertThat(counts.get(MbtiType.ENFP)).isEqualTo(5);
+        assertThat(counts.total()).isEqualTo(8);
+        assertThat(counts.mostCommon()).isSameAs(MbtiType.ENFP);
+        assertThat(counts.toMap()).hasSize(16).containsEntry("ISTJ", 0L);
+        assertThat(counts.toMap().keySet()).containsExactlyElementsOf(MbtiType.names());
+    }
+}
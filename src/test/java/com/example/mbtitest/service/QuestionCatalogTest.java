@@ -0,0 +1,76 @@
+package com.example.mbtitest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * QuestionCatalog 로드 및 프롬프트 조립 테스트
+ */
+class QuestionCatalogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private QuestionCatalog questionCatalog;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        questionCatalog = new QuestionCatalog(objectMapper,
+            new ClassPathResource("questions/question-catalog.json"),
+            new ClassPathResource("prompts/personality-analysis.txt"),
+            20);
+    }
+
+    @Test
+    void publicJson_containsVersionAndQuestions() throws Exception {
+        JsonNode catalog = objectMapper.readTree(questionCatalog.getPublicJson());
+
+        assertThat(catalog.path("version").asText()).isEqualTo(questionCatalog.getVersion());
+        assertThat(catalog.path("questions")).hasSize(questionCatalog.getQuestions().size());
+        assertThat(catalog.path("questions").get(0).path("question").asText())
+            .isEqualTo(questionCatalog.getQuestions().get(0).question());
+        assertThat(questionCatalog.getEtag()).startsWith("\"" + questionCatalog.getVersion() + "-");
+    }
+
+    @Test
+    void buildPrompt_insertsCompactedAnswersIntoTemplate() {
+        List<Map<String, Object>> answers = new ArrayList<>();
+        for (QuestionCatalog.Question question : questionCatalog.getQuestions()) {
+            answers.add(Map.of("questionId", question.id(), "answer", "  답변\n\n  " + question.id() + "  "));
+        }
+
+        String prompt = questionCatalog.buildPrompt(answers);
+
+        QuestionCatalog.Question first = questionCatalog.getQuestions().get(0);
+        assertThat(prompt).contains("1. " + first.question() + "\n→ 답변 1\n");
+        assertThat(prompt).doesNotContain("{{answers}}");
+    }
+
+    @Test
+    void buildPrompt_truncatesLongAnswers() {
+        String prompt = questionCatalog.buildPrompt(List.of(Map.of("questionId", 1, "answer", "가".repeat(100))));
+
+        assertThat(prompt).contains("→ " + "가".repeat(20) + "\n");
+        assertThat(prompt).doesNotContain("가".repeat(21));
+    }
+
+    @Test
+    void buildPrompt_rejectsUnknownOrDuplicateQuestions() {
+        assertThatThrownBy(() -> questionCatalog.buildPrompt(List.of(Map.of("questionId", 999, "answer", "답변"))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> questionCatalog.buildPrompt(List.of(
+                Map.of("questionId", 1, "answer", "답변"),
+                Map.of("questionId", 1, "answer", "답변"))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> questionCatalog.buildPrompt(List.of(Map.of("questionId", 1, "answer", " "))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
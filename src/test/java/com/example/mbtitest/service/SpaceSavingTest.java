@@ -0,0 +1,85 @@
+package com.example.mbtitest.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Space-Saving 상위 K개 요약 테스트
+ * - 자주 나오는 항목 보존, 오차 한도, 합치기, 체크포인트 복원
+ */
+class SpaceSavingTest {
+
+    @Test
+    void keepsHeavyHittersWithinErrorBound() {
+        SpaceSaving summary = new SpaceSaving(10);
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 4 == 0) {
+                summary.add("google.com");
+            } else if (i % 4 == 1) {
+                summary.add("naver.com");
+            } else {
+                summary.add("site-" + i);
+            }
+        }
+
+        assertThat(summary.total()).isEqualTo(10_000);
+        List<SpaceSaving.Entry> top = summary.top(2);
+        assertThat(top).extracting(SpaceSaving.Entry::item).containsExactlyInAnyOrder("google.com", "naver.com");
+        for (SpaceSaving.Entry entry : top) {
+            // 실제 빈도 2500은 [count - error, count] 안에 있고, 과대 추정은 total / capacity 이하
+            assertThat(entry.count() - entry.error()).isLessThanOrEqualTo(2_500);
+            assertThat(entry.count()).isGreaterThanOrEqualTo(2_500);
+            assertThat(entry.error()).isLessThanOrEqualTo(summary.total() / summary.capacity());
+        }
+    }
+
+    @Test
+    void exactWhileUnderCapacity() {
+        SpaceSaving summary = new SpaceSaving(5);
+        summary.add("a");
+        summary.add("b");
+        summary.add("a");
+
+        assertThat(summary.top(5))
+            .containsExactly(new SpaceSaving.Entry("a", 2, 0), new SpaceSaving.Entry("b", 1, 0));
+    }
+
+    @Test
+    void mergeCombinesTotalsAndCounts() {
+        SpaceSaving monday = new SpaceSaving(3);
+        SpaceSaving tuesday = new SpaceSaving(3);
+        for (int i = 0; i < 30; i++) {
+            monday.add("kakao");
+            tuesday.add("kakao");
+            monday.add("m-" + i);
+            tuesday.add("t-" + i);
+        }
+
+        SpaceSaving week = new SpaceSaving(3);
+        week.merge(monday);
+        week.merge(tuesday);
+
+        assertThat(week.total()).isEqualTo(120);
+        assertThat(week.top(1)).singleElement().satisfies(entry -> {
+            assertThat(entry.item()).isEqualTo("kakao");
+            assertThat(entry.count() - entry.error()).isLessThanOrEqualTo(60);
+            assertThat(entry.count()).isGreaterThanOrEqualTo(60);
+        });
+    }
+
+    @Test
+    void snapshotRestoresSameSummary() {
+        SpaceSaving summary = new SpaceSaving(4);
+        for (int i = 0; i < 50; i++) {
+            summary.add("item-" + (i % 7));
+        }
+
+        SpaceSaving restored = SpaceSaving.restore(4, summary.snapshot());
+
+        assertThat(restored.total()).isEqualTo(summary.total());
+        assertThat(restored.top(4)).isEqualTo(summary.top(4));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.mbtitest.service;
+
+import com.example.mbtitest.entity.ViewLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 유입 경로 / 페이지 상위 집계 테스트
+ * - 시간 창, Referer 호스트 정규화, 체크포인트 복원
+ */
+class TrafficHeavyHittersTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 14, 15, 25);
+    private static final Clock CLOCK = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void windowsIncludeOnlyRecentSlices() {
+        TrafficHeavyHitters hitters = newHitters();
+        hitters.record(List.of(
+            view(NOW.minusMinutes(5), "https://www.google.com/search?q=mbti", ViewLog.Page.MAIN, null),
+            view(NOW.minusHours(3), "https://m.search.naver.com/x", ViewLog.Page.RESULT, "ENFP"),
+            view(NOW.minusDays(3), "https://www.google.com/", ViewLog.Page.RESULT, "ENFP"),
+            view(NOW.minusDays(30), null, ViewLog.Page.MAIN, null)));
+
+        assertThat(hitters.views(TrafficHeavyHitters.Window.HOUR)).isEqualTo(1);
+        assertThat(hitters.views(TrafficHeavyHitters.Window.DAY)).isEqualTo(2);
+        assertThat(hitters.views(TrafficHeavyHitters.Window.WEEK)).isEqualTo(3);
+        assertThat(hitters.views(TrafficHeavyHitters.Window.ALL)).isEqualTo(4);
+        assertThat(hitters.referredViews(TrafficHeavyHitters.Window.ALL)).isEqualTo(3);
+
+        assertThat(hitters.topReferrers(TrafficHeavyHitters.Window.WEEK, 5))
+            .extracting(SpaceSaving.Entry::item, SpaceSaving.Entry::count)
+            .containsExactly(tuple("google.com", 2L), tuple("m.search.naver.com", 1L));
+        assertThat(hitters.topPages(TrafficHeavyHitters.Window.ALL, 1))
+            .extracting(SpaceSaving.Entry::item, SpaceSaving.Entry::count)
+            .containsExactly(tuple("MAIN", 2L));
+    }
+
+    @Test
+    void normalizesReferrerHosts() {
+        assertThat(TrafficHeavyHitters.referrerHost("https://WWW.Google.com/search?q=1")).isEqualTo("google.com");
+        assertThat(TrafficHeavyHitters.referrerHost("android-app://com.kakao.talk/")).isEqualTo("com.kakao.talk");
+        assertThat(TrafficHeavyHitters.referrerHost("not a url")).isEqualTo("not a url");
+        assertThat(TrafficHeavyHitters.referrerHost(" ")).isNull();
+        assertThat(TrafficHeavyHitters.referrerHost(null)).isNull();
+    }
+
+    @Test
+    void checkpointIsRestoredByNewInstance() {
+        TrafficHeavyHitters hitters = newHitters();
+        hitters.record(List.of(
+            view(NOW.minusMinutes(1), "https://t.co/abc", ViewLog.Page.RESULT, "INTJ"),
+            view(NOW.minusHours(2), "https://t.co/def", ViewLog.Page.MAIN, null)));
+        hitters.checkpoint();
+
+        TrafficHeavyHitters restored = newHitters();
+
+        assertThat(restored.views(TrafficHeavyHitters.Window.HOUR)).isEqualTo(1);
+        assertThat(restored.views(TrafficHeavyHitters.Window.DAY)).isEqualTo(2);
+        assertThat(restored.topReferrers(TrafficHeavyHitters.Window.ALL, 5))
+            .extracting(SpaceSaving.Entry::item, SpaceSaving.Entry::count)
+            .containsExactly(tuple("t.co", 2L));
+        assertThat(restored.topPages(TrafficHeavyHitters.Window.HOUR, 5))
+            .extracting(SpaceSaving.Entry::item)
+            .containsExactly("RESULT/INTJ");
+    }
+
+    private TrafficHeavyHitters newHitters() {
+        return new TrafficHeavyHitters(new ObjectMapper(), new SimpleMeterRegistry(), 10,
+            tempDir.resolve("heavy-hitters.json"), CLOCK);
+    }
+
+    private static ViewLog view(LocalDateTime createdAt, String referrer, String pageName, String mbtiType) {
+        return ViewLog.builder()
+            .referrer(referrer)
+            .pageName(pageName)
+            .mbtiType(mbtiType)
+            .userIp("10.0.0.1")
+            .createdAt(createdAt)
+            .build();
+    }
+}